@@ -0,0 +1,180 @@
+"""
+Qdrant 양자화/디스크 저장 구성별 recall과 검색 지연 비교.
+
+운영 컬렉션에서 point를 벡터와 함께 표본 추출해 구성별 임시 컬렉션에 넣고, 표본에 넣지 않은 청크 벡터를 질의로 써서
+같은 회원 필터 검색을 실행한다. 정답은 양자화 없는 컬렉션의 정확 검색(exact) 상위 k개이다.
+
+- none:   float32 원본 벡터를 메모리에 둔다 (현재 기본값)
+- scalar: int8 양자화 벡터는 메모리, 원본 벡터는 디스크. 재점수 계산
+- binary: 1비트 양자화 벡터는 메모리, 원본 벡터는 디스크. 재점수 계산
+
+Qdrant REST API(기본 6333 포트)를 표준 라이브러리만으로 호출한다.
+"""
+
+from __future__ import annotations
+
+import argparse
+import json
+import random
+import statistics
+import time
+import urllib.error
+import urllib.request
+from typing import Dict, List, Optional, Tuple
+
+LAYOUTS: Dict[str, dict] = {
+    "none": {"quantization": None, "on_disk": False, "bytes_per_dimension": 4.0},
+    "scalar": {
+        "quantization": {"scalar": {"type": "int8", "quantile": 0.99, "always_ram": True}},
+        "on_disk": True,
+        "bytes_per_dimension": 1.0,
+    },
+    "binary": {
+        "quantization": {"binary": {"always_ram": True}},
+        "on_disk": True,
+        "bytes_per_dimension": 1.0 / 8,
+    },
+}
+
+
+def request(base_url: str, method: str, path: str, body: Optional[dict] = None, timeout: int = 600) -> dict:
+    data = json.dumps(body).encode("utf-8") if body is not None else None
+    req = urllib.request.Request(
+        f"{base_url}{path}",
+        data=data,
+        method=method,
+        headers={"Content-Type": "application/json"},
+    )
+    with urllib.request.urlopen(req, timeout=timeout) as resp:
+        return json.loads(resp.read().decode("utf-8") or "{}")
+
+
+def sample_points(args: argparse.Namespace) -> List[dict]:
+    """운영 컬렉션에서 밀집 벡터와 memberId만 scroll로 읽는다."""
+    points: List[dict] = []
+    offset = None
+    while len(points) < args.sample + args.queries:
+        body = {
+            "limit": min(1000, args.sample + args.queries - len(points)),
+            "with_payload": ["memberId"],
+            "with_vector": [""] if args.named_dense else True,
+        }
+        if offset is not None:
+            body["offset"] = offset
+        result = request(args.qdrant_url, "POST", f"/collections/{args.source_collection}/points/scroll", body)["result"]
+        for point in result["points"]:
+            vector = point["vector"]
+            if isinstance(vector, dict):
+                vector = vector.get("")
+            if vector:
+                points.append({"id": point["id"], "vector": vector, "memberId": point["payload"].get("memberId")})
+        offset = result.get("next_page_offset")
+        if offset is None:
+            break
+    return points
+
+
+def create_collection(args: argparse.Namespace, name: str, dimension: int, layout: dict) -> None:
+    try:
+        request(args.qdrant_url, "DELETE", f"/collections/{name}")
+    except urllib.error.HTTPError:
+        pass
+    body = {
+        "vectors": {"size": dimension, "distance": "Cosine", "on_disk": layout["on_disk"]},
+        "on_disk_payload": layout["on_disk"],
+        "hnsw_config": {"m": 0, "payload_m": 16},
+    }
+    if layout["quantization"]:
+        body["quantization_config"] = layout["quantization"]
+    request(args.qdrant_url, "PUT", f"/collections/{name}", body)
+    request(args.qdrant_url, "PUT", f"/collections/{name}/index?wait=true", {
+        "field_name": "memberId",
+        "field_schema": {"type": "integer", "lookup": True, "range": False},
+    })
+
+
+def upload(args: argparse.Namespace, name: str, points: List[dict]) -> None:
+    for start in range(0, len(points), args.batch_size):
+        batch = [
+            {"id": point["id"], "vector": point["vector"], "payload": {"memberId": point["memberId"]}}
+            for point in points[start:start + args.batch_size]
+        ]
+        request(args.qdrant_url, "PUT", f"/collections/{name}/points?wait=true", {"points": batch})
+    while request(args.qdrant_url, "GET", f"/collections/{name}")["result"]["status"] != "green":
+        time.sleep(2)
+
+
+def search(args: argparse.Namespace, name: str, query: dict, params: dict) -> Tuple[List, float]:
+    body = {
+        "vector": query["vector"],
+        "limit": args.k,
+        "filter": {"must": [{"key": "memberId", "match": {"value": query["memberId"]}}]},
+        "with_payload": False,
+        "params": params,
+    }
+    started = time.perf_counter()
+    result = request(args.qdrant_url, "POST", f"/collections/{name}/points/search", body)["result"]
+    return [point["id"] for point in result], (time.perf_counter() - started) * 1000
+
+
+def percentile(values: List[float], quantile: float) -> float:
+    ordered = sorted(values)
+    return ordered[max(0, int(len(ordered) * quantile) - 1)] if ordered else 0.0
+
+
+def parse_args() -> argparse.Namespace:
+    parser = argparse.ArgumentParser(description="Qdrant 양자화 구성별 recall/지연 비교")
+    parser.add_argument("--qdrant-url", default="http://localhost:6333")
+    parser.add_argument("--source-collection", default="pkv_text_segments")
+    parser.add_argument("--named-dense", action="store_true",
+                        help="원본 컬렉션이 이름 없는 밀집 벡터를 named vector('')로 저장한 경우")
+    parser.add_argument("--layouts", default="none,scalar,binary")
+    parser.add_argument("--sample", type=int, default=100_000, help="임시 컬렉션에 넣을 point 수")
+    parser.add_argument("--queries", type=int, default=300, help="표본에서 제외해 질의로 쓸 point 수")
+    parser.add_argument("--k", type=int, default=10)
+    parser.add_argument("--oversampling", type=float, default=2.0)
+    parser.add_argument("--batch-size", type=int, default=500)
+    parser.add_argument("--seed", type=int, default=42)
+    parser.add_argument("--keep", action="store_true", help="측정 후 임시 컬렉션을 지우지 않는다")
+    return parser.parse_args()
+
+
+def main() -> None:
+    args = parse_args()
+    points = sample_points(args)
+    random.Random(args.seed).shuffle(points)
+    queries, corpus = points[:args.queries], points[args.queries:]
+    dimension = len(corpus[0]["vector"])
+    print(f"sampled {len(corpus)} points, {len(queries)} queries, dimension {dimension}")
+
+    truth_name = "bench_quant_none"
+    names = {layout: f"bench_quant_{layout}" for layout in args.layouts.split(",")}
+    if truth_name not in names.values():
+        names["none"] = truth_name
+    for layout, name in names.items():
+        create_collection(args, name, dimension, LAYOUTS[layout])
+        upload(args, name, corpus)
+
+    truth = [search(args, truth_name, query, {"exact": True})[0] for query in queries]
+
+    print("layout | vector RAM MB | recall@k (rescore) | p50/p95 ms | recall@k (no rescore) | p50/p95 ms")
+    for layout in args.layouts.split(","):
+        row = [f"{layout:<6}", f"{len(corpus) * dimension * LAYOUTS[layout]['bytes_per_dimension'] / 2**20:>13.0f}"]
+        for rescore in (True, False):
+            params = {"quantization": {"rescore": rescore, "oversampling": args.oversampling}}
+            recalls, latencies = [], []
+            for query, expected in zip(queries, truth):
+                found, elapsed = search(args, names[layout], query, params)
+                recalls.append(len(set(found) & set(expected)) / len(expected) if expected else 1.0)
+                latencies.append(elapsed)
+            row.append(f"{statistics.mean(recalls):>18.3f}")
+            row.append(f"{statistics.median(latencies):>4.1f}/{percentile(latencies, 0.95):<5.1f}")
+        print(" | ".join(row))
+
+    if not args.keep:
+        for name in set(names.values()):
+            request(args.qdrant_url, "DELETE", f"/collections/{name}")
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,178 @@
+"""
+Qdrant 회원 단위 컬렉션 구성 벤치마크.
+
+같은 데이터를 두 가지 구성의 임시 컬렉션에 넣고, 회원 필터 검색과 documentId 필터 삭제 지연을 비교한다.
+
+- baseline: payload index 없음, 전역 HNSW(m=16)
+- tenant:   memberId/documentId 정수 lookup index, 전역 그래프 없이 memberId별 HNSW(m=0, payload_m=16)
+
+point는 회원당 문서 30개(DocumentValidator 한도) x 문서당 청크 수로 만들고, 벡터는 무작위 단위 벡터를 쓴다.
+Qdrant REST API(기본 6333 포트)를 표준 라이브러리만으로 호출한다.
+"""
+
+from __future__ import annotations
+
+import argparse
+import json
+import math
+import random
+import statistics
+import time
+import urllib.error
+import urllib.request
+from typing import Dict, List, Optional
+
+DOCUMENTS_PER_MEMBER = 30
+
+LAYOUTS: Dict[str, dict] = {
+    "baseline": {"hnsw": {"m": 16, "payload_m": 0}, "indexes": False},
+    "tenant": {"hnsw": {"m": 0, "payload_m": 16}, "indexes": True},
+}
+
+
+def request(base_url: str, method: str, path: str, body: Optional[dict] = None, timeout: int = 600) -> dict:
+    data = json.dumps(body).encode("utf-8") if body is not None else None
+    req = urllib.request.Request(
+        f"{base_url}{path}",
+        data=data,
+        method=method,
+        headers={"Content-Type": "application/json"},
+    )
+    with urllib.request.urlopen(req, timeout=timeout) as resp:
+        return json.loads(resp.read().decode("utf-8") or "{}")
+
+
+def random_vector(rng: random.Random, dimension: int) -> List[float]:
+    values = [rng.gauss(0.0, 1.0) for _ in range(dimension)]
+    norm = math.sqrt(sum(value * value for value in values)) or 1.0
+    return [round(value / norm, 6) for value in values]
+
+
+def create_collection(args: argparse.Namespace, name: str, layout: dict) -> None:
+    try:
+        request(args.qdrant_url, "DELETE", f"/collections/{name}")
+    except urllib.error.HTTPError:
+        pass
+    request(args.qdrant_url, "PUT", f"/collections/{name}", {
+        "vectors": {"size": args.dimension, "distance": "Cosine"},
+        "hnsw_config": layout["hnsw"],
+    })
+    if layout["indexes"]:
+        for key in ("memberId", "documentId"):
+            request(args.qdrant_url, "PUT", f"/collections/{name}/index?wait=true", {
+                "field_name": key,
+                "field_schema": {"type": "integer", "lookup": True, "range": False},
+            })
+
+
+def upload(args: argparse.Namespace, name: str) -> int:
+    """같은 seed로 만들어 두 구성에 같은 데이터가 들어가도록 한다."""
+    rng = random.Random(args.seed)
+    chunks_per_member = DOCUMENTS_PER_MEMBER * args.chunks_per_document
+    members = max(1, args.points // chunks_per_member)
+    point_id = 0
+    batch: List[dict] = []
+    for member in range(1, members + 1):
+        for document in range(DOCUMENTS_PER_MEMBER):
+            document_id = member * 1000 + document
+            for chunk in range(args.chunks_per_document):
+                point_id += 1
+                batch.append({
+                    "id": point_id,
+                    "vector": random_vector(rng, args.dimension),
+                    "payload": {
+                        "memberId": member,
+                        "documentId": document_id,
+                        "sourceChunkRef": f"{document_id}:{chunk}",
+                    },
+                })
+                if len(batch) >= args.batch_size:
+                    request(args.qdrant_url, "PUT", f"/collections/{name}/points?wait=true", {"points": batch})
+                    batch = []
+        if member % 50 == 0:
+            print(f"  {name}: {point_id} points")
+    if batch:
+        request(args.qdrant_url, "PUT", f"/collections/{name}/points?wait=true", {"points": batch})
+    return members
+
+
+def wait_for_index(args: argparse.Namespace, name: str) -> None:
+    while True:
+        status = request(args.qdrant_url, "GET", f"/collections/{name}")["result"]["status"]
+        if status == "green":
+            return
+        time.sleep(2)
+
+
+def percentile(values: List[float], quantile: float) -> float:
+    ordered = sorted(values)
+    return ordered[max(0, int(len(ordered) * quantile) - 1)] if ordered else 0.0
+
+
+def measure(args: argparse.Namespace, name: str, members: int) -> Dict[str, float]:
+    rng = random.Random(args.seed + 1)
+    search_ms: List[float] = []
+    for _ in range(args.searches):
+        member = rng.randint(1, members)
+        body = {
+            "vector": random_vector(rng, args.dimension),
+            "limit": 10,
+            "filter": {"must": [{"key": "memberId", "match": {"value": member}}]},
+            "with_payload": ["sourceChunkRef"],
+        }
+        started = time.perf_counter()
+        request(args.qdrant_url, "POST", f"/collections/{name}/points/search", body)
+        search_ms.append((time.perf_counter() - started) * 1000)
+
+    delete_ms: List[float] = []
+    for _ in range(args.deletes):
+        document_id = rng.randint(1, members) * 1000 + rng.randrange(DOCUMENTS_PER_MEMBER)
+        body = {"filter": {"must": [{"key": "documentId", "match": {"value": document_id}}]}}
+        started = time.perf_counter()
+        request(args.qdrant_url, "POST", f"/collections/{name}/points/delete?wait=true", body)
+        delete_ms.append((time.perf_counter() - started) * 1000)
+
+    return {
+        "search_p50": statistics.median(search_ms),
+        "search_p95": percentile(search_ms, 0.95),
+        "delete_p50": statistics.median(delete_ms),
+        "delete_p95": percentile(delete_ms, 0.95),
+    }
+
+
+def parse_args() -> argparse.Namespace:
+    parser = argparse.ArgumentParser(description="Qdrant 회원 단위 컬렉션 구성 벤치마크")
+    parser.add_argument("--qdrant-url", default="http://localhost:6333")
+    parser.add_argument("--layouts", default="baseline,tenant", help="쉼표로 구분한 구성 (baseline, tenant)")
+    parser.add_argument("--points", type=int, default=1_000_000)
+    parser.add_argument("--dimension", type=int, default=1536)
+    parser.add_argument("--chunks-per-document", type=int, default=100)
+    parser.add_argument("--batch-size", type=int, default=500)
+    parser.add_argument("--searches", type=int, default=500)
+    parser.add_argument("--deletes", type=int, default=50)
+    parser.add_argument("--seed", type=int, default=42)
+    parser.add_argument("--keep", action="store_true", help="측정 후 임시 컬렉션을 지우지 않는다")
+    return parser.parse_args()
+
+
+def main() -> None:
+    args = parse_args()
+    print("layout   | points    | members | search p50/p95 ms | delete p50/p95 ms")
+    for layout_name in args.layouts.split(","):
+        layout = LAYOUTS[layout_name]
+        name = f"bench_tenant_{layout_name}"
+        create_collection(args, name, layout)
+        members = upload(args, name)
+        wait_for_index(args, name)
+        result = measure(args, name, members)
+        print(
+            f"{layout_name:<8} | {args.points:>9} | {members:>7} "
+            f"| {result['search_p50']:>7.1f}/{result['search_p95']:<8.1f} "
+            f"| {result['delete_p50']:>7.1f}/{result['delete_p95']:<8.1f}"
+        )
+        if not args.keep:
+            request(args.qdrant_url, "DELETE", f"/collections/{name}")
+
+
+if __name__ == "__main__":
+    main()
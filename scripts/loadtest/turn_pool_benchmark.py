@@ -0,0 +1,158 @@
+"""
+턴 생성 동시성 벤치마크.
+
+`POST /api/threads/turns`를 동시성 단계별로 호출하면서 `/actuator/prometheus`의
+Hikari 지표(active/pending 커넥션, 커넥션 획득 타임아웃)를 함께 샘플링한다.
+DB 커넥션 풀 크기(`DB_POOL_SIZE`, 기본 10)를 고정한 채 변경 전/후 빌드에 각각 실행해
+풀이 고갈되기 전까지 처리 가능한 동시 턴 수를 비교한다.
+
+외부 의존성 없이 표준 라이브러리만 사용한다.
+"""
+
+from __future__ import annotations
+
+import argparse
+import json
+import os
+import re
+import statistics
+import threading
+import time
+import urllib.error
+import urllib.request
+from concurrent.futures import ThreadPoolExecutor
+from dataclasses import dataclass
+from typing import Dict, List
+
+DEFAULT_PROMPT = "운영체제의 가상 메모리 개념을 설명해줘"
+HIKARI_METRICS = (
+    "hikaricp_connections_active",
+    "hikaricp_connections_pending",
+    "hikaricp_connections_timeout_total",
+)
+
+
+@dataclass
+class StepResult:
+    concurrency: int
+    requests: int
+    succeeded: int
+    failed: int
+    p50_ms: float
+    p95_ms: float
+    max_active: float
+    max_pending: float
+    timeouts: float
+
+
+def post_turn(base_url: str, token: str, prompt: str, timeout: int) -> bool:
+    body = json.dumps({"threadId": None, "prompt": prompt}).encode("utf-8")
+    req = urllib.request.Request(
+        f"{base_url}/api/threads/turns",
+        data=body,
+        method="POST",
+        headers={
+            "Content-Type": "application/json",
+            "Accept": "application/json",
+            "Cookie": f"access_token={token}",
+        },
+    )
+    try:
+        with urllib.request.urlopen(req, timeout=timeout) as resp:
+            return resp.status == 200
+    except (urllib.error.URLError, TimeoutError):
+        return False
+
+
+def scrape_hikari(base_url: str) -> Dict[str, float]:
+    try:
+        with urllib.request.urlopen(f"{base_url}/actuator/prometheus", timeout=5) as resp:
+            text = resp.read().decode("utf-8")
+    except urllib.error.URLError:
+        return {}
+
+    values: Dict[str, float] = {}
+    for name in HIKARI_METRICS:
+        match = re.search(rf"^{name}\{{[^}}]*\}} ([0-9.eE+-]+)$", text, re.MULTILINE)
+        if match:
+            values[name] = float(match.group(1))
+    return values
+
+
+def run_step(args: argparse.Namespace, concurrency: int) -> StepResult:
+    latencies: List[float] = []
+    outcomes: List[bool] = []
+    lock = threading.Lock()
+    samples: List[Dict[str, float]] = []
+    stop = threading.Event()
+
+    def sampler() -> None:
+        while not stop.is_set():
+            samples.append(scrape_hikari(args.base_url))
+            stop.wait(args.sample_interval)
+
+    def task() -> None:
+        started = time.perf_counter()
+        ok = post_turn(args.base_url, args.token, args.prompt, args.timeout)
+        elapsed = (time.perf_counter() - started) * 1000
+        with lock:
+            latencies.append(elapsed)
+            outcomes.append(ok)
+
+    timeouts_before = scrape_hikari(args.base_url).get("hikaricp_connections_timeout_total", 0.0)
+    sampler_thread = threading.Thread(target=sampler, daemon=True)
+    sampler_thread.start()
+
+    total = concurrency * args.requests_per_worker
+    with ThreadPoolExecutor(max_workers=concurrency) as pool:
+        for _ in range(total):
+            pool.submit(task)
+
+    stop.set()
+    sampler_thread.join()
+    timeouts_after = scrape_hikari(args.base_url).get("hikaricp_connections_timeout_total", 0.0)
+
+    ordered = sorted(latencies)
+    return StepResult(
+        concurrency=concurrency,
+        requests=total,
+        succeeded=sum(outcomes),
+        failed=total - sum(outcomes),
+        p50_ms=statistics.median(ordered) if ordered else 0.0,
+        p95_ms=ordered[int(len(ordered) * 0.95) - 1] if ordered else 0.0,
+        max_active=max((s.get("hikaricp_connections_active", 0.0) for s in samples), default=0.0),
+        max_pending=max((s.get("hikaricp_connections_pending", 0.0) for s in samples), default=0.0),
+        timeouts=timeouts_after - timeouts_before,
+    )
+
+
+def parse_args() -> argparse.Namespace:
+    parser = argparse.ArgumentParser(description="턴 생성 동시성/커넥션 풀 벤치마크")
+    parser.add_argument("--base-url", default=os.getenv("PKV_BASE_URL", "http://localhost:8080"))
+    parser.add_argument("--token", default=os.getenv("PKV_ACCESS_TOKEN", ""))
+    parser.add_argument("--prompt", default=DEFAULT_PROMPT)
+    parser.add_argument("--concurrency", default="5,10,20,40,80", help="쉼표로 구분한 동시성 단계")
+    parser.add_argument("--requests-per-worker", type=int, default=3)
+    parser.add_argument("--timeout", type=int, default=60)
+    parser.add_argument("--sample-interval", type=float, default=0.2)
+    parser.add_argument("--label", default="run")
+    return parser.parse_args()
+
+
+def main() -> None:
+    args = parse_args()
+    if not args.token:
+        raise SystemExit("PKV_ACCESS_TOKEN(또는 --token)이 필요합니다.")
+
+    print(f"[{args.label}] concurrency | ok/total | p50 ms | p95 ms | max active | max pending | acquire timeouts")
+    for level in (int(value) for value in args.concurrency.split(",")):
+        result = run_step(args, level)
+        print(
+            f"[{args.label}] {result.concurrency:>11} | {result.succeeded:>3}/{result.requests:<4} "
+            f"| {result.p50_ms:>6.0f} | {result.p95_ms:>6.0f} | {result.max_active:>10.0f} "
+            f"| {result.max_pending:>11.0f} | {result.timeouts:>16.0f}"
+        )
+
+
+if __name__ == "__main__":
+    main()
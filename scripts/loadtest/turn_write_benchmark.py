@@ -0,0 +1,152 @@
+"""
+턴 저장(쓰기) 지연 측정.
+
+가짜 OpenAI upstream을 거의 0에 가까운 지연으로 띄워 턴 생성 시간의 대부분이 DB 쓰기가 되도록 만든 뒤,
+워커마다 스레드 하나를 만들고 같은 스레드에 후속 턴을 이어서 보낸다.
+`/actuator/prometheus`의 `chat_turn_persist_seconds`(턴 + 출처 저장 구간) 증가분으로 평균과 p95를 계산한다.
+
+외부 의존성 없이 표준 라이브러리만 사용한다.
+"""
+
+from __future__ import annotations
+
+import argparse
+import json
+import os
+import re
+import threading
+import time
+import urllib.error
+import urllib.request
+from concurrent.futures import ThreadPoolExecutor
+from http.server import ThreadingHTTPServer
+from typing import Dict, List, Optional
+
+from virtual_thread_benchmark import fake_upstream_handler
+
+DEFAULT_PROMPT = "운영체제의 가상 메모리 개념을 설명해줘"
+PERSIST_METRIC = "chat_turn_persist_seconds"
+
+
+def post_turn(base_url: str, token: str, thread_id: Optional[str], prompt: str, timeout: int) -> Optional[str]:
+    """성공하면 응답의 threadId를 돌려준다."""
+    body = json.dumps({"threadId": thread_id, "prompt": prompt}).encode("utf-8")
+    req = urllib.request.Request(
+        f"{base_url}/api/threads/turns",
+        data=body,
+        method="POST",
+        headers={
+            "Content-Type": "application/json",
+            "Accept": "application/json",
+            "Cookie": f"access_token={token}",
+        },
+    )
+    try:
+        with urllib.request.urlopen(req, timeout=timeout) as resp:
+            if resp.status != 200:
+                return None
+            return json.loads(resp.read().decode("utf-8"))["data"]["threadId"]
+    except (urllib.error.URLError, TimeoutError, KeyError, TypeError, ValueError):
+        return None
+
+
+def scrape_persist_metrics(base_url: str) -> Dict[str, float]:
+    """mode=complete 구간의 합계/건수와 누적 히스토그램 버킷(le 초)을 읽는다."""
+    try:
+        with urllib.request.urlopen(f"{base_url}/actuator/prometheus", timeout=5) as resp:
+            text = resp.read().decode("utf-8")
+    except urllib.error.URLError:
+        return {}
+
+    values: Dict[str, float] = {}
+    pattern = re.compile(
+        rf'^{PERSIST_METRIC}_(sum|count|bucket)\{{([^}}]*)\}} ([0-9.eE+-]+)$',
+        re.MULTILINE,
+    )
+    for kind, labels, value in pattern.findall(text):
+        if 'mode="complete"' not in labels:
+            continue
+        if kind == "bucket":
+            le = re.search(r'le="([^"]+)"', labels).group(1)
+            values[f"bucket:{le}"] = float(value)
+        else:
+            values[kind] = float(value)
+    return values
+
+
+def percentile_from_buckets(delta: Dict[str, float], quantile: float) -> float:
+    buckets = sorted(
+        (float("inf") if key == "bucket:+Inf" else float(key.split(":", 1)[1]), count)
+        for key, count in delta.items()
+        if key.startswith("bucket:")
+    )
+    total = delta.get("count", 0.0)
+    if not buckets or not total:
+        return 0.0
+    target = total * quantile
+    for upper, cumulative in buckets:
+        if cumulative >= target:
+            return upper
+    return buckets[-1][0]
+
+
+def run(args: argparse.Namespace) -> None:
+    failures: List[int] = []
+    lock = threading.Lock()
+
+    def worker() -> None:
+        thread_id: Optional[str] = None
+        for _ in range(args.turns_per_thread):
+            thread_id = post_turn(args.base_url, args.token, thread_id, args.prompt, args.timeout)
+            if thread_id is None:
+                with lock:
+                    failures.append(1)
+                return
+
+    before = scrape_persist_metrics(args.base_url)
+    started = time.perf_counter()
+    with ThreadPoolExecutor(max_workers=args.threads) as pool:
+        for _ in range(args.threads):
+            pool.submit(worker)
+    elapsed_s = time.perf_counter() - started
+    after = scrape_persist_metrics(args.base_url)
+
+    delta = {key: after.get(key, 0.0) - before.get(key, 0.0) for key in after}
+    count = delta.get("count", 0.0)
+    mean_ms = delta.get("sum", 0.0) / count * 1000 if count else 0.0
+    p95 = percentile_from_buckets(delta, 0.95)
+    print(f"[{args.label}] threads {args.threads} x turns {args.turns_per_thread} | elapsed {elapsed_s:.1f}s "
+          f"| failed threads {len(failures)}")
+    print(f"[{args.label}] persisted turns {count:.0f} | persist mean {mean_ms:.1f}ms "
+          f"| persist p95 <= {p95 * 1000:.1f}ms | turns/s {count / elapsed_s if elapsed_s else 0.0:.1f}")
+
+
+def parse_args() -> argparse.Namespace:
+    parser = argparse.ArgumentParser(description="턴 저장 지연 측정")
+    parser.add_argument("--base-url", default=os.getenv("PKV_BASE_URL", "http://localhost:8080"))
+    parser.add_argument("--token", default=os.getenv("PKV_ACCESS_TOKEN", ""))
+    parser.add_argument("--prompt", default=DEFAULT_PROMPT)
+    parser.add_argument("--threads", type=int, default=20, help="동시에 진행할 스레드(대화) 수")
+    parser.add_argument("--turns-per-thread", type=int, default=20, help="스레드당 턴 수 (턴 한도 30 이하)")
+    parser.add_argument("--timeout", type=int, default=30)
+    parser.add_argument("--upstream-port", type=int, default=18080, help="가짜 OpenAI upstream 포트 (0이면 띄우지 않음)")
+    parser.add_argument("--label", default="run")
+    return parser.parse_args()
+
+
+def main() -> None:
+    args = parse_args()
+    if not args.token:
+        raise SystemExit("PKV_ACCESS_TOKEN(또는 --token)이 필요합니다.")
+
+    if args.upstream_port:
+        server = ThreadingHTTPServer(("0.0.0.0", args.upstream_port), fake_upstream_handler(0, 0))
+        server.daemon_threads = True
+        threading.Thread(target=server.serve_forever, daemon=True).start()
+        print(f"[{args.label}] fake upstream: http://localhost:{args.upstream_port}/v1 (no latency)")
+
+    run(args)
+
+
+if __name__ == "__main__":
+    main()
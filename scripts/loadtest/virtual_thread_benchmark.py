@@ -0,0 +1,230 @@
+"""
+가상 스레드 + 외부 의존성 bulkhead 부하 테스트.
+
+OpenAI 호환 가짜 upstream(`/v1/embeddings`, `/v1/chat/completions`)을 지정한 지연으로 띄우고,
+`OPENAI_BASE_URL`을 이 서버로 지정해 실행한 API 서버에 `POST /api/threads/turns`를 동시성 단계별로 호출한다.
+단계마다 처리량(req/s), p50/p95 지연과 `/actuator/prometheus`의 bulkhead 대기/거절, Hikari 대기 지표를 함께 출력한다.
+
+외부 의존성 없이 표준 라이브러리만 사용한다.
+"""
+
+from __future__ import annotations
+
+import argparse
+import json
+import math
+import os
+import re
+import statistics
+import threading
+import time
+import urllib.error
+import urllib.request
+from concurrent.futures import ThreadPoolExecutor
+from dataclasses import dataclass
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+from typing import Dict, List
+
+DEFAULT_PROMPT = "운영체제의 가상 메모리 개념을 설명해줘"
+EMBEDDING_DIMENSION = 1536
+
+
+@dataclass
+class StepResult:
+    concurrency: int
+    requests: int
+    succeeded: int
+    elapsed_s: float
+    p50_ms: float
+    p95_ms: float
+    metrics: Dict[str, float]
+
+    @property
+    def throughput(self) -> float:
+        return self.succeeded / self.elapsed_s if self.elapsed_s else 0.0
+
+
+def fake_upstream_handler(latency_ms: int, chat_latency_ms: int):
+    # 모든 텍스트에 같은 단위 벡터를 돌려주므로, 같은 가짜 upstream으로 임베딩한 문서는 항상 검색된다.
+    # 요청에 dimensions가 있으면(embedding.dimension) 그 차원으로 돌려준다.
+    def unit_vector(dimension: int) -> List[float]:
+        return [1.0 / math.sqrt(dimension)] * dimension
+
+    class Handler(BaseHTTPRequestHandler):
+        protocol_version = "HTTP/1.1"
+
+        def do_POST(self) -> None:  # noqa: N802
+            body = json.loads(self.rfile.read(int(self.headers.get("Content-Length", 0))) or b"{}")
+            if self.path.endswith("/embeddings"):
+                time.sleep(latency_ms / 1000)
+                inputs = body.get("input", [])
+                inputs = inputs if isinstance(inputs, list) else [inputs]
+                vector = unit_vector(int(body.get("dimensions") or EMBEDDING_DIMENSION))
+                payload = {
+                    "object": "list",
+                    "model": body.get("model", "fake"),
+                    "data": [
+                        {"object": "embedding", "index": index, "embedding": vector}
+                        for index in range(len(inputs))
+                    ],
+                    "usage": {"prompt_tokens": 1, "total_tokens": 1},
+                }
+            elif self.path.endswith("/chat/completions"):
+                time.sleep(chat_latency_ms / 1000)
+                payload = {
+                    "id": "chatcmpl-fake",
+                    "object": "chat.completion",
+                    "created": int(time.time()),
+                    "model": body.get("model", "fake"),
+                    "choices": [{
+                        "index": 0,
+                        "message": {"role": "assistant", "content": "가짜 upstream 답변입니다."},
+                        "finish_reason": "stop",
+                    }],
+                    "usage": {"prompt_tokens": 1, "completion_tokens": 1, "total_tokens": 2},
+                }
+            else:
+                self.send_error(404)
+                return
+
+            encoded = json.dumps(payload).encode("utf-8")
+            self.send_response(200)
+            self.send_header("Content-Type", "application/json")
+            self.send_header("Content-Length", str(len(encoded)))
+            self.end_headers()
+            self.wfile.write(encoded)
+
+        def log_message(self, format: str, *args) -> None:  # noqa: A002
+            pass
+
+    return Handler
+
+
+def post_turn(base_url: str, token: str, prompt: str, timeout: int) -> bool:
+    body = json.dumps({"threadId": None, "prompt": prompt}).encode("utf-8")
+    req = urllib.request.Request(
+        f"{base_url}/api/threads/turns",
+        data=body,
+        method="POST",
+        headers={
+            "Content-Type": "application/json",
+            "Accept": "application/json",
+            "Cookie": f"access_token={token}",
+        },
+    )
+    try:
+        with urllib.request.urlopen(req, timeout=timeout) as resp:
+            return resp.status == 200
+    except (urllib.error.URLError, TimeoutError):
+        return False
+
+
+def scrape_metrics(base_url: str) -> Dict[str, float]:
+    """bulkhead 대기 합계/거절 수와 Hikari pending을 의존성별로 합산한다."""
+    try:
+        with urllib.request.urlopen(f"{base_url}/actuator/prometheus", timeout=5) as resp:
+            text = resp.read().decode("utf-8")
+    except urllib.error.URLError:
+        return {}
+
+    values: Dict[str, float] = {}
+    pattern = re.compile(
+        r'^(bulkhead_wait_seconds_sum|bulkhead_wait_seconds_count|bulkhead_rejected_total)'
+        r'\{[^}]*dependency="([^"]+)"[^}]*\} ([0-9.eE+-]+)$',
+        re.MULTILINE,
+    )
+    for name, dependency, value in pattern.findall(text):
+        values[f"{name}:{dependency}"] = float(value)
+    match = re.search(r"^hikaricp_connections_pending\{[^}]*\} ([0-9.eE+-]+)$", text, re.MULTILINE)
+    if match:
+        values["hikaricp_connections_pending"] = float(match.group(1))
+    return values
+
+
+def run_step(args: argparse.Namespace, concurrency: int) -> StepResult:
+    latencies: List[float] = []
+    outcomes: List[bool] = []
+    lock = threading.Lock()
+
+    def task() -> None:
+        started = time.perf_counter()
+        ok = post_turn(args.base_url, args.token, args.prompt, args.timeout)
+        elapsed = (time.perf_counter() - started) * 1000
+        with lock:
+            latencies.append(elapsed)
+            outcomes.append(ok)
+
+    before = scrape_metrics(args.base_url)
+    total = concurrency * args.requests_per_worker
+    started = time.perf_counter()
+    with ThreadPoolExecutor(max_workers=concurrency) as pool:
+        for _ in range(total):
+            pool.submit(task)
+    elapsed_s = time.perf_counter() - started
+    after = scrape_metrics(args.base_url)
+
+    delta = {key: after.get(key, 0.0) - before.get(key, 0.0) for key in after}
+    ordered = sorted(latencies)
+    return StepResult(
+        concurrency=concurrency,
+        requests=total,
+        succeeded=sum(outcomes),
+        elapsed_s=elapsed_s,
+        p50_ms=statistics.median(ordered) if ordered else 0.0,
+        p95_ms=ordered[int(len(ordered) * 0.95) - 1] if ordered else 0.0,
+        metrics=delta,
+    )
+
+
+def format_bulkheads(metrics: Dict[str, float]) -> str:
+    parts = []
+    for dependency in ("chat-model", "embedding-model", "qdrant"):
+        count = metrics.get(f"bulkhead_wait_seconds_count:{dependency}", 0.0)
+        total = metrics.get(f"bulkhead_wait_seconds_sum:{dependency}", 0.0)
+        rejected = metrics.get(f"bulkhead_rejected_total:{dependency}", 0.0)
+        mean_ms = total / count * 1000 if count else 0.0
+        parts.append(f"{dependency} wait {mean_ms:.0f}ms/rej {rejected:.0f}")
+    return ", ".join(parts)
+
+
+def parse_args() -> argparse.Namespace:
+    parser = argparse.ArgumentParser(description="가상 스레드/bulkhead 턴 생성 부하 테스트")
+    parser.add_argument("--base-url", default=os.getenv("PKV_BASE_URL", "http://localhost:8080"))
+    parser.add_argument("--token", default=os.getenv("PKV_ACCESS_TOKEN", ""))
+    parser.add_argument("--prompt", default=DEFAULT_PROMPT)
+    parser.add_argument("--concurrency", default="50,100,250,500", help="쉼표로 구분한 동시성 단계")
+    parser.add_argument("--requests-per-worker", type=int, default=2)
+    parser.add_argument("--timeout", type=int, default=120)
+    parser.add_argument("--upstream-port", type=int, default=18080, help="가짜 OpenAI upstream 포트 (0이면 띄우지 않음)")
+    parser.add_argument("--embedding-latency-ms", type=int, default=200)
+    parser.add_argument("--chat-latency-ms", type=int, default=1500)
+    parser.add_argument("--label", default="run")
+    return parser.parse_args()
+
+
+def main() -> None:
+    args = parse_args()
+    if not args.token:
+        raise SystemExit("PKV_ACCESS_TOKEN(또는 --token)이 필요합니다.")
+
+    if args.upstream_port:
+        handler = fake_upstream_handler(args.embedding_latency_ms, args.chat_latency_ms)
+        server = ThreadingHTTPServer(("0.0.0.0", args.upstream_port), handler)
+        server.daemon_threads = True
+        threading.Thread(target=server.serve_forever, daemon=True).start()
+        print(f"[{args.label}] fake upstream: http://localhost:{args.upstream_port}/v1 "
+              f"(embedding {args.embedding_latency_ms}ms, chat {args.chat_latency_ms}ms)")
+
+    print(f"[{args.label}] concurrency | ok/total | req/s | p50 ms | p95 ms | bulkheads | hikari pending")
+    for level in (int(value) for value in args.concurrency.split(",")):
+        result = run_step(args, level)
+        print(
+            f"[{args.label}] {result.concurrency:>11} | {result.succeeded:>4}/{result.requests:<4} "
+            f"| {result.throughput:>5.1f} | {result.p50_ms:>6.0f} | {result.p95_ms:>6.0f} "
+            f"| {format_bulkheads(result.metrics)} "
+            f"| {result.metrics.get('hikaricp_connections_pending', 0.0):.0f}"
+        )
+
+
+if __name__ == "__main__":
+    main()
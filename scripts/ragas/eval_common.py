@@ -20,6 +20,7 @@ import json
 import os
 import statistics
 import textwrap
+import zlib
 from dataclasses import dataclass
 from datetime import datetime, timedelta, timezone
 from pathlib import Path
@@ -327,7 +328,7 @@ class DbReader:
     """
     평가용 read-only DB 조회 유틸.
 
-    turn_citations 테이블에서 source_chunk_ref를 조회한다.
+    turn_citations 테이블에서 source_chunk_ref를, document_chunks 테이블에서 청크 본문을 조회한다.
     """
 
     def __init__(self, cfg: EvalConfig):
@@ -349,7 +350,7 @@ class DbReader:
         """
         display_order 순으로 source_chunk_ref를 반환한다.
 
-        이후 Qdrant에서 full chunk 텍스트를 복원하는 키로 사용한다.
+        이후 full chunk 텍스트를 복원하는 키로 사용한다(chunk_texts, 없으면 Qdrant).
         """
 
         sql = textwrap.dedent(
@@ -370,6 +371,30 @@ class DbReader:
                     refs.append(ref)
         return refs
 
+    def chunk_texts(self, source_chunk_refs: Sequence[str]) -> Dict[str, str]:
+        """
+        sourceChunkRef 목록의 full chunk 텍스트를 한 번의 조회로 반환한다.
+
+        본문은 document_chunks.text에 zlib(deflate)으로 압축되어 있다.
+        청크 저장소 도입 전에 임베딩한 청크(또는 테이블이 없는 DB)는 결과에서 빠지며, Qdrant payload에서 복원한다.
+        """
+
+        refs = list(dict.fromkeys(ref for ref in source_chunk_refs if ref))
+        if not refs:
+            return {}
+
+        placeholders = ", ".join(["%s"] * len(refs))
+        sql = f"SELECT source_chunk_ref, text FROM document_chunks WHERE source_chunk_ref IN ({placeholders})"
+        texts: Dict[str, str] = {}
+        with self.conn.cursor() as cur:
+            try:
+                cur.execute(sql, refs)
+            except pymysql.err.ProgrammingError:
+                return {}
+            for row in cur.fetchall():
+                texts[row["source_chunk_ref"]] = zlib.decompress(row["text"]).decode("utf-8")
+        return texts
+
 
 class QdrantRestClient:
     """
@@ -145,13 +145,14 @@ def collect_responses(
                 samples.append(s)
                 continue
 
-            # Step 4) sourceChunkRef -> full chunk text 복원
+            # Step 4) sourceChunkRef -> full chunk text 복원 (청크 저장소 일괄 조회, 없으면 Qdrant payload)
+            stored_texts = db.chunk_texts(refs)
             contexts: List[str] = []
             resolved_refs: List[str] = []
             missing_refs: List[str] = []
             for ref in refs:
                 try:
-                    text = qdrant.get_chunk_text(ref, cfg.member_id)
+                    text = stored_texts.get(ref) or qdrant.get_chunk_text(ref, cfg.member_id)
                 except Exception as exc:
                     s.status = STATUS_EXCLUDED_FAILED
                     s.error = f"qdrant lookup failed: {exc}"
@@ -352,6 +353,7 @@ def build_benchmark_summary(
     rounds: int,
     scores: Dict[str, List[Optional[float]]],
     round_details: List[Dict[str, Any]],
+    context_counts: List[Optional[float]],
     cfg: EvalConfig,
     total_started: Any,
     total_finished: Any,
@@ -372,6 +374,10 @@ def build_benchmark_summary(
     lines.append(f"- Finished At (UTC): `{iso_ts(total_finished)}`")
     total_sec = round((total_finished - total_started).total_seconds(), 1)
     lines.append(f"- Total Duration: **{total_sec}s**")
+    valid_counts = [c for c in context_counts if c is not None]
+    if valid_counts:
+        # 답변 프롬프트에 들어간 청크 수. 하이브리드 검색 전/후 비교에 사용한다.
+        lines.append(f"- Mean Contexts per Answer: **{statistics.fmean(valid_counts):.2f}**")
     lines.append("")
 
     # --- Results 테이블 ---
@@ -536,6 +542,7 @@ def main() -> int:
     # 라운드별 점수 기록
     scores: Dict[str, List[Optional[float]]] = {m: [] for m in metrics}
     round_details: List[Dict[str, Any]] = []
+    context_counts: List[Optional[float]] = []
 
     for round_num in range(1, rounds + 1):
         print(f"=== Round {round_num}/{rounds} ===")
@@ -548,6 +555,11 @@ def main() -> int:
         ok_count = sum(1 for s in collected if s.status == STATUS_OK)
         excluded_count = len(collected) - ok_count
         print(f"  Collected: {ok_count} ok, {excluded_count} excluded")
+        ok_context_counts = [len(s.retrieved_context_ids) for s in collected if s.status == STATUS_OK]
+        mean_contexts = statistics.fmean(ok_context_counts) if ok_context_counts else None
+        context_counts.append(mean_contexts)
+        if mean_contexts is not None:
+            print(f"  Mean contexts per answer: {mean_contexts:.2f}")
 
         # 각 메트릭으로 평가
         for metric in metrics:
@@ -598,6 +610,7 @@ def main() -> int:
         rounds=rounds,
         scores=scores,
         round_details=round_details,
+        context_counts=context_counts,
         cfg=cfg,
         total_started=total_started,
         total_finished=total_finished,
@@ -305,13 +305,14 @@ def evaluate(cfg: EvalConfig) -> Dict[str, Any]:
                 samples.append(base)
                 continue
 
-            # Step 4) sourceChunkRef -> full chunk text 복원
+            # Step 4) sourceChunkRef -> full chunk text 복원 (청크 저장소 일괄 조회, 없으면 Qdrant payload)
+            stored_texts = db.chunk_texts(refs)
             contexts: List[str] = []
             resolved_refs: List[str] = []
             missing_refs: List[str] = []
             for ref in refs:
                 try:
-                    text = qdrant.get_chunk_text(ref, cfg.member_id)
+                    text = stored_texts.get(ref) or qdrant.get_chunk_text(ref, cfg.member_id)
                 except Exception as exc:
                     base["status"] = STATUS_EXCLUDED_FAILED
                     base["error"] = f"qdrant lookup failed: {exc}"
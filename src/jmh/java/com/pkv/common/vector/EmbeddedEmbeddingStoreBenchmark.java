@@ -0,0 +1,154 @@
+package com.pkv.common.vector;
+
+import com.pkv.common.config.QdrantCollectionSettings;
+import com.pkv.common.config.QdrantCollections;
+import com.pkv.common.config.QdrantPayloadKeys;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.qdrant.QdrantEmbeddingStore;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.QdrantGrpcClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+
+/**
+ * 회원 필터 검색(top 20) 지연을 임베디드 저장소와 Qdrant에서 비교한다.
+ * <p>
+ * 데이터는 고정 seed로 만들어 한 번만 적재한다. 임베디드 저장소는 {@code build/jmh-vectors}에, Qdrant는
+ * {@code pkv_jmh_<vectors>_d<dimension>} 컬렉션에 남겨 두므로 다시 실행하면 적재 없이 기존 세그먼트/컬렉션을 그대로 쓴다.
+ * Qdrant 주소는 {@code -Dqdrant.host}, {@code -Dqdrant.port}로 지정한다(기본 localhost:6334).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmbeddedEmbeddingStoreBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int MAX_RESULTS = 20;
+    private static final long SEED = 42L;
+
+    @Param({"100000", "1000000"})
+    public int vectors;
+
+    @Param({"512"})
+    public int dimension;
+
+    /**
+     * 회원 수. 회원당 벡터 수가 full-scan-threshold(20000)보다 많으면 임베디드 저장소도 그래프로 검색한다.
+     */
+    @Param({"10", "1000"})
+    public int members;
+
+    @Param({"embedded", "qdrant"})
+    public String store;
+
+    private EmbeddingStore<TextSegment> embeddingStore;
+    private QdrantClient qdrantClient;
+    private Embedding[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if ("embedded".equals(store)) {
+            Path directory = Path.of("build", "jmh-vectors", "%d_d%d_m%d".formatted(vectors, dimension, members));
+            EmbeddedEmbeddingStore embedded = new EmbeddedEmbeddingStore(directory, dimension, 16, 100, 128, 65_536, 20_000);
+            embeddingStore = embedded;
+            if (embedded.search(request(randomVector(new SplittableRandom(SEED)), 0L)).matches().isEmpty()) {
+                load();
+            }
+        } else {
+            qdrantClient = new QdrantClient(QdrantGrpcClient.newBuilder(
+                    System.getProperty("qdrant.host", "localhost"),
+                    Integer.getInteger("qdrant.port", 6334),
+                    false).build());
+            String collectionName = "pkv_jmh_%d_d%d_m%d".formatted(vectors, dimension, members);
+            QdrantCollections collections = new QdrantCollections(qdrantClient, new QdrantCollectionSettings(
+                    dimension, 0, 16, 100, QdrantCollectionSettings.Quantization.NONE, true, false, false));
+            boolean exists = collections.exists(collectionName);
+            if (!exists) {
+                collections.create(collectionName, dimension);
+            }
+            embeddingStore = QdrantEmbeddingStore.builder()
+                    .client(qdrantClient)
+                    .collectionName(collectionName)
+                    .build();
+            if (!exists) {
+                load();
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        queries = new Embedding[1_024];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = randomVector(random);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (embeddingStore instanceof EmbeddedEmbeddingStore embedded) {
+            embedded.close();
+        }
+        if (qdrantClient != null) {
+            qdrantClient.close();
+        }
+    }
+
+    @Benchmark
+    public EmbeddingSearchResult<TextSegment> searchByMember() {
+        int query = next++ & (queries.length - 1);
+        return embeddingStore.search(request(queries[query], (long) (query % members)));
+    }
+
+    private void load() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int start = 0; start < vectors; start += BATCH_SIZE) {
+            int end = Math.min(start + BATCH_SIZE, vectors);
+            List<Embedding> embeddings = new ArrayList<>(end - start);
+            List<TextSegment> segments = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                embeddings.add(randomVector(random));
+                segments.add(TextSegment.from("chunk-" + i, new Metadata()
+                        .put(QdrantPayloadKeys.MEMBER_ID, (long) (i % members))
+                        .put(QdrantPayloadKeys.DOCUMENT_ID, (long) (i / 100))));
+            }
+            embeddingStore.addAll(embeddings, segments);
+        }
+    }
+
+    private Embedding randomVector(SplittableRandom random) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return Embedding.from(vector);
+    }
+
+    private static EmbeddingSearchRequest request(Embedding query, long memberId) {
+        return EmbeddingSearchRequest.builder()
+                .queryEmbedding(query)
+                .filter(metadataKey(QdrantPayloadKeys.MEMBER_ID).isEqualTo(memberId))
+                .maxResults(MAX_RESULTS)
+                .build();
+    }
+}
@@ -7,6 +7,7 @@ import com.pkv.auth.oauth2.OAuth2FailureHandler;
 import com.pkv.auth.oauth2.OAuth2SuccessHandler;
 import com.pkv.common.dto.ApiResponse;
 import com.pkv.common.exception.ErrorCode;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +15,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -55,8 +57,12 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 .authorizeHttpRequests(auth -> auth
+                        // SSE 응답 완료 시의 async 디스패치는 최초 요청에서 이미 인증되었다.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // 캐시 flush 같은 actuator 쓰기 작업은 관리자(app.admin-member-ids)만 할 수 있다.
+                        .requestMatchers(HttpMethod.GET, "/actuator/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(
-                                "/actuator/**",
                                 "/oauth2/**",
                                 "/login/oauth2/**",
                                 "/api/auth/refresh",
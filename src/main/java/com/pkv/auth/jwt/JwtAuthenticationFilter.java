@@ -8,6 +8,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,7 +17,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Component
@@ -26,6 +28,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
 
+    /**
+     * actuator 쓰기 작업(캐시 비우기 등)을 할 수 있는 회원 id. 비어 있으면 아무도 할 수 없다.
+     */
+    @Value("${app.admin-member-ids:}")
+    private Set<Long> adminMemberIds;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
@@ -40,10 +48,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         Long memberId = jwtTokenProvider.getMemberId(token);
         String email = jwtTokenProvider.getEmail(token);
 
+        List<SimpleGrantedAuthority> authorities = adminMemberIds.contains(memberId)
+                ? List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+                : List.of(new SimpleGrantedAuthority("ROLE_USER"));
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                 memberId,
                 email,
-                Collections.singleton(new SimpleGrantedAuthority("ROLE_USER"))
+                authorities
         );
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,102 @@
+package com.pkv.chat.config;
+
+import com.pkv.chat.service.AdaptiveChatModel;
+import com.pkv.chat.service.AdaptiveEmbeddingModel;
+import com.pkv.common.concurrent.AdaptiveCallPolicy;
+import com.pkv.common.concurrent.AdaptiveCaller;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * api 프로파일의 {@link ChatModel} 빈과 질문 임베딩 빈({@link QueryEmbeddingModelConfig#QUERY_EMBEDDING_MODEL})에
+ * {@link AdaptiveCaller}를 적용한다.
+ * <p>
+ * bulkhead 바깥, 캐시 안쪽에 놓인다(캐시 → 타임아웃/hedge → bulkhead → 모델). 따라서 타임아웃은 permit 대기 시간을 포함하고,
+ * hedge로 보낸 중복 요청도 permit을 사용한다. 스트리밍 chat model은 응답 시간이 답변 길이에 비례해 적용하지 않는다.
+ * 만든 {@link AdaptiveCaller}의 executor는 컨텍스트 종료 시 닫는다.
+ */
+@Configuration
+@Profile("api")
+public class AdaptiveCallConfig {
+
+    @Bean
+    public static BeanPostProcessor adaptiveModelPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            Environment environment) {
+        return new AdaptiveModelPostProcessor(meterRegistry, environment);
+    }
+
+    private static final class AdaptiveModelPostProcessor implements BeanPostProcessor, Ordered, DisposableBean {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final Binder binder;
+        private final List<AdaptiveCaller> callers = new CopyOnWriteArrayList<>();
+
+        private AdaptiveModelPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+            this.meterRegistry = meterRegistry;
+            this.binder = Binder.get(environment);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof ChatModel model && !(bean instanceof AdaptiveChatModel)) {
+                return new AdaptiveChatModel(model, caller("chat-model",
+                        Duration.ofSeconds(10), Duration.ofSeconds(60), false));
+            }
+            if (bean instanceof EmbeddingModel model
+                    && QueryEmbeddingModelConfig.QUERY_EMBEDDING_MODEL.equals(beanName)
+                    && !(bean instanceof AdaptiveEmbeddingModel)) {
+                return new AdaptiveEmbeddingModel(model, caller("embedding-model",
+                        Duration.ofSeconds(2), Duration.ofSeconds(20), true));
+            }
+            return bean;
+        }
+
+        /**
+         * {@link BulkheadConfig}의 후처리 다음에 적용되어 bulkhead를 감싼다.
+         */
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE + 1;
+        }
+
+        private AdaptiveCaller caller(String name, Duration minTimeout, Duration maxTimeout, boolean hedgeEnabled) {
+            String prefix = "chat.adaptive-call." + name + ".";
+            AdaptiveCallPolicy policy = new AdaptiveCallPolicy(
+                    bind(prefix + "min-timeout", Duration.class, minTimeout),
+                    bind(prefix + "max-timeout", Duration.class, maxTimeout),
+                    bind(prefix + "timeout-multiplier", Double.class, 3.0),
+                    bind(prefix + "hedge-enabled", Boolean.class, hedgeEnabled),
+                    bind(prefix + "min-hedge-delay", Duration.class, Duration.ofMillis(100)),
+                    bind(prefix + "window-size", Integer.class, 512),
+                    bind(prefix + "min-samples", Integer.class, 20)
+            );
+            AdaptiveCaller caller = new AdaptiveCaller(name, policy, meterRegistry.getObject());
+            callers.add(caller);
+            return caller;
+        }
+
+        @Override
+        public void destroy() {
+            callers.forEach(AdaptiveCaller::close);
+        }
+
+        private <T> T bind(String name, Class<T> type, T defaultValue) {
+            return binder.bind(name, type).orElse(defaultValue);
+        }
+    }
+}
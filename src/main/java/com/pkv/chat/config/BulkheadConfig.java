@@ -0,0 +1,117 @@
+package com.pkv.chat.config;
+
+import com.pkv.chat.service.BulkheadChatModel;
+import com.pkv.chat.service.BulkheadEmbeddingModel;
+import com.pkv.chat.service.BulkheadStreamingChatModel;
+import com.pkv.common.concurrent.Bulkhead;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * 외부 의존성별 {@link Bulkhead} 설정.
+ * <p>
+ * chat 모델과 질문 임베딩 빈({@link QueryEmbeddingModelConfig#QUERY_EMBEDDING_MODEL})은 빈 자체를 감싸 호출부가
+ * bulkhead를 알 필요가 없게 하고, Qdrant는 {@code QdrantChunkRetriever}가 {@link #QDRANT_BULKHEAD}를 직접 사용한다. MySQL은 Hikari 커넥션 풀이 같은 역할을 한다
+ * ({@code DB_POOL_SIZE}, {@code hikaricp_connections_acquire} 지표).
+ */
+@Configuration
+@Profile("api")
+public class BulkheadConfig {
+
+    public static final String QDRANT_BULKHEAD = "qdrantBulkhead";
+
+    @Bean
+    public static BeanPostProcessor modelBulkheadPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${chat.bulkhead.chat-model.max-concurrent:50}") int chatMaxConcurrent,
+            @Value("${chat.bulkhead.chat-model.max-wait:10s}") Duration chatMaxWait,
+            @Value("${chat.bulkhead.embedding-model.max-concurrent:50}") int embeddingMaxConcurrent,
+            @Value("${chat.bulkhead.embedding-model.max-wait:5s}") Duration embeddingMaxWait) {
+        return new ModelBulkheadPostProcessor(
+                meterRegistry, chatMaxConcurrent, chatMaxWait, embeddingMaxConcurrent, embeddingMaxWait);
+    }
+
+    @Bean(name = QDRANT_BULKHEAD)
+    public Bulkhead qdrantBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${chat.bulkhead.qdrant.max-concurrent:100}") int maxConcurrent,
+            @Value("${chat.bulkhead.qdrant.max-wait:2s}") Duration maxWait) {
+        return new Bulkhead("qdrant", maxConcurrent, maxWait, meterRegistry);
+    }
+
+    /**
+     * 캐시 래퍼({@link EmbeddingCacheConfig})보다 먼저 적용되도록 순서를 지정한다.
+     * 그래야 캐시가 bulkhead 바깥에 놓여 캐시 적중은 permit을 사용하지 않는다.
+     * chat model과 streaming chat model은 같은 upstream이므로 permit을 공유한다.
+     */
+    private static final class ModelBulkheadPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final int chatMaxConcurrent;
+        private final Duration chatMaxWait;
+        private final int embeddingMaxConcurrent;
+        private final Duration embeddingMaxWait;
+        private Bulkhead chatBulkhead;
+        private Bulkhead embeddingBulkhead;
+
+        private ModelBulkheadPostProcessor(
+                ObjectProvider<MeterRegistry> meterRegistry,
+                int chatMaxConcurrent,
+                Duration chatMaxWait,
+                int embeddingMaxConcurrent,
+                Duration embeddingMaxWait) {
+            this.meterRegistry = meterRegistry;
+            this.chatMaxConcurrent = chatMaxConcurrent;
+            this.chatMaxWait = chatMaxWait;
+            this.embeddingMaxConcurrent = embeddingMaxConcurrent;
+            this.embeddingMaxWait = embeddingMaxWait;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof ChatModel model && !(bean instanceof BulkheadChatModel)) {
+                return new BulkheadChatModel(model, chatBulkhead());
+            }
+            if (bean instanceof StreamingChatModel model && !(bean instanceof BulkheadStreamingChatModel)) {
+                return new BulkheadStreamingChatModel(model, chatBulkhead());
+            }
+            if (bean instanceof EmbeddingModel model
+                    && QueryEmbeddingModelConfig.QUERY_EMBEDDING_MODEL.equals(beanName)
+                    && !(bean instanceof BulkheadEmbeddingModel)) {
+                return new BulkheadEmbeddingModel(model, embeddingBulkhead());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        private synchronized Bulkhead chatBulkhead() {
+            if (chatBulkhead == null) {
+                chatBulkhead = new Bulkhead("chat-model", chatMaxConcurrent, chatMaxWait, meterRegistry.getObject());
+            }
+            return chatBulkhead;
+        }
+
+        private synchronized Bulkhead embeddingBulkhead() {
+            if (embeddingBulkhead == null) {
+                embeddingBulkhead = new Bulkhead(
+                        "embedding-model", embeddingMaxConcurrent, embeddingMaxWait, meterRegistry.getObject());
+            }
+            return embeddingBulkhead;
+        }
+    }
+}
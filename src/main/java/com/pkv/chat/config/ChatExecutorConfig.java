@@ -0,0 +1,81 @@
+package com.pkv.chat.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * 답변 생성 파이프라인용 executor. 작업 대부분이 OpenAI/Qdrant/MySQL I/O 대기이므로 가상 스레드로 실행하고,
+ * upstream별 동시 호출 수는 {@link BulkheadConfig}의 bulkhead가 제한한다.
+ */
+@Configuration
+@Profile("api")
+public class ChatExecutorConfig {
+
+    public static final String TURN_STREAM_EXECUTOR = "turnStreamExecutor";
+    public static final String RETRIEVAL_EXECUTOR = "retrievalExecutor";
+    public static final String TURN_ASYNC_EXECUTOR = "turnAsyncExecutor";
+    public static final String THREAD_SUMMARY_EXECUTOR = "threadSummaryExecutor";
+    public static final String TURN_RESULT_EXECUTOR = "turnResultExecutor";
+
+    private static final long TASK_TERMINATION_TIMEOUT_MILLIS = 30_000;
+
+    /**
+     * 스트리밍 턴용. 동시 실행 수가 한도에 도달하면 {@code TaskRejectedException}으로 거절해 503을 응답한다.
+     */
+    @Bean(name = TURN_STREAM_EXECUTOR)
+    public SimpleAsyncTaskExecutor turnStreamExecutor(
+            @Value("${chat.stream.concurrency-limit:500}") int concurrencyLimit) {
+        return boundedVirtualExecutor("turn-stream-", concurrencyLimit);
+    }
+
+    /**
+     * 검색 단계에서 HyDE 생성처럼 다른 호출과 병렬로 실행할 작업용. 동시 실행 수 제한이 없는 가상 스레드 executor이며,
+     * 상한은 호출 대상 upstream의 bulkhead가 담당한다. {@code submit}이 돌려준 Future를 취소하면 작업 스레드를 인터럽트한다.
+     */
+    @Bean(name = RETRIEVAL_EXECUTOR)
+    public SimpleAsyncTaskExecutor retrievalExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("retrieval-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * 비동기 턴 생성(202 응답 후 백그라운드 처리)용. 동시 실행 수가 한도에 도달하면 예약을 취소하고 503을 응답한다.
+     */
+    @Bean(name = TURN_ASYNC_EXECUTOR)
+    public SimpleAsyncTaskExecutor turnAsyncExecutor(
+            @Value("${chat.async.concurrency-limit:1000}") int concurrencyLimit) {
+        return boundedVirtualExecutor("turn-async-", concurrencyLimit);
+    }
+
+    /**
+     * 턴 완료 후 스레드 요약 갱신용. 응답 경로 밖의 작업이므로 한도에 도달하면 갱신을 건너뛰고 다음 턴에서 함께 반영한다.
+     */
+    @Bean(name = THREAD_SUMMARY_EXECUTOR)
+    public SimpleAsyncTaskExecutor threadSummaryExecutor(
+            @Value("${chat.summary.concurrency-limit:50}") int concurrencyLimit) {
+        return boundedVirtualExecutor("thread-summary-", concurrencyLimit);
+    }
+
+    /**
+     * 비동기 턴 결과 long-poll의 대기 만료 후 재조회(JPA)용. 대기 중인 요청 수만큼만 실행되므로 동시 실행 수를 제한하지 않는다.
+     */
+    @Bean(name = TURN_RESULT_EXECUTOR)
+    public SimpleAsyncTaskExecutor turnResultExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("turn-result-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    private SimpleAsyncTaskExecutor boundedVirtualExecutor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setRejectTasksWhenLimitReached(true);
+        executor.setTaskTerminationTimeout(TASK_TERMINATION_TIMEOUT_MILLIS);
+        return executor;
+    }
+}
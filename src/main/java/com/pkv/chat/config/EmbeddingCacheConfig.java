@@ -0,0 +1,59 @@
+package com.pkv.chat.config;
+
+import com.pkv.chat.service.CachingEmbeddingModel;
+import com.pkv.chat.service.DiskEmbeddingCache;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Path;
+
+/**
+ * 질문 임베딩 빈({@link QueryEmbeddingModelConfig#QUERY_EMBEDDING_MODEL})을 {@link CachingEmbeddingModel}로 감싼다.
+ * 주입받는 쪽(ChunkRetriever 등)은 캐시 존재를 알 필요가 없다.
+ */
+@Configuration
+@Profile("api")
+@ConditionalOnProperty(prefix = "chat.embedding-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmbeddingCacheConfig {
+
+    @Bean
+    public static BeanPostProcessor cachingEmbeddingModelPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<DiskEmbeddingCache> diskEmbeddingCache,
+            @Value("${langchain4j.open-ai.embedding-model.model-name:unknown}") String modelName,
+            @Value("${chat.embedding-cache.maximum-size:10000}") long maximumSize) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof EmbeddingModel model
+                        && QueryEmbeddingModelConfig.QUERY_EMBEDDING_MODEL.equals(beanName)
+                        && !(bean instanceof CachingEmbeddingModel)) {
+                    return new CachingEmbeddingModel(
+                            model,
+                            modelName,
+                            maximumSize,
+                            diskEmbeddingCache.getIfAvailable(),
+                            meterRegistry.getObject()
+                    );
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "chat.embedding-cache.disk", name = "enabled", havingValue = "true")
+    public DiskEmbeddingCache diskEmbeddingCache(
+            @Value("${chat.embedding-cache.disk.path}") String path,
+            @Value("${chat.embedding-cache.disk.dimension:${embedding.dimension:1536}}") int dimension,
+            @Value("${chat.embedding-cache.disk.slots:20000}") int slots) {
+        return new DiskEmbeddingCache(Path.of(path), dimension, slots);
+    }
+}
@@ -0,0 +1,26 @@
+package com.pkv.chat.config;
+
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * 질문 임베딩 전용 {@link EmbeddingModel} 빈. 캐시({@link EmbeddingCacheConfig}), 타임아웃/hedge({@link AdaptiveCallConfig}),
+ * bulkhead({@link BulkheadConfig})는 이 빈에만 적용된다.
+ * <p>
+ * api와 worker를 한 프로세스에서 실행해도(embedded 저장소) worker의 문서 청크 임베딩은 원래 모델 빈을 그대로 쓰므로,
+ * 청크가 질문 캐시를 채우거나 질문 기준 타임아웃/hedge가 큰 문서 임베딩에 걸리지 않는다.
+ * 기본 주입 대상이 아니므로 {@code @Qualifier(QUERY_EMBEDDING_MODEL)}로만 주입된다.
+ */
+@Configuration
+@Profile("api")
+public class QueryEmbeddingModelConfig {
+
+    public static final String QUERY_EMBEDDING_MODEL = "queryEmbeddingModel";
+
+    @Bean(name = QUERY_EMBEDDING_MODEL, defaultCandidate = false)
+    public EmbeddingModel queryEmbeddingModel(EmbeddingModel embeddingModel) {
+        return embeddingModel;
+    }
+}
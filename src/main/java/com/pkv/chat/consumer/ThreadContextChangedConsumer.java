@@ -0,0 +1,46 @@
+package com.pkv.chat.consumer;
+
+import com.pkv.chat.dto.ThreadContextChangedMessage;
+import com.pkv.chat.service.ThreadContextCache;
+import com.pkv.chat.service.ThreadEventPublisher;
+import com.pkv.common.config.KafkaConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 다른 api 인스턴스가 바꾼 스레드의 맥락을 이 인스턴스 캐시에서 버린다. 다음 턴은 DB에서 다시 적재한다.
+ * <p>
+ * 모든 api 인스턴스가 메시지를 받아야 하므로 인스턴스마다 고유한 {@code PKV_NODE_ID}로 consumer group을 나눈다.
+ * 재기동해도 같은 group을 쓰므로 group이 쌓이지 않는다.
+ */
+@Slf4j
+@Component
+@Profile("api")
+@RequiredArgsConstructor
+public class ThreadContextChangedConsumer {
+
+    private final ThreadContextCache threadContextCache;
+    private final ThreadEventPublisher threadEventPublisher;
+
+    @KafkaListener(
+            topics = KafkaConstants.THREAD_CONTEXT_TOPIC,
+            groupId = "pkv-api-thread-context-${pkv.node-id}",
+            autoStartup = "true",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "key.deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+                    "value.deserializer=org.springframework.kafka.support.serializer.JsonDeserializer",
+                    "spring.json.trusted.packages=com.pkv.*"
+            }
+    )
+    public void consume(ThreadContextChangedMessage message) {
+        if (threadEventPublisher.isOwn(message)) {
+            return;
+        }
+        log.debug("스레드 맥락 변경 수신: threadId={}", message.threadId());
+        threadContextCache.evict(message.threadId());
+    }
+}
@@ -0,0 +1,35 @@
+package com.pkv.chat.controller;
+
+import com.pkv.chat.dto.HydeCacheStatsResponse;
+import com.pkv.chat.service.HydeResultCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * HyDE 결과 캐시 상태 조회(GET /actuator/hydecache)와 비우기(DELETE /actuator/hydecache).
+ */
+@Slf4j
+@Component
+@Profile("api")
+@Endpoint(id = "hydecache")
+@RequiredArgsConstructor
+public class HydeCacheEndpoint {
+
+    private final HydeResultCache hydeResultCache;
+
+    @ReadOperation
+    public HydeCacheStatsResponse stats() {
+        return hydeResultCache.stats();
+    }
+
+    @DeleteOperation
+    public void flush() {
+        hydeResultCache.flush();
+        log.info("HyDE 결과 캐시를 비웠습니다.");
+    }
+}
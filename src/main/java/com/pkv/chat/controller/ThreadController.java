@@ -4,6 +4,7 @@ import com.pkv.chat.dto.ThreadListResponse;
 import com.pkv.chat.dto.ThreadTurnDetailResponse;
 import com.pkv.chat.dto.ThreadTurnListResponse;
 import com.pkv.chat.service.ThreadQueryService;
+import com.pkv.chat.service.ThreadTurnResultService;
 import com.pkv.common.dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -16,8 +17,11 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @Tag(name = "Thread", description = "스레드 조회/삭제 API")
 @RestController
 @RequestMapping("/api/threads")
@@ -26,6 +30,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class ThreadController {
 
     private final ThreadQueryService threadQueryService;
+    private final ThreadTurnResultService threadTurnResultService;
 
     @Operation(summary = "스레드 목록 조회")
     @ApiResponses({
@@ -63,6 +68,23 @@ public class ThreadController {
         return ResponseEntity.ok(ApiResponse.success(threadQueryService.getTurnDetail(memberId, threadId, turnId)));
     }
 
+    @Operation(summary = "턴 결과 대기 (long-poll)",
+            description = "턴이 PENDING이면 완료되거나 waitSeconds(최대 25초)가 지날 때까지 기다린 뒤 현재 상태를 반환한다. "
+                    + "status가 PENDING이면 다시 요청한다.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패")
+    })
+    @GetMapping("/{threadId}/turns/{turnId}/result")
+    public CompletableFuture<ResponseEntity<ApiResponse<ThreadTurnDetailResponse>>> awaitTurnResult(
+            @AuthenticationPrincipal Long memberId,
+            @PathVariable String threadId,
+            @PathVariable Long turnId,
+            @RequestParam(defaultValue = "20") int waitSeconds) {
+        return threadTurnResultService.awaitTurnDetail(memberId, threadId, turnId, waitSeconds)
+                .thenApply(detail -> ResponseEntity.ok(ApiResponse.success(detail)));
+    }
+
     @Operation(summary = "스레드 삭제")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "삭제 성공"),
@@ -1,5 +1,6 @@
 package com.pkv.chat.controller;
 
+import com.pkv.chat.dto.ThreadTurnAcceptedResponse;
 import com.pkv.chat.dto.ThreadTurnCreateRequest;
 import com.pkv.chat.dto.ThreadTurnCreateResponse;
 import com.pkv.chat.service.ThreadTurnService;
@@ -10,12 +11,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
 
 @Tag(name = "Thread", description = "스레드/턴 API")
 @RestController
@@ -39,4 +44,36 @@ public class ThreadTurnController {
         ThreadTurnCreateResponse response = threadTurnService.createTurn(memberId, request);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    @Operation(summary = "턴 생성 (스트리밍)",
+            description = "citations → token(반복) → done 순서로 SSE 이벤트를 전송한다. 검증 실패 시 error 이벤트를 전송한다.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "스트림 시작"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "요청 검증 실패"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패")
+    })
+    @PostMapping(value = "/turns", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTurn(
+            @AuthenticationPrincipal Long memberId,
+            @Valid @RequestBody ThreadTurnCreateRequest request) {
+        return threadTurnService.streamTurn(memberId, request);
+    }
+
+    @Operation(summary = "턴 생성 (비동기)",
+            description = "턴을 PENDING 상태로 예약하고 즉시 202를 반환한다. 결과는 Location의 long-poll 엔드포인트로 조회한다.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "턴 예약 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "요청 검증 실패"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "처리 대기열 초과")
+    })
+    @PostMapping("/turns/async")
+    public ResponseEntity<ApiResponse<ThreadTurnAcceptedResponse>> createTurnAsync(
+            @AuthenticationPrincipal Long memberId,
+            @Valid @RequestBody ThreadTurnCreateRequest request) {
+        ThreadTurnAcceptedResponse response = threadTurnService.createTurnAsync(memberId, request);
+        URI resultLocation = URI.create(
+                "/api/threads/%s/turns/%d/result".formatted(response.threadId(), response.turnId()));
+        return ResponseEntity.accepted().location(resultLocation).body(ApiResponse.success(response));
+    }
 }
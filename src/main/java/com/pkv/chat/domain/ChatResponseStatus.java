@@ -1,6 +1,8 @@
 package com.pkv.chat.domain;
 
 public enum ChatResponseStatus {
+    /** 비동기 턴 생성으로 예약되어 답변 생성 중. */
+    PENDING,
     COMPLETED,
     IRRELEVANT,
     FAILED
@@ -10,11 +10,21 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
+/**
+ * 턴 순번과 요약 컬럼은 리포지토리의 UPDATE 쿼리로만 바꾼다. 엔티티 변경(턴 수 감소 등)이 그 값을 읽은 시점 값으로 덮어쓰지 않도록
+ * 바뀐 컬럼만 UPDATE한다.
+ */
 @Entity
+@DynamicUpdate
 @Table(name = "chat_threads")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -36,6 +46,25 @@ public class ChatThread {
     @Column(name = "turn_count", nullable = false)
     private int turnCount;
 
+    /**
+     * 마지막으로 발급한 턴 순번. 턴이 삭제되어도 줄지 않으므로 순번은 다시 쓰이지 않는다.
+     */
+    @Column(name = "last_turn_sequence", nullable = false)
+    private int lastTurnSequence;
+
+    @Column(name = "summary", columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(name = "summarized_turn_sequence")
+    private Integer summarizedTurnSequence;
+
+    /**
+     * 질문 범위로 지정한 문서 id(쉼표 구분, 오름차순). null이면 회원의 모든 문서를 검색한다.
+     */
+    @Getter(AccessLevel.NONE)
+    @Column(name = "document_ids", length = 1024)
+    private String documentIds;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -43,15 +72,27 @@ public class ChatThread {
     private Instant updatedAt;
 
     public static ChatThread create(Long memberId, String threadKey, String firstPrompt, int maxThreadTitleLength) {
-        return new ChatThread(memberId, threadKey, createTitleFrom(firstPrompt, maxThreadTitleLength));
+        return create(memberId, threadKey, firstPrompt, maxThreadTitleLength, List.of());
+    }
+
+    public static ChatThread create(
+            Long memberId,
+            String threadKey,
+            String firstPrompt,
+            int maxThreadTitleLength,
+            Collection<Long> documentIds
+    ) {
+        return new ChatThread(memberId, threadKey, createTitleFrom(firstPrompt, maxThreadTitleLength), documentIds);
     }
 
     @Builder
-    public ChatThread(Long memberId, String threadKey, String title) {
+    public ChatThread(Long memberId, String threadKey, String title, Collection<Long> documentIds) {
         this.memberId = Objects.requireNonNull(memberId, "memberId is required");
         this.threadKey = Objects.requireNonNull(threadKey, "threadKey is required");
         this.title = validateTitle(title);
+        this.documentIds = joinDocumentIds(documentIds);
         this.turnCount = 0;
+        this.lastTurnSequence = 0;
         this.createdAt = Instant.now();
         this.updatedAt = Instant.now();
     }
@@ -68,10 +109,45 @@ public class ChatThread {
         }
     }
 
+    /**
+     * 요약에 이미 반영된 턴이 삭제되면 요약을 버린다. 다음 요약 갱신이 남은 턴 전체로 요약을 다시 만든다.
+     */
+    public void discardSummaryIncluding(int turnSequence) {
+        if (this.summarizedTurnSequence != null && turnSequence <= this.summarizedTurnSequence) {
+            this.summary = null;
+            this.summarizedTurnSequence = null;
+            this.updatedAt = Instant.now();
+        }
+    }
+
     public boolean isTurnLimitReached(int maxTurnCount) {
         return this.turnCount >= maxTurnCount;
     }
 
+    /**
+     * @return 질문 범위 문서 id. 범위가 없으면 빈 목록
+     */
+    public List<Long> getDocumentIds() {
+        if (documentIds == null || documentIds.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(documentIds.split(",")).map(Long::valueOf).toList();
+    }
+
+    /**
+     * @return 컬럼 값. 비어 있으면 null
+     */
+    public static String joinDocumentIds(Collection<Long> documentIds) {
+        if (documentIds == null || documentIds.isEmpty()) {
+            return null;
+        }
+        return documentIds.stream()
+                .distinct()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
     public static String createTitleFrom(String prompt, int maxThreadTitleLength) {
         String trimmed = Objects.requireNonNull(prompt, "prompt is required").trim();
         if (trimmed.isEmpty()) {
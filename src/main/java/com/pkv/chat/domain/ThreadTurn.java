@@ -1,5 +1,6 @@
 package com.pkv.chat.domain;
 
+import com.pkv.common.persistence.TimeOrderedId;
 import jakarta.persistence.Column;
 import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
@@ -7,8 +8,6 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ForeignKey;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -28,7 +27,7 @@ import java.util.Objects;
 public class ThreadTurn {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
 
     @Column(name = "member_id", nullable = false)
@@ -38,6 +37,12 @@ public class ThreadTurn {
     @JoinColumn(name = "thread_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private ChatThread thread;
 
+    /**
+     * 스레드 안에서의 턴 순번. 스레드 행 잠금 안에서 발급하므로 커밋 순서를 따르며, 요약 반영 위치 비교에 쓴다.
+     */
+    @Column(name = "turn_sequence", nullable = false, updatable = false)
+    private int sequence;
+
     @Column(name = "prompt", nullable = false, columnDefinition = "TEXT")
     private String prompt;
 
@@ -57,17 +62,33 @@ public class ThreadTurn {
     public static ThreadTurn create(
             Long memberId,
             ChatThread thread,
+            int sequence,
             String prompt,
             ChatResponseStatus status,
             String answer
     ) {
-        return new ThreadTurn(memberId, thread, prompt, answer, status);
+        return new ThreadTurn(memberId, thread, sequence, prompt, answer, status);
+    }
+
+    public static ThreadTurn pending(Long memberId, ChatThread thread, int sequence, String prompt) {
+        return new ThreadTurn(memberId, thread, sequence, prompt, null, ChatResponseStatus.PENDING);
     }
 
     @Builder
-    public ThreadTurn(Long memberId, ChatThread thread, String prompt, String answer, ChatResponseStatus status) {
+    public ThreadTurn(
+            Long memberId,
+            ChatThread thread,
+            int sequence,
+            String prompt,
+            String answer,
+            ChatResponseStatus status
+    ) {
+        if (sequence <= 0) {
+            throw new IllegalArgumentException("sequence must be positive");
+        }
         this.memberId = Objects.requireNonNull(memberId, "memberId is required");
         this.thread = Objects.requireNonNull(thread, "thread is required");
+        this.sequence = sequence;
         this.prompt = validatePrompt(prompt);
         this.answer = answer;
         this.status = Objects.requireNonNull(status, "status is required");
@@ -75,6 +96,22 @@ public class ThreadTurn {
         this.updatedAt = Instant.now();
     }
 
+    public boolean isPending() {
+        return this.status == ChatResponseStatus.PENDING;
+    }
+
+    public void complete(ChatResponseStatus status, String answer) {
+        if (!isPending()) {
+            throw new IllegalStateException("Turn can only be completed from PENDING status, current: " + this.status);
+        }
+        if (Objects.requireNonNull(status, "status is required") == ChatResponseStatus.PENDING) {
+            throw new IllegalArgumentException("status must not be PENDING");
+        }
+        this.status = status;
+        this.answer = answer;
+        this.updatedAt = Instant.now();
+    }
+
     private String validatePrompt(String prompt) {
         String value = Objects.requireNonNull(prompt, "prompt is required").trim();
         if (value.isEmpty()) {
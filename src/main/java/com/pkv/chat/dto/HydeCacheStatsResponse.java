@@ -0,0 +1,12 @@
+package com.pkv.chat.dto;
+
+public record HydeCacheStatsResponse(
+        long size,
+        long maximumSize,
+        String ttl,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount
+) {
+}
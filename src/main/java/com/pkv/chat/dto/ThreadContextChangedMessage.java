@@ -0,0 +1,13 @@
+package com.pkv.chat.dto;
+
+/**
+ * 스레드 맥락(턴 수, 최근 턴, 요약, 질문 범위) 변경 알림. 다른 api 인스턴스가 자기 {@code ThreadContextCache} 항목을 버리도록
+ * Kafka로 전달된다.
+ *
+ * @param origin 발행한 인스턴스. 자기가 보낸 알림은 이미 캐시에 반영했으므로 무시한다
+ */
+public record ThreadContextChangedMessage(
+        Long threadId,
+        String origin
+) {
+}
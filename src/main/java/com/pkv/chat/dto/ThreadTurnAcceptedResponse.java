@@ -0,0 +1,12 @@
+package com.pkv.chat.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+public record ThreadTurnAcceptedResponse(
+        String threadId,
+        @JsonSerialize(using = ToStringSerializer.class)
+        Long turnId,
+        String status
+) {
+}
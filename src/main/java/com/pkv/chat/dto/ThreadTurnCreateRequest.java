@@ -2,10 +2,22 @@ package com.pkv.chat.dto;
 
 import com.pkv.chat.ThreadPolicy;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
+import java.util.List;
+
+/**
+ * @param documentIds 질문 범위로 지정할 문서. 새 스레드에는 그대로 저장하고, 기존 스레드에는 범위를 바꾼다(빈 목록이면 해제).
+ *                    null이면 새 스레드는 모든 문서를, 기존 스레드는 저장된 범위를 검색한다.
+ */
 public record ThreadTurnCreateRequest(
         String threadId,
-        @NotBlank @Size(min = ThreadPolicy.MIN_PROMPT_LENGTH, max = ThreadPolicy.MAX_PROMPT_LENGTH) String prompt
+        @NotBlank @Size(min = ThreadPolicy.MIN_PROMPT_LENGTH, max = ThreadPolicy.MAX_PROMPT_LENGTH) String prompt,
+        @Size(max = ThreadPolicy.MAX_SCOPE_DOCUMENTS) List<@NotNull Long> documentIds
 ) {
+
+    public ThreadTurnCreateRequest(String threadId, String prompt) {
+        this(threadId, prompt, null);
+    }
 }
@@ -1,9 +1,13 @@
 package com.pkv.chat.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
 import java.util.List;
 
 public record ThreadTurnCreateResponse(
         String threadId,
+        @JsonSerialize(using = ToStringSerializer.class)
         Long turnId,
         String answer,
         String status,
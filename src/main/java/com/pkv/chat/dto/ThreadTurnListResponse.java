@@ -1,5 +1,8 @@
 package com.pkv.chat.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
 import java.time.Instant;
 import java.util.List;
 
@@ -7,6 +10,7 @@ public record ThreadTurnListResponse(
         List<TurnSummary> turns
 ) {
     public record TurnSummary(
+            @JsonSerialize(using = ToStringSerializer.class)
             long turnId,
             String prompt,
             String status,
@@ -2,7 +2,11 @@ package com.pkv.chat.repository;
 
 import com.pkv.chat.domain.ChatThread;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +15,53 @@ public interface ChatThreadRepository extends JpaRepository<ChatThread, Long> {
     Optional<ChatThread> findByMemberIdAndThreadKey(Long memberId, String threadKey);
 
     List<ChatThread> findByMemberIdOrderByCreatedAtDesc(Long memberId);
+
+    /**
+     * 턴 수가 한도 미만일 때만 턴 수를 올리고 다음 턴 순번을 발급한다. 캐시된 턴 수가 오래되었거나 여러 인스턴스가 동시에
+     * 턴을 저장해도 한도를 넘지 않는다. 스레드 행 잠금이 커밋까지 유지되므로 같은 스레드의 순번은 커밋 순서대로 발급된다.
+     * 발급한 순번은 같은 트랜잭션에서 {@link #findLastTurnSequence}로 읽는다.
+     *
+     * @return 한도에 도달했거나 스레드가 없으면 0
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE ChatThread t SET t.turnCount = t.turnCount + 1, t.lastTurnSequence = t.lastTurnSequence + 1,
+                t.updatedAt = :now
+            WHERE t.id = :threadId AND t.turnCount < :maxTurnCount
+            """)
+    int incrementTurnCount(
+            @Param("threadId") Long threadId,
+            @Param("maxTurnCount") int maxTurnCount,
+            @Param("now") Instant now
+    );
+
+    @Query("SELECT t.lastTurnSequence FROM ChatThread t WHERE t.id = :threadId")
+    int findLastTurnSequence(@Param("threadId") Long threadId);
+
+    /**
+     * 요약 기준 순번(없으면 0)이 읽은 시점과 같을 때만 요약을 바꾼다. 턴 저장과 겹쳐도 turn_count를 덮어쓰지 않도록
+     * 요약 컬럼만 갱신한다.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE ChatThread t SET t.summary = :summary, t.summarizedTurnSequence = :summarizedTurnSequence
+            WHERE t.id = :threadId AND COALESCE(t.summarizedTurnSequence, 0) = :baseTurnSequence
+            """)
+    int updateSummary(
+            @Param("threadId") Long threadId,
+            @Param("baseTurnSequence") int baseTurnSequence,
+            @Param("summary") String summary,
+            @Param("summarizedTurnSequence") int summarizedTurnSequence
+    );
+
+    /**
+     * 질문 범위만 바꾼다. null이면 범위를 없앤다.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE ChatThread t SET t.documentIds = :documentIds, t.updatedAt = :now WHERE t.id = :threadId")
+    int updateDocumentIds(
+            @Param("threadId") Long threadId,
+            @Param("documentIds") String documentIds,
+            @Param("now") Instant now
+    );
 }
@@ -9,7 +9,9 @@ import java.util.Optional;
 
 public interface ThreadTurnRepository extends JpaRepository<ThreadTurn, Long> {
 
-    List<ThreadTurn> findByThread_IdOrderByCreatedAtDesc(Long threadId, Pageable pageable);
+    List<ThreadTurn> findByThread_IdOrderBySequenceDesc(Long threadId, Pageable pageable);
+
+    List<ThreadTurn> findByThread_IdAndSequenceGreaterThanOrderBySequenceAsc(Long threadId, int sequence);
 
     List<ThreadTurn> findByMemberIdAndThread_ThreadKeyOrderByCreatedAtDesc(Long memberId, String threadKey);
 
@@ -0,0 +1,31 @@
+package com.pkv.chat.service;
+
+import com.pkv.common.concurrent.AdaptiveCaller;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+
+/**
+ * chat model 호출에 지연 분포 기반 타임아웃(과 설정 시 hedge)을 적용한다.
+ */
+public class AdaptiveChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+    private final AdaptiveCaller caller;
+
+    public AdaptiveChatModel(ChatModel delegate, AdaptiveCaller caller) {
+        this.delegate = delegate;
+        this.caller = caller;
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest) {
+        return caller.call(() -> delegate.chat(chatRequest));
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return delegate.defaultRequestParameters();
+    }
+}
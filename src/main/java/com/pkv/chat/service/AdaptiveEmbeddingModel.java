@@ -0,0 +1,33 @@
+package com.pkv.chat.service;
+
+import com.pkv.common.concurrent.AdaptiveCaller;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+
+import java.util.List;
+
+/**
+ * 쿼리 임베딩 호출에 지연 분포 기반 타임아웃과 hedge를 적용한다. 임베딩은 멱등이므로 중복 요청이 안전하다.
+ */
+public class AdaptiveEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final AdaptiveCaller caller;
+
+    public AdaptiveEmbeddingModel(EmbeddingModel delegate, AdaptiveCaller caller) {
+        this.delegate = delegate;
+        this.caller = caller;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> segments) {
+        return caller.call(() -> delegate.embedAll(segments));
+    }
+
+    @Override
+    public int dimension() {
+        return delegate.dimension();
+    }
+}
@@ -0,0 +1,34 @@
+package com.pkv.chat.service;
+
+import com.pkv.common.concurrent.Bulkhead;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+
+import java.util.List;
+
+/**
+ * embedding model 호출을 {@link Bulkhead} permit 안에서 실행한다.
+ * {@link CachingEmbeddingModel}이 이 모델을 감싸므로 캐시 적중은 permit을 사용하지 않는다.
+ */
+public class BulkheadEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final Bulkhead bulkhead;
+
+    public BulkheadEmbeddingModel(EmbeddingModel delegate, Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> segments) {
+        return bulkhead.call(() -> delegate.embedAll(segments));
+    }
+
+    @Override
+    public int dimension() {
+        return delegate.dimension();
+    }
+}
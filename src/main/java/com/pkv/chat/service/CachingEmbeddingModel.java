@@ -0,0 +1,192 @@
+package com.pkv.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 쿼리 임베딩 결과를 캐싱하는 {@link EmbeddingModel} 데코레이터.
+ * <p>
+ * 1차는 크기 제한이 있는 on-heap 캐시(Caffeine W-TinyLFU), 2차는 선택적인 {@link DiskEmbeddingCache}이다.
+ * 키는 모델명과 정규화한 텍스트(NFC, 공백 정리)로 만든다. 같은 텍스트에 대한 동시 miss는
+ * 먼저 요청한 쪽의 upstream 호출 결과를 공유하고, 한 요청의 miss들은 한 번의 embedAll로 묶는다.
+ */
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+    static final String CACHE_NAME = "queryEmbedding";
+    static final String LOAD_TIMER = "embedding.cache.load";
+    static final String DISK_GETS = "embedding.cache.disk.gets";
+    static final String DISK_EVICTIONS = "embedding.cache.disk.evictions";
+
+    private final EmbeddingModel delegate;
+    private final String modelName;
+    private final Cache<String, Embedding> memoryCache;
+    private final DiskEmbeddingCache diskCache;
+    private final ConcurrentMap<String, CompletableFuture<Embedding>> inFlight = new ConcurrentHashMap<>();
+
+    private final Timer loadTimer;
+    private final Counter diskHits;
+    private final Counter diskMisses;
+    private final Counter diskEvictions;
+
+    /**
+     * @param diskCache 디스크 계층을 쓰지 않으면 null
+     */
+    public CachingEmbeddingModel(
+            EmbeddingModel delegate,
+            String modelName,
+            long maximumSize,
+            DiskEmbeddingCache diskCache,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.modelName = modelName;
+        this.diskCache = diskCache;
+        this.memoryCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, memoryCache, CACHE_NAME);
+        this.loadTimer = Timer.builder(LOAD_TIMER)
+                .description("캐시 miss로 upstream 임베딩 모델을 호출한 시간")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        this.diskHits = Counter.builder(DISK_GETS).tag("cache", CACHE_NAME).tag("result", "hit")
+                .register(meterRegistry);
+        this.diskMisses = Counter.builder(DISK_GETS).tag("cache", CACHE_NAME).tag("result", "miss")
+                .register(meterRegistry);
+        this.diskEvictions = Counter.builder(DISK_EVICTIONS).tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> segments) {
+        List<String> keys = segments.stream().map(segment -> cacheKey(segment.text())).toList();
+        Embedding[] embeddings = new Embedding[segments.size()];
+
+        Map<String, CompletableFuture<Embedding>> pending = new LinkedHashMap<>();
+        Map<String, TextSegment> owned = new LinkedHashMap<>();
+
+        for (int i = 0; i < segments.size(); i++) {
+            String key = keys.get(i);
+            if (pending.containsKey(key)) {
+                continue;
+            }
+
+            Embedding cached = lookup(key);
+            if (cached != null) {
+                embeddings[i] = cached;
+                continue;
+            }
+
+            CompletableFuture<Embedding> future = new CompletableFuture<>();
+            CompletableFuture<Embedding> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                pending.put(key, existing);
+                continue;
+            }
+
+            // 조회와 등록 사이에 다른 요청이 적재를 끝냈을 수 있다.
+            Embedding loadedMeanwhile = memoryCache.asMap().get(key);
+            if (loadedMeanwhile != null) {
+                inFlight.remove(key, future);
+                embeddings[i] = loadedMeanwhile;
+                continue;
+            }
+            pending.put(key, future);
+            owned.put(key, segments.get(i));
+        }
+
+        if (!owned.isEmpty()) {
+            load(owned, pending);
+        }
+
+        for (int i = 0; i < embeddings.length; i++) {
+            if (embeddings[i] == null) {
+                embeddings[i] = await(pending.get(keys.get(i)));
+            }
+        }
+        return Response.from(Arrays.asList(embeddings));
+    }
+
+    @Override
+    public int dimension() {
+        return delegate.dimension();
+    }
+
+    private String cacheKey(String text) {
+        return modelName + '\u0000' + QueryNormalizer.normalizeWhitespace(text);
+    }
+
+    private Embedding lookup(String key) {
+        Embedding cached = memoryCache.getIfPresent(key);
+        if (cached != null || diskCache == null) {
+            return cached;
+        }
+
+        float[] vector = diskCache.get(key);
+        if (vector == null) {
+            diskMisses.increment();
+            return null;
+        }
+        diskHits.increment();
+        Embedding embedding = Embedding.from(vector);
+        memoryCache.put(key, embedding);
+        return embedding;
+    }
+
+    private void load(Map<String, TextSegment> owned, Map<String, CompletableFuture<Embedding>> pending) {
+        List<String> keys = new ArrayList<>(owned.keySet());
+        try {
+            List<Embedding> loaded = loadTimer.record(
+                    () -> delegate.embedAll(new ArrayList<>(owned.values())).content());
+            if (loaded == null || loaded.size() != keys.size()) {
+                throw new IllegalStateException("임베딩 모델 응답 개수가 요청과 다릅니다.");
+            }
+
+            for (int i = 0; i < keys.size(); i++) {
+                String key = keys.get(i);
+                Embedding embedding = loaded.get(i);
+                memoryCache.put(key, embedding);
+                if (diskCache != null && diskCache.put(key, embedding.vector())) {
+                    diskEvictions.increment();
+                }
+                pending.get(key).complete(embedding);
+            }
+        } catch (RuntimeException e) {
+            keys.forEach(key -> pending.get(key).completeExceptionally(e));
+            throw e;
+        } finally {
+            keys.forEach(key -> inFlight.remove(key, pending.get(key)));
+        }
+    }
+
+    private Embedding await(CompletableFuture<Embedding> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("쿼리 임베딩 생성 실패", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.domain.ChatResponseStatus;
+import com.pkv.chat.dto.CitationResponse;
+
+import java.util.List;
+
+public record ChatResult(ChatResponseStatus status, String answer, List<RetrievedCitation> retrievedCitations) {
+
+    public List<CitationResponse> citations() {
+        return retrievedCitations.stream().map(RetrievedCitation::response).toList();
+    }
+}
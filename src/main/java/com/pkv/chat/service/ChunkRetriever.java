@@ -0,0 +1,21 @@
+package com.pkv.chat.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 여러 검색 쿼리로 회원의 청크를 검색한다. 구현은 {@code vector-store.type}(qdrant, embedded)으로 정한다.
+ */
+public interface ChunkRetriever {
+
+    /**
+     * 쿼리 순서대로 쿼리별 검색 결과를 반환한다. 목록 간 융합/중복 제거는 호출 측에서 수행한다.
+     *
+     * @param documentIds 검색할 문서. null이면 회원의 모든 문서
+     */
+    List<QueryMatches> search(Long memberId, Collection<Long> documentIds, List<String> queries);
+
+    default List<QueryMatches> search(Long memberId, List<String> queries) {
+        return search(memberId, null, queries);
+    }
+}
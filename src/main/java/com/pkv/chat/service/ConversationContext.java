@@ -0,0 +1,4 @@
+package com.pkv.chat.service;
+
+public record ConversationContext(String prompt, String answer) {
+}
@@ -0,0 +1,17 @@
+package com.pkv.chat.service;
+
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * 새 턴 프롬프트에 넣는 대화 맥락. 스레드의 누적 요약과 요약에 아직 반영되지 않은(또는 마지막) 턴 원문으로 구성된다.
+ */
+public record ConversationHistory(String summary, List<ConversationContext> recentTurns) {
+
+    public static final ConversationHistory EMPTY = new ConversationHistory(null, List.of());
+
+    public boolean isEmpty() {
+        return !StringUtils.hasText(summary) && recentTurns.isEmpty();
+    }
+}
@@ -0,0 +1,201 @@
+package com.pkv.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 쿼리 임베딩을 메모리 매핑 파일에 보관하는 고정 크기 캐시. 재시작 후에도 남아있다.
+ * <p>
+ * 파일은 헤더 뒤에 {@code slots}개의 고정 크기 슬롯(키 SHA-256 앞 16바이트 + float 벡터)으로 구성된다.
+ * 키 해시로 위치를 정하고 최대 {@link #PROBE_LIMIT}칸까지 탐색하며, 모두 차 있으면 첫 슬롯을 덮어쓴다.
+ * 페이지 폴트로 디스크를 읽는 동안 가상 스레드가 carrier에 고정되지 않도록 {@code synchronized} 대신 lock을 사용한다.
+ */
+@Slf4j
+public class DiskEmbeddingCache implements Closeable {
+
+    private static final int MAGIC = 0x504B5645;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int DIGEST_BYTES = 16;
+    private static final int PROBE_LIMIT = 4;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int dimension;
+    private final int slots;
+    private final int slotBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public DiskEmbeddingCache(Path path, int dimension, int slots) {
+        if (dimension <= 0 || slots <= 0) {
+            throw new IllegalArgumentException("dimension과 slots는 양수여야 합니다.");
+        }
+        this.dimension = dimension;
+        this.slots = slots;
+        this.slotBytes = DIGEST_BYTES + Float.BYTES * dimension;
+
+        long fileBytes = HEADER_BYTES + (long) slots * slotBytes;
+        if (fileBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("디스크 임베딩 캐시는 2GB를 넘을 수 없습니다. slots=" + slots);
+        }
+
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            boolean compatible = channel.size() == fileBytes;
+            if (!compatible && channel.size() > 0) {
+                log.info("디스크 임베딩 캐시 형식이 달라 초기화합니다. path={}", path);
+                channel.truncate(0);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileBytes);
+            if (!compatible || !hasValidHeader()) {
+                reset();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("디스크 임베딩 캐시를 열 수 없습니다. path=" + path, e);
+        }
+    }
+
+    public float[] get(String key) {
+        long[] digest = digest(key);
+        lock.lock();
+        try {
+            return find(digest);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private float[] find(long[] digest) {
+        int base = baseSlot(digest);
+        for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+            int offset = slotOffset((base + probe) % slots);
+            if (isEmpty(offset)) {
+                return null;
+            }
+            if (matches(offset, digest)) {
+                float[] vector = new float[dimension];
+                buffer.slice(offset + DIGEST_BYTES, Float.BYTES * dimension).asFloatBuffer().get(vector);
+                return vector;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 다른 키의 벡터를 덮어썼으면 true
+     */
+    public boolean put(String key, float[] vector) {
+        if (vector.length != dimension) {
+            log.debug("차원이 맞지 않는 임베딩은 디스크 캐시에 저장하지 않습니다. expected={}, actual={}",
+                    dimension, vector.length);
+            return false;
+        }
+
+        long[] digest = digest(key);
+        lock.lock();
+        try {
+            return write(digest, vector);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean write(long[] digest, float[] vector) {
+        int base = baseSlot(digest);
+        int target = -1;
+        for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+            int offset = slotOffset((base + probe) % slots);
+            if (isEmpty(offset) || matches(offset, digest)) {
+                target = offset;
+                break;
+            }
+        }
+        boolean evicted = target < 0;
+        if (evicted) {
+            target = slotOffset(base);
+        }
+
+        // 쓰는 도중 종료되어도 깨진 벡터가 조회되지 않도록 키를 비운 뒤 벡터, 키 순서로 기록한다.
+        buffer.putLong(target, 0L);
+        buffer.putLong(target + Long.BYTES, 0L);
+        buffer.slice(target + DIGEST_BYTES, Float.BYTES * dimension).asFloatBuffer().put(vector);
+        buffer.putLong(target + Long.BYTES, digest[1]);
+        buffer.putLong(target, digest[0]);
+        return evicted;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean hasValidHeader() {
+        return buffer.getInt(0) == MAGIC
+                && buffer.getInt(4) == VERSION
+                && buffer.getInt(8) == dimension
+                && buffer.getInt(12) == slots;
+    }
+
+    private void reset() {
+        ByteBuffer zeros = ByteBuffer.allocate(slotBytes);
+        for (int slot = 0; slot < slots; slot++) {
+            buffer.put(slotOffset(slot), zeros.array());
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, dimension);
+        buffer.putInt(12, slots);
+    }
+
+    private int baseSlot(long[] digest) {
+        return (int) Math.floorMod(digest[0], (long) slots);
+    }
+
+    private int slotOffset(int slot) {
+        return HEADER_BYTES + slot * slotBytes;
+    }
+
+    private boolean isEmpty(int offset) {
+        return buffer.getLong(offset) == 0L && buffer.getLong(offset + Long.BYTES) == 0L;
+    }
+
+    private boolean matches(int offset, long[] digest) {
+        return buffer.getLong(offset) == digest[0] && buffer.getLong(offset + Long.BYTES) == digest[1];
+    }
+
+    private static long[] digest(String key) {
+        try {
+            ByteBuffer hash = ByteBuffer.wrap(
+                    MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8)));
+            long high = hash.getLong();
+            long low = hash.getLong();
+            // 0/0은 빈 슬롯 표식이므로 피한다.
+            return new long[]{high, (high == 0L && low == 0L) ? 1L : low};
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.pkv.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pkv.chat.config.QueryEmbeddingModelConfig;
+import com.pkv.document.domain.DocumentStatus;
+import com.pkv.document.domain.DocumentVector;
+import com.pkv.document.dto.DocumentResponse;
+import com.pkv.document.dto.DocumentStatusChangedMessage;
+import com.pkv.document.repository.DocumentVectorRepository;
+import com.pkv.document.service.MemberDocumentCatalog;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 2단계 검색의 1단계. 문서 단위 벡터(centroid, summary)로 질문과 가까운 문서를 먼저 골라 청크 검색 범위를 좁힌다.
+ * <p>
+ * 문서 점수는 두 벡터와의 cosine 유사도 중 큰 값이다. 완료된 문서가 {@code chat.retrieval.routing.top-documents} 이하이면
+ * 고를 필요가 없어 범위를 정하지 않는다. 스레드에 질문 범위가 있으면 그 문서들 중에서만 고른다. 문서 벡터가 아직 없는 완료 문서(기능 도입 이전에 임베딩한 문서 등)는 항상 범위에 넣는다.
+ * <p>
+ * 회원별 문서 벡터는 프로세스 내에 보관하고, 해당 회원의 Document 상태가 바뀌면 버린다.
+ */
+@Slf4j
+@Component
+@Profile("api")
+public class DocumentRouter {
+
+    static final String CACHE_NAME = "documentVectors";
+    static final String REQUEST_COUNTER = "chat.retrieval.routing.requests";
+    static final String RESULT_TAG = "result";
+    static final String RESULT_ROUTED = "routed";
+    static final String RESULT_BYPASS = "bypass";
+
+    private final EmbeddingModel embeddingModel;
+    private final DocumentVectorRepository documentVectorRepository;
+    private final MemberDocumentCatalog memberDocumentCatalog;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int topDocuments;
+    private final Cache<Long, Map<Long, RoutingVectors>> members;
+
+    public DocumentRouter(
+            @Qualifier(QueryEmbeddingModelConfig.QUERY_EMBEDDING_MODEL) EmbeddingModel embeddingModel,
+            DocumentVectorRepository documentVectorRepository,
+            MemberDocumentCatalog memberDocumentCatalog,
+            MeterRegistry meterRegistry,
+            @Value("${chat.retrieval.routing.enabled:true}") boolean enabled,
+            @Value("${chat.retrieval.routing.top-documents:3}") int topDocuments,
+            @Value("${chat.retrieval.routing.maximum-size:10000}") long maximumSize,
+            @Value("${chat.retrieval.routing.ttl:30m}") Duration ttl
+    ) {
+        this.embeddingModel = embeddingModel;
+        this.documentVectorRepository = documentVectorRepository;
+        this.memberDocumentCatalog = memberDocumentCatalog;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.topDocuments = topDocuments;
+        this.members = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, members, CACHE_NAME);
+    }
+
+    /**
+     * @param scope 스레드의 질문 범위. 비어 있으면 회원의 모든 문서
+     * @return 청크를 검색할 문서. 범위를 좁히지 않으면 empty이며 호출 측은 scope(없으면 모든 문서)를 검색한다.
+     */
+    public Optional<Set<Long>> route(Long memberId, String prompt, Collection<Long> scope) {
+        if (!enabled) {
+            return record(Optional.empty(), RESULT_BYPASS);
+        }
+
+        List<Long> completed = memberDocumentCatalog.get(memberId).documents().stream()
+                .filter(document -> document.status() == DocumentStatus.COMPLETED)
+                .map(DocumentResponse::id)
+                .filter(documentId -> scope.isEmpty() || scope.contains(documentId))
+                .toList();
+        if (completed.size() <= topDocuments) {
+            return record(Optional.empty(), RESULT_BYPASS);
+        }
+
+        Map<Long, RoutingVectors> vectors = members.get(memberId, this::load);
+        if (completed.stream().noneMatch(vectors::containsKey)) {
+            return record(Optional.empty(), RESULT_BYPASS);
+        }
+
+        float[] query = embeddingModel.embed(prompt).content().vector();
+        Set<Long> routed = new HashSet<>();
+        completed.stream()
+                .filter(vectors::containsKey)
+                .sorted(Comparator.comparingDouble((Long documentId) -> vectors.get(documentId).score(query)).reversed())
+                .limit(topDocuments)
+                .forEach(routed::add);
+        completed.stream()
+                .filter(documentId -> !vectors.containsKey(documentId))
+                .forEach(routed::add);
+
+        log.debug("검색할 문서를 골랐습니다. memberId={}, completed={}, routed={}", memberId, completed.size(), routed);
+        return record(Optional.of(routed), RESULT_ROUTED);
+    }
+
+    public void invalidate(Long memberId) {
+        members.invalidate(memberId);
+    }
+
+    @EventListener
+    public void onDocumentStatusChanged(DocumentStatusChangedMessage message) {
+        invalidate(message.memberId());
+    }
+
+    private Map<Long, RoutingVectors> load(Long memberId) {
+        return documentVectorRepository.findByMemberId(memberId).stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        DocumentVector::getDocumentId,
+                        vector -> new RoutingVectors(vector.centroid(), vector.summary())
+                ));
+    }
+
+    private Optional<Set<Long>> record(Optional<Set<Long>> routed, String result) {
+        meterRegistry.counter(REQUEST_COUNTER, RESULT_TAG, result).increment();
+        return routed;
+    }
+
+    /**
+     * 정규화해 저장된 문서 벡터. 임베딩 모델 차원이 바뀌었으면 앞부분 차원만 비교한다.
+     */
+    record RoutingVectors(float[] centroid, float[] summary) {
+
+        double score(float[] query) {
+            return Math.max(cosine(centroid, query), cosine(summary, query));
+        }
+
+        static double cosine(float[] a, float[] b) {
+            int dimension = Math.min(a.length, b.length);
+            double dot = 0;
+            double normA = 0;
+            double normB = 0;
+            for (int i = 0; i < dimension; i++) {
+                dot += a[i] * b[i];
+                normA += a[i] * a[i];
+                normB += b[i] * b[i];
+            }
+            return normA == 0 || normB == 0 ? 0 : dot / Math.sqrt(normA * normB);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.ThreadPolicy;
+import com.pkv.chat.config.QueryEmbeddingModelConfig;
+import com.pkv.common.config.QdrantPayloadKeys;
+import com.pkv.common.vector.EmbeddedEmbeddingStore;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.filter.Filter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+
+/**
+ * {@link EmbeddedEmbeddingStore}에서 검색한다. 쿼리는 한 번의 embedAll로 임베딩하고, 희소 벡터(BM25) 검색은 하지 않는다.
+ */
+@Component
+@Profile("api")
+@ConditionalOnProperty(prefix = "vector-store", name = "type", havingValue = "embedded")
+@RequiredArgsConstructor
+public class EmbeddedChunkRetriever implements ChunkRetriever {
+
+    @Qualifier(QueryEmbeddingModelConfig.QUERY_EMBEDDING_MODEL)
+    private final EmbeddingModel embeddingModel;
+    private final EmbeddedEmbeddingStore embeddingStore;
+
+    @Override
+    public List<QueryMatches> search(Long memberId, Collection<Long> documentIds, List<String> queries) {
+        if (queries.isEmpty()) {
+            return List.of();
+        }
+
+        List<TextSegment> querySegments = queries.stream().map(TextSegment::from).toList();
+        List<Embedding> embeddings = embeddingModel.embedAll(querySegments).content();
+
+        Filter filter = metadataKey(QdrantPayloadKeys.MEMBER_ID).isEqualTo(memberId);
+        if (documentIds != null) {
+            filter = filter.and(metadataKey(QdrantPayloadKeys.DOCUMENT_ID).isIn(documentIds));
+        }
+
+        List<QueryMatches> queryMatches = new ArrayList<>(queries.size());
+        for (Embedding embedding : embeddings) {
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(embedding)
+                    .filter(filter)
+                    .maxResults(ThreadPolicy.SEARCH_CANDIDATES)
+                    .minScore(ThreadPolicy.MIN_SCORE)
+                    .build();
+            queryMatches.add(new QueryMatches(embeddingStore.search(request).matches(), List.of()));
+        }
+        return queryMatches;
+    }
+}
@@ -26,31 +26,51 @@ public class HydeQueryTransformer {
     private static final String EN_DELIMITER = "---EN---";
 
     private final ChatModel chatModel;
+    private final HydeResultCache hydeResultCache;
     private final String template;
 
     public HydeQueryTransformer(
             ChatModel chatModel,
+            HydeResultCache hydeResultCache,
             ResourceLoader resourceLoader,
             @Value("${chat.prompt.hyde-path:classpath:prompts/chat/hyde.prompt.md}") String hydePath
     ) {
         this.chatModel = chatModel;
+        this.hydeResultCache = hydeResultCache;
         this.template = loadTemplate(resourceLoader, hydePath);
     }
 
+    /**
+     * 같은 질문(정규화 기준)의 HyDE 결과가 캐시에 있으면 LLM을 호출하지 않는다.
+     * 생성에 실패하면 원본 쿼리를 사용하며, 실패 결과는 캐시하지 않는다.
+     */
     public HydeResult transform(String query) {
+        HydeResult result = hydeResultCache.get(query, this::generate);
+        return result != null ? result : new HydeResult(query, query);
+    }
+
+    private HydeResult generate(String query) {
+        // 원본 질문 검색만으로 충분해 취소된 작업은 LLM을 호출하지 않는다.
+        if (Thread.currentThread().isInterrupted()) {
+            return null;
+        }
         try {
             String prompt = template.replace(QUESTION_TOKEN, query);
             String response = chatModel.chat(prompt);
 
             if (response == null || response.isBlank()) {
                 log.warn("HyDE 가상 문서 생성 실패 - 빈 응답. 원본 쿼리를 사용합니다.");
-                return new HydeResult(query, query);
+                return null;
             }
 
             return parseResponse(response, query);
         } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.debug("HyDE 생성이 취소되었습니다. query='{}'", query);
+                return null;
+            }
             log.warn("HyDE 변환 실패. 원본 쿼리를 사용합니다. query='{}'", query, e);
-            return new HydeResult(query, query);
+            return null;
         }
     }
 
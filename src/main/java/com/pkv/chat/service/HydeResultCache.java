@@ -0,0 +1,90 @@
+package com.pkv.chat.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.pkv.chat.dto.HydeCacheStatsResponse;
+import com.pkv.chat.dto.HydeResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * 정규화한 질문(NFC, 공백, 대소문자)을 키로 HyDE 결과를 TTL 동안 보관한다.
+ * <p>
+ * 같은 질문의 동시 요청은 먼저 시작한 LLM 호출 결과를 함께 기다린다.
+ * loader가 null을 반환하면(HyDE 실패) 캐시에 남기지 않는다.
+ */
+@Component
+@Profile("api")
+public class HydeResultCache {
+
+    static final String CACHE_NAME = "hydeResult";
+
+    private final AsyncCache<String, HydeResult> cache;
+    private final Duration ttl;
+    private final long maximumSize;
+
+    public HydeResultCache(
+            MeterRegistry meterRegistry,
+            @Value("${chat.hyde.cache.ttl:24h}") Duration ttl,
+            @Value("${chat.hyde.cache.maximum-size:5000}") long maximumSize
+    ) {
+        this.ttl = ttl;
+        this.maximumSize = maximumSize;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public HydeResult get(String question, Function<String, HydeResult> loader) {
+        CompletableFuture<HydeResult> created = new CompletableFuture<>();
+        CompletableFuture<HydeResult> future = cache.get(
+                QueryNormalizer.normalizeIgnoringCase(question), (key, executor) -> created);
+
+        if (future == created) {
+            // LLM 호출은 요청 스레드에서 수행하고, 기다리는 다른 요청에 결과를 공유한다.
+            try {
+                created.complete(loader.apply(question));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public HydeCacheStatsResponse stats() {
+        CacheStats stats = cache.synchronous().stats();
+        return new HydeCacheStatsResponse(
+                cache.synchronous().estimatedSize(),
+                maximumSize,
+                ttl.toString(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+
+    public void flush() {
+        cache.synchronous().invalidateAll();
+    }
+}
@@ -0,0 +1,263 @@
+package com.pkv.chat.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pkv.chat.config.BulkheadConfig;
+import com.pkv.chat.config.ChatExecutorConfig;
+import com.pkv.common.concurrent.Bulkhead;
+import com.pkv.common.config.QdrantPayloadKeys;
+import com.pkv.common.vector.DotProduct;
+import com.pkv.document.dto.DocumentStatusChangedMessage;
+import dev.langchain4j.data.segment.TextSegment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.WithPayloadSelectorFactory;
+import io.qdrant.client.WithVectorsSelectorFactory;
+import io.qdrant.client.grpc.Common.Filter;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.JsonWithInt;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import io.qdrant.client.grpc.Points.ScrollResponse;
+import io.qdrant.client.grpc.Points.Vector;
+import io.qdrant.client.grpc.Points.Vectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.qdrant.client.ConditionFactory.match;
+
+/**
+ * 회원별 청크 벡터 전체를 api 프로세스 메모리에 올려 두고 밀집 검색을 Qdrant 대신 정확(전수) 비교로 처리한다.
+ * <p>
+ * 회원당 문서 수/용량이 제한되어 있어 활성 회원의 벡터는 메모리에 들어간다. 처음 조회한 회원은 Qdrant에서 검색하고
+ * 백그라운드에서 벡터를 적재하며, 적재가 끝난 뒤의 질문부터 캐시로 검색한다. 내적은 {@link DotProduct}(JDK Vector API)로 계산한다.
+ * <p>
+ * 해당 회원의 Document 상태가 바뀌면(완료/삭제 등) 회원 항목을 버리고 다음 질문에서 다시 적재한다.
+ * 청크가 {@code chat.vector-cache.max-vectors-per-member}를 넘는 회원은 적재하지 않고 계속 Qdrant로 검색한다.
+ */
+@Slf4j
+@Component
+@Profile("api")
+@ConditionalOnProperty(prefix = "vector-store", name = "type", havingValue = "qdrant", matchIfMissing = true)
+public class MemberVectorCache {
+
+    static final String CACHE_NAME = "memberVectors";
+    static final String REQUEST_COUNTER = "chat.retrieval.vector-cache.requests";
+    static final String RESULT_TAG = "result";
+    static final String RESULT_HIT = "hit";
+    static final String RESULT_MISS = "miss";
+    static final String RESULT_BYPASS = "bypass";
+
+    private static final int SCROLL_BATCH_SIZE = 256;
+    private static final long SCROLL_TIMEOUT_SECONDS = 30;
+    private static final MemberVectors OVERSIZED = new MemberVectors(0, new float[0], new String[0], new TextSegment[0]);
+
+    private final QdrantClient qdrantClient;
+    private final Bulkhead qdrantBulkhead;
+    private final MeterRegistry meterRegistry;
+    private final String collectionName;
+    private final boolean enabled;
+    private final boolean snippetPayload;
+    private final int maxVectorsPerMember;
+    private final AsyncCache<Long, MemberVectors> members;
+
+    public MemberVectorCache(
+            QdrantClient qdrantClient,
+            @Qualifier(BulkheadConfig.QDRANT_BULKHEAD) Bulkhead qdrantBulkhead,
+            @Qualifier(ChatExecutorConfig.RETRIEVAL_EXECUTOR) Executor executor,
+            MeterRegistry meterRegistry,
+            @Value("${qdrant.collection-name}") String collectionName,
+            @Value("${chat.vector-cache.enabled:true}") boolean enabled,
+            @Value("${chat.retrieval.snippet-payload.enabled:false}") boolean snippetPayload,
+            @Value("${chat.vector-cache.max-vectors-per-member:20000}") int maxVectorsPerMember,
+            @Value("${chat.vector-cache.max-size:512MB}") DataSize maxSize,
+            @Value("${chat.vector-cache.ttl:30m}") Duration ttl
+    ) {
+        this.qdrantClient = qdrantClient;
+        this.qdrantBulkhead = qdrantBulkhead;
+        this.meterRegistry = meterRegistry;
+        this.collectionName = collectionName;
+        this.enabled = enabled;
+        this.snippetPayload = snippetPayload;
+        this.maxVectorsPerMember = maxVectorsPerMember;
+        this.members = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .<Long, MemberVectors>weigher((memberId, vectors) -> vectors.estimatedBytes())
+                .expireAfterAccess(ttl)
+                .executor(executor)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, members, CACHE_NAME);
+        log.info("회원 벡터 캐시: enabled={}, simd={}, maxSize={}", enabled, DotProduct.simd(), maxSize);
+    }
+
+    /**
+     * @param dimension 현재 컬렉션 차원. 적재된 벡터의 차원이 다르면(alias 이동) 버리고 다시 적재한다.
+     * @return 적재가 끝난 회원 벡터. 없거나 적재 중이면 null이며 호출 측은 Qdrant로 검색한다.
+     */
+    MemberVectors get(Long memberId, int dimension) {
+        if (!enabled) {
+            return record(null, RESULT_BYPASS);
+        }
+
+        CompletableFuture<MemberVectors> future = members.get(memberId, (key, loadExecutor) ->
+                CompletableFuture.supplyAsync(() -> load(key), loadExecutor));
+        if (!future.isDone() || future.isCompletedExceptionally()) {
+            return record(null, RESULT_MISS);
+        }
+
+        MemberVectors vectors = future.join();
+        if (vectors == OVERSIZED) {
+            return record(null, RESULT_BYPASS);
+        }
+        if (vectors.size() > 0 && vectors.dimension() != dimension) {
+            members.asMap().remove(memberId, future);
+            return record(null, RESULT_MISS);
+        }
+        return record(vectors, RESULT_HIT);
+    }
+
+    public void invalidate(Long memberId) {
+        members.synchronous().invalidate(memberId);
+    }
+
+    /**
+     * 적재 중인 항목도 버린다. 적재가 끝나도 캐시에 남지 않으므로 변경 이전 벡터가 쓰이지 않는다.
+     */
+    @EventListener
+    public void onDocumentStatusChanged(DocumentStatusChangedMessage message) {
+        invalidate(message.memberId());
+    }
+
+    private MemberVectors load(Long memberId) {
+        long startedAt = System.nanoTime();
+        Filter memberFilter = Filter.newBuilder()
+                .addMust(match(QdrantPayloadKeys.MEMBER_ID, memberId))
+                .build();
+
+        List<RetrievedPoint> points = new ArrayList<>();
+        PointId offset = null;
+        do {
+            ScrollPoints.Builder request = ScrollPoints.newBuilder()
+                    .setCollectionName(collectionName)
+                    .setFilter(memberFilter)
+                    .setLimit(SCROLL_BATCH_SIZE)
+                    .setWithPayload(WithPayloadSelectorFactory.include(payloadKeys()))
+                    .setWithVectors(WithVectorsSelectorFactory.enable(true));
+            if (offset != null) {
+                request.setOffset(offset);
+            }
+            ScrollResponse page = scroll(request.build());
+            points.addAll(page.getResultList());
+            if (points.size() > maxVectorsPerMember) {
+                log.info("회원 벡터가 캐시 한도를 넘어 Qdrant로 검색합니다. memberId={}, limit={}",
+                        memberId, maxVectorsPerMember);
+                return OVERSIZED;
+            }
+            offset = page.hasNextPageOffset() ? page.getNextPageOffset() : null;
+        } while (offset != null);
+
+        MemberVectors vectors = toMemberVectors(points);
+        log.debug("회원 벡터 적재: memberId={}, vectors={}, dimension={}, elapsedMs={}", memberId, vectors.size(),
+                vectors.dimension(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return vectors;
+    }
+
+    private List<String> payloadKeys() {
+        List<String> keys = new ArrayList<>(QdrantChunkRetriever.CITATION_PAYLOAD_KEYS);
+        keys.add(QdrantPayloadKeys.TEXT);
+        if (snippetPayload) {
+            keys.add(QdrantPayloadKeys.SNIPPET);
+        }
+        return keys;
+    }
+
+    private MemberVectors toMemberVectors(List<RetrievedPoint> points) {
+        int dimension = points.isEmpty() ? 0 : denseVector(points.getFirst()).getDataCount();
+        float[] matrix = new float[points.size() * dimension];
+        String[] ids = new String[points.size()];
+        TextSegment[] segments = new TextSegment[points.size()];
+        for (int row = 0; row < points.size(); row++) {
+            RetrievedPoint point = points.get(row);
+            List<Float> vector = denseVector(point).getDataList();
+            if (vector.size() != dimension) {
+                throw new IllegalStateException("회원 벡터의 차원이 서로 다릅니다. id=" + point.getId().getUuid());
+            }
+            normalizeInto(vector, matrix, row * dimension);
+            ids[row] = point.getId().getUuid();
+            segments[row] = TextSegment.from(text(point), QdrantChunkRetriever.toMetadata(point.getPayloadMap()));
+        }
+        return new MemberVectors(dimension, matrix, ids, segments);
+    }
+
+    /**
+     * 희소 벡터가 있는 컬렉션은 이름 없는 밀집 벡터("")를 named vectors로 돌려준다.
+     */
+    private static Vector denseVector(RetrievedPoint point) {
+        Vectors vectors = point.getVectors();
+        if (vectors.hasVector()) {
+            return vectors.getVector();
+        }
+        return vectors.getVectors().getVectorsOrThrow("");
+    }
+
+    private String text(RetrievedPoint point) {
+        JsonWithInt.Value snippet = point.getPayloadMap().get(QdrantPayloadKeys.SNIPPET);
+        if (snippetPayload && snippet != null) {
+            return snippet.getStringValue();
+        }
+        JsonWithInt.Value stored = point.getPayloadMap().get(QdrantPayloadKeys.TEXT);
+        if (stored == null) {
+            // 본문을 청크 저장소에만 둔 point. 출처로 고른 뒤 TurnRetrievalService가 채운다.
+            return "";
+        }
+        String text = stored.getStringValue();
+        return snippetPayload ? QdrantPayloadKeys.snippet(text) : text;
+    }
+
+    private ScrollResponse scroll(ScrollPoints request) {
+        qdrantBulkhead.acquire();
+        try {
+            return qdrantClient.scrollAsync(request).get(SCROLL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Qdrant scroll interrupted", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Qdrant scroll failed", e);
+        } finally {
+            qdrantBulkhead.release();
+        }
+    }
+
+    private static void normalizeInto(List<Float> vector, float[] matrix, int offset) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        float scale = norm > 0 ? (float) (1 / Math.sqrt(norm)) : 0f;
+        for (int i = 0; i < vector.size(); i++) {
+            matrix[offset + i] = vector.get(i) * scale;
+        }
+    }
+
+    private MemberVectors record(MemberVectors vectors, String result) {
+        meterRegistry.counter(REQUEST_COUNTER, RESULT_TAG, result).increment();
+        return vectors;
+    }
+}
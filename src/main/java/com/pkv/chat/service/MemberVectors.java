@@ -0,0 +1,97 @@
+package com.pkv.chat.service;
+
+import com.pkv.common.config.QdrantPayloadKeys;
+import com.pkv.common.vector.DotProduct;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.CosineSimilarity;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.RelevanceScore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 회원 한 명의 청크 벡터 전체. 정규화한 벡터를 행 우선 float 배열 하나에 두고 쿼리마다 모든 행과 정확히 비교한다.
+ */
+final class MemberVectors {
+
+    private static final int SEGMENT_OVERHEAD_BYTES = 256;
+
+    private final int dimension;
+    private final float[] matrix;
+    private final String[] ids;
+    private final TextSegment[] segments;
+
+    MemberVectors(int dimension, float[] matrix, String[] ids, TextSegment[] segments) {
+        if (matrix.length != dimension * ids.length || ids.length != segments.length) {
+            throw new IllegalArgumentException("행렬 크기와 청크 수가 맞지 않습니다.");
+        }
+        this.dimension = dimension;
+        this.matrix = matrix;
+        this.ids = ids;
+        this.segments = segments;
+    }
+
+    int dimension() {
+        return dimension;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * 캐시 weigher용 대략적인 크기. 본문은 UTF-16 기준으로 계산한다.
+     */
+    int estimatedBytes() {
+        long bytes = (long) matrix.length * Float.BYTES;
+        for (TextSegment segment : segments) {
+            bytes += SEGMENT_OVERHEAD_BYTES + 2L * segment.text().length();
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param query       정규화한 쿼리 벡터
+     * @param documentIds 검색할 문서. null이면 모든 청크
+     * @return relevance score가 minScore 이상인 청크를 점수 내림차순으로 최대 limit개
+     */
+    List<EmbeddingMatch<TextSegment>> search(float[] query, Collection<Long> documentIds, int limit, double minScore) {
+        float minCosine = (float) CosineSimilarity.fromRelevanceScore(minScore);
+        PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, (a, b) -> Float.compare(a.cosine(), b.cosine()));
+        for (int row = 0; row < ids.length; row++) {
+            if (documentIds != null && !documentIds.contains(documentId(row))) {
+                continue;
+            }
+            float cosine = DotProduct.dot(matrix, row * dimension, query);
+            if (cosine < minCosine || (top.size() == limit && cosine <= top.peek().cosine())) {
+                continue;
+            }
+            top.add(new Scored(row, cosine));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<EmbeddingMatch<TextSegment>> matches = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Scored scored = top.poll();
+            matches.add(new EmbeddingMatch<>(
+                    RelevanceScore.fromCosineSimilarity(scored.cosine()),
+                    ids[scored.row()],
+                    null,
+                    segments[scored.row()]
+            ));
+        }
+        return matches.reversed();
+    }
+
+    private Long documentId(int row) {
+        return segments[row].metadata().getLong(QdrantPayloadKeys.DOCUMENT_ID);
+    }
+
+    private record Scored(int row, float cosine) {
+    }
+}
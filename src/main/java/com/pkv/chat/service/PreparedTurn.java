@@ -0,0 +1,9 @@
+package com.pkv.chat.service;
+
+import java.util.List;
+
+/**
+ * 턴 생성 전 단계에서 확정된 스레드 정보와 대화 컨텍스트, 질문 범위(비어 있으면 모든 문서).
+ */
+public record PreparedTurn(Long threadId, String threadKey, ConversationHistory history, List<Long> documentIds) {
+}
@@ -0,0 +1,330 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.ThreadPolicy;
+import com.pkv.chat.dto.CitationResponse;
+import com.pkv.common.search.LexicalTokenizer;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.TokenCountEstimator;
+import dev.langchain4j.model.openai.OpenAiTokenCountEstimator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 검색된 청크와 이전 대화 맥락을 토큰 예산 안에 맞춰 LLM 메시지로 조립한다.
+ * <ul>
+ *   <li>청크는 검색 후보 중에서 MMR(검색 순위 기반 관련도 - 이미 고른 청크와의 어휘 유사도)로
+ *       최대 {@link ThreadPolicy#MAX_RESULTS}개를 고르고, 거의 같은 내용의 청크는 제외한다.
+ *       출처 번호는 MMR이 고른 순서를 따른다.</li>
+ *   <li>대화 맥락은 스레드 요약을 먼저 넣고 최근 턴은 최신 턴부터 채우며, 예산을 넘으면 오래된 턴부터 버린다.</li>
+ * </ul>
+ * 턴마다 최종 프롬프트 토큰 수를 {@code chat.prompt.tokens} 지표로 기록한다.
+ */
+@Component
+@Profile("api")
+public class PromptAssembler {
+
+    private static final String TRUNCATED_SUFFIX = "…";
+
+    private final PromptTemplateService promptTemplateService;
+    private final TokenCountEstimator tokenCountEstimator;
+    private final int tokenBudget;
+    private final double historyShare;
+    private final double mmrLambda;
+    private final double maxDuplicateSimilarity;
+    private final DistributionSummary promptTokens;
+    private final Counter duplicateCitations;
+    private final Counter overBudgetCitations;
+    private final Counter droppedContexts;
+
+    public PromptAssembler(
+            PromptTemplateService promptTemplateService,
+            MeterRegistry meterRegistry,
+            @Value("${langchain4j.open-ai.chat-model.model-name}") String chatModelName,
+            @Value("${chat.prompt.token-budget:3000}") int tokenBudget,
+            @Value("${chat.prompt.history-share:0.3}") double historyShare,
+            @Value("${chat.prompt.mmr-lambda:0.7}") double mmrLambda,
+            @Value("${chat.prompt.max-duplicate-similarity:0.9}") double maxDuplicateSimilarity
+    ) {
+        this.promptTemplateService = promptTemplateService;
+        this.tokenCountEstimator = new OpenAiTokenCountEstimator(chatModelName);
+        this.tokenBudget = tokenBudget;
+        this.historyShare = historyShare;
+        this.mmrLambda = mmrLambda;
+        this.maxDuplicateSimilarity = maxDuplicateSimilarity;
+        this.promptTokens = DistributionSummary.builder("chat.prompt.tokens")
+                .description("턴별 LLM 프롬프트 토큰 수(추정)")
+                .baseUnit("tokens")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.duplicateCitations = droppedCitations(meterRegistry, "duplicate");
+        this.overBudgetCitations = droppedCitations(meterRegistry, "budget");
+        this.droppedContexts = Counter.builder("chat.prompt.contexts.dropped")
+                .description("토큰 예산을 넘어 프롬프트에서 제외한 이전 대화 턴 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return LLM에 보낼 메시지와 실제로 프롬프트에 들어간 citation. 응답 citation도 이 목록을 사용한다.
+     */
+    public AssembledPrompt assemble(
+            String prompt,
+            List<RetrievedCitation> retrievedCitations,
+            ConversationHistory history
+    ) {
+        String systemPrompt = promptTemplateService.systemPrompt();
+        int fixedTokens = estimate(systemPrompt) + estimate(promptTemplateService.renderUserPrompt(prompt, "", ""));
+        int available = Math.max(0, tokenBudget - fixedTokens);
+
+        List<ConversationContext> contexts = history.recentTurns();
+        List<String> historyParts = new ArrayList<>();
+        if (StringUtils.hasText(history.summary())) {
+            historyParts.add(formatSummary(history.summary()));
+        }
+        IntStream.range(0, contexts.size())
+                .mapToObj(index -> formatContext(index + 1, contexts.get(index)))
+                .forEach(historyParts::add);
+        int historyReserve = Math.min(
+                estimate(String.join("\n\n", historyParts)),
+                (int) (available * historyShare)
+        );
+
+        List<RetrievedCitation> citations = selectCitations(retrievedCitations, available - historyReserve);
+        String sourceBlock = buildSourceBlock(citations);
+        String contextBlock = buildConversationContextBlock(history, available - estimate(sourceBlock));
+
+        List<ChatMessage> messages = List.of(
+                SystemMessage.from(systemPrompt),
+                UserMessage.from(promptTemplateService.renderUserPrompt(prompt, sourceBlock, contextBlock))
+        );
+        int tokenCount = tokenCountEstimator.estimateTokenCountInMessages(messages);
+        promptTokens.record(tokenCount);
+
+        return new AssembledPrompt(messages, citations, tokenCount);
+    }
+
+    private List<RetrievedCitation> selectCitations(List<RetrievedCitation> retrievedCitations, int budget) {
+        List<Candidate> remaining = new ArrayList<>();
+        for (int rank = 0; rank < retrievedCitations.size(); rank++) {
+            RetrievedCitation citation = retrievedCitations.get(rank);
+            double relevance = 1.0 - (double) rank / retrievedCitations.size();
+            remaining.add(new Candidate(citation, relevance, termCounts(citation.response().snippet())));
+        }
+
+        List<Candidate> selected = new ArrayList<>();
+        int usedTokens = 0;
+        while (!remaining.isEmpty() && selected.size() < ThreadPolicy.MAX_RESULTS) {
+            Candidate best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double bestSimilarity = 0.0;
+            for (Candidate candidate : remaining) {
+                double similarity = maxSimilarity(candidate, selected);
+                double score = mmrLambda * candidate.relevance() - (1 - mmrLambda) * similarity;
+                if (score > bestScore) {
+                    best = candidate;
+                    bestScore = score;
+                    bestSimilarity = similarity;
+                }
+            }
+            remaining.remove(best);
+
+            if (bestSimilarity >= maxDuplicateSimilarity) {
+                duplicateCitations.increment();
+                continue;
+            }
+
+            int cost = estimate(formatCitation(selected.size() + 1, best.citation().response())) + 1;
+            if (usedTokens + cost <= budget) {
+                selected.add(best);
+                usedTokens += cost;
+            } else if (selected.isEmpty()) {
+                // 답변 근거가 하나도 없으면 안 되므로 가장 관련도 높은 청크는 잘라서라도 넣는다.
+                selected.add(truncated(best, budget));
+                usedTokens = budget;
+            } else {
+                overBudgetCitations.increment();
+            }
+        }
+
+        return selected.stream()
+                .map(Candidate::citation)
+                .toList();
+    }
+
+    private Candidate truncated(Candidate candidate, int budget) {
+        CitationResponse response = candidate.citation().response();
+        int overhead = estimate(formatCitation(1, withSnippet(response, ""))) + 1;
+        String snippet = truncate(response.snippet(), Math.max(1, budget - overhead));
+        RetrievedCitation citation = new RetrievedCitation(
+                withSnippet(response, snippet),
+                candidate.citation().sourceChunkRef()
+        );
+        return new Candidate(citation, candidate.relevance(), candidate.terms());
+    }
+
+    private String buildSourceBlock(List<RetrievedCitation> citations) {
+        return IntStream.range(0, citations.size())
+                .mapToObj(index -> formatCitation(index + 1, citations.get(index).response()))
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * 누적 요약을 먼저 넣고, 남은 예산에 최신 턴부터 들어가는 만큼 남긴다.
+     * 가장 최근 턴이 예산을 넘으면 답변을 잘라서 남긴다.
+     */
+    private String buildConversationContextBlock(ConversationHistory history, int budget) {
+        if (history.isEmpty()) {
+            return "";
+        }
+
+        List<String> parts = new ArrayList<>();
+        int usedTokens = 0;
+        if (StringUtils.hasText(history.summary())) {
+            String summary = formatSummary(history.summary());
+            if (estimate(summary) > budget) {
+                summary = formatSummary(truncate(history.summary(), Math.max(1, budget - estimate(formatSummary("")))));
+            }
+            parts.add(summary);
+            usedTokens += estimate(summary) + 2;
+        }
+
+        List<ConversationContext> contexts = history.recentTurns();
+        List<ConversationContext> kept = new ArrayList<>();
+        for (int index = contexts.size() - 1; index >= 0; index--) {
+            ConversationContext context = contexts.get(index);
+            int cost = estimate(formatContext(index + 1, context)) + 2;
+            if (usedTokens + cost <= budget) {
+                kept.addFirst(context);
+                usedTokens += cost;
+                continue;
+            }
+            if (kept.isEmpty() && context.answer() != null) {
+                int overhead = estimate(formatContext(index + 1, new ConversationContext(context.prompt(), ""))) + 2;
+                if (usedTokens + overhead < budget) {
+                    String answer = truncate(context.answer(), budget - usedTokens - overhead);
+                    kept.addFirst(new ConversationContext(context.prompt(), answer));
+                    index--;
+                }
+            }
+            droppedContexts.increment(index + 1);
+            break;
+        }
+
+        IntStream.range(0, kept.size())
+                .mapToObj(index -> formatContext(index + 1, kept.get(index)))
+                .forEach(parts::add);
+        return String.join("\n\n", parts);
+    }
+
+    private String formatSummary(String summary) {
+        return "대화 요약: " + summary;
+    }
+
+    private String formatContext(int order, ConversationContext context) {
+        String answer = context.answer() == null ? "-" : context.answer();
+        return """
+                %d. 질문: %s
+                답변: %s
+                """.formatted(order, context.prompt(), answer);
+    }
+
+    private String formatCitation(int order, CitationResponse citation) {
+        return "%d. file=%s, page=%s, snippet=%s".formatted(
+                order,
+                citation.fileName(),
+                citation.pageNumber(),
+                citation.snippet()
+        );
+    }
+
+    /**
+     * 토큰 수가 maxTokens 이하가 되는 가장 긴 앞부분을 이분 탐색으로 찾는다.
+     */
+    private String truncate(String text, int maxTokens) {
+        if (estimate(text) <= maxTokens) {
+            return text;
+        }
+
+        int low = 0;
+        int high = text.length();
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (estimate(text.substring(0, mid) + TRUNCATED_SUFFIX) <= maxTokens) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return text.substring(0, low) + TRUNCATED_SUFFIX;
+    }
+
+    private int estimate(String text) {
+        return text == null || text.isEmpty() ? 0 : tokenCountEstimator.estimateTokenCountInText(text);
+    }
+
+    private double maxSimilarity(Candidate candidate, List<Candidate> selected) {
+        double max = 0.0;
+        for (Candidate other : selected) {
+            max = Math.max(max, cosine(candidate.terms(), other.terms()));
+        }
+        return max;
+    }
+
+    private static Map<String, Integer> termCounts(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String token : LexicalTokenizer.tokenize(text)) {
+            counts.merge(token, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static double cosine(Map<String, Integer> left, Map<String, Integer> right) {
+        if (left.isEmpty() || right.isEmpty()) {
+            return 0.0;
+        }
+
+        long dot = 0;
+        for (Map.Entry<String, Integer> entry : left.entrySet()) {
+            dot += (long) entry.getValue() * right.getOrDefault(entry.getKey(), 0);
+        }
+        return dot / (norm(left) * norm(right));
+    }
+
+    private static double norm(Map<String, Integer> counts) {
+        long sum = 0;
+        for (int count : counts.values()) {
+            sum += (long) count * count;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private static CitationResponse withSnippet(CitationResponse response, String snippet) {
+        return new CitationResponse(response.documentId(), response.fileName(), response.pageNumber(), snippet);
+    }
+
+    private static Counter droppedCitations(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("chat.prompt.citations.dropped")
+                .description("중복 또는 토큰 예산 초과로 프롬프트에서 제외한 청크 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private record Candidate(RetrievedCitation citation, double relevance, Map<String, Integer> terms) {
+    }
+
+    public record AssembledPrompt(List<ChatMessage> messages, List<RetrievedCitation> citations, int tokenCount) {
+    }
+}
@@ -0,0 +1,382 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.ThreadPolicy;
+import com.pkv.chat.config.BulkheadConfig;
+import com.pkv.chat.config.QueryEmbeddingModelConfig;
+import com.pkv.common.concurrent.Bulkhead;
+import com.pkv.common.config.QdrantCollectionFeatures;
+import com.pkv.common.config.QdrantPayloadKeys;
+import com.pkv.common.config.QdrantVectorDimension;
+import com.pkv.common.search.SparseVectorEncoder;
+import com.pkv.common.search.SparseVectorEncoder.SparseVector;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.CosineSimilarity;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.RelevanceScore;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.WithPayloadSelectorFactory;
+import io.qdrant.client.WithVectorsSelectorFactory;
+import io.qdrant.client.grpc.Common.Filter;
+import io.qdrant.client.grpc.JsonWithInt;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Points.BatchResult;
+import io.qdrant.client.grpc.Points.QuantizationSearchParams;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import io.qdrant.client.grpc.Points.SearchParams;
+import io.qdrant.client.grpc.Points.SearchPoints;
+import io.qdrant.client.grpc.Points.SparseIndices;
+import io.qdrant.client.grpc.Points.WithPayloadSelector;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.qdrant.client.ConditionFactory.match;
+import static io.qdrant.client.ConditionFactory.matchValues;
+
+/**
+ * 여러 검색 쿼리(HyDE 한/영 가상 문서 등)를 한 번의 embedAll 요청으로 임베딩하고,
+ * Qdrant batch search 한 번으로 모든 쿼리를 검색한다.
+ * <p>
+ * 컬렉션에 BM25 희소 벡터가 있고 {@code chat.retrieval.hybrid.enabled}이면 쿼리마다 희소 벡터 검색도 같은 batch에 포함한다.
+ * 식별자, 에러 코드, 한국어 고유명사처럼 밀집 벡터가 놓치는 정확한 단어 일치를 보완한다.
+ * <p>
+ * 검색 결과는 출처 표시에 쓰는 payload 키만 받고 벡터는 받지 않는다. {@code chat.retrieval.snippet-payload.enabled}이면
+ * 청크 본문 대신 저장된 앞부분({@link QdrantPayloadKeys#SNIPPET})만 받는다. 이 키가 없는 이전 point는 본문만 따로 조회한다.
+ * 본문 없이 id와 필터 키만 저장한 point는 빈 본문으로 반환하며, 본문은 {@link com.pkv.common.service.ChunkTextStore}에서 읽는다.
+ */
+@Slf4j
+@Component
+@Profile("api")
+@ConditionalOnProperty(prefix = "vector-store", name = "type", havingValue = "qdrant", matchIfMissing = true)
+public class QdrantChunkRetriever implements ChunkRetriever {
+
+    static final String TEXT_PAYLOAD_KEY = QdrantPayloadKeys.TEXT;
+    static final String MEMBER_ID_KEY = QdrantPayloadKeys.MEMBER_ID;
+    static final String DOCUMENT_ID_KEY = QdrantPayloadKeys.DOCUMENT_ID;
+
+    static final List<String> CITATION_PAYLOAD_KEYS = List.of(
+            QdrantPayloadKeys.DOCUMENT_ID,
+            QdrantPayloadKeys.FILE_NAME,
+            QdrantPayloadKeys.PAGE_NUMBER,
+            QdrantPayloadKeys.SOURCE_CHUNK_REF
+    );
+
+    private static final long SEARCH_TIMEOUT_SECONDS = 10;
+
+    private final EmbeddingModel embeddingModel;
+    private final QdrantClient qdrantClient;
+    private final Bulkhead qdrantBulkhead;
+    private final SparseVectorEncoder sparseVectorEncoder;
+    private final QdrantVectorDimension qdrantVectorDimension;
+    private final MemberVectorCache memberVectorCache;
+    private final String collectionName;
+    private final boolean hybridEnabled;
+    private final double sparseMinScore;
+    private final boolean snippetPayload;
+    private final WithPayloadSelector payloadSelector;
+    private final SearchParams denseSearchParams;
+
+    public QdrantChunkRetriever(
+            @Qualifier(QueryEmbeddingModelConfig.QUERY_EMBEDDING_MODEL) EmbeddingModel embeddingModel,
+            QdrantClient qdrantClient,
+            @Qualifier(BulkheadConfig.QDRANT_BULKHEAD) Bulkhead qdrantBulkhead,
+            SparseVectorEncoder sparseVectorEncoder,
+            QdrantCollectionFeatures qdrantCollectionFeatures,
+            QdrantVectorDimension qdrantVectorDimension,
+            MemberVectorCache memberVectorCache,
+            @Value("${qdrant.collection-name}") String collectionName,
+            @Value("${chat.retrieval.hybrid.enabled:true}") boolean hybridEnabled,
+            @Value("${chat.retrieval.hybrid.sparse-min-score:3.0}") double sparseMinScore,
+            @Value("${chat.retrieval.snippet-payload.enabled:false}") boolean snippetPayload,
+            @Value("${qdrant.quantization.oversampling:2.0}") double quantizationOversampling
+    ) {
+        this.embeddingModel = embeddingModel;
+        this.qdrantClient = qdrantClient;
+        this.qdrantBulkhead = qdrantBulkhead;
+        this.sparseVectorEncoder = sparseVectorEncoder;
+        this.qdrantVectorDimension = qdrantVectorDimension;
+        this.memberVectorCache = memberVectorCache;
+        this.collectionName = collectionName;
+        this.hybridEnabled = hybridEnabled && qdrantCollectionFeatures.sparseVectors();
+        this.sparseMinScore = sparseMinScore;
+        this.snippetPayload = snippetPayload;
+        this.payloadSelector = includePayload(snippetPayload ? QdrantPayloadKeys.SNIPPET : QdrantPayloadKeys.TEXT);
+        this.denseSearchParams = qdrantCollectionFeatures.quantized()
+                ? rescoreParams(quantizationOversampling)
+                : null;
+    }
+
+    @Override
+    public List<QueryMatches> search(Long memberId, Collection<Long> documentIds, List<String> queries) {
+        if (queries.isEmpty()) {
+            return List.of();
+        }
+
+        List<TextSegment> querySegments = queries.stream().map(TextSegment::from).toList();
+        List<Embedding> embeddings = embeddingModel.embedAll(querySegments).content();
+
+        Filter.Builder filter = Filter.newBuilder()
+                .addMust(match(MEMBER_ID_KEY, memberId));
+        if (documentIds != null) {
+            filter.addMust(matchValues(DOCUMENT_ID_KEY, List.copyOf(documentIds)));
+        }
+        Filter memberFilter = filter.build();
+        List<SparseVector> sparseVectors = queries.stream()
+                .map(query -> hybridEnabled ? sparseVectorEncoder.encodeQuery(query) : null)
+                .map(sparse -> sparse == null || sparse.isEmpty() ? null : sparse)
+                .toList();
+
+        // 회원 벡터가 캐시에 있으면 밀집 검색은 메모리에서 정확히 계산하고 Qdrant에는 희소 검색만 보낸다.
+        MemberVectors cached = memberVectorCache.get(memberId, qdrantVectorDimension.get());
+
+        // 쿼리별 검색의 batch 내 위치. 검색을 보내지 않은 쿼리는 -1
+        int[] denseSearchIndex = new int[queries.size()];
+        int[] sparseSearchIndex = new int[queries.size()];
+        int position = 0;
+        for (int i = 0; i < queries.size(); i++) {
+            denseSearchIndex[i] = cached != null ? -1 : position++;
+            sparseSearchIndex[i] = sparseVectors.get(i) == null ? -1 : position++;
+        }
+
+        List<BatchResult> results = List.of();
+        if (position > 0) {
+            boolean dense = cached == null;
+            try {
+                results = searchBatch(searches(embeddings, sparseVectors, memberFilter, dense));
+            } catch (IllegalStateException e) {
+                // alias가 다른 차원의 컬렉션으로 옮겨졌으면 차원을 다시 확인해 한 번 더 검색한다.
+                if (!QdrantVectorDimension.isRejected(e) || !qdrantVectorDimension.refresh()) {
+                    throw e;
+                }
+                results = searchBatch(searches(embeddings, sparseVectors, memberFilter, dense));
+            }
+        }
+        Map<PointId, String> missingTexts = retrieveMissingTexts(results);
+        List<QueryMatches> queryMatches = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            List<EmbeddingMatch<TextSegment>> dense = cached != null
+                    ? cached.search(normalized(embeddings.get(i)), documentIds, ThreadPolicy.SEARCH_CANDIDATES, ThreadPolicy.MIN_SCORE)
+                    : toMatches(results.get(denseSearchIndex[i]), true, missingTexts);
+            List<EmbeddingMatch<TextSegment>> sparse = sparseSearchIndex[i] < 0
+                    ? List.of()
+                    : toMatches(results.get(sparseSearchIndex[i]), false, missingTexts);
+            queryMatches.add(new QueryMatches(dense, sparse));
+        }
+        return queryMatches;
+    }
+
+    private List<SearchPoints> searches(
+            List<Embedding> embeddings,
+            List<SparseVector> sparseVectors,
+            Filter memberFilter,
+            boolean dense
+    ) {
+        List<SearchPoints> searches = new ArrayList<>(embeddings.size() * 2);
+        for (int i = 0; i < embeddings.size(); i++) {
+            if (dense) {
+                searches.add(denseSearch(embeddings.get(i), memberFilter));
+            }
+            if (sparseVectors.get(i) != null) {
+                searches.add(sparseSearch(sparseVectors.get(i), memberFilter));
+            }
+        }
+        return searches;
+    }
+
+    private SearchPoints denseSearch(Embedding embedding, Filter memberFilter) {
+        SearchPoints.Builder search = SearchPoints.newBuilder()
+                .setCollectionName(collectionName)
+                .addAllVector(qdrantVectorDimension.fit(embedding.vector()))
+                .setLimit(ThreadPolicy.SEARCH_CANDIDATES)
+                .setScoreThreshold((float) CosineSimilarity.fromRelevanceScore(ThreadPolicy.MIN_SCORE))
+                .setFilter(memberFilter)
+                .setWithPayload(payloadSelector)
+                .setWithVectors(WithVectorsSelectorFactory.enable(false));
+        if (denseSearchParams != null) {
+            search.setParams(denseSearchParams);
+        }
+        return search.build();
+    }
+
+    private SearchPoints sparseSearch(SparseVector sparse, Filter memberFilter) {
+        return SearchPoints.newBuilder()
+                .setCollectionName(collectionName)
+                .setVectorName(SparseVectorEncoder.VECTOR_NAME)
+                .addAllVector(sparse.values())
+                .setSparseIndices(SparseIndices.newBuilder().addAllData(sparse.indices()).build())
+                .setLimit(ThreadPolicy.SEARCH_CANDIDATES)
+                .setScoreThreshold((float) sparseMinScore)
+                .setFilter(memberFilter)
+                .setWithPayload(payloadSelector)
+                .setWithVectors(WithVectorsSelectorFactory.enable(false))
+                .build();
+    }
+
+    private List<BatchResult> searchBatch(List<SearchPoints> searches) {
+        qdrantBulkhead.acquire();
+        try {
+            return qdrantClient.searchBatchAsync(collectionName, searches, null)
+                    .get(SEARCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Qdrant batch search interrupted", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Qdrant batch search failed", e);
+        } finally {
+            qdrantBulkhead.release();
+        }
+    }
+
+    /**
+     * snippet payload가 없는 이전 point의 본문을 한 번에 조회한다. 모든 point가 snippet을 가지면 호출하지 않는다.
+     */
+    private Map<PointId, String> retrieveMissingTexts(List<BatchResult> results) {
+        if (!snippetPayload) {
+            return Map.of();
+        }
+
+        Set<PointId> missingIds = new LinkedHashSet<>();
+        for (BatchResult result : results) {
+            for (ScoredPoint point : result.getResultList()) {
+                if (!point.getPayloadMap().containsKey(QdrantPayloadKeys.SNIPPET)) {
+                    missingIds.add(point.getId());
+                }
+            }
+        }
+        if (missingIds.isEmpty()) {
+            return Map.of();
+        }
+
+        log.debug("snippet payload가 없는 point {}개의 본문을 조회합니다.", missingIds.size());
+        List<RetrievedPoint> points = retrieve(List.copyOf(missingIds));
+        Map<PointId, String> texts = new HashMap<>(points.size());
+        for (RetrievedPoint point : points) {
+            JsonWithInt.Value text = point.getPayloadMap().get(QdrantPayloadKeys.TEXT);
+            if (text != null) {
+                texts.put(point.getId(), QdrantPayloadKeys.snippet(text.getStringValue()));
+            }
+        }
+        return texts;
+    }
+
+    private List<RetrievedPoint> retrieve(List<PointId> ids) {
+        qdrantBulkhead.acquire();
+        try {
+            return qdrantClient.retrieveAsync(
+                    collectionName,
+                    ids,
+                    WithPayloadSelectorFactory.include(List.of(QdrantPayloadKeys.TEXT)),
+                    WithVectorsSelectorFactory.enable(false),
+                    null
+            ).get(SEARCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Qdrant retrieve interrupted", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Qdrant retrieve failed", e);
+        } finally {
+            qdrantBulkhead.release();
+        }
+    }
+
+    private List<EmbeddingMatch<TextSegment>> toMatches(
+            BatchResult result,
+            boolean dense,
+            Map<PointId, String> missingTexts
+    ) {
+        return result.getResultList().stream()
+                .map(point -> toMatch(point, dense, missingTexts))
+                .toList();
+    }
+
+    private EmbeddingMatch<TextSegment> toMatch(ScoredPoint point, boolean dense, Map<PointId, String> missingTexts) {
+        Map<String, JsonWithInt.Value> payload = point.getPayloadMap();
+        JsonWithInt.Value stored = payload.get(snippetPayload ? QdrantPayloadKeys.SNIPPET : QdrantPayloadKeys.TEXT);
+        String text = stored != null ? stored.getStringValue() : missingTexts.get(point.getId());
+
+        // 본문을 청크 저장소에만 둔 point는 빈 본문으로 두고, 출처로 고른 뒤 TurnRetrievalService가 채운다.
+        if (text == null && payload.containsKey(QdrantPayloadKeys.SOURCE_CHUNK_REF)) {
+            text = "";
+        }
+        TextSegment segment = text == null
+                ? null
+                : TextSegment.from(text, toMetadata(payload));
+
+        return new EmbeddingMatch<>(
+                dense ? RelevanceScore.fromCosineSimilarity(point.getScore()) : point.getScore(),
+                point.getId().getUuid(),
+                null,
+                segment
+        );
+    }
+
+    static Metadata toMetadata(Map<String, JsonWithInt.Value> payload) {
+        Metadata metadata = new Metadata();
+        payload.forEach((key, value) -> {
+            if (QdrantPayloadKeys.TEXT.equals(key) || QdrantPayloadKeys.SNIPPET.equals(key)) {
+                return;
+            }
+            switch (value.getKindCase()) {
+                case STRING_VALUE -> metadata.put(key, value.getStringValue());
+                case INTEGER_VALUE -> metadata.put(key, value.getIntegerValue());
+                case DOUBLE_VALUE -> metadata.put(key, value.getDoubleValue());
+                default -> log.debug("지원하지 않는 payload 타입은 무시합니다. key={}, kind={}", key, value.getKindCase());
+            }
+        });
+        return metadata;
+    }
+
+    /**
+     * 컬렉션 차원에 맞춘 뒤 정규화한 쿼리 벡터. 캐시의 벡터도 정규화되어 있어 내적이 cosine 유사도가 된다.
+     */
+    private float[] normalized(Embedding embedding) {
+        List<Float> fitted = qdrantVectorDimension.fit(embedding.vector());
+        double norm = 0;
+        for (float value : fitted) {
+            norm += value * value;
+        }
+        float scale = norm > 0 ? (float) (1 / Math.sqrt(norm)) : 0f;
+        float[] vector = new float[fitted.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = fitted.get(i) * scale;
+        }
+        return vector;
+    }
+
+    /**
+     * 양자화 벡터로 limit * oversampling개 후보를 고른 뒤 원본 벡터로 다시 점수를 매긴다.
+     * score threshold도 원본 벡터 점수에 적용되므로 양자화 전과 같은 기준으로 자른다.
+     */
+    private static SearchParams rescoreParams(double oversampling) {
+        return SearchParams.newBuilder()
+                .setQuantization(QuantizationSearchParams.newBuilder()
+                        .setRescore(true)
+                        .setOversampling(oversampling)
+                        .build())
+                .build();
+    }
+
+    private static WithPayloadSelector includePayload(String textKey) {
+        List<String> keys = new ArrayList<>(CITATION_PAYLOAD_KEYS);
+        keys.add(textKey);
+        return WithPayloadSelectorFactory.include(keys);
+    }
+}
@@ -0,0 +1,18 @@
+package com.pkv.chat.service;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+
+import java.util.List;
+
+/**
+ * 쿼리 하나의 검색 결과. 각 목록은 점수 내림차순이다.
+ *
+ * @param dense  밀집 벡터 검색 결과. score는 cosine 기반 relevance score
+ * @param sparse BM25 희소 벡터 검색 결과. score는 BM25 점수라 dense score와 비교할 수 없다.
+ */
+public record QueryMatches(
+        List<EmbeddingMatch<TextSegment>> dense,
+        List<EmbeddingMatch<TextSegment>> sparse
+) {
+}
@@ -0,0 +1,31 @@
+package com.pkv.chat.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 캐시 키로 쓰기 위해 질문/쿼리 텍스트를 정규화한다.
+ */
+final class QueryNormalizer {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private QueryNormalizer() {
+    }
+
+    /**
+     * Unicode NFC 정규화 후 앞뒤 공백을 제거하고 연속 공백을 하나로 합친다.
+     */
+    static String normalizeWhitespace(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC);
+        return WHITESPACE.matcher(normalized.strip()).replaceAll(" ");
+    }
+
+    /**
+     * {@link #normalizeWhitespace(String)}에 더해 대소문자를 구분하지 않는다.
+     */
+    static String normalizeIgnoringCase(String text) {
+        return normalizeWhitespace(text).toLowerCase(Locale.ROOT);
+    }
+}
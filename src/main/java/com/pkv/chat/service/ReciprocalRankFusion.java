@@ -0,0 +1,56 @@
+package com.pkv.chat.service;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 여러 순위 목록을 reciprocal rank fusion({@code sum(1 / (k + rank))})으로 합친다.
+ * 점수 척도가 다른 밀집/희소 검색 결과를 순위만으로 합칠 수 있다.
+ */
+final class ReciprocalRankFusion {
+
+    private ReciprocalRankFusion() {
+    }
+
+    /**
+     * @return 융합 점수 내림차순으로 정렬한, {@code sourceChunkRef}(없으면 point id) 기준 중복 없는 목록
+     */
+    static List<EmbeddingMatch<TextSegment>> fuse(List<List<EmbeddingMatch<TextSegment>>> rankings, int k) {
+        Map<String, Double> scores = new HashMap<>();
+        Map<String, EmbeddingMatch<TextSegment>> representatives = new LinkedHashMap<>();
+
+        for (List<EmbeddingMatch<TextSegment>> ranking : rankings) {
+            Set<String> seenInRanking = new HashSet<>();
+            int rank = 0;
+            for (EmbeddingMatch<TextSegment> match : ranking) {
+                String key = match.embedded() == null ? null : key(match);
+                if (key == null || !seenInRanking.add(key)) {
+                    continue;
+                }
+                rank++;
+                scores.merge(key, 1.0 / (k + rank), Double::sum);
+                representatives.putIfAbsent(key, match);
+            }
+        }
+
+        List<String> keys = new ArrayList<>(representatives.keySet());
+        keys.sort(Comparator.comparingDouble((String key) -> scores.get(key)).reversed());
+        return keys.stream().map(representatives::get).toList();
+    }
+
+    private static String key(EmbeddingMatch<TextSegment> match) {
+        String sourceChunkRef = match.embedded().metadata() != null
+                ? match.embedded().metadata().getString("sourceChunkRef")
+                : null;
+        return sourceChunkRef != null ? sourceChunkRef : match.embeddingId();
+    }
+}
@@ -0,0 +1,15 @@
+package com.pkv.chat.service;
+
+import java.util.List;
+
+/**
+ * 비동기 턴 생성에서 PENDING 상태로 미리 저장된 턴과 대화 컨텍스트, 질문 범위(비어 있으면 모든 문서).
+ */
+public record ReservedTurn(
+        Long threadId,
+        String threadKey,
+        Long turnId,
+        ConversationHistory history,
+        List<Long> documentIds
+) {
+}
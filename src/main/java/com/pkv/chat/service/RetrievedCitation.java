@@ -0,0 +1,6 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.dto.CitationResponse;
+
+public record RetrievedCitation(CitationResponse response, String sourceChunkRef) {
+}
@@ -0,0 +1,194 @@
+package com.pkv.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pkv.chat.config.QueryEmbeddingModelConfig;
+import com.pkv.chat.domain.ChatResponseStatus;
+import com.pkv.document.dto.DocumentStatusChangedMessage;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 회원별 시맨틱 답변 캐시.
+ * <p>
+ * 새 질문의 임베딩이 캐시된 질문과 {@code chat.answer-cache.max-cosine-distance} 이내이면 캐시된 답변과
+ * citation을 재사용한다. 이전 대화 맥락에 따라 답변이 달라지므로 맥락이 없는 턴만 조회/저장한다.
+ * 해당 회원의 Document 상태가 바뀌면(완료/삭제 등) 회원 캐시 전체를 비운다.
+ */
+@Slf4j
+@Component
+@Profile("api")
+public class SemanticAnswerCache {
+
+    static final String CACHE_NAME = "semanticAnswer";
+    static final String REQUEST_COUNTER = "chat.answer.cache.requests";
+    static final String RESULT_TAG = "result";
+    static final String RESULT_HIT = "hit";
+    static final String RESULT_MISS = "miss";
+    static final String RESULT_BYPASS = "bypass";
+
+    private final EmbeddingModel embeddingModel;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double maxCosineDistance;
+    private final int maxEntriesPerMember;
+    private final Duration ttl;
+    private final Cache<Long, MemberAnswers> members;
+
+    public SemanticAnswerCache(
+            @Qualifier(QueryEmbeddingModelConfig.QUERY_EMBEDDING_MODEL) EmbeddingModel embeddingModel,
+            MeterRegistry meterRegistry,
+            @Value("${chat.answer-cache.enabled:true}") boolean enabled,
+            @Value("${chat.answer-cache.max-cosine-distance:0.05}") double maxCosineDistance,
+            @Value("${chat.answer-cache.max-entries-per-member:100}") int maxEntriesPerMember,
+            @Value("${chat.answer-cache.max-members:10000}") long maxMembers,
+            @Value("${chat.answer-cache.ttl:6h}") Duration ttl
+    ) {
+        this.embeddingModel = embeddingModel;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxCosineDistance = maxCosineDistance;
+        this.maxEntriesPerMember = maxEntriesPerMember;
+        this.ttl = ttl;
+        this.members = Caffeine.newBuilder()
+                .maximumSize(maxMembers)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, members, CACHE_NAME);
+    }
+
+    /**
+     * 캐시를 조회한다. 반환한 {@link Lookup}은 miss 시 {@link #store(Lookup, ChatResult)}에 그대로 넘긴다.
+     */
+    public Lookup lookup(Long memberId, String prompt, ConversationHistory history) {
+        if (!enabled || !history.isEmpty()) {
+            return record(Lookup.BYPASS, RESULT_BYPASS);
+        }
+
+        float[] embedding;
+        try {
+            embedding = normalize(embeddingModel.embed(prompt).content());
+        } catch (Exception e) {
+            log.warn("시맨틱 캐시 조회용 임베딩 실패. 캐시를 건너뜁니다. memberId={}", memberId, e);
+            return record(Lookup.BYPASS, RESULT_BYPASS);
+        }
+
+        MemberAnswers answers = members.get(memberId, key -> new MemberAnswers());
+        ChatResult hit = answers.find(embedding, 1.0 - maxCosineDistance, Instant.now().minus(ttl));
+        return record(new Lookup(answers, embedding, hit), hit != null ? RESULT_HIT : RESULT_MISS);
+    }
+
+    /**
+     * 캐시를 쓰지 않는 질문(질문 범위 지정 등)용. 조회 없이 bypass로 집계한다.
+     */
+    public Lookup bypass() {
+        return record(Lookup.BYPASS, RESULT_BYPASS);
+    }
+
+    /**
+     * 맥락 없이 생성된 정상 답변만 저장한다. 조회 이후 회원 캐시가 무효화되었다면
+     * 분리된 {@link MemberAnswers}에 저장되어 더 이상 조회되지 않는다.
+     */
+    public void store(Lookup lookup, ChatResult result) {
+        if (lookup.answers() == null || result.status() != ChatResponseStatus.COMPLETED) {
+            return;
+        }
+        lookup.answers().add(new CachedAnswer(lookup.embedding(), result, Instant.now()), maxEntriesPerMember);
+    }
+
+    public void invalidate(Long memberId) {
+        members.invalidate(memberId);
+    }
+
+    @EventListener
+    public void onDocumentStatusChanged(DocumentStatusChangedMessage message) {
+        invalidate(message.memberId());
+    }
+
+    private Lookup record(Lookup lookup, String result) {
+        meterRegistry.counter(REQUEST_COUNTER, RESULT_TAG, result).increment();
+        return lookup;
+    }
+
+    private static float[] normalize(Embedding embedding) {
+        float[] vector = embedding.vector().clone();
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+        if (norm > 0) {
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = (float) (vector[i] / norm);
+            }
+        }
+        return vector;
+    }
+
+    public record Lookup(MemberAnswers answers, float[] embedding, ChatResult hit) {
+
+        static final Lookup BYPASS = new Lookup(null, null, null);
+
+        public boolean isHit() {
+            return hit != null;
+        }
+    }
+
+    record CachedAnswer(float[] embedding, ChatResult result, Instant createdAt) {
+    }
+
+    /**
+     * 회원 한 명의 캐시 항목. 항목 수가 작아(기본 100) 선형 탐색한다.
+     */
+    public static final class MemberAnswers {
+
+        private final Deque<CachedAnswer> entries = new ArrayDeque<>();
+
+        synchronized ChatResult find(float[] embedding, double minSimilarity, Instant notBefore) {
+            entries.removeIf(entry -> entry.createdAt().isBefore(notBefore));
+
+            CachedAnswer best = null;
+            double bestSimilarity = minSimilarity;
+            for (CachedAnswer entry : entries) {
+                double similarity = dot(entry.embedding(), embedding);
+                if (similarity >= bestSimilarity) {
+                    best = entry;
+                    bestSimilarity = similarity;
+                }
+            }
+            return best != null ? best.result() : null;
+        }
+
+        synchronized void add(CachedAnswer answer, int maxEntries) {
+            while (entries.size() >= maxEntries) {
+                entries.removeFirst();
+            }
+            entries.addLast(answer);
+        }
+
+        private static double dot(float[] a, float[] b) {
+            if (a.length != b.length) {
+                return -1;
+            }
+            double sum = 0;
+            for (int i = 0; i < a.length; i++) {
+                sum += a[i] * b[i];
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.ThreadPolicy;
+import com.pkv.chat.domain.ChatResponseStatus;
+import com.pkv.chat.domain.ChatThread;
+import com.pkv.chat.domain.ThreadTurn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 턴 생성에 필요한 스레드 상태(턴 수, 누적 요약, 최근 턴, 질문 범위)의 불변 스냅샷. recentTurns는 최신 턴부터 최대
+ * {@link ThreadPolicy#MAX_CONTEXT_TURNS}개를 보관한다. documentIds가 비어 있으면 회원의 모든 문서를 검색한다.
+ */
+public record ThreadContext(
+        Long threadId,
+        Long memberId,
+        String threadKey,
+        int turnCount,
+        String summary,
+        Integer summarizedTurnSequence,
+        List<Turn> recentTurns,
+        List<Long> documentIds
+) {
+
+    public static ThreadContext of(ChatThread thread, List<ThreadTurn> latestTurns) {
+        return new ThreadContext(
+                thread.getId(),
+                thread.getMemberId(),
+                thread.getThreadKey(),
+                thread.getTurnCount(),
+                thread.getSummary(),
+                thread.getSummarizedTurnSequence(),
+                latestTurns.stream().limit(ThreadPolicy.MAX_CONTEXT_TURNS).map(Turn::from).toList(),
+                thread.getDocumentIds()
+        );
+    }
+
+    public boolean isTurnLimitReached(int maxTurnCount) {
+        return turnCount >= maxTurnCount;
+    }
+
+    /**
+     * 누적 요약과 최근 턴 원문. 원문은 마지막 턴과, 요약 갱신이 아직 반영하지 못한 턴만 포함하므로
+     * 스레드가 길어져도 맥락 크기가 일정하다.
+     */
+    public ConversationHistory history() {
+        List<Turn> answeredTurns = recentTurns.stream()
+                .filter(turn -> turn.status() != ChatResponseStatus.PENDING)
+                .toList();
+
+        List<ConversationContext> contexts = IntStream.range(0, answeredTurns.size())
+                .filter(index -> index < ThreadPolicy.RECENT_CONTEXT_TURNS
+                        || !isSummarized(answeredTurns.get(index).sequence()))
+                .mapToObj(answeredTurns::get)
+                .map(turn -> new ConversationContext(turn.prompt(), turn.answer()))
+                .toList()
+                .reversed();
+
+        return new ConversationHistory(summary, contexts);
+    }
+
+    public ThreadContext withTurnSaved(Turn turn) {
+        List<Turn> turns = new ArrayList<>(recentTurns.size() + 1);
+        turns.add(turn);
+        turns.addAll(recentTurns.subList(0, Math.min(recentTurns.size(), ThreadPolicy.MAX_CONTEXT_TURNS - 1)));
+        return new ThreadContext(threadId, memberId, threadKey, turnCount + 1, summary, summarizedTurnSequence,
+                List.copyOf(turns), documentIds);
+    }
+
+    public ThreadContext withTurnCompleted(Long turnId, ChatResponseStatus status, String answer) {
+        List<Turn> turns = recentTurns.stream()
+                .map(turn -> turn.id().equals(turnId)
+                        ? new Turn(turnId, turn.sequence(), turn.prompt(), answer, status)
+                        : turn)
+                .toList();
+        return new ThreadContext(
+                threadId, memberId, threadKey, turnCount, summary, summarizedTurnSequence, turns, documentIds);
+    }
+
+    public ThreadContext withSummary(String summary, Integer summarizedTurnSequence) {
+        return new ThreadContext(
+                threadId, memberId, threadKey, turnCount, summary, summarizedTurnSequence, recentTurns, documentIds);
+    }
+
+    public ThreadContext withDocumentIds(List<Long> documentIds) {
+        return new ThreadContext(threadId, memberId, threadKey, turnCount, summary, summarizedTurnSequence,
+                recentTurns, List.copyOf(documentIds));
+    }
+
+    private boolean isSummarized(int sequence) {
+        return summarizedTurnSequence != null && sequence <= summarizedTurnSequence;
+    }
+
+    public record Turn(Long id, int sequence, String prompt, String answer, ChatResponseStatus status) {
+
+        public static Turn from(ThreadTurn turn) {
+            return new Turn(turn.getId(), turn.getSequence(), turn.getPrompt(), turn.getAnswer(), turn.getStatus());
+        }
+    }
+}
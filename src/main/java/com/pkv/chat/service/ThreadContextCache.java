@@ -0,0 +1,167 @@
+package com.pkv.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pkv.chat.ThreadPolicy;
+import com.pkv.chat.domain.ChatResponseStatus;
+import com.pkv.chat.domain.ChatThread;
+import com.pkv.chat.domain.ThreadTurn;
+import com.pkv.chat.repository.ChatThreadRepository;
+import com.pkv.chat.repository.ThreadTurnRepository;
+import com.pkv.common.exception.ErrorCode;
+import com.pkv.common.exception.PkvException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 스레드별 {@link ThreadContext}를 프로세스 내에 보관해, 후속 턴 생성 시 스레드 확인과 최근 턴 조회를 DB 없이 처리한다.
+ * <p>
+ * 캐시에 없을 때만 MySQL에서 적재하고, 이후에는 턴 저장/요약 갱신을 커밋 직후 그대로 반영(write-through)한다.
+ * 턴·스레드 삭제와 예약 취소 시에는 항목을 버린다. 변경은 커밋 후 {@link ThreadEventPublisher}로 다른 인스턴스에 알려
+ * 그쪽 항목을 버리게 한다. 알림을 놓친 경우에도 {@code chat.thread-context-cache.ttl} 이후에는 DB에서 다시 적재하며,
+ * 턴 한도는 캐시가 아니라 턴 수 UPDATE 조건으로 지킨다.
+ */
+@Component
+@Profile("api")
+public class ThreadContextCache {
+
+    static final String CACHE_NAME = "threadContext";
+
+    private final ChatThreadRepository chatThreadRepository;
+    private final ThreadTurnRepository threadTurnRepository;
+    private final ThreadEventPublisher threadEventPublisher;
+    private final Cache<Long, ThreadContext> contexts;
+    private final Cache<String, Long> threadIds;
+
+    public ThreadContextCache(
+            ChatThreadRepository chatThreadRepository,
+            ThreadTurnRepository threadTurnRepository,
+            ThreadEventPublisher threadEventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${chat.thread-context-cache.maximum-size:10000}") long maximumSize,
+            @Value("${chat.thread-context-cache.ttl:10m}") Duration ttl
+    ) {
+        this.chatThreadRepository = chatThreadRepository;
+        this.threadTurnRepository = threadTurnRepository;
+        this.threadEventPublisher = threadEventPublisher;
+        this.contexts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.threadIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, contexts, CACHE_NAME);
+    }
+
+    /**
+     * @throws PkvException 회원의 스레드가 아니면 THREAD_NOT_FOUND
+     */
+    public ThreadContext get(Long memberId, String threadKey) {
+        Long threadId = threadIds.getIfPresent(threadKey);
+        ThreadContext context = threadId != null ? contexts.get(threadId, this::loadById) : null;
+        if (context == null) {
+            ChatThread thread = chatThreadRepository.findByMemberIdAndThreadKey(memberId, threadKey)
+                    .orElseThrow(() -> new PkvException(ErrorCode.THREAD_NOT_FOUND));
+            context = contexts.get(thread.getId(), id -> load(thread));
+            threadIds.put(threadKey, thread.getId());
+        }
+
+        if (!context.memberId().equals(memberId)) {
+            throw new PkvException(ErrorCode.THREAD_NOT_FOUND);
+        }
+        return context;
+    }
+
+    /**
+     * 새로 만든 스레드를 턴 없는 상태로 등록한다.
+     */
+    public void onThreadCreated(ChatThread thread) {
+        ThreadContext context = ThreadContext.of(thread, List.of());
+        afterCommit(() -> {
+            contexts.put(thread.getId(), context);
+            threadIds.put(thread.getThreadKey(), thread.getId());
+        });
+    }
+
+    public void onTurnSaved(Long threadId, ThreadTurn turn) {
+        ThreadContext.Turn saved = ThreadContext.Turn.from(turn);
+        afterCommitChanged(threadId, () -> contexts.asMap().computeIfPresent(
+                threadId, (id, context) -> context.withTurnSaved(saved)));
+    }
+
+    public void onTurnCompleted(Long threadId, Long turnId, ChatResponseStatus status, String answer) {
+        afterCommitChanged(threadId, () -> contexts.asMap().computeIfPresent(
+                threadId, (id, context) -> context.withTurnCompleted(turnId, status, answer)));
+    }
+
+    public void onSummaryUpdated(Long threadId, String summary, int summarizedTurnSequence) {
+        afterCommitChanged(threadId, () -> contexts.asMap().computeIfPresent(
+                threadId, (id, context) -> context.withSummary(summary, summarizedTurnSequence)));
+    }
+
+    public void onDocumentIdsUpdated(Long threadId, List<Long> documentIds) {
+        afterCommitChanged(threadId, () -> contexts.asMap().computeIfPresent(
+                threadId, (id, context) -> context.withDocumentIds(documentIds)));
+    }
+
+    /**
+     * 턴 수와 최근 턴을 다시 계산해야 하는 변경(턴/스레드 삭제, 예약 취소) 후 호출한다.
+     * 커밋 전에 다른 요청이 이전 상태를 다시 적재할 수 있으므로 커밋 후에도 한 번 더 버린다.
+     */
+    public void invalidate(Long threadId) {
+        contexts.invalidate(threadId);
+        afterCommitChanged(threadId, () -> contexts.invalidate(threadId));
+    }
+
+    /**
+     * 다른 인스턴스가 바꾼 스레드를 버린다. 이 인스턴스의 변경이 아니므로 다시 알리지 않는다.
+     */
+    public void evict(Long threadId) {
+        contexts.invalidate(threadId);
+    }
+
+    private ThreadContext loadById(Long threadId) {
+        return chatThreadRepository.findById(threadId)
+                .map(this::load)
+                .orElse(null);
+    }
+
+    private ThreadContext load(ChatThread thread) {
+        PageRequest contextLimit = PageRequest.of(0, ThreadPolicy.MAX_CONTEXT_TURNS);
+        return ThreadContext.of(
+                thread,
+                threadTurnRepository.findByThread_IdOrderBySequenceDesc(thread.getId(), contextLimit)
+        );
+    }
+
+    private void afterCommitChanged(Long threadId, Runnable action) {
+        afterCommit(() -> {
+            action.run();
+            threadEventPublisher.publishContextChanged(threadId);
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+}
@@ -0,0 +1,40 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.dto.ThreadContextChangedMessage;
+import com.pkv.common.config.KafkaConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * 스레드 맥락 변경을 다른 api 인스턴스(Kafka)에 알린다. 같은 프로세스의 캐시는 {@link ThreadContextCache}가 직접 갱신한다.
+ * <p>
+ * 커밋 이후에 호출된다. 캐시 무효화용 알림이므로 발행 실패가 턴 저장을 실패시키지는 않으며, 놓친 변경은 캐시 ttl 이후 반영된다.
+ */
+@Slf4j
+@Component
+@Profile("api")
+@RequiredArgsConstructor
+public class ThreadEventPublisher {
+
+    private final KafkaTemplate<String, ThreadContextChangedMessage> kafkaTemplate;
+    private final String origin = UUID.randomUUID().toString();
+
+    public void publishContextChanged(Long threadId) {
+        ThreadContextChangedMessage message = new ThreadContextChangedMessage(threadId, origin);
+        kafkaTemplate.send(KafkaConstants.THREAD_CONTEXT_TOPIC, threadId.toString(), message)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.warn("스레드 맥락 변경 메시지 발행 실패: threadId={}", threadId, e);
+                    }
+                });
+    }
+
+    public boolean isOwn(ThreadContextChangedMessage message) {
+        return origin.equals(message.origin());
+    }
+}
@@ -29,6 +29,7 @@ public class ThreadQueryService {
     private final ChatThreadRepository chatThreadRepository;
     private final ThreadTurnRepository threadTurnRepository;
     private final TurnCitationRepository turnCitationRepository;
+    private final ThreadContextCache threadContextCache;
 
     public ThreadListResponse getThreadList(Long memberId) {
         List<ThreadListResponse.ThreadSummary> threads = chatThreadRepository.findByMemberIdOrderByCreatedAtDesc(memberId).stream()
@@ -89,6 +90,7 @@ public class ThreadQueryService {
         }
 
         chatThreadRepository.delete(thread);
+        threadContextCache.invalidate(thread.getId());
     }
 
     @Transactional
@@ -99,6 +101,8 @@ public class ThreadQueryService {
         turnCitationRepository.deleteByThreadTurn_Id(turnId);
         threadTurnRepository.delete(turn);
         turn.getThread().decrementTurnCount();
+        turn.getThread().discardSummaryIncluding(turn.getSequence());
+        threadContextCache.invalidate(turn.getThread().getId());
     }
 
     private void ensureThreadExists(Long memberId, String threadId) {
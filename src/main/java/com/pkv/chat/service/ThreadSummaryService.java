@@ -0,0 +1,144 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.config.ChatExecutorConfig;
+import com.pkv.common.exception.ErrorCode;
+import com.pkv.common.exception.PkvException;
+import dev.langchain4j.model.chat.ChatModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * 턴이 완료될 때마다 스레드의 누적 요약에 새 턴을 반영한다. 답변 응답 경로 밖(별도 executor)에서 실행되며,
+ * 다음 턴은 이 요약과 마지막 턴 원문만 맥락으로 사용한다.
+ */
+@Slf4j
+@Service
+@Profile("api")
+public class ThreadSummaryService {
+
+    private static final String SUMMARY_TOKEN = "{{summary}}";
+    private static final String TURNS_TOKEN = "{{turns}}";
+    private static final String MAX_LENGTH_TOKEN = "{{max_length}}";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ThreadTurnCommandService threadTurnCommandService;
+    private final ChatModel chatModel;
+    private final Executor threadSummaryExecutor;
+    private final String template;
+    private final int maxLength;
+    private final Set<Long> scheduledThreadIds = ConcurrentHashMap.newKeySet();
+
+    public ThreadSummaryService(
+            ThreadTurnCommandService threadTurnCommandService,
+            ChatModel chatModel,
+            @Qualifier(ChatExecutorConfig.THREAD_SUMMARY_EXECUTOR) Executor threadSummaryExecutor,
+            ResourceLoader resourceLoader,
+            @Value("${chat.prompt.summary-path:classpath:prompts/chat/summary.prompt.md}") String summaryPath,
+            @Value("${chat.summary.max-length:1000}") int maxLength
+    ) {
+        this.threadTurnCommandService = threadTurnCommandService;
+        this.chatModel = chatModel;
+        this.threadSummaryExecutor = threadSummaryExecutor;
+        this.template = loadTemplate(resourceLoader, summaryPath);
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * 요약 갱신을 예약한다. 같은 스레드의 갱신이 아직 시작되지 않았다면 그 갱신이 새 턴까지 함께 반영한다.
+     */
+    public void requestUpdate(Long threadId) {
+        if (!scheduledThreadIds.add(threadId)) {
+            return;
+        }
+
+        try {
+            threadSummaryExecutor.execute(() -> {
+                scheduledThreadIds.remove(threadId);
+                update(threadId);
+            });
+        } catch (TaskRejectedException e) {
+            scheduledThreadIds.remove(threadId);
+            log.warn("스레드 요약 갱신 동시 처리 한도에 도달했습니다. 다음 턴에서 반영합니다. threadId={}", threadId);
+        }
+    }
+
+    void update(Long threadId) {
+        try {
+            for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+                Optional<ThreadSummaryWork> work = threadTurnCommandService.loadSummaryWork(threadId);
+                if (work.isEmpty()) {
+                    return;
+                }
+
+                String summary = summarize(work.get());
+                if (threadTurnCommandService.saveSummary(work.get(), summary)) {
+                    return;
+                }
+                log.debug("스레드 요약이 동시에 갱신되어 다시 시도합니다. threadId={}, attempt={}", threadId, attempt);
+            }
+        } catch (Exception e) {
+            log.warn("스레드 요약 갱신 실패. 다음 턴에서 다시 반영합니다. threadId={}", threadId, e);
+        }
+    }
+
+    private String summarize(ThreadSummaryWork work) {
+        if (work.turns().isEmpty()) {
+            return work.summary();
+        }
+
+        String prompt = template
+                .replace(MAX_LENGTH_TOKEN, String.valueOf(maxLength))
+                .replace(SUMMARY_TOKEN, StringUtils.hasText(work.summary()) ? work.summary() : "-")
+                .replace(TURNS_TOKEN, formatTurns(work));
+        String response = chatModel.chat(prompt);
+        if (!StringUtils.hasText(response)) {
+            throw new IllegalStateException("요약 응답이 비어 있습니다");
+        }
+
+        String summary = response.strip();
+        return summary.length() <= maxLength ? summary : summary.substring(0, maxLength);
+    }
+
+    private String formatTurns(ThreadSummaryWork work) {
+        return work.turns().stream()
+                .map(turn -> "질문: %s\n답변: %s".formatted(turn.prompt(), turn.answer()))
+                .collect(Collectors.joining("\n\n"));
+    }
+
+    private String loadTemplate(ResourceLoader resourceLoader, String path) {
+        try {
+            Resource resource = resourceLoader.getResource(path);
+            if (!resource.exists()) {
+                log.error("프롬프트 템플릿 로딩 실패 [summary] - 템플릿 파일이 존재하지 않습니다: {}", path);
+                throw new PkvException(ErrorCode.CHAT_PROMPT_TEMPLATE_LOAD_FAILED);
+            }
+
+            String content = StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+            if (!StringUtils.hasText(content)) {
+                log.error("프롬프트 템플릿 로딩 실패 [summary] - 템플릿 파일이 비어 있습니다: {}", path);
+                throw new PkvException(ErrorCode.CHAT_PROMPT_TEMPLATE_LOAD_FAILED);
+            }
+
+            return content.strip();
+        } catch (IOException e) {
+            log.error("프롬프트 템플릿 로딩 실패 [summary] - 템플릿 파일을 읽을 수 없습니다: {}", path, e);
+            throw new PkvException(ErrorCode.CHAT_PROMPT_TEMPLATE_LOAD_FAILED, e);
+        }
+    }
+}
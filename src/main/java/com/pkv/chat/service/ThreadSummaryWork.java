@@ -0,0 +1,15 @@
+package com.pkv.chat.service;
+
+import java.util.List;
+
+/**
+ * 스레드 요약 갱신 한 번에 반영할 내용. baseTurnSequence는 읽은 시점의 요약 기준 턴 순번(없으면 0)으로, 저장 시 동시 갱신 검사에 쓴다.
+ */
+public record ThreadSummaryWork(
+        Long threadId,
+        int baseTurnSequence,
+        String summary,
+        List<ConversationContext> turns,
+        int lastTurnSequence
+) {
+}
@@ -0,0 +1,274 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.ThreadPolicy;
+import com.pkv.chat.domain.ChatResponseStatus;
+import com.pkv.chat.domain.ChatThread;
+import com.pkv.chat.domain.ThreadTurn;
+import com.pkv.chat.domain.TurnCitation;
+import com.pkv.chat.dto.ThreadTurnCreateRequest;
+import com.pkv.chat.repository.ChatThreadRepository;
+import com.pkv.chat.repository.ThreadTurnRepository;
+import com.pkv.chat.repository.TurnCitationRepository;
+import com.pkv.common.exception.ErrorCode;
+import com.pkv.common.exception.PkvException;
+import com.pkv.document.domain.DocumentStatus;
+import com.pkv.document.dto.DocumentResponse;
+import com.pkv.document.service.MemberDocumentCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 턴 생성 흐름 중 DB를 다루는 구간(스레드 확정, 턴 저장)만 담당한다.
+ * LLM/벡터 검색과 분리되어 있어 스트리밍처럼 별도 스레드에서 저장해야 하는 경우에도 재사용된다.
+ */
+@Service
+@Profile("api")
+@RequiredArgsConstructor
+@Transactional
+public class ThreadTurnCommandService {
+
+    private final ChatThreadRepository chatThreadRepository;
+    private final ThreadTurnRepository threadTurnRepository;
+    private final TurnCitationRepository turnCitationRepository;
+    private final ThreadContextCache threadContextCache;
+    private final MemberDocumentCatalog memberDocumentCatalog;
+
+    /**
+     * 기존 스레드는 {@link ThreadContextCache}에서 확인하므로 같은 인스턴스가 이어서 처리하는 턴은 DB를 조회하지 않는다.
+     * 요청에 질문 범위가 있으면 회원의 완료된 문서인지 확인한 뒤 스레드에 저장한다.
+     */
+    public PreparedTurn prepare(Long memberId, ThreadTurnCreateRequest request) {
+        List<Long> documentIds = validateDocumentIds(memberId, request.documentIds());
+        ThreadContext context = resolveThread(memberId, request, documentIds);
+        if (context.isTurnLimitReached(ThreadPolicy.MAX_THREAD_TURN_COUNT)) {
+            throw new PkvException(ErrorCode.THREAD_LIMIT_EXCEEDED);
+        }
+        if (documentIds != null && !documentIds.equals(context.documentIds())) {
+            context = updateDocumentIds(context, documentIds);
+        }
+
+        return new PreparedTurn(context.threadId(), context.threadKey(), context.history(), context.documentIds());
+    }
+
+    /**
+     * 비동기 턴 생성용. 검증 후 PENDING 턴을 저장하고 턴 수에 포함시켜, 답변 생성 중인 턴도 한도 계산에 반영한다.
+     */
+    public ReservedTurn reserve(Long memberId, ThreadTurnCreateRequest request) {
+        PreparedTurn prepared = prepare(memberId, request);
+        int sequence = nextTurnSequence(prepared.threadId());
+        ChatThread thread = chatThreadRepository.getReferenceById(prepared.threadId());
+
+        ThreadTurn turn = threadTurnRepository.save(ThreadTurn.pending(memberId, thread, sequence, request.prompt()));
+        threadContextCache.onTurnSaved(prepared.threadId(), turn);
+
+        return new ReservedTurn(
+                prepared.threadId(), prepared.threadKey(), turn.getId(), prepared.history(), prepared.documentIds());
+    }
+
+    /**
+     * 예약된 턴에 결과를 기록한다. 이미 완료된 턴이면(예: 지연 처리로 실패 처리된 경우) 아무것도 하지 않는다.
+     *
+     * @return 결과를 기록했으면 true
+     */
+    public boolean completeReserved(Long turnId, ChatResult result) {
+        ThreadTurn turn = threadTurnRepository.findById(turnId)
+                .orElseThrow(() -> new PkvException(ErrorCode.TURN_NOT_FOUND));
+        if (!turn.isPending()) {
+            return false;
+        }
+
+        turn.complete(result.status(), result.answer());
+        saveTurnCitations(turn, result.retrievedCitations());
+        threadContextCache.onTurnCompleted(turn.getThread().getId(), turnId, result.status(), result.answer());
+        return true;
+    }
+
+    /**
+     * 답변 생성을 시작하지 못한 예약을 되돌린다.
+     */
+    public void cancelReserved(Long turnId) {
+        threadTurnRepository.findById(turnId).ifPresent(turn -> {
+            threadTurnRepository.delete(turn);
+            turn.getThread().decrementTurnCount();
+            threadContextCache.invalidate(turn.getThread().getId());
+        });
+    }
+
+    /**
+     * 스레드는 {@link #prepare}에서 이미 확인했으므로 다시 읽지 않는다. 턴 수 UPDATE로 순번을 먼저 발급하고,
+     * 턴 id는 INSERT 전에 발급되므로 턴과 출처 INSERT는 커밋 직전에 JDBC batch로 한 번에 전송된다.
+     */
+    public Long complete(Long memberId, Long threadId, String prompt, ChatResult result) {
+        int sequence = nextTurnSequence(threadId);
+        ChatThread thread = chatThreadRepository.getReferenceById(threadId);
+
+        ThreadTurn turn = saveThreadTurn(memberId, thread, sequence, prompt, result);
+        saveTurnCitations(turn, result.retrievedCitations());
+        threadContextCache.onTurnSaved(threadId, turn);
+
+        return turn.getId();
+    }
+
+    /**
+     * 요약에 아직 반영되지 않은 턴을 순번 순으로 읽는다. PENDING 턴을 만나면 그 앞까지만 반영해 답변이 나중에 기록되는 턴을 건너뛰지 않는다.
+     * 정상 답변이 아닌 턴은 내용 없이 반영 위치만 넘긴다.
+     *
+     * @return 반영할 턴이 없으면 empty
+     */
+    @Transactional(readOnly = true)
+    public Optional<ThreadSummaryWork> loadSummaryWork(Long threadId) {
+        ChatThread thread = chatThreadRepository.findById(threadId).orElse(null);
+        if (thread == null) {
+            return Optional.empty();
+        }
+
+        int baseTurnSequence = thread.getSummarizedTurnSequence() == null ? 0 : thread.getSummarizedTurnSequence();
+        List<ThreadTurn> turns = threadTurnRepository
+                .findByThread_IdAndSequenceGreaterThanOrderBySequenceAsc(threadId, baseTurnSequence)
+                .stream()
+                .takeWhile(turn -> !turn.isPending())
+                .toList();
+        if (turns.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<ConversationContext> completedTurns = turns.stream()
+                .filter(turn -> turn.getStatus() == ChatResponseStatus.COMPLETED)
+                .map(turn -> new ConversationContext(turn.getPrompt(), turn.getAnswer()))
+                .toList();
+        return Optional.of(new ThreadSummaryWork(
+                threadId,
+                baseTurnSequence,
+                thread.getSummary(),
+                completedTurns,
+                turns.getLast().getSequence()
+        ));
+    }
+
+    /**
+     * @return 읽은 이후 다른 갱신이 먼저 반영되어 저장하지 않았으면 false
+     */
+    public boolean saveSummary(ThreadSummaryWork work, String summary) {
+        if (chatThreadRepository.updateSummary(
+                work.threadId(), work.baseTurnSequence(), summary, work.lastTurnSequence()) == 0) {
+            return false;
+        }
+        threadContextCache.onSummaryUpdated(work.threadId(), summary, work.lastTurnSequence());
+        return true;
+    }
+
+    /**
+     * @return 중복을 없애고 정렬한 문서 id. 요청에 범위가 없으면 null
+     * @throws PkvException 완료되지 않았거나 회원의 문서가 아니면 DOCUMENT_SCOPE_INVALID
+     */
+    private List<Long> validateDocumentIds(Long memberId, List<Long> requested) {
+        if (requested == null) {
+            return null;
+        }
+
+        List<Long> documentIds = requested.stream().distinct().sorted().toList();
+        if (documentIds.isEmpty()) {
+            return documentIds;
+        }
+        Set<Long> completed = memberDocumentCatalog.get(memberId).documents().stream()
+                .filter(document -> document.status() == DocumentStatus.COMPLETED)
+                .map(DocumentResponse::id)
+                .collect(Collectors.toSet());
+        if (!completed.containsAll(documentIds)) {
+            throw new PkvException(ErrorCode.DOCUMENT_SCOPE_INVALID);
+        }
+        return documentIds;
+    }
+
+    private ThreadContext updateDocumentIds(ThreadContext context, List<Long> documentIds) {
+        if (chatThreadRepository.updateDocumentIds(
+                context.threadId(), ChatThread.joinDocumentIds(documentIds), Instant.now()) == 0) {
+            throw new PkvException(ErrorCode.THREAD_NOT_FOUND);
+        }
+        threadContextCache.onDocumentIdsUpdated(context.threadId(), documentIds);
+        return context.withDocumentIds(documentIds);
+    }
+
+    private ThreadContext resolveThread(Long memberId, ThreadTurnCreateRequest request, List<Long> documentIds) {
+        if (!StringUtils.hasText(request.threadId())) {
+            ChatThread thread = createThread(memberId, request.prompt(), documentIds);
+            threadContextCache.onThreadCreated(thread);
+            return ThreadContext.of(thread, List.of());
+        }
+
+        return threadContextCache.get(memberId, request.threadId());
+    }
+
+    private ChatThread createThread(Long memberId, String firstPrompt, List<Long> documentIds) {
+        ChatThread thread = ChatThread.create(
+                memberId,
+                UUID.randomUUID().toString(),
+                firstPrompt,
+                ThreadPolicy.MAX_THREAD_TITLE_LENGTH,
+                documentIds
+        );
+        return chatThreadRepository.save(thread);
+    }
+
+    /**
+     * 턴 수를 올리고 이 턴의 순번을 발급한다. UPDATE가 잡은 스레드 행 잠금이 커밋까지 유지되므로, 인스턴스가 여럿이어도
+     * 먼저 발급된 순번의 턴이 먼저 커밋된다. {@link #prepare}의 한도 검사는 캐시 값이므로 최종 판단은 UPDATE 조건으로 한다.
+     *
+     * @throws PkvException 한도에 도달했으면 THREAD_LIMIT_EXCEEDED, 스레드가 삭제되었으면 THREAD_NOT_FOUND
+     */
+    private int nextTurnSequence(Long threadId) {
+        if (chatThreadRepository.incrementTurnCount(
+                threadId, ThreadPolicy.MAX_THREAD_TURN_COUNT, Instant.now()) == 0) {
+            threadContextCache.evict(threadId);
+            if (!chatThreadRepository.existsById(threadId)) {
+                throw new PkvException(ErrorCode.THREAD_NOT_FOUND);
+            }
+            throw new PkvException(ErrorCode.THREAD_LIMIT_EXCEEDED);
+        }
+        return chatThreadRepository.findLastTurnSequence(threadId);
+    }
+
+    private ThreadTurn saveThreadTurn(
+            Long memberId,
+            ChatThread thread,
+            int sequence,
+            String prompt,
+            ChatResult result
+    ) {
+        ThreadTurn turn = ThreadTurn.create(
+                memberId,
+                thread,
+                sequence,
+                prompt,
+                result.status(),
+                result.answer()
+        );
+        return threadTurnRepository.save(turn);
+    }
+
+    private void saveTurnCitations(ThreadTurn turn, List<RetrievedCitation> retrievedCitations) {
+        if (retrievedCitations.isEmpty()) {
+            return;
+        }
+
+        List<TurnCitation> entities = IntStream.range(0, retrievedCitations.size())
+                .mapToObj(index -> {
+                    RetrievedCitation rc = retrievedCitations.get(index);
+                    return TurnCitation.from(turn, rc.response(), rc.sourceChunkRef(), index);
+                })
+                .toList();
+
+        turnCitationRepository.saveAll(entities);
+    }
+}
@@ -0,0 +1,115 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.config.ChatExecutorConfig;
+import com.pkv.chat.domain.ChatResponseStatus;
+import com.pkv.chat.dto.ThreadTurnDetailResponse;
+import com.pkv.common.exception.PkvException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기 턴 결과 long-poll. 턴이 PENDING이면 완료 알림이나 대기 시간 만료까지 기다렸다가 현재 상태를 반환한다.
+ * 대기 중에는 요청 스레드와 DB 커넥션을 점유하지 않는다. 대기 만료 후 재조회는 공용 ForkJoinPool이 아니라
+ * 가상 스레드 executor({@link ChatExecutorConfig#TURN_RESULT_EXECUTOR})에서 실행한다.
+ */
+@Slf4j
+@Service
+@Profile("api")
+public class ThreadTurnResultService {
+
+    static final int MAX_WAIT_SECONDS = 25;
+
+    private final ThreadQueryService threadQueryService;
+    private final ThreadTurnCommandService threadTurnCommandService;
+    private final TurnCompletionNotifier turnCompletionNotifier;
+    private final Executor turnResultExecutor;
+    private final Duration pendingTimeout;
+
+    public ThreadTurnResultService(
+            ThreadQueryService threadQueryService,
+            ThreadTurnCommandService threadTurnCommandService,
+            TurnCompletionNotifier turnCompletionNotifier,
+            @Qualifier(ChatExecutorConfig.TURN_RESULT_EXECUTOR) Executor turnResultExecutor,
+            @Value("${chat.async.pending-timeout:5m}") Duration pendingTimeout
+    ) {
+        this.threadQueryService = threadQueryService;
+        this.threadTurnCommandService = threadTurnCommandService;
+        this.turnCompletionNotifier = turnCompletionNotifier;
+        this.turnResultExecutor = turnResultExecutor;
+        this.pendingTimeout = pendingTimeout;
+    }
+
+    public CompletableFuture<ThreadTurnDetailResponse> awaitTurnDetail(
+            Long memberId,
+            String threadId,
+            Long turnId,
+            int waitSeconds
+    ) {
+        ThreadTurnDetailResponse detail = getTurnDetail(memberId, threadId, turnId);
+        if (!isPending(detail)) {
+            return CompletableFuture.completedFuture(detail);
+        }
+        if (isStale(detail)) {
+            // 처리 중이던 인스턴스가 종료되는 등으로 완료되지 못한 턴은 실패로 마감한다.
+            log.warn("오래된 PENDING 턴을 실패 처리합니다. turnId={}", turnId);
+            threadTurnCommandService.completeReserved(turnId, stale());
+            return CompletableFuture.completedFuture(threadQueryService.getTurnDetail(memberId, threadId, turnId));
+        }
+
+        CompletableFuture<ThreadTurnDetailResponse> result = new CompletableFuture<>();
+        Runnable reload = () -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(getTurnDetail(memberId, threadId, turnId));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        };
+
+        turnCompletionNotifier.subscribe(turnId, reload);
+        result.whenComplete((value, error) -> turnCompletionNotifier.unsubscribe(turnId, reload));
+        long delaySeconds = Math.clamp(waitSeconds, 1, MAX_WAIT_SECONDS);
+        CompletableFuture.delayedExecutor(delaySeconds, TimeUnit.SECONDS, turnResultExecutor).execute(reload);
+
+        // 구독 직전에 완료되었을 수 있으므로 한 번 더 확인한다.
+        ThreadTurnDetailResponse latest = getTurnDetail(memberId, threadId, turnId);
+        if (!isPending(latest)) {
+            result.complete(latest);
+        }
+        return result;
+    }
+
+    /**
+     * @throws PkvException 혼잡/시간 초과로 예약이 취소된 턴이면 그 사유
+     */
+    private ThreadTurnDetailResponse getTurnDetail(Long memberId, String threadId, Long turnId) {
+        turnCompletionNotifier.rejection(turnId).ifPresent(errorCode -> {
+            throw new PkvException(errorCode);
+        });
+        return threadQueryService.getTurnDetail(memberId, threadId, turnId);
+    }
+
+    private boolean isPending(ThreadTurnDetailResponse detail) {
+        return ChatResponseStatus.PENDING.name().equals(detail.status());
+    }
+
+    private boolean isStale(ThreadTurnDetailResponse detail) {
+        return detail.createdAt().isBefore(Instant.now().minus(pendingTimeout));
+    }
+
+    private ChatResult stale() {
+        return new ChatResult(ChatResponseStatus.FAILED, ThreadTurnService.FAILED_MESSAGE, List.of());
+    }
+}
@@ -1,304 +1,356 @@
 package com.pkv.chat.service;
 
-import com.pkv.chat.ThreadPolicy;
+import com.pkv.chat.config.ChatExecutorConfig;
 import com.pkv.chat.domain.ChatResponseStatus;
-import com.pkv.chat.domain.ChatThread;
-import com.pkv.chat.domain.ThreadTurn;
-import com.pkv.chat.domain.TurnCitation;
-import com.pkv.chat.dto.CitationResponse;
-import com.pkv.chat.dto.HydeResult;
+import com.pkv.chat.dto.ThreadTurnAcceptedResponse;
 import com.pkv.chat.dto.ThreadTurnCreateRequest;
 import com.pkv.chat.dto.ThreadTurnCreateResponse;
-import com.pkv.chat.repository.ChatThreadRepository;
-import com.pkv.chat.repository.ThreadTurnRepository;
-import com.pkv.chat.repository.TurnCitationRepository;
+import com.pkv.common.dto.ApiResponse;
 import com.pkv.common.exception.ErrorCode;
 import com.pkv.common.exception.PkvException;
-import com.pkv.document.domain.DocumentStatus;
-import com.pkv.document.repository.DocumentRepository;
-import dev.langchain4j.data.message.SystemMessage;
-import dev.langchain4j.data.message.UserMessage;
-import dev.langchain4j.data.segment.TextSegment;
+import com.pkv.document.service.MemberDocumentCatalog;
 import dev.langchain4j.model.chat.ChatModel;
-import dev.langchain4j.model.embedding.EmbeddingModel;
-import dev.langchain4j.store.embedding.EmbeddingMatch;
-import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
-import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.io.IOException;
 import java.util.List;
-
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-
-import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import java.util.concurrent.Executor;
 
 @Slf4j
 @Service
 @Profile("api")
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class ThreadTurnService {
 
     static final String NO_SEARCHABLE_DOCUMENT_MESSAGE = "임베딩한 문서가 없습니다";
     static final String IRRELEVANT_MESSAGE = "질문과 관련된 내용을 찾을 수 없습니다";
     static final String FAILED_MESSAGE = "답변 생성에 실패했습니다";
 
-    private static final String UNKNOWN_FILE_NAME = "알 수 없는 파일";
-    private static final int DEFAULT_PAGE_NUMBER = 1;
+    static final String CITATIONS_EVENT = "citations";
+    static final String TOKEN_EVENT = "token";
+    static final String DONE_EVENT = "done";
+    static final String ERROR_EVENT = "error";
 
-    private final DocumentRepository documentRepository;
-    private final EmbeddingModel embeddingModel;
-    private final EmbeddingStore<TextSegment> embeddingStore;
-    private final ChatModel chatModel;
-    private final ChatThreadRepository chatThreadRepository;
-    private final ThreadTurnRepository threadTurnRepository;
-    private final TurnCitationRepository turnCitationRepository;
-    private final PromptTemplateService promptTemplateService;
-    private final HydeQueryTransformer hydeQueryTransformer;
+    static final String PERSIST_TIMER = "chat.turn.persist";
+    static final String MODE_TAG = "mode";
+    static final String MODE_COMPLETE = "complete";
+    static final String MODE_RESERVED = "reserved";
 
-    @Transactional
+    private static final long STREAM_TIMEOUT_MILLIS = 120_000L;
+
+    private final MemberDocumentCatalog memberDocumentCatalog;
+    private final TurnRetrievalService turnRetrievalService;
+    private final SemanticAnswerCache semanticAnswerCache;
+    private final ChatModel chatModel;
+    private final StreamingChatModel streamingChatModel;
+    private final ThreadTurnCommandService threadTurnCommandService;
+    private final PromptAssembler promptAssembler;
+    private final TurnCompletionNotifier turnCompletionNotifier;
+    private final ThreadSummaryService threadSummaryService;
+    @Qualifier(ChatExecutorConfig.TURN_STREAM_EXECUTOR)
+    private final Executor turnStreamExecutor;
+    @Qualifier(ChatExecutorConfig.TURN_ASYNC_EXECUTOR)
+    private final Executor turnAsyncExecutor;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 스레드 확정과 턴 저장만 짧은 트랜잭션으로 수행하고, HyDE/검색/답변 생성 중에는
+     * 트랜잭션과 DB 커넥션을 점유하지 않는다.
+     */
     public ThreadTurnCreateResponse createTurn(Long memberId, ThreadTurnCreateRequest request) {
-        ChatThread thread = resolveThread(memberId, request);
-        if (thread.isTurnLimitReached(ThreadPolicy.MAX_THREAD_TURN_COUNT)) {
-            throw new PkvException(ErrorCode.THREAD_LIMIT_EXCEEDED);
+        PreparedTurn prepared = threadTurnCommandService.prepare(memberId, request);
+
+        ChatResult result = createTurnCore(memberId, request.prompt(), prepared.history(), prepared.documentIds());
+        Long turnId = completeTurn(memberId, prepared.threadId(), request.prompt(), result);
+        requestSummaryUpdate(prepared.threadId(), result);
+
+        return toCreateResponse(prepared, turnId, result);
+    }
+
+    /**
+     * 검색이 끝나는 즉시 citations 이벤트를, 이후 LLM 토큰을 token 이벤트로 흘려보내고
+     * 턴 저장이 끝나면 done 이벤트로 최종 응답(turnId 포함)을 보낸다.
+     */
+    public SseEmitter streamTurn(Long memberId, ThreadTurnCreateRequest request) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+
+        PreparedTurn prepared;
+        try {
+            prepared = threadTurnCommandService.prepare(memberId, request);
+        } catch (PkvException e) {
+            sendError(emitter, e.getErrorCode());
+            return emitter;
         }
 
-        List<ConversationContext> contexts = loadConversationContexts(thread);
-        ChatResult result = createTurnCore(memberId, request.prompt(), contexts);
+        try {
+            turnStreamExecutor.execute(() -> streamTurnCore(memberId, request.prompt(), prepared, emitter));
+        } catch (TaskRejectedException e) {
+            log.warn("스트리밍 턴 동시 처리 한도에 도달했습니다. memberId={}", memberId);
+            sendError(emitter, ErrorCode.TURN_CAPACITY_EXCEEDED);
+        }
+        return emitter;
+    }
 
-        ThreadTurn turn = saveThreadTurn(memberId, thread, request.prompt(), result);
-        saveTurnCitations(turn, result.retrievedCitations());
-        thread.incrementTurnCount();
+    /**
+     * 검증과 PENDING 턴 예약만 요청 스레드에서 수행하고 답변 생성은 별도 executor에서 진행한다.
+     * 클라이언트는 반환된 turnId로 결과를 조회(long-poll)하므로 연결이 끊겨도 답변은 저장된다.
+     */
+    public ThreadTurnAcceptedResponse createTurnAsync(Long memberId, ThreadTurnCreateRequest request) {
+        ReservedTurn reserved = threadTurnCommandService.reserve(memberId, request);
 
-        return new ThreadTurnCreateResponse(
-                thread.getThreadKey(),
-                turn.getId(),
-                result.answer(),
-                result.status().name(),
-                result.citations()
-        );
+        try {
+            turnAsyncExecutor.execute(() -> completeReservedTurn(memberId, request.prompt(), reserved));
+        } catch (TaskRejectedException e) {
+            log.warn("비동기 턴 동시 처리 한도에 도달했습니다. memberId={}", memberId);
+            threadTurnCommandService.cancelReserved(reserved.turnId());
+            throw new PkvException(ErrorCode.TURN_CAPACITY_EXCEEDED);
+        }
+
+        return new ThreadTurnAcceptedResponse(reserved.threadKey(), reserved.turnId(), ChatResponseStatus.PENDING.name());
+    }
+
+    private void completeReservedTurn(Long memberId, String prompt, ReservedTurn reserved) {
+        try {
+            ChatResult result;
+            try {
+                result = createTurnCore(memberId, prompt, reserved.history(), reserved.documentIds());
+            } catch (PkvException e) {
+                // 혼잡/시간 초과로 답변하지 못한 턴은 실패로 남기지 않고 예약을 취소해 턴 한도를 돌려준다.
+                log.warn("비동기 턴 처리 거절. memberId={}, turnId={}, code={}",
+                        memberId, reserved.turnId(), e.getErrorCode().getCode());
+                turnCompletionNotifier.reject(reserved.turnId(), e.getErrorCode());
+                threadTurnCommandService.cancelReserved(reserved.turnId());
+                return;
+            } catch (Exception e) {
+                log.error("비동기 턴 처리 실패. memberId={}, turnId={}", memberId, reserved.turnId(), e);
+                result = failed(FAILED_MESSAGE);
+            }
+            if (completeReserved(reserved.turnId(), result)) {
+                requestSummaryUpdate(reserved.threadId(), result);
+            }
+        } catch (Exception e) {
+            log.error("비동기 턴 저장 실패. memberId={}, turnId={}", memberId, reserved.turnId(), e);
+        } finally {
+            turnCompletionNotifier.notifyCompleted(reserved.turnId());
+        }
     }
 
-    private ChatResult createTurnCore(Long memberId, String prompt, List<ConversationContext> contexts) {
-        if (!documentRepository.existsByMemberIdAndStatus(memberId, DocumentStatus.COMPLETED)) {
+    /**
+     * 혼잡/시간 초과 등 {@link PkvException}은 실패 턴으로 저장하지 않고 그대로 던진다.
+     *
+     * @param documentIds 질문 범위. 비어 있으면 모든 문서를 검색한다.
+     */
+    private ChatResult createTurnCore(Long memberId, String prompt, ConversationHistory history, List<Long> documentIds) {
+        if (!memberDocumentCatalog.get(memberId).hasCompleted()) {
             return failed(NO_SEARCHABLE_DOCUMENT_MESSAGE);
         }
 
+        SemanticAnswerCache.Lookup cacheLookup = lookupAnswer(memberId, prompt, history, documentIds);
+        if (cacheLookup.isHit()) {
+            return cacheLookup.hit();
+        }
+
         try {
-            HydeResult hydeResult = hydeQueryTransformer.transform(prompt);
-
-            List<RetrievedCitation> allCitations = hydeResult.documents().stream()
-                    .map(doc -> embeddingModel.embed(doc).content())
-                    .map(embedding -> EmbeddingSearchRequest.builder()
-                            .queryEmbedding(embedding)
-                            .maxResults(ThreadPolicy.MAX_RESULTS)
-                            .minScore(ThreadPolicy.MIN_SCORE)
-                            .filter(metadataKey("memberId").isEqualTo(memberId))
-                            .build())
-                    .flatMap(req -> embeddingStore.search(req).matches().stream())
-                    .filter(match -> match.embedded() != null)
-                    .sorted(Comparator.comparingDouble(EmbeddingMatch<TextSegment>::score).reversed())
-                    .map(match -> toRetrievedCitation(match.embedded()))
-                    .toList();
-
-            List<RetrievedCitation> retrievedCitations = deduplicateBySourceChunkRef(allCitations);
+            List<RetrievedCitation> retrievedCitations = turnRetrievalService.retrieve(memberId, prompt, documentIds);
 
             if (retrievedCitations.isEmpty()) {
                 return irrelevant();
             }
 
-            List<CitationResponse> citations = retrievedCitations.stream()
-                    .map(RetrievedCitation::response)
-                    .toList();
-
-            String sourceBlock = buildSourceBlock(citations);
-            String contextBlock = buildConversationContextBlock(contexts);
-            String userPrompt = promptTemplateService.renderUserPrompt(prompt, sourceBlock, contextBlock);
-
-            var modelResponse = chatModel.chat(List.of(
-                    SystemMessage.from(promptTemplateService.systemPrompt()),
-                    UserMessage.from(userPrompt)
-            ));
+            PromptAssembler.AssembledPrompt assembled = promptAssembler.assemble(prompt, retrievedCitations, history);
+            var modelResponse = chatModel.chat(assembled.messages());
             String answer = modelResponse.aiMessage() != null ? modelResponse.aiMessage().text() : null;
 
-            if (answer == null || answer.isBlank()) {
-                log.warn("LLM 응답이 비어있습니다. memberId={}", memberId);
-                return failed(FAILED_MESSAGE);
-            }
-
-            return completed(answer, retrievedCitations);
+            ChatResult result = answered(memberId, answer, assembled.citations());
+            semanticAnswerCache.store(cacheLookup, result);
+            return result;
+        } catch (PkvException e) {
+            throw e;
         } catch (Exception e) {
             log.error("질문 처리 실패. memberId={}", memberId, e);
             return failed(FAILED_MESSAGE);
         }
     }
 
-    private ChatThread resolveThread(Long memberId, ThreadTurnCreateRequest request) {
-        if (!StringUtils.hasText(request.threadId())) {
-            return createThread(memberId, request.prompt());
+    private void streamTurnCore(Long memberId, String prompt, PreparedTurn prepared, SseEmitter emitter) {
+        if (!memberDocumentCatalog.get(memberId).hasCompleted()) {
+            finishStream(memberId, prompt, prepared, failed(NO_SEARCHABLE_DOCUMENT_MESSAGE), emitter);
+            return;
         }
 
-        return chatThreadRepository.findByMemberIdAndThreadKey(memberId, request.threadId())
-                .orElseThrow(() -> new PkvException(ErrorCode.THREAD_NOT_FOUND));
-    }
-
-    private ChatThread createThread(Long memberId, String firstPrompt) {
-        ChatThread thread = ChatThread.create(
-                memberId,
-                UUID.randomUUID().toString(),
-                firstPrompt,
-                ThreadPolicy.MAX_THREAD_TITLE_LENGTH
-        );
-        return chatThreadRepository.save(thread);
-    }
-
-    private List<ConversationContext> loadConversationContexts(ChatThread thread) {
-        PageRequest contextLimit = PageRequest.of(0, ThreadPolicy.MAX_CONTEXT_TURNS);
-        return threadTurnRepository.findByThread_IdOrderByCreatedAtDesc(thread.getId(), contextLimit).stream()
-                .sorted(Comparator.comparing(ThreadTurn::getCreatedAt))
-                .map(turn -> new ConversationContext(turn.getPrompt(), turn.getAnswer()))
-                .toList();
-    }
-
-    private ThreadTurn saveThreadTurn(Long memberId, ChatThread thread, String prompt, ChatResult result) {
-        ThreadTurn turn = ThreadTurn.create(
-                memberId,
-                thread,
-                prompt,
-                result.status(),
-                result.answer()
-        );
-        return threadTurnRepository.save(turn);
-    }
-
-    private void saveTurnCitations(ThreadTurn turn, List<RetrievedCitation> retrievedCitations) {
-        if (retrievedCitations.isEmpty()) {
+        SemanticAnswerCache.Lookup cacheLookup =
+                lookupAnswer(memberId, prompt, prepared.history(), prepared.documentIds());
+        if (cacheLookup.isHit()) {
+            ChatResult cached = cacheLookup.hit();
+            sendEvent(emitter, CITATIONS_EVENT, cached.citations());
+            sendEvent(emitter, TOKEN_EVENT, cached.answer());
+            finishStream(memberId, prompt, prepared, cached, emitter);
             return;
         }
 
-        List<TurnCitation> entities = IntStream.range(0, retrievedCitations.size())
-                .mapToObj(index -> {
-                    RetrievedCitation rc = retrievedCitations.get(index);
-                    return TurnCitation.from(turn, rc.response(), rc.sourceChunkRef(), index);
-                })
-                .toList();
-
-        turnCitationRepository.saveAll(entities);
-    }
-
-    private List<RetrievedCitation> deduplicateBySourceChunkRef(List<RetrievedCitation> citations) {
-        LinkedHashMap<String, RetrievedCitation> seen = new LinkedHashMap<>();
-        List<RetrievedCitation> nullRefCitations = new ArrayList<>();
-
-        for (RetrievedCitation rc : citations) {
-            if (rc.sourceChunkRef() == null) {
-                nullRefCitations.add(rc);
-            } else {
-                seen.putIfAbsent(rc.sourceChunkRef(), rc);
-            }
+        List<RetrievedCitation> retrievedCitations;
+        try {
+            retrievedCitations = turnRetrievalService.retrieve(memberId, prompt, prepared.documentIds());
+        } catch (PkvException e) {
+            rejectStream(memberId, e, emitter);
+            return;
+        } catch (Exception e) {
+            log.error("질문 처리 실패. memberId={}", memberId, e);
+            finishStream(memberId, prompt, prepared, failed(FAILED_MESSAGE), emitter);
+            return;
         }
 
-        List<RetrievedCitation> result = new ArrayList<>(seen.values());
-        result.addAll(nullRefCitations);
-        return result.stream().limit(ThreadPolicy.MAX_RESULTS).toList();
-    }
-
-    private RetrievedCitation toRetrievedCitation(TextSegment segment) {
-        String fileName = segment.metadata() != null ? segment.metadata().getString("fileName") : null;
-        Integer pageNumber = segment.metadata() != null ? segment.metadata().getInteger("pageNumber") : null;
-        String snippet = truncateSnippet(segment.text());
-        Long documentId = extractDocumentId(segment);
-        String sourceChunkRef = extractSourceChunkRef(segment);
-
-        CitationResponse response = new CitationResponse(
-                documentId,
-                fileName == null || fileName.isBlank() ? UNKNOWN_FILE_NAME : fileName,
-                pageNumber == null || pageNumber <= 0 ? DEFAULT_PAGE_NUMBER : pageNumber,
-                snippet
-        );
-
-        return new RetrievedCitation(response, sourceChunkRef);
-    }
-
-    private Long extractDocumentId(TextSegment segment) {
-        if (segment.metadata() == null) {
-            return null;
+        if (retrievedCitations.isEmpty()) {
+            finishStream(memberId, prompt, prepared, irrelevant(), emitter);
+            return;
         }
 
         try {
-            return segment.metadata().getLong("documentId");
+            PromptAssembler.AssembledPrompt assembled =
+                    promptAssembler.assemble(prompt, retrievedCitations, prepared.history());
+            sendEvent(emitter, CITATIONS_EVENT, assembled.citations().stream().map(RetrievedCitation::response).toList());
+
+            streamingChatModel.chat(
+                    assembled.messages(),
+                    new StreamingChatResponseHandler() {
+                        @Override
+                        public void onPartialResponse(String partialResponse) {
+                            sendEvent(emitter, TOKEN_EVENT, partialResponse);
+                        }
+
+                        @Override
+                        public void onCompleteResponse(ChatResponse completeResponse) {
+                            String answer = completeResponse.aiMessage() != null
+                                    ? completeResponse.aiMessage().text()
+                                    : null;
+                            ChatResult result = answered(memberId, answer, assembled.citations());
+                            semanticAnswerCache.store(cacheLookup, result);
+                            finishStream(memberId, prompt, prepared, result, emitter);
+                        }
+
+                        @Override
+                        public void onError(Throwable error) {
+                            if (error instanceof PkvException pkvException) {
+                                rejectStream(memberId, pkvException, emitter);
+                                return;
+                            }
+                            log.error("스트리밍 답변 생성 실패. memberId={}", memberId, error);
+                            finishStream(memberId, prompt, prepared, failed(FAILED_MESSAGE), emitter);
+                        }
+                    });
+        } catch (PkvException e) {
+            rejectStream(memberId, e, emitter);
         } catch (Exception e) {
-            log.warn("documentId 파싱 실패", e);
-            return null;
+            log.error("스트리밍 답변 생성 실패. memberId={}", memberId, e);
+            finishStream(memberId, prompt, prepared, failed(FAILED_MESSAGE), emitter);
         }
     }
 
-    private String extractSourceChunkRef(TextSegment segment) {
-        if (segment.metadata() == null) {
-            return null;
+    /**
+     * 시맨틱 캐시의 답변은 모든 문서를 검색해 만든 것이므로 범위를 지정한 질문에는 쓰지도, 저장하지도 않는다.
+     */
+    private SemanticAnswerCache.Lookup lookupAnswer(
+            Long memberId,
+            String prompt,
+            ConversationHistory history,
+            List<Long> documentIds
+    ) {
+        if (!documentIds.isEmpty()) {
+            return semanticAnswerCache.bypass();
         }
+        return semanticAnswerCache.lookup(memberId, prompt, history);
+    }
 
+    private void finishStream(Long memberId, String prompt, PreparedTurn prepared, ChatResult result, SseEmitter emitter) {
         try {
-            return segment.metadata().getString("sourceChunkRef");
+            Long turnId = completeTurn(memberId, prepared.threadId(), prompt, result);
+            requestSummaryUpdate(prepared.threadId(), result);
+            sendEvent(emitter, DONE_EVENT, toCreateResponse(prepared, turnId, result));
+            emitter.complete();
         } catch (Exception e) {
-            return null;
+            log.error("스트리밍 턴 저장 실패. memberId={}, threadId={}", memberId, prepared.threadKey(), e);
+            sendError(emitter, ErrorCode.INTERNAL_SERVER_ERROR);
         }
     }
 
-    private String truncateSnippet(String text) {
-        if (text == null || text.isBlank()) {
-            return "";
-        }
-        if (text.length() <= TurnCitation.MAX_SNIPPET_LENGTH) {
-            return text;
-        }
-        return text.substring(0, TurnCitation.MAX_SNIPPET_LENGTH);
+    /**
+     * 혼잡/시간 초과로 답변하지 못한 턴은 저장하지 않고(턴 한도에 포함하지 않고) error 이벤트로 알린다.
+     */
+    private void rejectStream(Long memberId, PkvException e, SseEmitter emitter) {
+        log.warn("스트리밍 턴 처리 거절. memberId={}, code={}", memberId, e.getErrorCode().getCode());
+        sendError(emitter, e.getErrorCode());
     }
 
-    private String buildSourceBlock(List<CitationResponse> citations) {
-        return IntStream.range(0, citations.size())
-                .mapToObj(index -> formatCitation(index + 1, citations.get(index)))
-                .collect(Collectors.joining("\n"));
+    private Long completeTurn(Long memberId, Long threadId, String prompt, ChatResult result) {
+        return persistTimer(MODE_COMPLETE)
+                .record(() -> threadTurnCommandService.complete(memberId, threadId, prompt, result));
     }
 
-    private String buildConversationContextBlock(List<ConversationContext> contexts) {
-        if (contexts.isEmpty()) {
-            return "";
+    private boolean completeReserved(Long turnId, ChatResult result) {
+        return persistTimer(MODE_RESERVED)
+                .record(() -> threadTurnCommandService.completeReserved(turnId, result));
+    }
+
+    private Timer persistTimer(String mode) {
+        return Timer.builder(PERSIST_TIMER)
+                .description("Time to persist a turn with its citations")
+                .tag(MODE_TAG, mode)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 정상 답변이 저장된 경우에만 요약 갱신을 예약한다. 그 외 턴은 다음 갱신 때 내용 없이 건너뛴다.
+     */
+    private void requestSummaryUpdate(Long threadId, ChatResult result) {
+        if (result.status() == ChatResponseStatus.COMPLETED) {
+            threadSummaryService.requestUpdate(threadId);
         }
+    }
 
-        return IntStream.range(0, contexts.size())
-                .mapToObj(index -> formatContext(index + 1, contexts.get(index)))
-                .collect(Collectors.joining("\n\n"));
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 연결을 끊어도 답변 생성과 저장은 계속 진행한다.
+            log.debug("SSE 이벤트 전송 실패 - 클라이언트 연결 종료. event={}", name);
+        }
     }
 
-    private String formatContext(int order, ConversationContext context) {
-        String answer = context.answer() == null ? "-" : context.answer();
-        return """
-                %d. 질문: %s
-                답변: %s
-                """.formatted(order, context.prompt(), answer);
+    private void sendError(SseEmitter emitter, ErrorCode errorCode) {
+        sendEvent(emitter, ERROR_EVENT, ApiResponse.error(errorCode));
+        emitter.complete();
     }
 
-    private String formatCitation(int order, CitationResponse citation) {
-        return "%d. file=%s, page=%s, snippet=%s".formatted(
-                order,
-                citation.fileName(),
-                citation.pageNumber(),
-                citation.snippet()
+    private ThreadTurnCreateResponse toCreateResponse(PreparedTurn prepared, Long turnId, ChatResult result) {
+        return new ThreadTurnCreateResponse(
+                prepared.threadKey(),
+                turnId,
+                result.answer(),
+                result.status().name(),
+                result.citations()
         );
     }
 
+    private ChatResult answered(Long memberId, String answer, List<RetrievedCitation> retrievedCitations) {
+        if (answer == null || answer.isBlank()) {
+            log.warn("LLM 응답이 비어있습니다. memberId={}", memberId);
+            return failed(FAILED_MESSAGE);
+        }
+        return completed(answer, retrievedCitations);
+    }
+
     private ChatResult completed(String answer, List<RetrievedCitation> retrievedCitations) {
         return new ChatResult(ChatResponseStatus.COMPLETED, answer, retrievedCitations);
     }
@@ -310,17 +362,4 @@ public class ThreadTurnService {
     private ChatResult failed(String message) {
         return new ChatResult(ChatResponseStatus.FAILED, message, List.of());
     }
-
-    private record ChatResult(ChatResponseStatus status, String answer, List<RetrievedCitation> retrievedCitations) {
-
-        List<CitationResponse> citations() {
-            return retrievedCitations.stream().map(RetrievedCitation::response).toList();
-        }
-    }
-
-    private record RetrievedCitation(CitationResponse response, String sourceChunkRef) {
-    }
-
-    private record ConversationContext(String prompt, String answer) {
-    }
 }
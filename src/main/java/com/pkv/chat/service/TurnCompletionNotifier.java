@@ -0,0 +1,63 @@
+package com.pkv.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pkv.common.exception.ErrorCode;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 비동기 턴 완료를 같은 인스턴스에서 long-poll 중인 요청에 알린다.
+ * 다른 인스턴스에서 완료된 턴은 알림 없이 long-poll 타임아웃 후 재조회로 확인된다.
+ * <p>
+ * 혼잡/시간 초과로 예약이 취소된 턴은 삭제되므로, 같은 인스턴스의 long-poll이 그 사유를 돌려줄 수 있도록
+ * 오류 코드를 잠시 보관한다. 다른 인스턴스에서는 TURN_NOT_FOUND로 보인다.
+ */
+@Component
+@Profile("api")
+public class TurnCompletionNotifier {
+
+    private static final Duration REJECTION_TTL = Duration.ofMinutes(5);
+
+    private final Map<Long, List<Runnable>> listeners = new ConcurrentHashMap<>();
+    private final Cache<Long, ErrorCode> rejections = Caffeine.newBuilder()
+            .expireAfterWrite(REJECTION_TTL)
+            .maximumSize(10_000)
+            .build();
+
+    public void subscribe(Long turnId, Runnable listener) {
+        listeners.computeIfAbsent(turnId, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public void unsubscribe(Long turnId, Runnable listener) {
+        listeners.computeIfPresent(turnId, (key, registered) -> {
+            registered.remove(listener);
+            return registered.isEmpty() ? null : registered;
+        });
+    }
+
+    public void notifyCompleted(Long turnId) {
+        List<Runnable> registered = listeners.remove(turnId);
+        if (registered != null) {
+            registered.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * 예약을 취소하기 전에 호출해야 long-poll이 삭제된 턴 대신 거절 사유를 받는다.
+     */
+    public void reject(Long turnId, ErrorCode errorCode) {
+        rejections.put(turnId, errorCode);
+    }
+
+    public Optional<ErrorCode> rejection(Long turnId) {
+        return Optional.ofNullable(rejections.getIfPresent(turnId));
+    }
+}
@@ -0,0 +1,318 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.ThreadPolicy;
+import com.pkv.chat.config.ChatExecutorConfig;
+import com.pkv.chat.domain.TurnCitation;
+import com.pkv.chat.dto.CitationResponse;
+import com.pkv.chat.dto.HydeResult;
+import com.pkv.common.service.ChunkTextStore;
+import com.pkv.document.domain.DocumentChunk;
+import com.pkv.document.dto.DocumentResponse;
+import com.pkv.document.service.MemberDocumentCatalog;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 턴 답변에 사용할 citation을 검색한다.
+ * <p>
+ * HyDE 가상 문서 생성(LLM 호출)과 원본 질문 검색을 동시에 시작하고,
+ * 원본 질문 검색 결과의 최고 점수가 {@code chat.retrieval.speculative-min-score} 이상이면
+ * HyDE 작업을 인터럽트로 취소하고 바로 반환한다. 그렇지 않으면 HyDE 검색 결과와 합친다.
+ * HyDE 생성이 실패하면 턴을 실패시키지 않고 원본 질문 검색 결과만 반환한다.
+ * 생략한 HyDE 대기 시간은 평균 HyDE 생성 시간에서 취소 시점까지 지난 시간을 뺀 추정치로 {@value #HYDE_SAVED_TIMER}에 기록한다.
+ * 쿼리별 밀집/희소 검색 순위 목록은 reciprocal rank fusion으로 합쳐 상위 {@link ThreadPolicy#SEARCH_CANDIDATES}개를
+ * 순위대로 반환한다. 프롬프트에 넣을 {@link ThreadPolicy#MAX_RESULTS}개는 {@link PromptAssembler}가 이 후보 중에서 고른다.
+ * <p>
+ * 청크 검색 전에 {@link DocumentRouter}로 질문과 가까운 문서를 골라 두 검색 모두 그 문서들 안에서만 찾는다.
+ * 스레드에 질문 범위가 있으면 범위 안에서만 고르고 검색한다. 범위가 작은 문서 하나이면 후보 청크가 적어
+ * 원본 질문 검색만으로 충분하므로 HyDE를 시작하지 않는다.
+ * <p>
+ * 검색 결과에 본문이 없는 청크(본문을 {@link ChunkTextStore}에만 둔 point)는 반환할 후보 청크만 한 번에 조회해 채운다.
+ */
+@Slf4j
+@Service
+@Profile("api")
+public class TurnRetrievalService {
+
+    static final String RETRIEVAL_TIMER = "chat.retrieval.duration";
+    static final String PATH_TAG = "path";
+    static final String PATH_SPECULATIVE = "speculative";
+    static final String PATH_HYDE = "hyde";
+    static final String PATH_SCOPED = "scoped";
+    static final String PATH_HYDE_FAILED = "hyde-failed";
+    static final String HYDE_TIMER = "chat.retrieval.hyde.duration";
+    static final String HYDE_SAVED_TIMER = "chat.retrieval.hyde.saved";
+
+    private static final String UNKNOWN_FILE_NAME = "알 수 없는 파일";
+    private static final int DEFAULT_PAGE_NUMBER = 1;
+
+    private final ChunkRetriever chunkRetriever;
+    private final HydeQueryTransformer hydeQueryTransformer;
+    private final DocumentRouter documentRouter;
+    private final MemberDocumentCatalog memberDocumentCatalog;
+    private final ChunkTextStore chunkTextStore;
+    private final AsyncTaskExecutor retrievalExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Timer hydeTimer;
+    private final Timer hydeSavedTimer;
+    private final double speculativeMinScore;
+    private final int rrfK;
+    private final long hydeSkipMaxBytes;
+
+    public TurnRetrievalService(
+            ChunkRetriever chunkRetriever,
+            HydeQueryTransformer hydeQueryTransformer,
+            DocumentRouter documentRouter,
+            MemberDocumentCatalog memberDocumentCatalog,
+            ChunkTextStore chunkTextStore,
+            @Qualifier(ChatExecutorConfig.RETRIEVAL_EXECUTOR) AsyncTaskExecutor retrievalExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${chat.retrieval.speculative-min-score:0.85}") double speculativeMinScore,
+            @Value("${chat.retrieval.hybrid.rrf-k:60}") int rrfK,
+            @Value("${chat.retrieval.scope.hyde-skip-max-size:1MB}") DataSize hydeSkipMaxSize
+    ) {
+        this.chunkRetriever = chunkRetriever;
+        this.hydeQueryTransformer = hydeQueryTransformer;
+        this.documentRouter = documentRouter;
+        this.memberDocumentCatalog = memberDocumentCatalog;
+        this.chunkTextStore = chunkTextStore;
+        this.retrievalExecutor = retrievalExecutor;
+        this.meterRegistry = meterRegistry;
+        this.hydeTimer = Timer.builder(HYDE_TIMER)
+                .description("Time to generate HyDE documents, including cache hits")
+                .register(meterRegistry);
+        this.hydeSavedTimer = Timer.builder(HYDE_SAVED_TIMER)
+                .description("Estimated HyDE wait avoided when the speculative path wins")
+                .register(meterRegistry);
+        this.speculativeMinScore = speculativeMinScore;
+        this.rrfK = rrfK;
+        this.hydeSkipMaxBytes = hydeSkipMaxSize.toBytes();
+    }
+
+    /**
+     * @param scope 스레드의 질문 범위. 비어 있으면 회원의 모든 문서를 검색한다.
+     */
+    public List<RetrievedCitation> retrieve(Long memberId, String prompt, List<Long> scope) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (isSmallSingleDocument(memberId, scope)) {
+            List<QueryMatches> matches = chunkRetriever.search(memberId, scope, List.of(prompt));
+            sample.stop(retrievalTimer(PATH_SCOPED));
+            return toCitations(memberId, matches);
+        }
+
+        long hydeStartedAt = System.nanoTime();
+        Future<HydeResult> hydeFuture = retrievalExecutor.submit(() -> generateHyde(prompt));
+
+        Collection<Long> documentIds;
+        List<QueryMatches> rawMatches;
+        try {
+            Optional<Set<Long>> routed = documentRouter.route(memberId, prompt, scope);
+            documentIds = routed.isPresent() ? routed.get() : scope.isEmpty() ? null : scope;
+            rawMatches = chunkRetriever.search(memberId, documentIds, List.of(prompt));
+        } catch (RuntimeException e) {
+            hydeFuture.cancel(true);
+            throw e;
+        }
+
+        if (isConfident(rawMatches)) {
+            recordHydeSaved(hydeFuture, hydeStartedAt);
+            hydeFuture.cancel(true);
+            sample.stop(retrievalTimer(PATH_SPECULATIVE));
+            log.debug("원본 질문 검색 결과로 충분하여 HyDE를 생략합니다. memberId={}", memberId);
+            return toCitations(memberId, rawMatches);
+        }
+
+        Optional<HydeResult> hydeResult = awaitHyde(hydeFuture, memberId);
+        if (hydeResult.isEmpty()) {
+            sample.stop(retrievalTimer(PATH_HYDE_FAILED));
+            return toCitations(memberId, rawMatches);
+        }
+        List<QueryMatches> matches = new ArrayList<>(rawMatches);
+        matches.addAll(chunkRetriever.search(memberId, documentIds, hydeResult.get().documents()));
+        sample.stop(retrievalTimer(PATH_HYDE));
+
+        return toCitations(memberId, matches);
+    }
+
+    /**
+     * 취소되어 인터럽트된 경우는 생성 시간에 포함하지 않는다.
+     */
+    private HydeResult generateHyde(String prompt) {
+        long startedAt = System.nanoTime();
+        HydeResult result = hydeQueryTransformer.transform(prompt);
+        if (!Thread.currentThread().isInterrupted()) {
+            hydeTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+        return result;
+    }
+
+    /**
+     * @return HyDE 결과. 생성에 실패했거나 기다리는 중 인터럽트되면 비어 있다(원본 질문 검색 결과만 사용).
+     */
+    private Optional<HydeResult> awaitHyde(Future<HydeResult> hydeFuture, Long memberId) {
+        try {
+            return Optional.ofNullable(hydeFuture.get());
+        } catch (ExecutionException e) {
+            log.warn("HyDE 생성 실패. 원본 질문 검색 결과만 사용합니다. memberId={}", memberId, e.getCause());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            hydeFuture.cancel(true);
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 이미 끝난 HyDE(캐시 적중 등)는 기다릴 필요가 없었으므로 0으로 기록한다.
+     */
+    private void recordHydeSaved(Future<HydeResult> hydeFuture, long hydeStartedAt) {
+        long saved = 0;
+        if (!hydeFuture.isDone()) {
+            long elapsed = System.nanoTime() - hydeStartedAt;
+            saved = Math.max(0, (long) hydeTimer.mean(TimeUnit.NANOSECONDS) - elapsed);
+        }
+        hydeSavedTimer.record(saved, TimeUnit.NANOSECONDS);
+    }
+
+    private boolean isSmallSingleDocument(Long memberId, List<Long> scope) {
+        if (scope.size() != 1) {
+            return false;
+        }
+        return memberDocumentCatalog.get(memberId).documents().stream()
+                .filter(document -> document.id().equals(scope.getFirst()))
+                .mapToLong(DocumentResponse::fileSize)
+                .anyMatch(fileSize -> fileSize <= hydeSkipMaxBytes);
+    }
+
+    /**
+     * 희소 검색 점수는 척도가 달라 밀집 검색 relevance score만으로 판단한다.
+     */
+    private boolean isConfident(List<QueryMatches> matches) {
+        return matches.stream()
+                .flatMap(queryMatches -> queryMatches.dense().stream())
+                .mapToDouble(EmbeddingMatch::score)
+                .max()
+                .orElse(0.0) >= speculativeMinScore;
+    }
+
+    private Timer retrievalTimer(String path) {
+        return Timer.builder(RETRIEVAL_TIMER)
+                .description("Time from turn start until citations are retrieved, by winning path")
+                .tag(PATH_TAG, path)
+                .register(meterRegistry);
+    }
+
+    private List<RetrievedCitation> toCitations(Long memberId, List<QueryMatches> matches) {
+        List<List<EmbeddingMatch<TextSegment>>> rankings = new ArrayList<>(matches.size() * 2);
+        for (QueryMatches queryMatches : matches) {
+            rankings.add(queryMatches.dense());
+            rankings.add(queryMatches.sparse());
+        }
+
+        List<TextSegment> segments = ReciprocalRankFusion.fuse(rankings, rrfK).stream()
+                .limit(ThreadPolicy.SEARCH_CANDIDATES)
+                .map(EmbeddingMatch::embedded)
+                .toList();
+
+        Map<String, DocumentChunk> storedChunks = chunkTextStore.findAll(segments.stream()
+                .filter(segment -> segment.text().isBlank())
+                .map(this::extractSourceChunkRef)
+                .filter(Objects::nonNull)
+                .toList());
+        Map<Long, String> fileNames = storedChunks.isEmpty() ? Map.of() : fileNames(memberId);
+
+        return segments.stream()
+                .map(segment -> toRetrievedCitation(segment, storedChunks, fileNames))
+                .toList();
+    }
+
+    private Map<Long, String> fileNames(Long memberId) {
+        return memberDocumentCatalog.get(memberId).documents().stream()
+                .collect(Collectors.toMap(DocumentResponse::id, DocumentResponse::fileName, (first, second) -> first));
+    }
+
+    private RetrievedCitation toRetrievedCitation(
+            TextSegment segment,
+            Map<String, DocumentChunk> storedChunks,
+            Map<Long, String> fileNames
+    ) {
+        String fileName = segment.metadata() != null ? segment.metadata().getString("fileName") : null;
+        Integer pageNumber = segment.metadata() != null ? segment.metadata().getInteger("pageNumber") : null;
+        String text = segment.text();
+        Long documentId = extractDocumentId(segment);
+        String sourceChunkRef = extractSourceChunkRef(segment);
+
+        DocumentChunk stored = sourceChunkRef != null ? storedChunks.get(sourceChunkRef) : null;
+        if (stored != null) {
+            text = stored.text();
+            pageNumber = pageNumber != null ? pageNumber : stored.getPageNumber();
+            fileName = fileName != null ? fileName : fileNames.get(stored.getDocumentId());
+        }
+        String snippet = truncateSnippet(text);
+
+        CitationResponse response = new CitationResponse(
+                documentId,
+                fileName == null || fileName.isBlank() ? UNKNOWN_FILE_NAME : fileName,
+                pageNumber == null || pageNumber <= 0 ? DEFAULT_PAGE_NUMBER : pageNumber,
+                snippet
+        );
+
+        return new RetrievedCitation(response, sourceChunkRef);
+    }
+
+    private Long extractDocumentId(TextSegment segment) {
+        if (segment.metadata() == null) {
+            return null;
+        }
+
+        try {
+            return segment.metadata().getLong("documentId");
+        } catch (Exception e) {
+            log.warn("documentId 파싱 실패", e);
+            return null;
+        }
+    }
+
+    private String extractSourceChunkRef(TextSegment segment) {
+        if (segment.metadata() == null) {
+            return null;
+        }
+
+        try {
+            return segment.metadata().getString("sourceChunkRef");
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private String truncateSnippet(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        if (text.length() <= TurnCitation.MAX_SNIPPET_LENGTH) {
+            return text;
+        }
+        return text.substring(0, TurnCitation.MAX_SNIPPET_LENGTH);
+    }
+}
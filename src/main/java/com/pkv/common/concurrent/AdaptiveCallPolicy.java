@@ -0,0 +1,22 @@
+package com.pkv.common.concurrent;
+
+import java.time.Duration;
+
+/**
+ * {@link AdaptiveCaller} 설정.
+ *
+ * @param timeoutMultiplier p99 지연에 곱해 호출 타임아웃을 정한다. 결과는 [minTimeout, maxTimeout]으로 제한된다.
+ * @param hedgeEnabled      p95를 넘긴 호출에 중복 요청을 보낼지 여부. 멱등 호출에만 켠다.
+ * @param minHedgeDelay     중복 요청을 보내기 전 최소 대기 시간
+ * @param minSamples        이만큼 표본이 쌓이기 전에는 maxTimeout을 쓰고 중복 요청을 보내지 않는다.
+ */
+public record AdaptiveCallPolicy(
+        Duration minTimeout,
+        Duration maxTimeout,
+        double timeoutMultiplier,
+        boolean hedgeEnabled,
+        Duration minHedgeDelay,
+        int windowSize,
+        int minSamples
+) {
+}
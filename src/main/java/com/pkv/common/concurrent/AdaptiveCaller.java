@@ -0,0 +1,180 @@
+package com.pkv.common.concurrent;
+
+import com.pkv.common.exception.ErrorCode;
+import com.pkv.common.exception.PkvException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 관측한 지연 분포에 맞춰 타임아웃을 조정하고, 멱등 호출은 p95를 넘기면 중복 요청(hedge)을 보내 먼저 끝난 결과를 사용한다.
+ * <p>
+ * 타임아웃은 {@code p99 * timeoutMultiplier}를 [minTimeout, maxTimeout]으로 제한한 값이며, 초과 시
+ * {@link ErrorCode#UPSTREAM_TIMEOUT}으로 실패한다. 진 쪽 호출은 인터럽트로 취소한다.
+ * 인터럽트에 반응하지 않는 호출은 끝날 때까지 bulkhead permit을 잡고 있으므로, 모델 클라이언트의 요청 타임아웃을
+ * {@code maxTimeout}에 맞춰 포기한 호출이 permit을 붙잡는 시간을 제한한다({@code application-api.yml}).
+ * <p>
+ * 시간 초과된 시도는 시작부터 마감까지의 시간을 지연 표본으로 기록한다(실제 지연은 그 이상인 중도 절단 표본).
+ * 성공만 기록하면 지연이 한꺼번에 늘었을 때 모든 호출이 시간 초과되어 타임아웃이 다시 늘어나지 않기 때문이다.
+ * <ul>
+ *   <li>{@code model.call.latency{model, outcome}}: 호출 전체 지연 (hedge 포함)</li>
+ *   <li>{@code model.call.hedges{model, result=sent|won}}: 보낸 중복 요청 수와 그중 먼저 끝난 수</li>
+ * </ul>
+ */
+@Slf4j
+public class AdaptiveCaller implements AutoCloseable {
+
+    private static final double HEDGE_QUANTILE = 0.95;
+    private static final double TIMEOUT_QUANTILE = 0.99;
+
+    private final String name;
+    private final AdaptiveCallPolicy policy;
+    private final LatencyTracker latencyTracker;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+
+    public AdaptiveCaller(String name, AdaptiveCallPolicy policy, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.policy = policy;
+        this.latencyTracker = new LatencyTracker(policy.windowSize(), policy.minSamples());
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-call-", 0).factory());
+        this.meterRegistry = meterRegistry;
+        this.hedgesSent = Counter.builder("model.call.hedges").tag("model", name).tag("result", "sent")
+                .register(meterRegistry);
+        this.hedgesWon = Counter.builder("model.call.hedges").tag("model", name).tag("result", "won")
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> action) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeout().toNanos();
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger launched = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Future<?>> attempts = new ArrayList<>(2);
+        List<Long> attemptStartedAt = new ArrayList<>(2);
+        String outcome = "error";
+
+        try {
+            attemptStartedAt.add(startedAt);
+            attempts.add(submit(action, winner, launched, failed, false));
+
+            Duration hedgeDelay = hedgeDelay();
+            if (hedgeDelay != null && startedAt + hedgeDelay.toNanos() < deadline) {
+                try {
+                    T result = winner.get(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+                    outcome = "success";
+                    return result;
+                } catch (TimeoutException e) {
+                    hedgesSent.increment();
+                    attemptStartedAt.add(System.nanoTime());
+                    attempts.add(submit(action, winner, launched, failed, true));
+                }
+            }
+
+            T result = winner.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            outcome = "success";
+            return result;
+        } catch (TimeoutException e) {
+            outcome = "timeout";
+            // 마감 이후에 끝난 시도는 실제 지연으로 기록하지 않도록 먼저 실패로 완료한다.
+            if (winner.completeExceptionally(e)) {
+                attemptStartedAt.forEach(attemptStart -> latencyTracker.record(deadline - attemptStart));
+            }
+            log.warn("외부 모델 호출 시간이 초과되었습니다. model={}, timeoutMs={}",
+                    name, TimeUnit.NANOSECONDS.toMillis(deadline - startedAt));
+            throw new PkvException(ErrorCode.UPSTREAM_TIMEOUT, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("외부 모델 호출 실패. model=" + name, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("외부 모델 호출이 중단되었습니다. model=" + name, e);
+        } finally {
+            attempts.forEach(attempt -> attempt.cancel(true));
+            Timer.builder("model.call.latency")
+                    .tag("model", name)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 진행 중인 시도를 인터럽트하고 더 이상 호출을 받지 않는다.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    Duration timeout() {
+        Duration p99 = latencyTracker.percentile(TIMEOUT_QUANTILE);
+        if (p99 == null) {
+            return policy.maxTimeout();
+        }
+        long nanos = (long) (p99.toNanos() * policy.timeoutMultiplier());
+        return Duration.ofNanos(Math.clamp(nanos, policy.minTimeout().toNanos(), policy.maxTimeout().toNanos()));
+    }
+
+    Duration hedgeDelay() {
+        if (!policy.hedgeEnabled()) {
+            return null;
+        }
+        Duration p95 = latencyTracker.percentile(HEDGE_QUANTILE);
+        if (p95 == null) {
+            return null;
+        }
+        return p95.compareTo(policy.minHedgeDelay()) < 0 ? policy.minHedgeDelay() : p95;
+    }
+
+    private <T> Future<?> submit(
+            Supplier<T> action,
+            CompletableFuture<T> winner,
+            AtomicInteger launched,
+            AtomicInteger failed,
+            boolean hedge
+    ) {
+        launched.incrementAndGet();
+        return executor.submit(() -> {
+            long startedAt = System.nanoTime();
+            try {
+                T result = action.get();
+                long elapsed = System.nanoTime() - startedAt;
+                if (winner.complete(result)) {
+                    latencyTracker.record(elapsed);
+                    if (hedge) {
+                        hedgesWon.increment();
+                    }
+                } else if (!winner.isCompletedExceptionally()) {
+                    // 다른 시도가 먼저 끝났다. 시간 초과로 포기한 호출의 늦은 결과는 이미 마감 시간으로 기록했다.
+                    latencyTracker.record(elapsed);
+                }
+            } catch (Throwable e) {
+                // 다른 시도가 아직 진행 중이면 그 결과를 기다린다.
+                if (failed.incrementAndGet() >= launched.get()) {
+                    winner.completeExceptionally(e);
+                }
+            }
+        });
+    }
+}
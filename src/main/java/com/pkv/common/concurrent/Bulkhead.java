@@ -0,0 +1,93 @@
+package com.pkv.common.concurrent;
+
+import com.pkv.common.exception.ErrorCode;
+import com.pkv.common.exception.PkvException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 외부 의존성 하나에 대한 동시 호출 수 제한(semaphore bulkhead).
+ * <p>
+ * 요청 스레드가 가상 스레드라 스레드 풀이 상한 역할을 하지 않으므로, 의존성마다 permit 수를 따로 두어
+ * 한 upstream이 느려져도 다른 upstream 호출까지 밀리지 않게 한다. permit을 {@code maxWait} 안에 얻지 못하면
+ * {@link ErrorCode#SERVICE_BUSY}로 실패한다.
+ * <ul>
+ *   <li>{@code bulkhead.wait{dependency}}: permit 대기 시간 (거절 포함)</li>
+ *   <li>{@code bulkhead.active{dependency}}: 사용 중인 permit 수</li>
+ *   <li>{@code bulkhead.rejected{dependency}}: 대기 시간 초과로 거절된 호출 수</li>
+ * </ul>
+ */
+@Slf4j
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final Semaphore semaphore;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("maxConcurrent는 양수여야 합니다. name=" + name);
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        this.semaphore = new Semaphore(maxConcurrent, true);
+        this.waitTimer = Timer.builder("bulkhead.wait")
+                .tag("dependency", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("bulkhead.rejected")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.active", semaphore, s -> maxConcurrent - s.availablePermits())
+                .tag("dependency", name)
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> action) {
+        acquire();
+        try {
+            return action.get();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * permit을 얻을 때까지 최대 {@code maxWait} 기다린다. 스트리밍처럼 호출 반환 후에도 작업이 이어지는 경우
+     * 완료 콜백에서 {@link #release()}를 직접 호출해야 한다.
+     */
+    public void acquire() {
+        long startedAt = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PkvException(ErrorCode.SERVICE_BUSY, e);
+        } finally {
+            waitTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            rejectedCounter.increment();
+            log.warn("외부 의존성 동시 호출 한도를 초과했습니다. dependency={}, maxConcurrent={}", name, maxConcurrent);
+            throw new PkvException(ErrorCode.SERVICE_BUSY);
+        }
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+}
@@ -0,0 +1,64 @@
+package com.pkv.common.concurrent;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 최근 {@code windowSize}개 호출의 지연을 보관하고 백분위수를 계산한다. 시간 초과된 호출은 호출자가 마감까지의 시간을
+ * 기록한다. 정렬 결과는 {@code windowSize / 16}건이 새로 기록될 때마다 다시 계산한다.
+ */
+public class LatencyTracker {
+
+    private final long[] window;
+    private final int minSamples;
+    private final int refreshEvery;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int next;
+    private int size;
+    private int recordedSinceSort;
+    private long[] sorted = new long[0];
+
+    public LatencyTracker(int windowSize, int minSamples) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize는 양수여야 합니다.");
+        }
+        this.window = new long[windowSize];
+        this.minSamples = Math.max(1, Math.min(minSamples, windowSize));
+        this.refreshEvery = Math.max(1, windowSize / 16);
+    }
+
+    public void record(long nanos) {
+        lock.lock();
+        try {
+            window[next] = nanos;
+            next = (next + 1) % window.length;
+            size = Math.min(size + 1, window.length);
+            recordedSinceSort++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 표본이 {@code minSamples}보다 적으면 null
+     */
+    public Duration percentile(double quantile) {
+        lock.lock();
+        try {
+            if (size < minSamples) {
+                return null;
+            }
+            if (sorted.length != size || recordedSinceSort >= refreshEvery) {
+                sorted = Arrays.copyOf(window, size);
+                Arrays.sort(sorted);
+                recordedSinceSort = 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return Duration.ofNanos(sorted[Math.clamp(index, 0, sorted.length - 1)]);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.pkv.common.config;
+
+import com.pkv.common.vector.EmbeddedEmbeddingStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * {@code vector-store.type=embedded}일 때 Qdrant 대신 프로세스 안의 {@link EmbeddedEmbeddingStore}를 쓴다.
+ * 저장소 파일은 한 프로세스만 열 수 있으므로 api와 worker 프로필을 한 프로세스에서 함께 실행한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "vector-store", name = "type", havingValue = "embedded")
+public class EmbeddedVectorStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedEmbeddingStore embeddingStore(
+            @Value("${vector-store.embedded.path:./data/vectors}") String path,
+            @Value("${embedding.dimension:1536}") int dimension,
+            @Value("${vector-store.embedded.m:16}") int m,
+            @Value("${vector-store.embedded.ef-construction:100}") int efConstruction,
+            @Value("${vector-store.embedded.ef-search:128}") int efSearch,
+            @Value("${vector-store.embedded.segment-slots:65536}") int segmentSlots,
+            @Value("${vector-store.embedded.full-scan-threshold:20000}") int fullScanThreshold) {
+        return new EmbeddedEmbeddingStore(
+                Path.of(path),
+                dimension,
+                m,
+                efConstruction,
+                efSearch,
+                segmentSlots,
+                fullScanThreshold
+        );
+    }
+}
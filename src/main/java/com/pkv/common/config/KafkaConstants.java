@@ -4,6 +4,8 @@ public final class KafkaConstants {
 
     public static final String EMBEDDING_JOB_TOPIC = "embedding-job";
     public static final String EMBEDDING_CONTAINER_FACTORY = "embeddingKafkaListenerContainerFactory";
+    public static final String DOCUMENT_STATUS_TOPIC = "document-status-changed";
+    public static final String THREAD_CONTEXT_TOPIC = "thread-context-changed";
 
     private KafkaConstants() {
     }
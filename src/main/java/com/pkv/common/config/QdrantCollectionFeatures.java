@@ -0,0 +1,12 @@
+package com.pkv.common.config;
+
+/**
+ * 기동 시점에 확인한 Qdrant 컬렉션 기능.
+ *
+ * @param sparseVectors   BM25 희소 벡터({@code SparseVectorEncoder.VECTOR_NAME})가 설정된 컬렉션인지 여부.
+ *                        false이면 worker는 밀집 벡터만 저장하고 api는 밀집 검색만 수행한다.
+ * @param quantized       양자화 벡터가 설정된 컬렉션인지 여부. true이면 api는 후보를 더 뽑아 원본 벡터로 다시 점수를 매긴다.
+ * @param vectorDimension 컬렉션의 밀집 벡터 차원. 이후 alias가 옮겨지면 {@link QdrantVectorDimension}이 다시 확인한다.
+ */
+public record QdrantCollectionFeatures(boolean sparseVectors, boolean quantized, int vectorDimension) {
+}
@@ -0,0 +1,101 @@
+package com.pkv.common.config;
+
+import io.qdrant.client.grpc.Collections.BinaryQuantization;
+import io.qdrant.client.grpc.Collections.CollectionConfig;
+import io.qdrant.client.grpc.Collections.Disabled;
+import io.qdrant.client.grpc.Collections.HnswConfigDiff;
+import io.qdrant.client.grpc.Collections.QuantizationConfig;
+import io.qdrant.client.grpc.Collections.QuantizationConfigDiff;
+import io.qdrant.client.grpc.Collections.QuantizationType;
+import io.qdrant.client.grpc.Collections.ScalarQuantization;
+
+/**
+ * 설정({@code qdrant.hnsw.*}, {@code qdrant.quantization.*}, {@code qdrant.storage.*})으로 정한 컬렉션 구성.
+ * 컬렉션을 만들 때와, 기존 컬렉션을 같은 구성으로 맞출 때 함께 쓴다.
+ *
+ * @param vectorDimension     새로 만드는 컬렉션의 밀집 벡터 차원({@code embedding.dimension}). 임베딩 요청 차원과 같다.
+ * @param quantization        NONE이면 원본 float32 벡터로만 검색한다. SCALAR는 int8(4배), BINARY는 1비트(32배)로 줄인
+ *                            벡터로 후보를 고르고 원본 벡터로 다시 점수를 매긴다.
+ * @param quantizationAlwaysRam 양자화 벡터는 항상 메모리에 둔다. 원본 벡터를 디스크에 둘 때 검색 지연을 지키는 조건이다.
+ * @param onDiskVectors       원본 벡터를 mmap 파일에 두고 OS 페이지 캐시에 맡긴다. 재점수 계산 때만 읽는다.
+ * @param onDiskPayload       payload를 디스크에 둔다. 필터 키는 payload index가 메모리에 유지한다.
+ */
+public record QdrantCollectionSettings(
+        int vectorDimension,
+        int hnswM,
+        int hnswPayloadM,
+        int hnswEfConstruct,
+        Quantization quantization,
+        boolean quantizationAlwaysRam,
+        boolean onDiskVectors,
+        boolean onDiskPayload
+) {
+
+    public enum Quantization {
+        NONE,
+        SCALAR,
+        BINARY
+    }
+
+    public HnswConfigDiff hnswConfig() {
+        return HnswConfigDiff.newBuilder()
+                .setM(hnswM)
+                .setPayloadM(hnswPayloadM)
+                .setEfConstruct(hnswEfConstruct)
+                .build();
+    }
+
+    /**
+     * @return 양자화를 쓰지 않으면 null
+     */
+    public QuantizationConfig quantizationConfig() {
+        return switch (quantization) {
+            case NONE -> null;
+            case SCALAR -> QuantizationConfig.newBuilder().setScalar(scalar()).build();
+            case BINARY -> QuantizationConfig.newBuilder().setBinary(binary()).build();
+        };
+    }
+
+    public QuantizationConfigDiff quantizationConfigDiff() {
+        return switch (quantization) {
+            case NONE -> QuantizationConfigDiff.newBuilder().setDisabled(Disabled.getDefaultInstance()).build();
+            case SCALAR -> QuantizationConfigDiff.newBuilder().setScalar(scalar()).build();
+            case BINARY -> QuantizationConfigDiff.newBuilder().setBinary(binary()).build();
+        };
+    }
+
+    public boolean hnswMatches(CollectionConfig config) {
+        HnswConfigDiff current = config.getHnswConfig();
+        return current.getM() == hnswM && current.getPayloadM() == hnswPayloadM;
+    }
+
+    public boolean quantizationMatches(CollectionConfig config) {
+        QuantizationConfig current = config.getQuantizationConfig();
+        return switch (quantization) {
+            case NONE -> !config.hasQuantizationConfig()
+                    || current.getQuantizationCase() == QuantizationConfig.QuantizationCase.QUANTIZATION_NOT_SET;
+            case SCALAR -> current.hasScalar() && current.getScalar().getAlwaysRam() == quantizationAlwaysRam;
+            case BINARY -> current.hasBinary() && current.getBinary().getAlwaysRam() == quantizationAlwaysRam;
+        };
+    }
+
+    public boolean storageMatches(CollectionConfig config) {
+        return config.getParams().getVectorsConfig().getParams().getOnDisk() == onDiskVectors
+                && config.getParams().getOnDiskPayload() == onDiskPayload;
+    }
+
+    private ScalarQuantization scalar() {
+        // 극단값 1%를 잘라 int8 범위를 정한다.
+        return ScalarQuantization.newBuilder()
+                .setType(QuantizationType.Int8)
+                .setQuantile(0.99f)
+                .setAlwaysRam(quantizationAlwaysRam)
+                .build();
+    }
+
+    private BinaryQuantization binary() {
+        return BinaryQuantization.newBuilder()
+                .setAlwaysRam(quantizationAlwaysRam)
+                .build();
+    }
+}
@@ -0,0 +1,197 @@
+package com.pkv.common.config;
+
+import com.pkv.common.search.SparseVectorEncoder;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.grpc.Collections.AliasDescription;
+import io.qdrant.client.grpc.Collections.AliasOperations;
+import io.qdrant.client.grpc.Collections.CollectionConfig;
+import io.qdrant.client.grpc.Collections.CollectionInfo;
+import io.qdrant.client.grpc.Collections.CollectionParamsDiff;
+import io.qdrant.client.grpc.Collections.CreateAlias;
+import io.qdrant.client.grpc.Collections.CreateCollection;
+import io.qdrant.client.grpc.Collections.DeleteAlias;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.IntegerIndexParams;
+import io.qdrant.client.grpc.Collections.Modifier;
+import io.qdrant.client.grpc.Collections.PayloadIndexParams;
+import io.qdrant.client.grpc.Collections.PayloadSchemaType;
+import io.qdrant.client.grpc.Collections.QuantizationConfig;
+import io.qdrant.client.grpc.Collections.SparseVectorConfig;
+import io.qdrant.client.grpc.Collections.SparseVectorParams;
+import io.qdrant.client.grpc.Collections.UpdateCollection;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Collections.VectorParamsDiff;
+import io.qdrant.client.grpc.Collections.VectorsConfig;
+import io.qdrant.client.grpc.Collections.VectorsConfigDiff;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 청크 컬렉션 생성/설정 갱신과 alias 관리.
+ * <p>
+ * 애플리케이션은 {@code qdrant.collection-name}을 alias로 사용하고, 실제 컬렉션은 벡터 차원별 이름
+ * ({@code <alias>_d<dimension>})으로 만든다. 차원을 바꿀 때는 새 컬렉션을 채운 뒤 alias만 한 번에 옮긴다.
+ * alias 도입 전에 만든 같은 이름의 컬렉션은 그대로 사용한다.
+ */
+@Slf4j
+public class QdrantCollections {
+
+    // 모든 검색은 memberId로, 문서 삭제는 documentId로 필터링한다.
+    private static final List<String> INDEXED_PAYLOAD_KEYS = List.of(
+            QdrantPayloadKeys.MEMBER_ID,
+            QdrantPayloadKeys.DOCUMENT_ID
+    );
+
+    private final QdrantClient client;
+    private final QdrantCollectionSettings settings;
+
+    public QdrantCollections(QdrantClient client, QdrantCollectionSettings settings) {
+        this.client = client;
+        this.settings = settings;
+    }
+
+    public static String physicalName(String alias, int dimension) {
+        return alias + "_d" + dimension;
+    }
+
+    public static int vectorDimension(CollectionInfo info) {
+        return (int) info.getConfig().getParams().getVectorsConfig().getParams().getSize();
+    }
+
+    /**
+     * @return alias이면 가리키는 컬렉션, 아니면 이름 그대로
+     */
+    public String resolve(String name) throws ExecutionException, InterruptedException {
+        return findAlias(name).map(AliasDescription::getCollectionName).orElse(name);
+    }
+
+    public boolean exists(String name) throws ExecutionException, InterruptedException {
+        return findAlias(name).isPresent() || client.collectionExistsAsync(name).get();
+    }
+
+    public CollectionInfo info(String name) throws ExecutionException, InterruptedException {
+        return client.getCollectionInfoAsync(name).get();
+    }
+
+    /**
+     * 현재 설정과 주어진 차원으로 컬렉션과 payload index를 만든다.
+     */
+    public void create(String name, int dimension) throws ExecutionException, InterruptedException {
+        CreateCollection.Builder collection = CreateCollection.newBuilder()
+                .setCollectionName(name)
+                .setVectorsConfig(VectorsConfig.newBuilder()
+                        .setParams(VectorParams.newBuilder()
+                                .setSize(dimension)
+                                .setDistance(Distance.Cosine)
+                                .setOnDisk(settings.onDiskVectors())
+                                .build())
+                        .build())
+                .setHnswConfig(settings.hnswConfig())
+                .setOnDiskPayload(settings.onDiskPayload())
+                .setSparseVectorsConfig(SparseVectorConfig.newBuilder()
+                        .putMap(SparseVectorEncoder.VECTOR_NAME, SparseVectorParams.newBuilder()
+                                .setModifier(Modifier.Idf)
+                                .build())
+                        .build());
+        QuantizationConfig quantization = settings.quantizationConfig();
+        if (quantization != null) {
+            collection.setQuantizationConfig(quantization);
+        }
+        client.createCollectionAsync(collection.build()).get();
+        ensurePayloadIndexes(name);
+        log.info("Qdrant 컬렉션 '{}' 생성 완료: dimension={}, quantization={}, onDiskVectors={}", name, dimension,
+                settings.quantization(), settings.onDiskVectors());
+    }
+
+    /**
+     * 없는 payload index만 만든다. 기존 컬렉션에서는 point 수에 비례해 시간이 걸리므로 완료를 기다린다.
+     * memberId는 정수 payload라 tenant 표시(is_tenant, keyword 전용) 대신 정확 일치(lookup) index만 둔다.
+     */
+    public void ensurePayloadIndexes(String name) throws ExecutionException, InterruptedException {
+        CollectionInfo info = info(name);
+        for (String key : INDEXED_PAYLOAD_KEYS) {
+            if (info.containsPayloadSchema(key)) {
+                continue;
+            }
+            client.createPayloadIndexAsync(
+                    name,
+                    key,
+                    PayloadSchemaType.Integer,
+                    PayloadIndexParams.newBuilder()
+                            .setIntegerIndexParams(IntegerIndexParams.newBuilder()
+                                    .setLookup(true)
+                                    .setRange(false)
+                                    .build())
+                            .build(),
+                    true,
+                    null,
+                    null
+            ).get();
+            log.info("Qdrant 컬렉션 '{}'에 payload index '{}' 생성 완료", name, key);
+        }
+    }
+
+    /**
+     * 기존 컬렉션의 설정이 다른 항목만 한 번의 갱신으로 바꾼다. 양자화 벡터 생성과 HNSW/저장 위치 변경은 Qdrant가
+     * 백그라운드에서 처리하며 그동안 검색은 이전 구성으로 계속 동작한다. 따라서 별도 컬렉션으로 옮기지 않고 제자리에서 전환한다.
+     */
+    public void ensureConfig(String name) throws ExecutionException, InterruptedException {
+        CollectionConfig current = info(name).getConfig();
+        UpdateCollection.Builder update = UpdateCollection.newBuilder().setCollectionName(name);
+        List<String> changes = new ArrayList<>();
+        if (!settings.hnswMatches(current)) {
+            update.setHnswConfig(settings.hnswConfig());
+            changes.add("hnsw(m=%d, payload_m=%d)".formatted(settings.hnswM(), settings.hnswPayloadM()));
+        }
+        if (!settings.quantizationMatches(current)) {
+            update.setQuantizationConfig(settings.quantizationConfigDiff());
+            changes.add("quantization=" + settings.quantization());
+        }
+        if (!settings.storageMatches(current)) {
+            update.setVectorsConfig(VectorsConfigDiff.newBuilder()
+                            .setParams(VectorParamsDiff.newBuilder().setOnDisk(settings.onDiskVectors()).build())
+                            .build())
+                    .setParams(CollectionParamsDiff.newBuilder().setOnDiskPayload(settings.onDiskPayload()).build());
+            changes.add("onDiskVectors=%s, onDiskPayload=%s".formatted(
+                    settings.onDiskVectors(), settings.onDiskPayload()));
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        client.updateCollectionAsync(update.build()).get();
+        log.info("Qdrant 컬렉션 '{}' 설정 갱신: {}", name, String.join(", ", changes));
+    }
+
+    /**
+     * alias가 target을 가리키도록 한 번의 요청으로 옮긴다. Qdrant는 alias 변경을 원자적으로 적용하므로
+     * 검색/저장 요청은 이전 컬렉션이나 새 컬렉션 중 하나만 본다.
+     * <p>
+     * alias 도입 전의 같은 이름 컬렉션은 alias로 바꿀 수 없어 삭제 후 alias를 만든다. 이 경우 두 요청 사이 잠깐
+     * 컬렉션이 없고, 이전 컬렉션으로 되돌릴 수 없다.
+     */
+    public void switchAlias(String alias, String target) throws ExecutionException, InterruptedException {
+        CreateAlias create = CreateAlias.newBuilder().setAliasName(alias).setCollectionName(target).build();
+        if (findAlias(alias).isPresent()) {
+            client.updateAliasesAsync(List.of(
+                    AliasOperations.newBuilder().setDeleteAlias(DeleteAlias.newBuilder().setAliasName(alias)).build(),
+                    AliasOperations.newBuilder().setCreateAlias(create).build()
+            )).get();
+            return;
+        }
+
+        log.warn("alias 도입 전 컬렉션 '{}'을 삭제하고 alias로 바꿉니다.", alias);
+        client.deleteCollectionAsync(alias).get();
+        client.updateAliasesAsync(List.of(AliasOperations.newBuilder().setCreateAlias(create).build())).get();
+    }
+
+    private Optional<AliasDescription> findAlias(String name) throws ExecutionException, InterruptedException {
+        return client.listAliasesAsync().get().stream()
+                .filter(alias -> alias.getAliasName().equals(name))
+                .findFirst();
+    }
+}
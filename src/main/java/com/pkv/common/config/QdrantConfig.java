@@ -1,50 +1,140 @@
 package com.pkv.common.config;
 
+import com.pkv.common.search.SparseVectorEncoder;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.qdrant.QdrantEmbeddingStore;
 import io.qdrant.client.QdrantClient;
 import io.qdrant.client.QdrantGrpcClient;
-import io.qdrant.client.grpc.Collections.Distance;
-import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Collections.CollectionInfo;
+import io.qdrant.client.grpc.Collections.QuantizationConfig;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Slf4j
 @Configuration
+@ConditionalOnProperty(prefix = "vector-store", name = "type", havingValue = "qdrant", matchIfMissing = true)
 public class QdrantConfig {
 
-    private static final int VECTOR_DIMENSION = 1536;
+    @Bean
+    public QdrantClient qdrantClient(
+            @Value("${qdrant.host}") String host,
+            @Value("${qdrant.port}") int port) {
+        return new QdrantClient(QdrantGrpcClient.newBuilder(host, port, false).build());
+    }
+
+    /**
+     * 검색은 항상 회원 단위이므로 전역 HNSW 그래프({@code m})는 만들지 않고({@code qdrant.hnsw.m=0}),
+     * memberId 값별 그래프({@code payload_m})만 만든다. 점 수가 적은 회원은 payload index로 대상만 골라 전수 비교한다.
+     */
+    @Bean
+    public QdrantCollectionSettings qdrantCollectionSettings(
+            @Value("${embedding.dimension:1536}") int vectorDimension,
+            @Value("${qdrant.hnsw.m:0}") int hnswM,
+            @Value("${qdrant.hnsw.payload-m:16}") int hnswPayloadM,
+            @Value("${qdrant.hnsw.ef-construct:100}") int hnswEfConstruct,
+            @Value("${qdrant.quantization.type:NONE}") QdrantCollectionSettings.Quantization quantization,
+            @Value("${qdrant.quantization.always-ram:true}") boolean quantizationAlwaysRam,
+            @Value("${qdrant.storage.on-disk-vectors:false}") boolean onDiskVectors,
+            @Value("${qdrant.storage.on-disk-payload:false}") boolean onDiskPayload) {
+        return new QdrantCollectionSettings(
+                vectorDimension,
+                hnswM,
+                hnswPayloadM,
+                hnswEfConstruct,
+                quantization,
+                quantizationAlwaysRam,
+                onDiskVectors,
+                onDiskPayload
+        );
+    }
+
+    @Bean
+    public QdrantCollections qdrantCollections(QdrantClient qdrantClient, QdrantCollectionSettings settings) {
+        return new QdrantCollections(qdrantClient, settings);
+    }
+
+    /**
+     * 컬렉션이 없으면 만들고, 있으면 payload index와 HNSW/양자화/저장 위치를 현재 설정에 맞게 갱신한다.
+     */
+    @Bean
+    public QdrantCollectionFeatures qdrantCollectionFeatures(
+            QdrantCollections qdrantCollections,
+            QdrantCollectionSettings settings,
+            @Value("${qdrant.collection-name}") String collectionName) {
+        ensureCollectionExists(qdrantCollections, collectionName, settings);
+        ensureCollectionConfig(qdrantCollections, collectionName);
+        return inspectCollection(qdrantCollections, collectionName, settings);
+    }
 
+    /**
+     * {@link QdrantCollectionFeatures}를 주입받아 컬렉션 생성 이후에 만들어지도록 한다.
+     */
     @Bean
     public EmbeddingStore<TextSegment> embeddingStore(
-            @Value("${qdrant.host}") String host,
-            @Value("${qdrant.port}") int port,
+            QdrantClient qdrantClient,
+            QdrantCollectionFeatures qdrantCollectionFeatures,
             @Value("${qdrant.collection-name}") String collectionName) {
-        ensureCollectionExists(host, port, collectionName);
         return QdrantEmbeddingStore.builder()
-                .host(host)
-                .port(port)
+                .client(qdrantClient)
                 .collectionName(collectionName)
                 .build();
     }
 
-    private void ensureCollectionExists(String host, int port, String collectionName) {
-        try (QdrantClient client = new QdrantClient(
-                QdrantGrpcClient.newBuilder(host, port, false).build())) {
-            if (!client.collectionExistsAsync(collectionName).get()) {
-                client.createCollectionAsync(collectionName,
-                        VectorParams.newBuilder()
-                                .setSize(VECTOR_DIMENSION)
-                                .setDistance(Distance.Cosine)
-                                .build()
-                ).get();
-                log.info("Qdrant 컬렉션 '{}' 생성 완료", collectionName);
+    /**
+     * 새로 만들 때는 차원별 컬렉션을 만들고 {@code qdrant.collection-name}을 그 컬렉션의 alias로 둔다.
+     */
+    private void ensureCollectionExists(
+            QdrantCollections collections,
+            String collectionName,
+            QdrantCollectionSettings settings) {
+        try {
+            if (!collections.exists(collectionName)) {
+                String physicalName = QdrantCollections.physicalName(collectionName, settings.vectorDimension());
+                collections.create(physicalName, settings.vectorDimension());
+                collections.switchAlias(collectionName, physicalName);
             }
         } catch (Exception e) {
             log.warn("Qdrant 컬렉션 초기화 실패 — Qdrant가 실행 중인지 확인하세요: {}", e.getMessage());
         }
     }
+
+    private void ensureCollectionConfig(QdrantCollections collections, String collectionName) {
+        try {
+            String physicalName = collections.resolve(collectionName);
+            collections.ensurePayloadIndexes(physicalName);
+            collections.ensureConfig(physicalName);
+        } catch (Exception e) {
+            log.warn("Qdrant 컬렉션 설정 갱신 실패 — 필터 검색/삭제가 느리거나 이전 구성으로 동작할 수 있습니다: {}", e.getMessage());
+        }
+    }
+
+    private QdrantCollectionFeatures inspectCollection(
+            QdrantCollections collections,
+            String collectionName,
+            QdrantCollectionSettings settings) {
+        try {
+            CollectionInfo info = collections.info(collectionName);
+            boolean sparseVectors = info.getConfig().getParams().getSparseVectorsConfig()
+                    .containsMap(SparseVectorEncoder.VECTOR_NAME);
+            if (!sparseVectors) {
+                log.warn("Qdrant 컬렉션 '{}'에 희소 벡터 설정이 없어 밀집 검색만 사용합니다. 하이브리드 검색을 쓰려면 컬렉션을 다시 만들어야 합니다.",
+                        collectionName);
+            }
+            QuantizationConfig quantization = info.getConfig().getQuantizationConfig();
+            boolean quantized = quantization.hasScalar() || quantization.hasBinary() || quantization.hasProduct();
+            int vectorDimension = QdrantCollections.vectorDimension(info);
+            if (vectorDimension != settings.vectorDimension()) {
+                log.warn("Qdrant 컬렉션 '{}'의 벡터 차원({})이 embedding.dimension({})과 다릅니다. 컬렉션 차원에 맞춰 벡터를 줄입니다.",
+                        collectionName, vectorDimension, settings.vectorDimension());
+            }
+            return new QdrantCollectionFeatures(sparseVectors, quantized, vectorDimension);
+        } catch (Exception e) {
+            log.warn("Qdrant 컬렉션 정보 조회 실패 — 밀집 검색만 사용합니다: {}", e.getMessage());
+            return new QdrantCollectionFeatures(false, false, settings.vectorDimension());
+        }
+    }
 }
@@ -0,0 +1,28 @@
+package com.pkv.common.config;
+
+/**
+ * 청크 point payload 키. worker가 저장하고 api가 검색 결과에서 읽는다.
+ * 키 이름은 LangChain4j {@code QdrantEmbeddingStore}의 metadata 형식과 같다.
+ */
+public final class QdrantPayloadKeys {
+
+    public static final String TEXT = "text_segment";
+    public static final String SNIPPET = "snippet";
+    public static final String MEMBER_ID = "memberId";
+    public static final String DOCUMENT_ID = "documentId";
+    public static final String FILE_NAME = "fileName";
+    public static final String PAGE_NUMBER = "pageNumber";
+    public static final String SOURCE_CHUNK_REF = "sourceChunkRef";
+
+    /**
+     * 출처 snippet 길이({@code TurnCitation.MAX_SNIPPET_LENGTH})와 같다.
+     */
+    public static final int SNIPPET_LENGTH = 200;
+
+    private QdrantPayloadKeys() {
+    }
+
+    public static String snippet(String text) {
+        return text.length() <= SNIPPET_LENGTH ? text : text.substring(0, SNIPPET_LENGTH);
+    }
+}
@@ -0,0 +1,105 @@
+package com.pkv.common.config;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code qdrant.collection-name} alias가 가리키는 컬렉션의 밀집 벡터 차원.
+ * <p>
+ * text-embedding-3 벡터는 앞쪽 성분만 잘라 다시 정규화해도 같은 모델에 {@code dimensions}를 지정한 결과와 같다.
+ * 따라서 임베딩 차원이 컬렉션보다 크면 잘라서 쓰고, alias가 더 작은 차원의 컬렉션으로 옮겨진 직후에도
+ * 재시작 없이 검색/저장을 이어간다. 차원이 맞지 않아 Qdrant가 요청을 거절하면 {@link #refresh()}로 다시 확인한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "vector-store", name = "type", havingValue = "qdrant", matchIfMissing = true)
+public class QdrantVectorDimension {
+
+    private final QdrantCollections qdrantCollections;
+    private final String collectionName;
+    private volatile int dimension;
+
+    public QdrantVectorDimension(
+            QdrantCollections qdrantCollections,
+            QdrantCollectionFeatures qdrantCollectionFeatures,
+            @Value("${qdrant.collection-name}") String collectionName
+    ) {
+        this.qdrantCollections = qdrantCollections;
+        this.collectionName = collectionName;
+        this.dimension = qdrantCollectionFeatures.vectorDimension();
+    }
+
+    public int get() {
+        return dimension;
+    }
+
+    /**
+     * @throws IllegalStateException 임베딩 차원이 컬렉션보다 작으면 늘릴 수 없으므로 예외
+     */
+    public List<Float> fit(float[] vector) {
+        int target = dimension;
+        if (vector.length < target) {
+            throw new IllegalStateException(
+                    "임베딩 차원(%d)이 컬렉션 차원(%d)보다 작습니다.".formatted(vector.length, target));
+        }
+
+        List<Float> fitted = new ArrayList<>(target);
+        if (vector.length == target) {
+            for (float value : vector) {
+                fitted.add(value);
+            }
+            return fitted;
+        }
+
+        double norm = 0.0;
+        for (int i = 0; i < target; i++) {
+            norm += (double) vector[i] * vector[i];
+        }
+        float scale = norm == 0.0 ? 1.0f : (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < target; i++) {
+            fitted.add(vector[i] * scale);
+        }
+        return fitted;
+    }
+
+    /**
+     * @return 차원이 바뀌었으면 true
+     */
+    public boolean refresh() {
+        try {
+            int current = QdrantCollections.vectorDimension(qdrantCollections.info(collectionName));
+            if (current == dimension) {
+                return false;
+            }
+            log.info("Qdrant 컬렉션 '{}' 벡터 차원 변경 감지: {} -> {}", collectionName, dimension, current);
+            dimension = current;
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.warn("Qdrant 컬렉션 차원 조회 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 차원 불일치처럼 요청 내용이 컬렉션과 맞지 않아 거절된 경우인지 확인한다.
+     */
+    public static boolean isRejected(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof StatusRuntimeException status
+                    && status.getStatus().getCode() == Status.Code.INVALID_ARGUMENT) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,24 +1,39 @@
 package com.pkv.common.config;
 
+import com.pkv.auth.config.SecurityConfig;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 
+/**
+ * worker 단독 실행 시의 보안 설정. api 프로필과 함께 한 프로세스로 실행하면(임베디드 벡터 저장소)
+ * 모든 요청을 처리하는 체인이 둘이 되므로 이 체인은 만들지 않고, actuator를 포함한 모든 요청을 {@link SecurityConfig}가 처리한다.
+ * <p>
+ * actuator 조회는 누구나 할 수 있고, 임베딩 마이그레이션 같은 쓰기 작업은 HTTP Basic으로 인증한 관리자
+ * ({@code spring.security.user}, {@code WORKER_ADMIN_PASSWORD})만 할 수 있다.
+ */
 @Configuration
 @EnableWebSecurity
-@Profile("worker")
+@Profile("worker & !api")
 public class WorkerSecurityConfig {
 
     @Bean
     public SecurityFilterChain workerSecurityFilterChain(HttpSecurity http) throws Exception {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .httpBasic(Customizer.withDefaults())
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().denyAll())
                 .build();
     }
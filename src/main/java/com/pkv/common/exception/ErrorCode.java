@@ -1,5 +1,6 @@
 package com.pkv.common.exception;
 
+import com.pkv.chat.ThreadPolicy;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -9,6 +10,8 @@ import org.springframework.http.HttpStatus;
 public enum ErrorCode {
 
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "C001", "서버 내부 오류가 발생했습니다."),
+    SERVICE_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "C002", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    UPSTREAM_TIMEOUT(HttpStatus.GATEWAY_TIMEOUT, "C003", "외부 서비스 응답이 지연되고 있습니다. 잠시 후 다시 시도해주세요."),
 
     // Auth
     OAUTH2_AUTHENTICATION_FAILED(HttpStatus.UNAUTHORIZED, "A001", "OAuth2 인증에 실패했습니다."),
@@ -24,8 +27,10 @@ public enum ErrorCode {
     // Thread / Turn
     THREAD_NOT_FOUND(HttpStatus.BAD_REQUEST, "Q001", "유효하지 않은 스레드입니다."),
     THREAD_LIMIT_EXCEEDED(HttpStatus.BAD_REQUEST, "Q002",
-            "현재 스레드 턴 한도(5회)에 도달했습니다. 새 대화를 시작해주세요"),
+            "현재 스레드 턴 한도(" + ThreadPolicy.MAX_THREAD_TURN_COUNT + "회)에 도달했습니다. 새 대화를 시작해주세요"),
     CHAT_PROMPT_TEMPLATE_LOAD_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "Q003", "프롬프트 템플릿 로딩에 실패했습니다."),
+    TURN_CAPACITY_EXCEEDED(HttpStatus.SERVICE_UNAVAILABLE, "Q004", "요청이 많아 답변을 생성할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    DOCUMENT_SCOPE_INVALID(HttpStatus.BAD_REQUEST, "Q005", "질문 범위에 검색할 수 없는 문서가 포함되어 있습니다."),
     TURN_NOT_FOUND(HttpStatus.NOT_FOUND, "H001", "턴을 찾을 수 없습니다."),
 
     // Document
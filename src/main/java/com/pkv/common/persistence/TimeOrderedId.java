@@ -0,0 +1,20 @@
+package com.pkv.common.persistence;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * INSERT 전에 애플리케이션에서 시간순 64비트 id를 발급한다. {@code IDENTITY}와 달리 id를 얻으려고
+ * INSERT를 즉시 실행하지 않으므로 Hibernate JDBC batch로 묶어 보낼 수 있다.
+ *
+ * @see TimeOrderedIdGenerator
+ */
+@IdGeneratorType(TimeOrderedIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedId {
+}
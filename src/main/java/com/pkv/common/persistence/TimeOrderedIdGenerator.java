@@ -0,0 +1,69 @@
+package com.pkv.common.persistence;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake 형식의 시간순 id 발급기. {@code [41비트 epoch 이후 ms][10비트 노드][12비트 시퀀스]}로 구성된다.
+ * <ul>
+ *   <li>epoch(2024-01-01) 이후 값이므로 기존 AUTO_INCREMENT id보다 항상 크고, 같은 노드에서는 단조 증가한다.</li>
+ *   <li>같은 ms에 시퀀스를 다 쓰거나 시계가 뒤로 가면 다음 ms 값을 미리 사용해 단조성을 유지한다.</li>
+ *   <li>노드 id는 기동 시 {@link TimeOrderedIdNode}가 {@code PKV_NODE_ID}로 지정한다. 지정 전에는 발급하지 않는다.</li>
+ *   <li>발급 값은 2^53보다 커서 JavaScript number로는 정확히 표현되지 않는다. 응답 DTO에서는 문자열로 직렬화한다.</li>
+ * </ul>
+ */
+public class TimeOrderedIdGenerator implements BeforeExecutionGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long UNASSIGNED = -1;
+
+    private static volatile long nodeId = UNASSIGNED;
+
+    // (epoch 이후 ms << SEQUENCE_BITS) | 시퀀스. 시퀀스가 넘치면 ms 자리로 올라가 다음 ms 값이 된다.
+    private static final AtomicLong LAST = new AtomicLong();
+
+    @Override
+    public Object generate(
+            SharedSessionContractImplementor session,
+            Object owner,
+            Object currentValue,
+            EventType eventType
+    ) {
+        return nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static long nextId() {
+        long node = nodeId;
+        if (node == UNASSIGNED) {
+            throw new IllegalStateException("TimeOrderedIdGenerator node id is not assigned");
+        }
+
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long next = LAST.updateAndGet(last -> Math.max(now, last + 1));
+        long millis = next >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+
+    static void assignNodeId(long id) {
+        if (id < 0 || id > MAX_NODE_ID) {
+            throw new IllegalStateException("PKV_NODE_ID must be between 0 and " + MAX_NODE_ID + ": " + id);
+        }
+        nodeId = id;
+    }
+}
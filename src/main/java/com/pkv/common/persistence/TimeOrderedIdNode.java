@@ -0,0 +1,48 @@
+package com.pkv.common.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 기동 시 {@link TimeOrderedIdGenerator}의 노드 id를 지정한다.
+ * <p>
+ * 인스턴스마다 다른 {@code PKV_NODE_ID}(0~1023)가 있어야 id가 겹치지 않으므로, 지정하지 않으면 기동하지 않는다.
+ * 한 인스턴스만 띄우는 local/test 프로필에서만 임의 값을 쓴다.
+ */
+@Slf4j
+@Component
+@Profile("api")
+public class TimeOrderedIdNode {
+
+    private static final Profiles SINGLE_INSTANCE_PROFILES = Profiles.of("local | test");
+
+    public TimeOrderedIdNode(Environment environment, @Value("${pkv.node-id:}") String nodeId) {
+        TimeOrderedIdGenerator.assignNodeId(resolve(environment, nodeId));
+    }
+
+    static long resolve(Environment environment, String nodeId) {
+        if (StringUtils.hasText(nodeId)) {
+            try {
+                return Long.parseLong(nodeId.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("PKV_NODE_ID must be a number: " + nodeId, e);
+            }
+        }
+        if (!environment.acceptsProfiles(SINGLE_INSTANCE_PROFILES)) {
+            throw new IllegalStateException(
+                    "PKV_NODE_ID must be set to a unique value (0-" + TimeOrderedIdGenerator.MAX_NODE_ID
+                            + ") for each api instance");
+        }
+
+        long random = ThreadLocalRandom.current().nextLong(TimeOrderedIdGenerator.MAX_NODE_ID + 1);
+        log.warn("PKV_NODE_ID가 없어 임의 노드 id를 사용합니다. 인스턴스를 여러 개 띄우면 id가 겹칠 수 있습니다. nodeId={}", random);
+        return random;
+    }
+}
@@ -0,0 +1,147 @@
+package com.pkv.common.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 희소(BM25) 벡터용 한/영 혼합 토크나이저. 형태소 분석기 없이 다음 규칙으로 토큰을 만든다.
+ * <ul>
+ *   <li>영문/숫자: 소문자 단어 전체. {@code camelCase}, {@code snake_case}, {@code kebab-case} 식별자는
+ *       전체 토큰과 함께 구성 단어도 토큰으로 낸다. 영어 불용어는 제외한다.</li>
+ *   <li>한글: 끝의 조사를 떼어낸 어절 전체와 그 음절 bigram. 고유명사·복합명사가 띄어쓰기와 무관하게 매칭된다.</li>
+ * </ul>
+ */
+public final class LexicalTokenizer {
+
+    private static final int MAX_TOKEN_LENGTH = 40;
+
+    private static final Set<String> ENGLISH_STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "how", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "was", "what", "when", "where", "which", "with"
+    );
+
+    // 길이가 긴 조사부터 검사한다.
+    private static final List<String> KOREAN_PARTICLES = List.of(
+            "에서는", "으로는", "에게서", "이라는", "에서", "으로", "에게", "까지", "부터", "보다", "처럼", "라는",
+            "이란", "하고", "이나", "은", "는", "이", "가", "을", "를", "의", "에", "와", "과", "도", "로", "만", "란"
+    );
+
+    private LexicalTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        int length = normalized.length();
+        int start = 0;
+        while (start < length) {
+            char c = normalized.charAt(start);
+            if (isHangul(c)) {
+                int end = start;
+                while (end < length && isHangul(normalized.charAt(end))) {
+                    end++;
+                }
+                addHangulTokens(normalized.substring(start, end), tokens);
+                start = end;
+            } else if (isWordChar(c)) {
+                int end = start;
+                while (end < length && (isWordChar(normalized.charAt(end)) || isJoiner(normalized, end))) {
+                    end++;
+                }
+                addLatinTokens(normalized.substring(start, end), tokens);
+                start = end;
+            } else {
+                start++;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addHangulTokens(String word, List<String> tokens) {
+        String stem = stripParticle(word);
+        if (stem.length() >= 2 && stem.length() <= MAX_TOKEN_LENGTH) {
+            tokens.add(stem);
+        }
+        // 두 음절 어절은 어절 토큰과 bigram이 같으므로 중복 가중치를 주지 않는다.
+        if (stem.length() > 2) {
+            for (int i = 0; i + 1 < stem.length(); i++) {
+                tokens.add(stem.substring(i, i + 2));
+            }
+        }
+    }
+
+    private static String stripParticle(String word) {
+        for (String particle : KOREAN_PARTICLES) {
+            if (word.length() > particle.length() + 1 && word.endsWith(particle)) {
+                return word.substring(0, word.length() - particle.length());
+            }
+        }
+        return word;
+    }
+
+    private static void addLatinTokens(String word, List<String> tokens) {
+        String lower = word.toLowerCase(Locale.ROOT);
+        if (lower.length() > MAX_TOKEN_LENGTH || ENGLISH_STOPWORDS.contains(lower)) {
+            return;
+        }
+        if (lower.length() >= 2 || Character.isDigit(lower.charAt(0))) {
+            tokens.add(lower);
+        }
+
+        List<String> parts = splitIdentifier(word);
+        if (parts.size() > 1) {
+            for (String part : parts) {
+                if (part.length() >= 2 && !ENGLISH_STOPWORDS.contains(part)) {
+                    tokens.add(part);
+                }
+            }
+        }
+    }
+
+    private static List<String> splitIdentifier(String word) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            boolean boundary = !Character.isLetterOrDigit(c)
+                    || (i > 0 && Character.isUpperCase(c) && Character.isLowerCase(word.charAt(i - 1)));
+            if (boundary && !current.isEmpty()) {
+                parts.add(current.toString().toLowerCase(Locale.ROOT));
+                current.setLength(0);
+            }
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            }
+        }
+        if (!current.isEmpty()) {
+            parts.add(current.toString().toLowerCase(Locale.ROOT));
+        }
+        return parts;
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+
+    private static boolean isWordChar(char c) {
+        return !isHangul(c) && Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * 식별자 안의 {@code _}, {@code -}, {@code .}는 앞뒤가 영문/숫자일 때만 단어의 일부로 본다.
+     */
+    private static boolean isJoiner(String text, int index) {
+        char c = text.charAt(index);
+        if (c != '_' && c != '-' && c != '.') {
+            return false;
+        }
+        return index + 1 < text.length() && isWordChar(text.charAt(index + 1));
+    }
+}
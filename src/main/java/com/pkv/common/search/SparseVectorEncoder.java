@@ -0,0 +1,75 @@
+package com.pkv.common.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link LexicalTokenizer} 토큰을 Qdrant 희소 벡터로 변환한다.
+ * <p>
+ * 문서 쪽에는 BM25의 TF 포화/길이 정규화 항 {@code tf * (k1 + 1) / (tf + k1 * (1 - b + b * len / avgLen))}을 저장하고,
+ * IDF는 컬렉션의 {@code Modifier.Idf} 설정으로 Qdrant가 검색 시점에 곱한다. 질의 쪽은 고유 토큰마다 가중치 1이다.
+ * 토큰은 FNV-1a 32비트 해시로 인덱스를 정하므로 사전 없이 worker와 api가 같은 인덱스를 만든다.
+ */
+@Component
+public class SparseVectorEncoder {
+
+    public static final String VECTOR_NAME = "bm25";
+
+    private final double k1;
+    private final double b;
+    private final double averageLength;
+
+    public SparseVectorEncoder(
+            @Value("${pkv.sparse.k1:1.2}") double k1,
+            @Value("${pkv.sparse.b:0.75}") double b,
+            @Value("${pkv.sparse.average-length:300}") double averageLength
+    ) {
+        this.k1 = k1;
+        this.b = b;
+        this.averageLength = averageLength;
+    }
+
+    public SparseVector encodeDocument(String text) {
+        List<String> tokens = LexicalTokenizer.tokenize(text);
+        Map<Integer, Integer> termFrequencies = new TreeMap<>();
+        tokens.forEach(token -> termFrequencies.merge(index(token), 1, Integer::sum));
+
+        double lengthNorm = 1 - b + b * tokens.size() / averageLength;
+        List<Integer> indices = new ArrayList<>(termFrequencies.size());
+        List<Float> values = new ArrayList<>(termFrequencies.size());
+        termFrequencies.forEach((index, tf) -> {
+            indices.add(index);
+            values.add((float) (tf * (k1 + 1) / (tf + k1 * lengthNorm)));
+        });
+        return new SparseVector(indices, values);
+    }
+
+    public SparseVector encodeQuery(String text) {
+        Map<Integer, Float> terms = new TreeMap<>();
+        LexicalTokenizer.tokenize(text).forEach(token -> terms.put(index(token), 1.0f));
+        return new SparseVector(List.copyOf(terms.keySet()), List.copyOf(terms.values()));
+    }
+
+    static int index(String token) {
+        int hash = 0x811c9dc5;
+        for (byte value : token.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= value & 0xff;
+            hash *= 0x01000193;
+        }
+        // Qdrant 희소 인덱스는 uint32지만 Java 클라이언트는 int로 다루므로 양수 범위만 사용한다.
+        return hash & Integer.MAX_VALUE;
+    }
+
+    public record SparseVector(List<Integer> indices, List<Float> values) {
+
+        public boolean isEmpty() {
+            return indices.isEmpty();
+        }
+    }
+}
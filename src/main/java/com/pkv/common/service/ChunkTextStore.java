@@ -0,0 +1,52 @@
+package com.pkv.common.service;
+
+import com.pkv.document.domain.DocumentChunk;
+import com.pkv.document.repository.DocumentChunkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * sourceChunkRef로 찾는 청크 본문 저장소. worker는 임베딩할 때 본문을 여기에 쓰고, Qdrant에는 id와 필터 키만 둔다.
+ * api는 최종 출처로 고른 청크의 본문만 한 번에 읽는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChunkTextStore {
+
+    private final DocumentChunkRepository documentChunkRepository;
+
+    public void saveAll(List<DocumentChunk> chunks) {
+        if (chunks.isEmpty()) {
+            return;
+        }
+        documentChunkRepository.saveAll(chunks);
+        log.info("청크 본문 저장 완료: documentId={}, chunks={}", chunks.getFirst().getDocumentId(), chunks.size());
+    }
+
+    /**
+     * 한 번의 조회로 본문을 읽는다. 저장소에 없는 ref는 결과에서 빠진다.
+     */
+    public Map<String, DocumentChunk> findAll(Collection<String> sourceChunkRefs) {
+        List<String> refs = sourceChunkRefs.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (refs.isEmpty()) {
+            return Map.of();
+        }
+        return documentChunkRepository.findAllById(refs).stream()
+                .collect(Collectors.toUnmodifiableMap(DocumentChunk::getSourceChunkRef, chunk -> chunk));
+    }
+
+    public void deleteByDocumentId(Long documentId) {
+        documentChunkRepository.deleteByDocumentId(documentId);
+    }
+}
@@ -1,5 +1,6 @@
 package com.pkv.common.service;
 
+import com.pkv.document.repository.DocumentVectorRepository;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.filter.Filter;
@@ -15,10 +16,17 @@ import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metad
 public class EmbeddingRepository {
 
     private final EmbeddingStore<TextSegment> embeddingStore;
+    private final DocumentVectorRepository documentVectorRepository;
+    private final ChunkTextStore chunkTextStore;
 
+    /**
+     * 청크 벡터, 청크 본문, 문서 단위 벡터를 함께 삭제한다.
+     */
     public void deleteByDocumentId(Long documentId) {
         Filter filter = metadataKey("documentId").isEqualTo(documentId);
         embeddingStore.removeAll(filter);
+        chunkTextStore.deleteByDocumentId(documentId);
+        documentVectorRepository.deleteById(documentId);
         log.info("벡터 삭제 완료: documentId={}", documentId);
     }
 }
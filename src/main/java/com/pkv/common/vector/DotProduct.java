@@ -0,0 +1,33 @@
+package com.pkv.common.vector;
+
+/**
+ * 행렬(행 우선 float 배열)의 한 행과 쿼리 벡터의 내적.
+ * <p>
+ * JVM이 {@code --add-modules jdk.incubator.vector}로 실행되면 JDK Vector API(SIMD)로 계산하고,
+ * 모듈이 없으면 스칼라 루프로 계산한다. 결과는 부동소수점 합산 순서 차이만큼만 다르다.
+ */
+public final class DotProduct {
+
+    private static final boolean VECTOR_API = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private DotProduct() {
+    }
+
+    public static boolean simd() {
+        return VECTOR_API;
+    }
+
+    public static float dot(float[] matrix, int offset, float[] query) {
+        return VECTOR_API
+                ? VectorApiDotProduct.dot(matrix, offset, query)
+                : scalar(matrix, offset, query);
+    }
+
+    static float scalar(float[] matrix, int offset, float[] query) {
+        float sum = 0f;
+        for (int i = 0; i < query.length; i++) {
+            sum += matrix[offset + i] * query[i];
+        }
+        return sum;
+    }
+}
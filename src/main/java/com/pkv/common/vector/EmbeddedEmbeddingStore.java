@@ -0,0 +1,610 @@
+package com.pkv.common.vector;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pkv.common.config.QdrantPayloadKeys;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.RelevanceScore;
+import dev.langchain4j.store.embedding.filter.Filter;
+import dev.langchain4j.store.embedding.filter.comparison.IsEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsIn;
+import dev.langchain4j.store.embedding.filter.logical.And;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Qdrant 없이 프로세스 안에서 동작하는 {@link EmbeddingStore}. 단일 노드/오프라인 배포와 로컬 개발용이다.
+ * <p>
+ * 벡터와 HNSW 그래프는 세그먼트 파일({@link MappedSlotFile}, {@link HnswIndex})에, 본문과 metadata는 append-only
+ * payload 로그에 둔다. 다시 열 때는 세그먼트를 그대로 매핑하고 노드 헤더만 읽어 memberId/documentId별 slot 목록을
+ * 만든다. 필터에 맞는 slot이 {@code fullScanThreshold} 이하이면 그래프 대신 그 slot만 정확히 비교한다.
+ * <p>
+ * 파일은 한 프로세스만 열 수 있다. 삭제는 표시만 하고 공간은 회수하지 않는다. 추가는 한 번에 하나씩, 검색은 동시에 처리한다.
+ */
+@Slf4j
+public class EmbeddedEmbeddingStore implements EmbeddingStore<TextSegment>, Closeable {
+
+    private static final int MAGIC = 0x504B5648;
+    private static final int VERSION = 1;
+
+    // meta.bin 필드 위치
+    private static final int META_BYTES = 64;
+    private static final int META_MAGIC = 0;
+    private static final int META_VERSION = 4;
+    private static final int META_DIMENSION = 8;
+    private static final int META_M = 12;
+    private static final int META_SIZE = 16;
+    private static final int META_ENTRY_POINT = 20;
+    private static final int META_MAX_LEVEL = 24;
+    private static final int META_UPPER_COUNT = 28;
+    private static final int META_PAYLOAD_BYTES = 32;
+
+    // 노드 헤더 필드 위치. 뒤에 HnswIndex 영역이 붙는다.
+    private static final int STATE = 0;
+    private static final int PAYLOAD_LENGTH = 4;
+    private static final int ID_MOST = 8;
+    private static final int ID_LEAST = 16;
+    private static final int MEMBER_ID = 24;
+    private static final int DOCUMENT_ID = 32;
+    private static final int PAYLOAD_OFFSET = 40;
+    private static final int HEADER_BYTES = 48;
+
+    private static final int LIVE = 1;
+    private static final int DELETED = 2;
+    private static final long NO_KEY = Long.MIN_VALUE;
+
+    private final Path directory;
+    private final int efSearch;
+    private final int fullScanThreshold;
+    private final FileChannel lockChannel;
+    private final FileLock fileLock;
+    private final MappedByteBuffer meta;
+    private final MappedSlotFile nodes;
+    private final MappedSlotFile upperLinks;
+    private final FileChannel payloads;
+    private final HnswIndex index;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .enable(DeserializationFeature.USE_LONG_FOR_INTS);
+    private final Map<Long, SlotList> memberSlots = new HashMap<>();
+    private final Map<Long, SlotList> documentSlots = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long payloadBytes;
+
+    private record Payload(String id, String text, Map<String, Object> metadata) {
+    }
+
+    public EmbeddedEmbeddingStore(
+            Path directory,
+            int dimension,
+            int m,
+            int efConstruction,
+            int efSearch,
+            int segmentSlots,
+            int fullScanThreshold
+    ) {
+        if (dimension <= 0 || m < 2 || efConstruction <= 0 || efSearch <= 0 || segmentSlots <= 0) {
+            throw new IllegalArgumentException("dimension, ef, segmentSlots는 양수, m은 2 이상이어야 합니다.");
+        }
+        this.directory = directory;
+        this.efSearch = efSearch;
+        this.fullScanThreshold = fullScanThreshold;
+
+        try {
+            Files.createDirectories(directory);
+            this.lockChannel = FileChannel.open(directory.resolve("store.lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.fileLock = lockChannel.tryLock();
+            if (fileLock == null) {
+                lockChannel.close();
+                throw new IllegalStateException("다른 프로세스가 임베디드 벡터 저장소를 사용 중입니다. path=" + directory);
+            }
+
+            try (FileChannel metaChannel = FileChannel.open(directory.resolve("meta.bin"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                this.meta = metaChannel.map(FileChannel.MapMode.READ_WRITE, 0, META_BYTES);
+                meta.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            HnswIndex.State state = readMeta(dimension, m);
+
+            this.nodes = new MappedSlotFile(directory, "nodes", HnswIndex.nodeBytes(HEADER_BYTES, dimension, m),
+                    segmentSlots);
+            this.upperLinks = new MappedSlotFile(directory, "upper", HnswIndex.upperRecordBytes(m), segmentSlots);
+            if (nodes.capacity() < state.size() || upperLinks.capacity() < state.upperCount()) {
+                throw new IllegalStateException("임베디드 벡터 저장소 세그먼트 파일이 없습니다. path=" + directory);
+            }
+
+            this.payloads = FileChannel.open(directory.resolve("payloads.log"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // 확정(meta 기록) 전에 종료되어 남은 payload는 버린다.
+            if (payloads.size() > payloadBytes) {
+                payloads.truncate(payloadBytes);
+            }
+
+            this.index = new HnswIndex(nodes, upperLinks, HEADER_BYTES, dimension, m, efConstruction, state);
+            int live = loadKeySlots();
+            log.info("임베디드 벡터 저장소 열기: path={}, dimension={}, vectors={}, live={}",
+                    directory, dimension, state.size(), live);
+        } catch (IOException e) {
+            throw new UncheckedIOException("임베디드 벡터 저장소를 열 수 없습니다. path=" + directory, e);
+        }
+    }
+
+    @Override
+    public String add(Embedding embedding) {
+        String id = UUID.randomUUID().toString();
+        add(id, embedding);
+        return id;
+    }
+
+    @Override
+    public void add(String id, Embedding embedding) {
+        addAll(List.of(id), List.of(embedding), null);
+    }
+
+    @Override
+    public String add(Embedding embedding, TextSegment segment) {
+        String id = UUID.randomUUID().toString();
+        addAll(List.of(id), List.of(embedding), List.of(segment));
+        return id;
+    }
+
+    @Override
+    public List<String> addAll(List<Embedding> embeddings) {
+        List<String> ids = randomIds(embeddings.size());
+        addAll(ids, embeddings, null);
+        return ids;
+    }
+
+    @Override
+    public List<String> addAll(List<Embedding> embeddings, List<TextSegment> segments) {
+        List<String> ids = randomIds(embeddings.size());
+        addAll(ids, embeddings, segments);
+        return ids;
+    }
+
+    /**
+     * id는 서로 다르다고 가정한다. 같은 id로 다시 추가하면 이전 항목을 지우지 않고 둘 다 남는다.
+     */
+    @Override
+    public void addAll(List<String> ids, List<Embedding> embeddings, List<TextSegment> segments) {
+        if (ids.size() != embeddings.size() || (segments != null && segments.size() != embeddings.size())) {
+            throw new IllegalArgumentException("ids, embeddings, segments의 개수가 다릅니다.");
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < embeddings.size(); i++) {
+                TextSegment segment = segments != null ? segments.get(i) : null;
+                append(ids.get(i), embeddings.get(i), segment);
+            }
+            commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("임베디드 벡터 저장소에 기록하지 못했습니다. path=" + directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest request) {
+        KeyFilter keys = KeyFilter.of(request.filter());
+        float[] query = request.queryEmbedding().vector();
+
+        lock.readLock().lock();
+        try {
+            IntPredicate accept = slot -> matches(slot, keys);
+            SlotList candidates = candidates(keys);
+            List<HnswIndex.Scored> found;
+            if (candidates != null && candidates.size <= fullScanThreshold) {
+                found = index.scan(query, request.maxResults(), candidates.slots, candidates.size, accept);
+            } else {
+                found = index.search(query, request.maxResults(), efSearch, accept);
+            }
+
+            List<EmbeddingMatch<TextSegment>> matches = new ArrayList<>(found.size());
+            for (HnswIndex.Scored scored : found) {
+                double score = RelevanceScore.fromCosineSimilarity(scored.similarity());
+                if (score < request.minScore()) {
+                    break;
+                }
+                Payload payload = readPayload(scored.slot());
+                matches.add(new EmbeddingMatch<>(score, payload.id(), null, toSegment(payload)));
+            }
+            return new EmbeddingSearchResult<>(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeAll(Filter filter) {
+        KeyFilter keys = KeyFilter.of(filter);
+        lock.writeLock().lock();
+        try {
+            SlotList candidates = candidates(keys);
+            int removed = candidates != null
+                    ? remove(candidates.slots, candidates.size, slot -> matches(slot, keys))
+                    : remove(null, index.size(), slot -> matches(slot, keys));
+            log.debug("임베디드 벡터 저장소 삭제: {}개", removed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<String> ids) {
+        Set<UUID> uuids = new HashSet<>(ids.size());
+        ids.forEach(id -> uuids.add(toUuid(id)));
+        lock.writeLock().lock();
+        try {
+            remove(null, index.size(), slot -> isLive(slot) && uuids.contains(id(slot)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        lock.writeLock().lock();
+        try {
+            remove(null, index.size(), this::isLive);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            nodes.force();
+            upperLinks.force();
+            meta.force();
+            payloads.close();
+            fileLock.release();
+            lockChannel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void append(String id, Embedding embedding, TextSegment segment) throws IOException {
+        int slot = index.add(embedding.vector());
+        Map<String, Object> metadata = segment != null ? segment.metadata().toMap() : Map.of();
+        byte[] payload = objectMapper.writeValueAsBytes(
+                new Payload(id, segment != null ? segment.text() : null, metadata));
+        long payloadOffset = payloadBytes;
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        while (buffer.hasRemaining()) {
+            payloads.write(buffer, payloadOffset + buffer.position());
+        }
+        payloadBytes += payload.length;
+
+        UUID uuid = toUuid(id);
+        long memberId = key(metadata.get(QdrantPayloadKeys.MEMBER_ID));
+        long documentId = key(metadata.get(QdrantPayloadKeys.DOCUMENT_ID));
+        ByteBuffer node = nodes.segment(slot);
+        int offset = nodes.offset(slot);
+        node.putInt(offset + PAYLOAD_LENGTH, payload.length);
+        node.putLong(offset + ID_MOST, uuid.getMostSignificantBits());
+        node.putLong(offset + ID_LEAST, uuid.getLeastSignificantBits());
+        node.putLong(offset + MEMBER_ID, memberId);
+        node.putLong(offset + DOCUMENT_ID, documentId);
+        node.putLong(offset + PAYLOAD_OFFSET, payloadOffset);
+        node.putInt(offset + STATE, LIVE);
+        indexKeys(slot, memberId, documentId);
+    }
+
+    /**
+     * payload, 세그먼트를 디스크에 내린 뒤 마지막에 meta의 개수를 바꾼다. 중간에 종료되면 다음에 열 때
+     * meta 기준 이후 기록은 없는 것으로 본다.
+     */
+    private void commit() throws IOException {
+        payloads.force(false);
+        nodes.force();
+        upperLinks.force();
+        HnswIndex.State state = index.state();
+        meta.putInt(META_ENTRY_POINT, state.entryPoint());
+        meta.putInt(META_MAX_LEVEL, state.maxLevel());
+        meta.putInt(META_UPPER_COUNT, state.upperCount());
+        meta.putLong(META_PAYLOAD_BYTES, payloadBytes);
+        meta.putInt(META_SIZE, state.size());
+        meta.force();
+    }
+
+    private HnswIndex.State readMeta(int dimension, int m) {
+        if (meta.getInt(META_MAGIC) != MAGIC) {
+            meta.putInt(META_MAGIC, MAGIC);
+            meta.putInt(META_VERSION, VERSION);
+            meta.putInt(META_DIMENSION, dimension);
+            meta.putInt(META_M, m);
+            meta.putInt(META_SIZE, HnswIndex.State.EMPTY.size());
+            meta.putInt(META_ENTRY_POINT, HnswIndex.State.EMPTY.entryPoint());
+            meta.putInt(META_MAX_LEVEL, HnswIndex.State.EMPTY.maxLevel());
+            meta.putInt(META_UPPER_COUNT, HnswIndex.State.EMPTY.upperCount());
+            meta.putLong(META_PAYLOAD_BYTES, 0L);
+            meta.force();
+        }
+        if (meta.getInt(META_VERSION) != VERSION
+                || meta.getInt(META_DIMENSION) != dimension
+                || meta.getInt(META_M) != m) {
+            throw new IllegalStateException(
+                    "임베디드 벡터 저장소 형식이 설정과 다릅니다. path=%s, dimension=%d, m=%d (설정 dimension=%d, m=%d)"
+                            .formatted(directory, meta.getInt(META_DIMENSION), meta.getInt(META_M), dimension, m));
+        }
+
+        payloadBytes = meta.getLong(META_PAYLOAD_BYTES);
+        return new HnswIndex.State(
+                meta.getInt(META_SIZE),
+                meta.getInt(META_ENTRY_POINT),
+                meta.getInt(META_MAX_LEVEL),
+                meta.getInt(META_UPPER_COUNT)
+        );
+    }
+
+    private int loadKeySlots() {
+        int live = 0;
+        for (int slot = 0; slot < index.size(); slot++) {
+            if (!isLive(slot)) {
+                continue;
+            }
+            ByteBuffer node = nodes.segment(slot);
+            int offset = nodes.offset(slot);
+            indexKeys(slot, node.getLong(offset + MEMBER_ID), node.getLong(offset + DOCUMENT_ID));
+            live++;
+        }
+        return live;
+    }
+
+    private void indexKeys(int slot, long memberId, long documentId) {
+        if (memberId != NO_KEY) {
+            memberSlots.computeIfAbsent(memberId, key -> new SlotList()).add(slot);
+        }
+        if (documentId != NO_KEY) {
+            documentSlots.computeIfAbsent(documentId, key -> new SlotList()).add(slot);
+        }
+    }
+
+    /**
+     * @return memberId/documentId 조건이 있으면 더 작은 slot 목록, 조건이 없으면 null
+     */
+    private SlotList candidates(KeyFilter keys) {
+        SlotList byMember = keys.memberId() != null
+                ? memberSlots.getOrDefault(keys.memberId(), SlotList.EMPTY)
+                : null;
+        SlotList byDocument = keys.documentId() != null
+                ? documentSlots.getOrDefault(keys.documentId(), SlotList.EMPTY)
+                : null;
+        if (byMember == null) {
+            return byDocument;
+        }
+        if (byDocument == null) {
+            return byMember;
+        }
+        return byMember.size <= byDocument.size ? byMember : byDocument;
+    }
+
+    /**
+     * @param slots null이면 0부터 count-1까지 모든 slot
+     */
+    private int remove(int[] slots, int count, IntPredicate target) {
+        Set<Long> members = new HashSet<>();
+        Set<Long> documents = new HashSet<>();
+        int removed = 0;
+        for (int i = 0; i < count; i++) {
+            int slot = slots != null ? slots[i] : i;
+            if (!target.test(slot)) {
+                continue;
+            }
+            ByteBuffer node = nodes.segment(slot);
+            int offset = nodes.offset(slot);
+            node.putInt(offset + STATE, DELETED);
+            members.add(node.getLong(offset + MEMBER_ID));
+            documents.add(node.getLong(offset + DOCUMENT_ID));
+            removed++;
+        }
+        if (removed == 0) {
+            return 0;
+        }
+
+        compact(memberSlots, members);
+        compact(documentSlots, documents);
+        nodes.force();
+        return removed;
+    }
+
+    private void compact(Map<Long, SlotList> slotsByKey, Set<Long> keys) {
+        for (Long key : keys) {
+            SlotList slots = slotsByKey.get(key);
+            if (slots != null && slots.retainAll(this::isLive) == 0) {
+                slotsByKey.remove(key);
+            }
+        }
+    }
+
+    private boolean matches(int slot, KeyFilter keys) {
+        if (!isLive(slot)) {
+            return false;
+        }
+        ByteBuffer node = nodes.segment(slot);
+        int offset = nodes.offset(slot);
+        if (keys.memberId() != null && node.getLong(offset + MEMBER_ID) != keys.memberId()) {
+            return false;
+        }
+        if (keys.documentId() != null && node.getLong(offset + DOCUMENT_ID) != keys.documentId()) {
+            return false;
+        }
+        if (keys.documentIds() != null && !keys.documentIds().contains(node.getLong(offset + DOCUMENT_ID))) {
+            return false;
+        }
+        return keys.residual() == null || keys.residual().test(Metadata.from(readPayload(slot).metadata()));
+    }
+
+    private boolean isLive(int slot) {
+        return nodes.segment(slot).getInt(nodes.offset(slot) + STATE) == LIVE;
+    }
+
+    private UUID id(int slot) {
+        ByteBuffer node = nodes.segment(slot);
+        int offset = nodes.offset(slot);
+        return new UUID(node.getLong(offset + ID_MOST), node.getLong(offset + ID_LEAST));
+    }
+
+    private Payload readPayload(int slot) {
+        ByteBuffer node = nodes.segment(slot);
+        int offset = nodes.offset(slot);
+        long payloadOffset = node.getLong(offset + PAYLOAD_OFFSET);
+        ByteBuffer buffer = ByteBuffer.allocate(node.getInt(offset + PAYLOAD_LENGTH));
+        try {
+            while (buffer.hasRemaining()) {
+                if (payloads.read(buffer, payloadOffset + buffer.position()) < 0) {
+                    throw new IOException("payload 로그가 잘렸습니다. slot=" + slot);
+                }
+            }
+            return objectMapper.readValue(buffer.array(), Payload.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("임베디드 벡터 저장소 payload를 읽지 못했습니다. path=" + directory, e);
+        }
+    }
+
+    private static TextSegment toSegment(Payload payload) {
+        if (payload.text() == null) {
+            return null;
+        }
+        return TextSegment.from(payload.text(), Metadata.from(payload.metadata()));
+    }
+
+    private static long key(Object value) {
+        return value instanceof Number number ? number.longValue() : NO_KEY;
+    }
+
+    private static UUID toUuid(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(id.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static List<String> randomIds(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID().toString());
+        }
+        return ids;
+    }
+
+    /**
+     * 필터에서 헤더로 바로 비교할 수 있는 memberId/documentId 일치 조건과 documentId 목록(IsIn) 조건을 분리한다.
+     * 나머지(residual)는 payload를 읽어 확인한다.
+     */
+    private record KeyFilter(Long memberId, Long documentId, Set<Long> documentIds, Filter residual) {
+
+        static KeyFilter of(Filter filter) {
+            if (filter == null) {
+                return new KeyFilter(null, null, null, null);
+            }
+            if (filter instanceof IsEqualTo equalTo && equalTo.comparisonValue() instanceof Number value) {
+                if (QdrantPayloadKeys.MEMBER_ID.equals(equalTo.key())) {
+                    return new KeyFilter(value.longValue(), null, null, null);
+                }
+                if (QdrantPayloadKeys.DOCUMENT_ID.equals(equalTo.key())) {
+                    return new KeyFilter(null, value.longValue(), null, null);
+                }
+            }
+            if (filter instanceof IsIn isIn && QdrantPayloadKeys.DOCUMENT_ID.equals(isIn.key())) {
+                Set<Long> documentIds = new HashSet<>();
+                for (Object value : isIn.comparisonValues()) {
+                    if (!(value instanceof Number number)) {
+                        return new KeyFilter(null, null, null, filter);
+                    }
+                    documentIds.add(number.longValue());
+                }
+                return new KeyFilter(null, null, documentIds, null);
+            }
+            if (filter instanceof And and) {
+                KeyFilter left = of(and.left());
+                KeyFilter right = of(and.right());
+                boolean conflict = (left.memberId() != null && right.memberId() != null
+                        && !left.memberId().equals(right.memberId()))
+                        || (left.documentId() != null && right.documentId() != null
+                        && !left.documentId().equals(right.documentId()))
+                        || (left.documentIds() != null && right.documentIds() != null);
+                if (!conflict) {
+                    return new KeyFilter(
+                            left.memberId() != null ? left.memberId() : right.memberId(),
+                            left.documentId() != null ? left.documentId() : right.documentId(),
+                            left.documentIds() != null ? left.documentIds() : right.documentIds(),
+                            and(left.residual(), right.residual())
+                    );
+                }
+            }
+            return new KeyFilter(null, null, null, filter);
+        }
+
+        private static Filter and(Filter left, Filter right) {
+            if (left == null) {
+                return right;
+            }
+            return right == null ? left : Filter.and(left, right);
+        }
+    }
+
+    /**
+     * memberId/documentId별 slot 목록. 삭제 후 {@link #retainAll}로 정리한다.
+     */
+    private static final class SlotList {
+
+        static final SlotList EMPTY = new SlotList();
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        int retainAll(IntPredicate keep) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (keep.test(slots[i])) {
+                    slots[kept++] = slots[i];
+                }
+            }
+            size = kept;
+            return size;
+        }
+    }
+}
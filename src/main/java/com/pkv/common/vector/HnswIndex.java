@@ -0,0 +1,415 @@
+package com.pkv.common.vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * 메모리 매핑 파일 위의 HNSW 그래프. 벡터는 정규화해서 저장하고 유사도는 내적(cosine)으로 계산한다.
+ * <p>
+ * 노드 slot은 호출 측 헤더({@code headerBytes}) 뒤에 레벨, 상위 레벨 링크 레코드 번호, 레벨 0 이웃({@code 2m}개),
+ * 벡터 순으로 기록한다. 상위 레벨(노드의 약 1/m) 이웃은 별도 파일에 노드당 {@link #MAX_LEVEL}개 레벨 분량의
+ * 고정 크기 레코드로 둔다. 그래프가 모두 파일에 있으므로 다시 열 때 삽입을 반복하지 않는다.
+ * <p>
+ * 삭제는 호출 측이 {@code accept}에서 제외하는 방식(tombstone)이다. 삭제된 노드도 탐색 경로로는 계속 쓴다.
+ * 삽입은 한 스레드씩, 검색은 여러 스레드가 동시에 해도 되도록 호출 측이 read/write lock으로 감싼다.
+ */
+final class HnswIndex {
+
+    static final int MAX_LEVEL = 15;
+
+    private static final int LEVEL = 0;
+    private static final int UPPER_RECORD = 4;
+    private static final int LINK_COUNT = 8;
+    private static final int LINKS = 12;
+    private static final int NO_UPPER_RECORD = -1;
+
+    private static final Comparator<Scored> BEST_FIRST = Comparator.comparingDouble(Scored::similarity).reversed();
+    private static final Comparator<Scored> WORST_FIRST = Comparator.comparingDouble(Scored::similarity);
+    private static final IntPredicate ALL = slot -> true;
+
+    private final MappedSlotFile nodes;
+    private final MappedSlotFile upperLinks;
+    private final int headerBytes;
+    private final int dimension;
+    private final int m;
+    private final int maxLinks0;
+    private final int efConstruction;
+    private final int vectorOffset;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom();
+    private final BitSet insertVisited = new BitSet();
+
+    private int size;
+    private int entryPoint;
+    private int maxLevel;
+    private int upperCount;
+
+    record Scored(int slot, float similarity) {
+    }
+
+    /**
+     * 파일에 함께 기록해야 하는 그래프 상태. 빈 그래프는 entryPoint가 -1이다.
+     */
+    record State(int size, int entryPoint, int maxLevel, int upperCount) {
+
+        static final State EMPTY = new State(0, -1, -1, 0);
+    }
+
+    HnswIndex(
+            MappedSlotFile nodes,
+            MappedSlotFile upperLinks,
+            int headerBytes,
+            int dimension,
+            int m,
+            int efConstruction,
+            State state
+    ) {
+        this.nodes = nodes;
+        this.upperLinks = upperLinks;
+        this.headerBytes = headerBytes;
+        this.dimension = dimension;
+        this.m = m;
+        this.maxLinks0 = 2 * m;
+        this.efConstruction = efConstruction;
+        this.vectorOffset = headerBytes + LINKS + Integer.BYTES * maxLinks0;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.size = state.size();
+        this.entryPoint = state.entryPoint();
+        this.maxLevel = state.maxLevel();
+        this.upperCount = state.upperCount();
+    }
+
+    static int nodeBytes(int headerBytes, int dimension, int m) {
+        return headerBytes + LINKS + Integer.BYTES * 2 * m + Float.BYTES * dimension;
+    }
+
+    static int upperRecordBytes(int m) {
+        return MAX_LEVEL * (1 + m) * Integer.BYTES;
+    }
+
+    State state() {
+        return new State(size, entryPoint, maxLevel, upperCount);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 정규화한 벡터를 다음 slot에 기록하고 그래프에 연결한다.
+     *
+     * @return 벡터를 기록한 slot
+     */
+    int add(float[] vector) throws IOException {
+        float[] normalized = normalize(vector);
+        int slot = size;
+        nodes.ensureCapacity(slot + 1);
+        ByteBuffer segment = nodes.segment(slot);
+        int offset = nodes.offset(slot);
+        for (int i = 0; i < dimension; i++) {
+            segment.putFloat(offset + vectorOffset + Float.BYTES * i, normalized[i]);
+        }
+
+        int level = randomLevel();
+        segment.putInt(offset + headerBytes + LEVEL, level);
+        segment.putInt(offset + headerBytes + LINK_COUNT, 0);
+        if (level > 0) {
+            upperLinks.ensureCapacity(upperCount + 1);
+            ByteBuffer upper = upperLinks.segment(upperCount);
+            int upperOffset = upperLinks.offset(upperCount);
+            for (int l = 1; l <= level; l++) {
+                upper.putInt(upperOffset + upperLevelOffset(l), 0);
+            }
+            segment.putInt(offset + headerBytes + UPPER_RECORD, upperCount++);
+        } else {
+            segment.putInt(offset + headerBytes + UPPER_RECORD, NO_UPPER_RECORD);
+        }
+
+        insert(slot, normalized, level);
+        size++;
+        return slot;
+    }
+
+    /**
+     * @param accept 결과에 넣을 slot. 거절한 slot도 탐색 경로로는 사용한다.
+     * @return 유사도 내림차순 최대 k개
+     */
+    List<Scored> search(float[] query, int k, int ef, IntPredicate accept) {
+        if (entryPoint < 0) {
+            return List.of();
+        }
+
+        float[] normalized = normalize(query);
+        Scored entry = new Scored(entryPoint, similarity(normalized, entryPoint));
+        for (int level = maxLevel; level > 0; level--) {
+            entry = best(searchLayer(normalized, entry, 1, level, ALL, new BitSet()));
+        }
+        List<Scored> found = bestFirst(searchLayer(normalized, entry, Math.max(ef, k), 0, accept, new BitSet()));
+        return found.size() > k ? found.subList(0, k) : found;
+    }
+
+    /**
+     * 그래프를 거치지 않고 주어진 slot만 정확히 비교한다. 필터로 후보가 충분히 줄어든 경우에 쓴다.
+     */
+    List<Scored> scan(float[] query, int k, int[] slots, int count, IntPredicate accept) {
+        float[] normalized = normalize(query);
+        PriorityQueue<Scored> results = new PriorityQueue<>(WORST_FIRST);
+        for (int i = 0; i < count; i++) {
+            int slot = slots[i];
+            if (slot >= size || !accept.test(slot)) {
+                continue;
+            }
+            results.add(new Scored(slot, similarity(normalized, slot)));
+            if (results.size() > k) {
+                results.poll();
+            }
+        }
+        return bestFirst(results);
+    }
+
+    float[] vector(int slot) {
+        ByteBuffer segment = nodes.segment(slot);
+        int base = nodes.offset(slot) + vectorOffset;
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = segment.getFloat(base + Float.BYTES * i);
+        }
+        return vector;
+    }
+
+    private void insert(int slot, float[] vector, int level) {
+        if (entryPoint < 0) {
+            entryPoint = slot;
+            maxLevel = level;
+            return;
+        }
+
+        Scored entry = new Scored(entryPoint, similarity(vector, entryPoint));
+        for (int l = maxLevel; l > level; l--) {
+            entry = best(searchLayer(vector, entry, 1, l, ALL, clearedInsertVisited()));
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Scored> candidates = bestFirst(searchLayer(vector, entry, efConstruction, l, ALL, clearedInsertVisited()));
+            List<Scored> neighbors = selectNeighbors(candidates, m);
+            setLinks(slot, l, neighbors);
+            int maxLinks = l == 0 ? maxLinks0 : m;
+            for (Scored neighbor : neighbors) {
+                connect(neighbor.slot(), slot, neighbor.similarity(), l, maxLinks);
+            }
+            entry = candidates.getFirst();
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = slot;
+        }
+    }
+
+    private PriorityQueue<Scored> searchLayer(
+            float[] query,
+            Scored entry,
+            int ef,
+            int level,
+            IntPredicate accept,
+            BitSet visited
+    ) {
+        PriorityQueue<Scored> candidates = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<Scored> results = new PriorityQueue<>(WORST_FIRST);
+        visited.set(entry.slot());
+        candidates.add(entry);
+        if (accept.test(entry.slot())) {
+            results.add(entry);
+        }
+        float lowerBound = results.isEmpty() ? Float.NEGATIVE_INFINITY : entry.similarity();
+
+        while (!candidates.isEmpty()) {
+            Scored current = candidates.poll();
+            if (current.similarity() < lowerBound && results.size() >= ef) {
+                break;
+            }
+
+            int count = linkCount(current.slot(), level);
+            for (int i = 0; i < count; i++) {
+                int neighbor = link(current.slot(), level, i);
+                // 기록 중 종료되어 아직 확정되지 않은 slot을 가리키는 링크는 건너뛴다.
+                if (neighbor >= size || visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+
+                float similarity = similarity(query, neighbor);
+                if (results.size() < ef || similarity > lowerBound) {
+                    Scored scored = new Scored(neighbor, similarity);
+                    candidates.add(scored);
+                    if (accept.test(neighbor)) {
+                        results.add(scored);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                    if (!results.isEmpty()) {
+                        lowerBound = results.peek().similarity();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 이미 고른 이웃과 더 가까운 후보는 건너뛰어, 이웃이 한쪽 방향에 몰리지 않게 한다.
+     */
+    private List<Scored> selectNeighbors(List<Scored> candidates, int max) {
+        List<Scored> selected = new ArrayList<>(max);
+        for (Scored candidate : candidates) {
+            if (selected.size() >= max) {
+                break;
+            }
+            float[] candidateVector = vector(candidate.slot());
+            boolean diverse = true;
+            for (Scored chosen : selected) {
+                if (similarity(candidateVector, chosen.slot()) > candidate.similarity()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            }
+        }
+        return selected;
+    }
+
+    private void connect(int target, int newSlot, float similarity, int level, int maxLinks) {
+        int count = linkCount(target, level);
+        if (count < maxLinks) {
+            setLink(target, level, count, newSlot);
+            setLinkCount(target, level, count + 1);
+            return;
+        }
+
+        float[] targetVector = vector(target);
+        List<Scored> candidates = new ArrayList<>(count + 1);
+        candidates.add(new Scored(newSlot, similarity));
+        for (int i = 0; i < count; i++) {
+            int neighbor = link(target, level, i);
+            candidates.add(new Scored(neighbor, similarity(targetVector, neighbor)));
+        }
+        candidates.sort(BEST_FIRST);
+        setLinks(target, level, selectNeighbors(candidates, maxLinks));
+    }
+
+    private void setLinks(int slot, int level, List<Scored> neighbors) {
+        for (int i = 0; i < neighbors.size(); i++) {
+            setLink(slot, level, i, neighbors.get(i).slot());
+        }
+        setLinkCount(slot, level, neighbors.size());
+    }
+
+    private int linkCount(int slot, int level) {
+        if (level == 0) {
+            return nodes.segment(slot).getInt(nodes.offset(slot) + headerBytes + LINK_COUNT);
+        }
+        int record = upperRecord(slot);
+        return upperLinks.segment(record).getInt(upperLinks.offset(record) + upperLevelOffset(level));
+    }
+
+    private int link(int slot, int level, int index) {
+        if (level == 0) {
+            return nodes.segment(slot).getInt(nodes.offset(slot) + headerBytes + LINKS + Integer.BYTES * index);
+        }
+        int record = upperRecord(slot);
+        return upperLinks.segment(record)
+                .getInt(upperLinks.offset(record) + upperLevelOffset(level) + Integer.BYTES * (1 + index));
+    }
+
+    private void setLinkCount(int slot, int level, int count) {
+        if (level == 0) {
+            nodes.segment(slot).putInt(nodes.offset(slot) + headerBytes + LINK_COUNT, count);
+            return;
+        }
+        int record = upperRecord(slot);
+        upperLinks.segment(record).putInt(upperLinks.offset(record) + upperLevelOffset(level), count);
+    }
+
+    private void setLink(int slot, int level, int index, int neighbor) {
+        if (level == 0) {
+            nodes.segment(slot).putInt(nodes.offset(slot) + headerBytes + LINKS + Integer.BYTES * index, neighbor);
+            return;
+        }
+        int record = upperRecord(slot);
+        upperLinks.segment(record)
+                .putInt(upperLinks.offset(record) + upperLevelOffset(level) + Integer.BYTES * (1 + index), neighbor);
+    }
+
+    private int upperRecord(int slot) {
+        return nodes.segment(slot).getInt(nodes.offset(slot) + headerBytes + UPPER_RECORD);
+    }
+
+    private int upperLevelOffset(int level) {
+        return (level - 1) * (1 + m) * Integer.BYTES;
+    }
+
+    private float similarity(float[] query, int slot) {
+        ByteBuffer segment = nodes.segment(slot);
+        int base = nodes.offset(slot) + vectorOffset;
+        float dot = 0f;
+        for (int i = 0; i < dimension; i++) {
+            dot += query[i] * segment.getFloat(base + Float.BYTES * i);
+        }
+        return dot;
+    }
+
+    private int randomLevel() {
+        double level = -Math.log(1.0 - random.nextDouble()) * levelMultiplier;
+        return (int) Math.min(MAX_LEVEL, level);
+    }
+
+    private BitSet clearedInsertVisited() {
+        insertVisited.clear();
+        return insertVisited;
+    }
+
+    private float[] normalize(float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException(
+                    "벡터 차원이 맞지 않습니다. expected=%d, actual=%d".formatted(dimension, vector.length));
+        }
+        double norm = 0.0;
+        for (float value : vector) {
+            norm += (double) value * value;
+        }
+        if (norm == 0.0) {
+            return vector.clone();
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        float[] normalized = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            normalized[i] = vector[i] * scale;
+        }
+        return normalized;
+    }
+
+    private static Scored best(PriorityQueue<Scored> results) {
+        Scored best = null;
+        for (Scored scored : results) {
+            if (best == null || scored.similarity() > best.similarity()) {
+                best = scored;
+            }
+        }
+        return best;
+    }
+
+    private static List<Scored> bestFirst(PriorityQueue<Scored> results) {
+        List<Scored> sorted = new ArrayList<>(results);
+        sorted.sort(BEST_FIRST);
+        return sorted;
+    }
+}
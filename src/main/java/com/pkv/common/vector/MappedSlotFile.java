@@ -0,0 +1,79 @@
+package com.pkv.common.vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 고정 크기 레코드(slot)를 세그먼트 파일({@code <prefix>-00000.bin}, {@code <prefix>-00001.bin} ...)에 나눠 메모리 매핑한다.
+ * <p>
+ * 세그먼트 하나는 2GB를 넘지 않도록 slot 수를 정하고, 용량이 모자라면 세그먼트를 하나씩 추가한다.
+ * 다시 열 때는 있는 세그먼트를 그대로 매핑하므로 내용을 읽어 다시 만들지 않는다. 동시성 제어는 호출 측이 한다.
+ */
+final class MappedSlotFile {
+
+    private final Path directory;
+    private final String prefix;
+    private final int slotBytes;
+    private final int slotsPerSegment;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    MappedSlotFile(Path directory, String prefix, int slotBytes, int maxSlotsPerSegment) throws IOException {
+        if (slotBytes <= 0 || slotBytes % Float.BYTES != 0) {
+            throw new IllegalArgumentException("slotBytes는 4의 배수인 양수여야 합니다. slotBytes=" + slotBytes);
+        }
+        this.directory = directory;
+        this.prefix = prefix;
+        this.slotBytes = slotBytes;
+        this.slotsPerSegment = (int) Math.min(maxSlotsPerSegment, Integer.MAX_VALUE / slotBytes);
+
+        for (int index = 0; Files.exists(segmentPath(index)); index++) {
+            segments.add(map(segmentPath(index)));
+        }
+    }
+
+    int capacity() {
+        return segments.size() * slotsPerSegment;
+    }
+
+    void ensureCapacity(int slots) throws IOException {
+        while (capacity() < slots) {
+            segments.add(map(segmentPath(segments.size())));
+        }
+    }
+
+    ByteBuffer segment(int slot) {
+        return segments.get(slot / slotsPerSegment);
+    }
+
+    int offset(int slot) {
+        return (slot % slotsPerSegment) * slotBytes;
+    }
+
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        long segmentBytes = (long) slotsPerSegment * slotBytes;
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve("%s-%05d.bin".formatted(prefix, index));
+    }
+}
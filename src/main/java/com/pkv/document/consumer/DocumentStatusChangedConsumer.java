@@ -0,0 +1,44 @@
+package com.pkv.document.consumer;
+
+import com.pkv.common.config.KafkaConstants;
+import com.pkv.document.dto.DocumentStatusChangedMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * worker나 다른 api 인스턴스에서 발생한 Document 상태 변경을 이 인스턴스의 Spring 이벤트로 전달한다.
+ * <p>
+ * 모든 api 인스턴스가 메시지를 받아야 하므로 인스턴스마다 고유한 {@code PKV_NODE_ID}로 consumer group을 나눈다.
+ * 재기동해도 같은 group과 커밋된 offset을 이어 쓰므로 group이 쌓이지 않고 내려가 있던 동안의 메시지도 받는다.
+ * group을 처음 만들 때는 파티션 할당 전에 발행된 메시지를 놓치지 않도록 가장 이른 offset부터 읽는다.
+ * 이미 반영한 것보다 오래된 메시지(자신이 보낸 메시지의 재수신 포함)는 수신 측이 문서 revision으로 걸러낸다.
+ */
+@Slf4j
+@Component
+@Profile("api")
+@RequiredArgsConstructor
+public class DocumentStatusChangedConsumer {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @KafkaListener(
+            topics = KafkaConstants.DOCUMENT_STATUS_TOPIC,
+            groupId = "pkv-api-document-status-${pkv.node-id}",
+            autoStartup = "true",
+            properties = {
+                    "auto.offset.reset=earliest",
+                    "key.deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+                    "value.deserializer=org.springframework.kafka.support.serializer.JsonDeserializer",
+                    "spring.json.trusted.packages=com.pkv.*"
+            }
+    )
+    public void consume(DocumentStatusChangedMessage message) {
+        log.debug("Document 상태 변경 수신: documentId={}, status={}, revision={}, deleted={}",
+                message.documentId(), message.status(), message.revision(), message.deleted());
+        applicationEventPublisher.publishEvent(message);
+    }
+}
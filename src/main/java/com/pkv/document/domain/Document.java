@@ -51,6 +51,12 @@ public class Document {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    /**
+     * 변경될 때마다 1씩 증가한다. 상태 변경 메시지를 받는 캐시가 늦게 도착한 메시지를 걸러내는 데 쓴다.
+     */
+    @Column(nullable = false)
+    private long revision;
+
     @Builder
     public Document(Long memberId, String originalFileName, Long fileSize, String fileExtension, DocumentStatus status) {
         this.memberId = Objects.requireNonNull(memberId, "memberId is required");
@@ -64,7 +70,7 @@ public class Document {
 
     public void assignStoragePath(String storagePath) {
         this.storagePath = Objects.requireNonNull(storagePath, "storagePath is required");
-        this.updatedAt = Instant.now();
+        touch();
     }
 
     public void confirm() {
@@ -72,7 +78,7 @@ public class Document {
             throw new IllegalStateException("Document can only be confirmed from INITIATED status, current: " + this.status);
         }
         this.status = DocumentStatus.UPLOADED;
-        this.updatedAt = Instant.now();
+        touch();
     }
 
     public void startProcessing() {
@@ -80,7 +86,7 @@ public class Document {
             throw new IllegalStateException("Document can only start processing from UPLOADED status, current: " + this.status);
         }
         this.status = DocumentStatus.PROCESSING;
-        this.updatedAt = Instant.now();
+        touch();
     }
 
     public void complete() {
@@ -88,7 +94,7 @@ public class Document {
             throw new IllegalStateException("Document can only be completed from PROCESSING status, current: " + this.status);
         }
         this.status = DocumentStatus.COMPLETED;
-        this.updatedAt = Instant.now();
+        touch();
     }
 
     public void fail() {
@@ -96,10 +102,15 @@ public class Document {
             throw new IllegalStateException("Document can only fail from PROCESSING status, current: " + this.status);
         }
         this.status = DocumentStatus.FAILED;
-        this.updatedAt = Instant.now();
+        touch();
     }
 
     public boolean isDeletable() {
         return this.status == DocumentStatus.COMPLETED || this.status == DocumentStatus.FAILED;
     }
+
+    private void touch() {
+        this.updatedAt = Instant.now();
+        this.revision++;
+    }
 }
@@ -0,0 +1,125 @@
+package com.pkv.document.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 청크 본문. Qdrant point에는 본문 대신 {@code sourceChunkRef}만 두고, 최종 출처로 고른 청크만 여기서 읽는다.
+ * <p>
+ * 본문은 UTF-8을 zlib(deflate)으로 압축해 저장한다. id를 애플리케이션에서 정하므로 {@link Persistable}로
+ * 새 엔티티임을 알려 저장 전 조회(merge) 없이 batch INSERT되게 한다.
+ */
+@Entity
+@Table(name = "document_chunks")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DocumentChunk implements Persistable<String> {
+
+    @Id
+    @Column(name = "source_chunk_ref", length = 64)
+    private String sourceChunkRef;
+
+    @Column(name = "document_id", nullable = false)
+    private Long documentId;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "page_number", nullable = false)
+    private int pageNumber;
+
+    @Getter(AccessLevel.NONE)
+    @Column(name = "text", nullable = false, columnDefinition = "BLOB")
+    private byte[] text;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public DocumentChunk(String sourceChunkRef, Long documentId, Long memberId, int pageNumber, String text) {
+        this.sourceChunkRef = Objects.requireNonNull(sourceChunkRef, "sourceChunkRef is required");
+        this.documentId = Objects.requireNonNull(documentId, "documentId is required");
+        this.memberId = Objects.requireNonNull(memberId, "memberId is required");
+        this.pageNumber = pageNumber;
+        this.text = compress(Objects.requireNonNull(text, "text is required"));
+        this.createdAt = Instant.now();
+    }
+
+    public String text() {
+        return decompress(text);
+    }
+
+    @Override
+    public String getId() {
+        return sourceChunkRef;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    static byte[] compress(String text) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(text.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static String decompress(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 3);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && inflater.needsInput()) {
+                    throw new DataFormatException("압축된 청크 본문이 잘렸습니다.");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new UncheckedIOException(new java.io.IOException("청크 본문 압축을 풀지 못했습니다.", e));
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.pkv.document.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * 문서 단위 임베딩. 검색 시 질문과 가까운 문서를 먼저 고르는 데 쓴다.
+ * <p>
+ * centroid는 청크 벡터 평균, summary는 파일명과 문서 앞부분을 임베딩한 벡터이며 둘 다 정규화해 float32(little endian)로 저장한다.
+ */
+@Entity
+@Table(name = "document_vectors")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DocumentVector {
+
+    private static final int MAX_VECTOR_BYTES = 16384;
+
+    @Id
+    @Column(name = "document_id")
+    private Long documentId;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(nullable = false)
+    private int dimension;
+
+    @Getter(AccessLevel.NONE)
+    @Column(nullable = false, length = MAX_VECTOR_BYTES)
+    private byte[] centroid;
+
+    @Getter(AccessLevel.NONE)
+    @Column(nullable = false, length = MAX_VECTOR_BYTES)
+    private byte[] summary;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    public DocumentVector(Long documentId, Long memberId, float[] centroid, float[] summary) {
+        if (centroid.length != summary.length || centroid.length * Float.BYTES > MAX_VECTOR_BYTES) {
+            throw new IllegalArgumentException("centroid와 summary 차원이 다르거나 너무 큽니다. dimension=" + centroid.length);
+        }
+        this.documentId = Objects.requireNonNull(documentId, "documentId is required");
+        this.memberId = Objects.requireNonNull(memberId, "memberId is required");
+        this.dimension = centroid.length;
+        this.centroid = toBytes(centroid);
+        this.summary = toBytes(summary);
+        this.createdAt = Instant.now();
+    }
+
+    public float[] centroid() {
+        return toFloats(centroid);
+    }
+
+    public float[] summary() {
+        return toFloats(summary);
+    }
+
+    private static byte[] toBytes(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    private static float[] toFloats(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+}
@@ -0,0 +1,53 @@
+package com.pkv.document.dto;
+
+import com.pkv.document.domain.Document;
+import com.pkv.document.domain.DocumentStatus;
+
+import java.time.Instant;
+
+/**
+ * Document 상태 변경/삭제 알림. 같은 프로세스에는 Spring 이벤트로, 다른 api 인스턴스에는 Kafka로 전달된다.
+ * 수신 측 캐시가 DB 조회 없이 갱신할 수 있도록 목록 표시에 필요한 문서 정보를 함께 담는다.
+ *
+ * @param status   변경 후 상태. 삭제된 경우 삭제 직전 상태
+ * @param revision 변경 후 {@link Document#getRevision()}. 수신 측은 이미 반영한 것보다 작거나 같은 메시지를 무시한다
+ * @param deleted  문서가 삭제되었으면 true
+ */
+public record DocumentStatusChangedMessage(
+        Long documentId,
+        Long memberId,
+        String fileName,
+        long fileSize,
+        String fileExtension,
+        Instant createdAt,
+        DocumentStatus status,
+        long revision,
+        boolean deleted
+) {
+
+    public static DocumentStatusChangedMessage changed(Document document) {
+        return of(document, false);
+    }
+
+    public static DocumentStatusChangedMessage deleted(Document document) {
+        return of(document, true);
+    }
+
+    public DocumentResponse toDocumentResponse() {
+        return new DocumentResponse(documentId, fileName, fileSize, fileExtension, status, createdAt);
+    }
+
+    private static DocumentStatusChangedMessage of(Document document, boolean deleted) {
+        return new DocumentStatusChangedMessage(
+                document.getId(),
+                document.getMemberId(),
+                document.getOriginalFileName(),
+                document.getFileSize(),
+                document.getFileExtension(),
+                document.getCreatedAt(),
+                document.getStatus(),
+                document.getRevision(),
+                deleted
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.pkv.document.repository;
+
+import com.pkv.document.domain.DocumentChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, String> {
+
+    /**
+     * 문서의 청크를 엔티티를 읽지 않고 한 번에 지운다.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM DocumentChunk c WHERE c.documentId = :documentId")
+    int deleteByDocumentId(@Param("documentId") Long documentId);
+}
@@ -0,0 +1,11 @@
+package com.pkv.document.repository;
+
+import com.pkv.document.domain.DocumentVector;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface DocumentVectorRepository extends JpaRepository<DocumentVector, Long> {
+
+    List<DocumentVector> findByMemberId(Long memberId);
+}
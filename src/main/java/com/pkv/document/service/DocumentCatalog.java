@@ -0,0 +1,74 @@
+package com.pkv.document.service;
+
+import com.pkv.document.domain.DocumentStatus;
+import com.pkv.document.dto.DocumentResponse;
+import com.pkv.document.dto.DocumentStatusChangedMessage;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 회원 한 명의 문서 목록 스냅샷(INITIATED 제외, 생성 시각 내림차순). 변경 시 새 인스턴스를 만든다.
+ *
+ * @param revisions 문서별로 반영한 마지막 revision. 삭제한 문서는 {@link #DELETED}로 남겨 늦게 도착한 메시지가
+ *                  문서를 되살리지 않게 한다
+ */
+public record DocumentCatalog(List<DocumentResponse> documents, Map<Long, Long> revisions) {
+
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private static final Comparator<DocumentResponse> NEWEST_FIRST =
+            Comparator.comparing(DocumentResponse::createdAt).reversed();
+
+    public DocumentCatalog {
+        documents = List.copyOf(documents);
+        revisions = Map.copyOf(revisions);
+    }
+
+    public DocumentCatalog(List<DocumentResponse> documents) {
+        this(documents, Map.of());
+    }
+
+    public long count() {
+        return documents.size();
+    }
+
+    public long totalSize() {
+        return documents.stream().mapToLong(DocumentResponse::fileSize).sum();
+    }
+
+    public boolean containsFileName(String fileName) {
+        return documents.stream().anyMatch(document -> document.fileName().equals(fileName));
+    }
+
+    public boolean hasCompleted() {
+        return documents.stream().anyMatch(document -> document.status() == DocumentStatus.COMPLETED);
+    }
+
+    /**
+     * 메시지를 반영한 새 스냅샷. 같은 메시지를 여러 번 반영해도 결과가 같다.
+     * 이미 반영한 revision 이하의 메시지(자신이 보낸 메시지의 Kafka 재수신, 순서가 뒤바뀐 메시지)와
+     * 삭제한 문서의 메시지는 무시한다. 삭제 메시지는 같은 revision의 변경 메시지보다 우선한다.
+     */
+    DocumentCatalog apply(DocumentStatusChangedMessage message) {
+        Long applied = revisions.get(message.documentId());
+        if (applied != null && (applied == DELETED || (!message.deleted() && message.revision() <= applied))) {
+            return this;
+        }
+
+        Stream<DocumentResponse> others = documents.stream()
+                .filter(document -> !document.id().equals(message.documentId()));
+        Map<Long, Long> nextRevisions = new HashMap<>(revisions);
+        nextRevisions.put(message.documentId(), message.deleted() ? DELETED : message.revision());
+
+        if (message.deleted() || message.status() == DocumentStatus.INITIATED) {
+            return new DocumentCatalog(others.toList(), nextRevisions);
+        }
+        return new DocumentCatalog(Stream.concat(others, Stream.of(message.toDocumentResponse()))
+                .sorted(NEWEST_FIRST)
+                .toList(), nextRevisions);
+    }
+}
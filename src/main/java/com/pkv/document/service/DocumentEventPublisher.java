@@ -0,0 +1,50 @@
+package com.pkv.document.service;
+
+import com.pkv.common.config.KafkaConstants;
+import com.pkv.document.dto.DocumentStatusChangedMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Document 상태 변경을 같은 프로세스(Spring 이벤트)와 다른 api 인스턴스(Kafka)에 알린다.
+ * <p>
+ * 트랜잭션 안에서 호출되면 커밋 이후에 발행한다. 캐시 갱신용 알림이므로 Kafka 발행 실패가
+ * 문서 상태 변경 자체를 실패시키지는 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DocumentEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final KafkaTemplate<String, DocumentStatusChangedMessage> kafkaTemplate;
+
+    public void publishStatusChanged(DocumentStatusChangedMessage message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(message);
+                }
+            });
+            return;
+        }
+        publish(message);
+    }
+
+    private void publish(DocumentStatusChangedMessage message) {
+        applicationEventPublisher.publishEvent(message);
+
+        kafkaTemplate.send(KafkaConstants.DOCUMENT_STATUS_TOPIC, message.memberId().toString(), message)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.warn("Document 상태 변경 메시지 발행 실패: documentId={}", message.documentId(), e);
+                    }
+                });
+    }
+}
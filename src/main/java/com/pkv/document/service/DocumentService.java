@@ -7,6 +7,7 @@ import com.pkv.common.service.EmbeddingRepository;
 import com.pkv.document.domain.Document;
 import com.pkv.document.domain.DocumentStatus;
 import com.pkv.document.dto.DocumentResponse;
+import com.pkv.document.dto.DocumentStatusChangedMessage;
 import com.pkv.document.dto.PresignRequest;
 import com.pkv.document.dto.PresignResponse;
 import com.pkv.document.repository.DocumentRepository;
@@ -32,6 +33,8 @@ public class DocumentService {
     private final EmbeddingRepository embeddingRepository;
     private final TurnCitationRepository turnCitationRepository;
     private final MemberRepository memberRepository;
+    private final DocumentEventPublisher documentEventPublisher;
+    private final MemberDocumentCatalog memberDocumentCatalog;
 
     @Transactional
     public PresignResponse requestPresignedUrl(Long memberId, PresignRequest request) {
@@ -47,15 +50,10 @@ public class DocumentService {
         documentValidator.validateExtension(extension);
         documentValidator.validateFileSize(fileSize);
 
-        long currentCount = documentRepository.countByMemberIdAndStatusNot(memberId, DocumentStatus.INITIATED);
-        documentValidator.validateDocumentCount(currentCount);
-
-        long currentTotal = documentRepository.sumFileSizeByMemberIdAndStatusNot(memberId, DocumentStatus.INITIATED);
-        documentValidator.validateTotalSize(currentTotal, fileSize);
-
-        boolean duplicate = documentRepository.existsByMemberIdAndOriginalFileNameAndStatusNot(
-                memberId, fileName, DocumentStatus.INITIATED);
-        documentValidator.validateDuplicateDocumentName(duplicate);
+        DocumentCatalog catalog = memberDocumentCatalog.get(memberId);
+        documentValidator.validateDocumentCount(catalog.count());
+        documentValidator.validateTotalSize(catalog.totalSize(), fileSize);
+        documentValidator.validateDuplicateDocumentName(catalog.containsFileName(fileName));
 
         documentRepository.deleteByMemberIdAndOriginalFileNameAndStatus(memberId, fileName, DocumentStatus.INITIATED);
 
@@ -82,10 +80,7 @@ public class DocumentService {
     }
 
     public List<DocumentResponse> getDocuments(Long memberId) {
-        return documentRepository.findByMemberIdAndStatusNotOrderByCreatedAtDesc(memberId, DocumentStatus.INITIATED)
-                .stream()
-                .map(DocumentResponse::from)
-                .toList();
+        return memberDocumentCatalog.get(memberId).documents();
     }
 
     @Transactional
@@ -104,6 +99,7 @@ public class DocumentService {
 
         document.confirm();
         embeddingJobProducer.send(document);
+        documentEventPublisher.publishStatusChanged(DocumentStatusChangedMessage.changed(document));
 
         return DocumentResponse.from(document);
     }
@@ -122,6 +118,7 @@ public class DocumentService {
         embeddingRepository.deleteByDocumentId(documentId);
         s3FileStorage.deleteObject(document.getStoragePath());
         documentRepository.delete(document);
+        documentEventPublisher.publishStatusChanged(DocumentStatusChangedMessage.deleted(document));
     }
 
     private void validateMemberExists(Long memberId) {
@@ -0,0 +1,72 @@
+package com.pkv.document.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pkv.document.domain.Document;
+import com.pkv.document.domain.DocumentStatus;
+import com.pkv.document.dto.DocumentResponse;
+import com.pkv.document.dto.DocumentStatusChangedMessage;
+import com.pkv.document.repository.DocumentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 회원별 문서 목록/상태/용량을 프로세스 내에 보관해 턴 생성과 문서 API의 반복 조회를 줄인다.
+ * <p>
+ * 최초 조회 시 DB에서 적재하고, 이후에는 {@link DocumentStatusChangedMessage}(같은 인스턴스의 변경은
+ * Spring 이벤트, worker·다른 인스턴스의 변경은 Kafka)로 갱신하며, 문서 revision이 이미 반영한 것보다
+ * 오래된 메시지는 무시한다. 메시지 유실에 대비해 {@code document.catalog.refresh-after} 이후에는 DB에서 다시 적재한다.
+ */
+@Component
+@Profile("api")
+public class MemberDocumentCatalog {
+
+    static final String CACHE_NAME = "documentCatalog";
+
+    private final DocumentRepository documentRepository;
+    private final Cache<Long, DocumentCatalog> catalogs;
+
+    public MemberDocumentCatalog(
+            DocumentRepository documentRepository,
+            MeterRegistry meterRegistry,
+            @Value("${document.catalog.maximum-size:10000}") long maximumSize,
+            @Value("${document.catalog.refresh-after:10m}") Duration refreshAfter
+    ) {
+        this.documentRepository = documentRepository;
+        this.catalogs = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(refreshAfter)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, catalogs, CACHE_NAME);
+    }
+
+    public DocumentCatalog get(Long memberId) {
+        return catalogs.get(memberId, this::load);
+    }
+
+    /**
+     * 적재되지 않은 회원은 무시한다. 적재 중이면 적재가 끝난 뒤 반영된다.
+     */
+    @EventListener
+    public void onDocumentStatusChanged(DocumentStatusChangedMessage message) {
+        catalogs.asMap().computeIfPresent(message.memberId(), (memberId, catalog) -> catalog.apply(message));
+    }
+
+    private DocumentCatalog load(Long memberId) {
+        List<Document> documents =
+                documentRepository.findByMemberIdAndStatusNotOrderByCreatedAtDesc(memberId, DocumentStatus.INITIATED);
+        return new DocumentCatalog(
+                documents.stream().map(DocumentResponse::from).toList(),
+                documents.stream().collect(Collectors.toMap(Document::getId, Document::getRevision))
+        );
+    }
+}
@@ -1,22 +1,30 @@
 package com.pkv.worker.consumer;
 
 import com.pkv.common.config.KafkaConstants;
+import com.pkv.common.service.ChunkTextStore;
 import com.pkv.common.service.EmbeddingRepository;
 import com.pkv.document.domain.Document;
+import com.pkv.document.domain.DocumentChunk;
 import com.pkv.document.domain.DocumentStatus;
+import com.pkv.document.dto.DocumentStatusChangedMessage;
 import com.pkv.document.dto.EmbeddingJobMessage;
 import com.pkv.document.repository.DocumentRepository;
+import com.pkv.document.service.DocumentEventPublisher;
 import com.pkv.worker.dto.ChunkedDocument;
 import com.pkv.worker.dto.ParsedDocument;
 import com.pkv.worker.service.DocumentParser;
+import com.pkv.worker.service.DocumentVectorService;
 import com.pkv.worker.service.EmbeddingService;
 import com.pkv.worker.service.TextChunker;
+import dev.langchain4j.data.embedding.Embedding;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 @Profile("worker")
@@ -27,7 +35,10 @@ public class EmbeddingPipelineConsumer {
     private final EmbeddingRepository embeddingRepository;
     private final DocumentParser documentParser;
     private final TextChunker textChunker;
+    private final ChunkTextStore chunkTextStore;
     private final EmbeddingService embeddingService;
+    private final DocumentVectorService documentVectorService;
+    private final DocumentEventPublisher documentEventPublisher;
 
     @KafkaListener(
             topics = KafkaConstants.EMBEDDING_JOB_TOPIC,
@@ -45,6 +56,7 @@ public class EmbeddingPipelineConsumer {
         if (document.getStatus() == DocumentStatus.UPLOADED) {
             document.startProcessing();
             documentRepository.save(document);
+            documentEventPublisher.publishStatusChanged(DocumentStatusChangedMessage.changed(document));
         } else if (document.getStatus() != DocumentStatus.PROCESSING) {
             log.info("이미 처리된 Document, 건너뜀: documentId={}, status={}", message.documentId(), document.getStatus());
             return;
@@ -54,6 +66,7 @@ public class EmbeddingPipelineConsumer {
 
         document.complete();
         documentRepository.save(document);
+        documentEventPublisher.publishStatusChanged(DocumentStatusChangedMessage.changed(document));
         log.info("임베딩 파이프라인 완료: documentId={}", message.documentId());
     }
 
@@ -68,6 +81,17 @@ public class EmbeddingPipelineConsumer {
                 message.originalFileName()
         );
 
-        embeddingService.embed(chunked);
+        // 검색에 보이기 전에 본문부터 저장해 두어야 api가 출처 본문을 읽을 수 있다.
+        chunkTextStore.saveAll(toDocumentChunks(chunked));
+        List<Embedding> embeddings = embeddingService.embed(chunked);
+        documentVectorService.save(chunked, embeddings);
+    }
+
+    private List<DocumentChunk> toDocumentChunks(ChunkedDocument chunked) {
+        return chunked.chunks().stream()
+                .filter(chunk -> chunk.sourceChunkRef() != null)
+                .map(chunk -> new DocumentChunk(chunk.sourceChunkRef(), chunk.documentId(), chunk.memberId(),
+                        chunk.pageNumber(), chunk.text()))
+                .toList();
     }
 }
@@ -1,7 +1,9 @@
 package com.pkv.worker.consumer;
 
+import com.pkv.document.dto.DocumentStatusChangedMessage;
 import com.pkv.document.dto.EmbeddingJobMessage;
 import com.pkv.document.repository.DocumentRepository;
+import com.pkv.document.service.DocumentEventPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Component;
 public class EmbeddingPipelineErrorHandler {
 
     private final DocumentRepository documentRepository;
+    private final DocumentEventPublisher documentEventPublisher;
 
     public void recoverFailedEmbedding(ConsumerRecord<?, ?> record, Exception exception) {
         EmbeddingJobMessage message = (EmbeddingJobMessage) record.value();
@@ -27,6 +30,7 @@ public class EmbeddingPipelineErrorHandler {
                 return;
             }
             documentRepository.save(document);
+            documentEventPublisher.publishStatusChanged(DocumentStatusChangedMessage.changed(document));
             log.info("Document 상태를 FAILED로 변경: documentId={}", message.documentId());
         });
     }
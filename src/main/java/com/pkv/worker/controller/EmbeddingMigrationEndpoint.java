@@ -0,0 +1,36 @@
+package com.pkv.worker.controller;
+
+import com.pkv.worker.dto.EmbeddingMigrationStatus;
+import com.pkv.worker.service.EmbeddingCollectionMigrator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * 임베딩 컬렉션 마이그레이션 상태 조회(GET /actuator/embeddingmigration)와
+ * 시작(POST /actuator/embeddingmigration {"dimension": 512, "cutover": true}).
+ */
+@Component
+@Profile("worker")
+@ConditionalOnProperty(prefix = "vector-store", name = "type", havingValue = "qdrant", matchIfMissing = true)
+@Endpoint(id = "embeddingmigration")
+@RequiredArgsConstructor
+public class EmbeddingMigrationEndpoint {
+
+    private final EmbeddingCollectionMigrator embeddingCollectionMigrator;
+
+    @ReadOperation
+    public EmbeddingMigrationStatus status() {
+        return embeddingCollectionMigrator.status();
+    }
+
+    @WriteOperation
+    public EmbeddingMigrationStatus migrate(int dimension, @Nullable Boolean cutover) {
+        return embeddingCollectionMigrator.start(dimension, Boolean.TRUE.equals(cutover));
+    }
+}
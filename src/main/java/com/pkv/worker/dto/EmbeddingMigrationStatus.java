@@ -0,0 +1,29 @@
+package com.pkv.worker.dto;
+
+import java.time.Instant;
+
+public record EmbeddingMigrationStatus(
+        State state,
+        String source,
+        String target,
+        int dimension,
+        boolean cutover,
+        long scanned,
+        long embedded,
+        long deleted,
+        Instant startedAt,
+        Instant finishedAt,
+        String error
+) {
+
+    public enum State {
+        IDLE,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public static EmbeddingMigrationStatus idle() {
+        return new EmbeddingMigrationStatus(State.IDLE, null, null, 0, false, 0, 0, 0, null, null, null);
+    }
+}
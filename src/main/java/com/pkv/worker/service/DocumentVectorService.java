@@ -0,0 +1,103 @@
+package com.pkv.worker.service;
+
+import com.pkv.document.domain.DocumentVector;
+import com.pkv.document.repository.DocumentVectorRepository;
+import com.pkv.worker.dto.ChunkedDocument;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 청크 임베딩이 끝난 문서의 문서 단위 벡터를 만들어 저장한다. api는 이 벡터로 질문과 가까운 문서를 먼저 고른 뒤
+ * 그 문서들 안에서만 청크를 검색한다.
+ * <ul>
+ *   <li>centroid: 정규화한 청크 벡터의 평균 (다시 정규화)</li>
+ *   <li>summary: 파일명과 문서 앞부분을 한 번 더 임베딩한 벡터</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@Profile("worker")
+public class DocumentVectorService {
+
+    private final EmbeddingModel embeddingModel;
+    private final DocumentVectorRepository documentVectorRepository;
+    private final int summaryMaxChars;
+
+    public DocumentVectorService(
+            EmbeddingModel embeddingModel,
+            DocumentVectorRepository documentVectorRepository,
+            @Value("${pkv.document-vector.summary-max-chars:2000}") int summaryMaxChars
+    ) {
+        this.embeddingModel = embeddingModel;
+        this.documentVectorRepository = documentVectorRepository;
+        this.summaryMaxChars = summaryMaxChars;
+    }
+
+    /**
+     * @param embeddings 청크 순서대로의 임베딩
+     */
+    public void save(ChunkedDocument chunkedDocument, List<Embedding> embeddings) {
+        List<ChunkedDocument.Chunk> chunks = chunkedDocument.chunks();
+        if (chunks.isEmpty() || embeddings.isEmpty()) {
+            return;
+        }
+
+        ChunkedDocument.Chunk first = chunks.getFirst();
+        float[] centroid = centroid(embeddings);
+        float[] summary = normalize(embeddingModel.embed(summaryText(chunks)).content().vector());
+        if (summary.length != centroid.length) {
+            // 청크 임베딩 이후 모델 차원이 바뀐 경우. 다음 임베딩 때 다시 만든다.
+            log.warn("문서 벡터 차원이 서로 달라 저장하지 않습니다. documentId={}, centroid={}, summary={}",
+                    first.documentId(), centroid.length, summary.length);
+            return;
+        }
+
+        documentVectorRepository.save(new DocumentVector(first.documentId(), first.memberId(), centroid, summary));
+        log.info("문서 벡터 저장 완료: documentId={}, chunks={}, dimension={}",
+                first.documentId(), chunks.size(), centroid.length);
+    }
+
+    String summaryText(List<ChunkedDocument.Chunk> chunks) {
+        StringBuilder text = new StringBuilder(chunks.getFirst().fileName()).append('\n');
+        for (ChunkedDocument.Chunk chunk : chunks) {
+            if (text.length() >= summaryMaxChars) {
+                break;
+            }
+            text.append(chunk.text()).append('\n');
+        }
+        return text.length() > summaryMaxChars ? text.substring(0, summaryMaxChars) : text.toString();
+    }
+
+    static float[] centroid(List<Embedding> embeddings) {
+        float[] sum = new float[embeddings.getFirst().dimension()];
+        for (Embedding embedding : embeddings) {
+            float[] vector = normalize(embedding.vector());
+            for (int i = 0; i < sum.length; i++) {
+                sum[i] += vector[i];
+            }
+        }
+        return normalize(sum);
+    }
+
+    static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        float[] normalized = new float[vector.length];
+        if (norm == 0) {
+            return normalized;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] * scale;
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,60 @@
+package com.pkv.worker.service;
+
+import com.pkv.common.config.QdrantPayloadKeys;
+import com.pkv.common.exception.ErrorCode;
+import com.pkv.common.exception.PkvException;
+import com.pkv.common.vector.EmbeddedEmbeddingStore;
+import com.pkv.worker.dto.ChunkedDocument;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 청크를 임베딩해 {@link EmbeddedEmbeddingStore}에 저장한다. metadata 키는 Qdrant payload와 같다.
+ */
+@Slf4j
+@Service
+@Profile("worker")
+@ConditionalOnProperty(prefix = "vector-store", name = "type", havingValue = "embedded")
+@RequiredArgsConstructor
+public class EmbeddedEmbeddingService implements EmbeddingService {
+
+    private final EmbeddingModel embeddingModel;
+    private final EmbeddedEmbeddingStore embeddingStore;
+
+    @Override
+    public List<Embedding> embed(ChunkedDocument chunkedDocument) {
+        List<TextSegment> segments = chunkedDocument.chunks().stream()
+                .map(chunk -> TextSegment.from(chunk.text(), toMetadata(chunk)))
+                .toList();
+
+        try {
+            List<Embedding> embeddings = embeddingModel.embedAll(segments).content();
+            embeddingStore.addAll(embeddings, segments);
+            log.info("임베딩 완료: {}개 청크 처리, store=embedded", segments.size());
+            return embeddings;
+        } catch (Exception e) {
+            throw new PkvException(ErrorCode.EMBEDDING_FAILED, e);
+        }
+    }
+
+    private Metadata toMetadata(ChunkedDocument.Chunk chunk) {
+        Metadata metadata = new Metadata()
+                .put(QdrantPayloadKeys.MEMBER_ID, chunk.memberId())
+                .put(QdrantPayloadKeys.DOCUMENT_ID, chunk.documentId())
+                .put(QdrantPayloadKeys.FILE_NAME, chunk.fileName())
+                .put(QdrantPayloadKeys.PAGE_NUMBER, chunk.pageNumber());
+        if (chunk.sourceChunkRef() != null) {
+            metadata.put(QdrantPayloadKeys.SOURCE_CHUNK_REF, chunk.sourceChunkRef());
+        }
+        return metadata;
+    }
+}
@@ -0,0 +1,339 @@
+package com.pkv.worker.service;
+
+import com.pkv.common.config.QdrantCollections;
+import com.pkv.common.config.QdrantPayloadKeys;
+import com.pkv.common.config.QdrantVectorDimension;
+import com.pkv.common.service.ChunkTextStore;
+import com.pkv.document.domain.DocumentChunk;
+import com.pkv.worker.dto.EmbeddingMigrationStatus;
+import com.pkv.worker.dto.EmbeddingMigrationStatus.State;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.openai.OpenAiEmbeddingModel;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.WithPayloadSelectorFactory;
+import io.qdrant.client.WithVectorsSelectorFactory;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.JsonWithInt;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import io.qdrant.client.grpc.Points.ScrollResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 기존 컬렉션의 청크를 다른 벡터 차원으로 다시 임베딩해 새 컬렉션({@code <alias>_d<dimension>})을 채운다.
+ * <p>
+ * 이전 컬렉션은 작업 중에도 alias로 검색/저장을 계속 처리한다. 새 컬렉션에 이미 있는 point는 건너뛰므로
+ * 중간에 실패해도 다시 실행하면 이어서 채운다. 한 번 채운 뒤 그 사이 추가/삭제된 청크를 한 번 더 맞추고,
+ * cutover이면 alias를 새 컬렉션으로 옮긴 다음 전환 직전에 이전 컬렉션에서 추가/삭제된 청크를 반영한다.
+ * <p>
+ * 본문을 payload에 두지 않은 point는 {@link ChunkTextStore}에서 sourceChunkRef로 본문을 읽어 다시 임베딩한다.
+ * <p>
+ * 전환 후 api/worker는 {@link QdrantVectorDimension}으로 벡터를 새 차원에 맞춰 줄이므로 재시작 없이 동작한다.
+ * 이후 {@code EMBEDDING_DIMENSION}을 새 차원으로 바꿔 재시작하면 임베딩 요청부터 작은 차원으로 받는다.
+ */
+@Slf4j
+@Service
+@Profile("worker")
+@ConditionalOnProperty(prefix = "vector-store", name = "type", havingValue = "qdrant", matchIfMissing = true)
+public class EmbeddingCollectionMigrator {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final QdrantClient qdrantClient;
+    private final QdrantCollections qdrantCollections;
+    private final QdrantVectorDimension qdrantVectorDimension;
+    private final QdrantEmbeddingService embeddingService;
+    private final ChunkTextStore chunkTextStore;
+    private final String collectionName;
+    private final String baseUrl;
+    private final String apiKey;
+    private final String modelName;
+
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong embedded = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private volatile EmbeddingMigrationStatus status = EmbeddingMigrationStatus.idle();
+
+    public EmbeddingCollectionMigrator(
+            QdrantClient qdrantClient,
+            QdrantCollections qdrantCollections,
+            QdrantVectorDimension qdrantVectorDimension,
+            QdrantEmbeddingService embeddingService,
+            ChunkTextStore chunkTextStore,
+            @Value("${qdrant.collection-name}") String collectionName,
+            @Value("${langchain4j.open-ai.embedding-model.base-url}") String baseUrl,
+            @Value("${langchain4j.open-ai.embedding-model.api-key}") String apiKey,
+            @Value("${langchain4j.open-ai.embedding-model.model-name}") String modelName
+    ) {
+        this.qdrantClient = qdrantClient;
+        this.qdrantCollections = qdrantCollections;
+        this.qdrantVectorDimension = qdrantVectorDimension;
+        this.embeddingService = embeddingService;
+        this.chunkTextStore = chunkTextStore;
+        this.collectionName = collectionName;
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.modelName = modelName;
+    }
+
+    public EmbeddingMigrationStatus status() {
+        EmbeddingMigrationStatus current = status;
+        if (current.state() != State.RUNNING) {
+            return current;
+        }
+        return new EmbeddingMigrationStatus(current.state(), current.source(), current.target(), current.dimension(),
+                current.cutover(), scanned.get(), embedded.get(), deleted.get(), current.startedAt(), null, null);
+    }
+
+    /**
+     * 백그라운드에서 마이그레이션을 시작한다. 이미 실행 중이면 현재 상태만 반환한다.
+     */
+    public synchronized EmbeddingMigrationStatus start(int dimension, boolean cutover) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("dimension은 양수여야 합니다.");
+        }
+        if (status.state() == State.RUNNING) {
+            log.warn("임베딩 컬렉션 마이그레이션이 이미 실행 중입니다: target={}", status.target());
+            return status();
+        }
+
+        String target = QdrantCollections.physicalName(collectionName, dimension);
+        scanned.set(0);
+        embedded.set(0);
+        deleted.set(0);
+        status = new EmbeddingMigrationStatus(
+                State.RUNNING, null, target, dimension, cutover, 0, 0, 0, Instant.now(), null, null);
+        Thread.ofVirtual().name("embedding-migration").start(() -> run(dimension, target, cutover));
+        return status();
+    }
+
+    private void run(int dimension, String target, boolean cutover) {
+        String source = null;
+        try {
+            source = qdrantCollections.resolve(collectionName);
+            status = withSource(source);
+            if (source.equals(target)) {
+                log.info("alias '{}'가 이미 '{}'을 가리킵니다.", collectionName, target);
+                finish(State.COMPLETED, null);
+                return;
+            }
+            if (!qdrantCollections.exists(target)) {
+                qdrantCollections.create(target, dimension);
+            }
+
+            EmbeddingModel embeddingModel = OpenAiEmbeddingModel.builder()
+                    .baseUrl(baseUrl)
+                    .apiKey(apiKey)
+                    .modelName(modelName)
+                    .dimensions(dimension)
+                    .maxSegmentsPerBatch(BATCH_SIZE)
+                    .build();
+
+            log.info("임베딩 컬렉션 마이그레이션 시작: {} -> {} (dimension={})", source, target, dimension);
+            sync(source, target, embeddingModel);
+            // 첫 동기화 동안 추가/삭제된 청크를 맞춘다. 두 번째는 새 청크만 임베딩하므로 짧다.
+            Set<PointId> sourceIds = sync(source, target, embeddingModel);
+
+            if (cutover) {
+                boolean legacy = source.equals(collectionName);
+                qdrantCollections.switchAlias(collectionName, target);
+                qdrantVectorDimension.refresh();
+                log.info("alias '{}'를 '{}'로 전환했습니다.", collectionName, target);
+                if (!legacy) {
+                    catchUp(source, target, embeddingModel, sourceIds);
+                }
+            }
+            finish(State.COMPLETED, null);
+            log.info("임베딩 컬렉션 마이그레이션 완료: {} -> {}, scanned={}, embedded={}, deleted={}",
+                    source, target, scanned.get(), embedded.get(), deleted.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(State.FAILED, "interrupted");
+        } catch (Exception e) {
+            log.error("임베딩 컬렉션 마이그레이션 실패: {} -> {}", source, target, e);
+            finish(State.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * source의 모든 청크가 target에 있도록 채우고, source에 없는 target point는 지운다.
+     *
+     * @return source의 point id
+     */
+    private Set<PointId> sync(String source, String target, EmbeddingModel embeddingModel)
+            throws ExecutionException, InterruptedException {
+        Set<PointId> sourceIds = new HashSet<>();
+        scroll(source, true, points -> {
+            points.forEach(point -> sourceIds.add(point.getId()));
+            copyMissing(points, target, embeddingModel);
+        });
+
+        List<PointId> stale = new ArrayList<>();
+        scroll(target, false, points -> points.stream()
+                .map(RetrievedPoint::getId)
+                .filter(id -> !sourceIds.contains(id))
+                .forEach(stale::add));
+        delete(target, stale);
+        return sourceIds;
+    }
+
+    /**
+     * 마지막 동기화와 alias 전환 사이의 변경을 target에 반영한다.
+     * <ul>
+     *   <li>그 사이 이전 컬렉션에 저장된 청크를 옮긴다. 전환 후 삭제된 청크가 되살아나지 않도록
+     *       동기화 때 본 point는 다시 옮기지 않는다.</li>
+     *   <li>동기화 때 봤지만 이전 컬렉션에서 사라진 point는 그 사이 삭제된 것이므로 target에서도 지운다.
+     *       전환 후 삭제는 alias로 target에 바로 반영되므로 이전 컬렉션에는 더 이상 변경이 없다.</li>
+     * </ul>
+     */
+    private void catchUp(String source, String target, EmbeddingModel embeddingModel, Set<PointId> knownIds)
+            throws ExecutionException, InterruptedException {
+        Set<PointId> sourceIds = new HashSet<>();
+        scroll(source, true, points -> {
+            points.forEach(point -> sourceIds.add(point.getId()));
+            copyMissing(
+                    points.stream().filter(point -> !knownIds.contains(point.getId())).toList(),
+                    target,
+                    embeddingModel
+            );
+        });
+
+        delete(target, knownIds.stream().filter(id -> !sourceIds.contains(id)).toList());
+    }
+
+    private void delete(String collection, List<PointId> ids) throws ExecutionException, InterruptedException {
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            qdrantClient.deleteAsync(collection, ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE))).get();
+        }
+        deleted.addAndGet(ids.size());
+    }
+
+    private void copyMissing(List<RetrievedPoint> points, String target, EmbeddingModel embeddingModel) {
+        scanned.addAndGet(points.size());
+        if (points.isEmpty()) {
+            return;
+        }
+
+        try {
+            Set<PointId> existing = new HashSet<>();
+            qdrantClient.retrieveAsync(
+                    target,
+                    points.stream().map(RetrievedPoint::getId).toList(),
+                    WithPayloadSelectorFactory.enable(false),
+                    WithVectorsSelectorFactory.enable(false),
+                    null
+            ).get().forEach(point -> existing.add(point.getId()));
+
+            List<RetrievedPoint> candidates = points.stream()
+                    .filter(point -> !existing.contains(point.getId()))
+                    .toList();
+            Map<String, DocumentChunk> storedChunks = chunkTextStore.findAll(candidates.stream()
+                    .filter(point -> !point.getPayloadMap().containsKey(QdrantPayloadKeys.TEXT))
+                    .map(EmbeddingCollectionMigrator::sourceChunkRef)
+                    .filter(Objects::nonNull)
+                    .toList());
+            List<RetrievedPoint> missing = new ArrayList<>(candidates.size());
+            List<String> texts = new ArrayList<>(candidates.size());
+            for (RetrievedPoint point : candidates) {
+                String text = text(point, storedChunks);
+                if (text != null) {
+                    missing.add(point);
+                    texts.add(text);
+                }
+            }
+            if (missing.isEmpty()) {
+                return;
+            }
+
+            List<TextSegment> segments = texts.stream()
+                    .map(TextSegment::from)
+                    .toList();
+            List<Embedding> embeddings = embeddingModel.embedAll(segments).content();
+            List<PointStruct> upserts = new ArrayList<>(missing.size());
+            for (int i = 0; i < missing.size(); i++) {
+                RetrievedPoint point = missing.get(i);
+                upserts.add(embeddingService.toPoint(
+                        point.getId(),
+                        point.getPayloadMap(),
+                        texts.get(i),
+                        embeddings.get(i).vectorAsList(),
+                        true
+                ));
+            }
+            qdrantClient.upsertAsync(target, upserts).get();
+            embedded.addAndGet(upserts.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("임베딩 컬렉션 마이그레이션이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Qdrant 요청 실패", e);
+        }
+    }
+
+    private void scroll(String collection, boolean withPayload, Consumer<List<RetrievedPoint>> consumer)
+            throws ExecutionException, InterruptedException {
+        PointId offset = null;
+        do {
+            ScrollPoints.Builder request = ScrollPoints.newBuilder()
+                    .setCollectionName(collection)
+                    .setLimit(BATCH_SIZE)
+                    .setWithPayload(WithPayloadSelectorFactory.enable(withPayload))
+                    .setWithVectors(WithVectorsSelectorFactory.enable(false));
+            if (offset != null) {
+                request.setOffset(offset);
+            }
+            ScrollResponse page = qdrantClient.scrollAsync(request.build()).get();
+            consumer.accept(page.getResultList());
+            offset = page.hasNextPageOffset() ? page.getNextPageOffset() : null;
+        } while (offset != null);
+    }
+
+    /**
+     * payload의 본문, 없으면 청크 저장소의 본문. 둘 다 없으면 옮길 수 없어 null
+     */
+    private static String text(RetrievedPoint point, Map<String, DocumentChunk> storedChunks) {
+        JsonWithInt.Value text = point.getPayloadMap().get(QdrantPayloadKeys.TEXT);
+        if (text != null) {
+            return text.getStringValue();
+        }
+        String sourceChunkRef = sourceChunkRef(point);
+        DocumentChunk stored = sourceChunkRef != null ? storedChunks.get(sourceChunkRef) : null;
+        return stored != null ? stored.text() : null;
+    }
+
+    private static String sourceChunkRef(RetrievedPoint point) {
+        JsonWithInt.Value sourceChunkRef = point.getPayloadMap().get(QdrantPayloadKeys.SOURCE_CHUNK_REF);
+        return sourceChunkRef != null ? sourceChunkRef.getStringValue() : null;
+    }
+
+    private EmbeddingMigrationStatus withSource(String source) {
+        EmbeddingMigrationStatus current = status;
+        return new EmbeddingMigrationStatus(current.state(), source, current.target(), current.dimension(),
+                current.cutover(), 0, 0, 0, current.startedAt(), null, null);
+    }
+
+    private void finish(State state, String error) {
+        EmbeddingMigrationStatus current = status;
+        status = new EmbeddingMigrationStatus(state, current.source(), current.target(), current.dimension(),
+                current.cutover(), scanned.get(), embedded.get(), deleted.get(), current.startedAt(), Instant.now(),
+                error);
+    }
+}
@@ -1,52 +1,17 @@
 package com.pkv.worker.service;
 
-import com.pkv.common.exception.ErrorCode;
-import com.pkv.common.exception.PkvException;
 import com.pkv.worker.dto.ChunkedDocument;
-import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
-import dev.langchain4j.data.segment.TextSegment;
-import dev.langchain4j.model.embedding.EmbeddingModel;
-import dev.langchain4j.model.output.Response;
-import dev.langchain4j.store.embedding.EmbeddingStore;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.annotation.Profile;
-import org.springframework.stereotype.Service;
 
 import java.util.List;
 
-@Slf4j
-@Service
-@Profile("worker")
-@RequiredArgsConstructor
-public class EmbeddingService {
+/**
+ * 청크를 임베딩해 벡터 저장소에 저장한다. 구현은 {@code vector-store.type}(qdrant, embedded)으로 정한다.
+ */
+public interface EmbeddingService {
 
-    private final EmbeddingModel embeddingModel;
-    private final EmbeddingStore<TextSegment> embeddingStore;
-
-    public void embed(ChunkedDocument chunkedDocument) {
-        List<TextSegment> segments = chunkedDocument.chunks().stream()
-                .map(this::toTextSegment)
-                .toList();
-
-        try {
-            Response<List<Embedding>> response = embeddingModel.embedAll(segments);
-            List<Embedding> embeddings = response.content();
-            embeddingStore.addAll(embeddings, segments);
-            log.info("임베딩 완료: {}개 청크 처리", segments.size());
-        } catch (Exception e) {
-            throw new PkvException(ErrorCode.EMBEDDING_FAILED, e);
-        }
-    }
-
-    private TextSegment toTextSegment(ChunkedDocument.Chunk chunk) {
-        Metadata metadata = new Metadata()
-                .put("memberId", chunk.memberId())
-                .put("sourceChunkRef", chunk.sourceChunkRef())
-                .put("documentId", chunk.documentId())
-                .put("fileName", chunk.fileName())
-                .put("pageNumber", chunk.pageNumber());
-        return TextSegment.from(chunk.text(), metadata);
-    }
+    /**
+     * @return 청크 순서대로의 임베딩. 문서 단위 벡터를 만들 때 다시 임베딩하지 않도록 돌려준다.
+     */
+    List<Embedding> embed(ChunkedDocument chunkedDocument);
 }
@@ -0,0 +1,153 @@
+package com.pkv.worker.service;
+
+import com.pkv.common.config.QdrantCollectionFeatures;
+import com.pkv.common.config.QdrantPayloadKeys;
+import com.pkv.common.config.QdrantVectorDimension;
+import com.pkv.common.exception.ErrorCode;
+import com.pkv.common.exception.PkvException;
+import com.pkv.common.search.SparseVectorEncoder;
+import com.pkv.common.search.SparseVectorEncoder.SparseVector;
+import com.pkv.worker.dto.ChunkedDocument;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.JsonWithInt;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.Vector;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.ValueFactory.value;
+import static io.qdrant.client.VectorFactory.vector;
+import static io.qdrant.client.VectorsFactory.namedVectors;
+import static io.qdrant.client.VectorsFactory.vectors;
+
+/**
+ * 청크를 임베딩해 Qdrant에 저장한다. 컬렉션이 지원하면 BM25 희소 벡터를 밀집 벡터와 같은 point에 함께 저장한다.
+ * payload 형식은 LangChain4j {@code QdrantEmbeddingStore}와 같아 삭제(metadata filter)와 검색 쪽은 그대로 동작한다.
+ * <p>
+ * 본문은 {@code ChunkTextStore}(MySQL)에 따로 저장하므로 payload에는 id와 필터 키(memberId, documentId, sourceChunkRef)만 둔다.
+ * {@code qdrant.payload-text}이면 이전 형식처럼 본문, 본문 앞부분({@link QdrantPayloadKeys#SNIPPET}), 파일명, 페이지도 함께 저장한다.
+ */
+@Slf4j
+@Service
+@Profile("worker")
+@ConditionalOnProperty(prefix = "vector-store", name = "type", havingValue = "qdrant", matchIfMissing = true)
+public class QdrantEmbeddingService implements EmbeddingService {
+
+    private static final String DENSE_VECTOR_NAME = "";
+
+    private final EmbeddingModel embeddingModel;
+    private final QdrantClient qdrantClient;
+    private final SparseVectorEncoder sparseVectorEncoder;
+    private final QdrantCollectionFeatures qdrantCollectionFeatures;
+    private final QdrantVectorDimension qdrantVectorDimension;
+    private final String collectionName;
+    private final boolean payloadText;
+
+    public QdrantEmbeddingService(
+            EmbeddingModel embeddingModel,
+            QdrantClient qdrantClient,
+            SparseVectorEncoder sparseVectorEncoder,
+            QdrantCollectionFeatures qdrantCollectionFeatures,
+            QdrantVectorDimension qdrantVectorDimension,
+            @Value("${qdrant.collection-name}") String collectionName,
+            @Value("${qdrant.payload-text:false}") boolean payloadText
+    ) {
+        this.embeddingModel = embeddingModel;
+        this.qdrantClient = qdrantClient;
+        this.sparseVectorEncoder = sparseVectorEncoder;
+        this.qdrantCollectionFeatures = qdrantCollectionFeatures;
+        this.qdrantVectorDimension = qdrantVectorDimension;
+        this.collectionName = collectionName;
+        this.payloadText = payloadText;
+    }
+
+    @Override
+    public List<Embedding> embed(ChunkedDocument chunkedDocument) {
+        List<ChunkedDocument.Chunk> chunks = chunkedDocument.chunks();
+        List<TextSegment> segments = chunks.stream()
+                .map(chunk -> TextSegment.from(chunk.text()))
+                .toList();
+
+        try {
+            Response<List<Embedding>> response = embeddingModel.embedAll(segments);
+            List<Embedding> embeddings = response.content();
+
+            List<PointStruct> points = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                ChunkedDocument.Chunk chunk = chunks.get(i);
+                points.add(toPoint(id(UUID.randomUUID()), toPayload(chunk), chunk.text(),
+                        qdrantVectorDimension.fit(embeddings.get(i).vector()), qdrantCollectionFeatures.sparseVectors()));
+            }
+            qdrantClient.upsertAsync(collectionName, points).get();
+            log.info("임베딩 완료: {}개 청크 처리, sparse={}, dimension={}",
+                    chunks.size(), qdrantCollectionFeatures.sparseVectors(), qdrantVectorDimension.get());
+            return embeddings;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PkvException(ErrorCode.EMBEDDING_FAILED, e);
+        } catch (Exception e) {
+            // alias가 다른 차원의 컬렉션으로 옮겨졌으면 차원을 다시 확인해 두고, 재시도 때 맞춘 벡터로 저장한다.
+            if (QdrantVectorDimension.isRejected(e)) {
+                qdrantVectorDimension.refresh();
+            }
+            throw new PkvException(ErrorCode.EMBEDDING_FAILED, e);
+        }
+    }
+
+    /**
+     * payload와 밀집 벡터로 point를 만든다. sparseVectors이면 본문의 BM25 희소 벡터도 함께 넣는다.
+     */
+    PointStruct toPoint(
+            PointId pointId,
+            Map<String, JsonWithInt.Value> payload,
+            String text,
+            List<Float> denseVector,
+            boolean sparseVectors
+    ) {
+        Vector dense = vector(denseVector);
+        PointStruct.Builder point = PointStruct.newBuilder()
+                .setId(pointId)
+                .putAllPayload(payload);
+
+        SparseVector sparse = sparseVectors ? sparseVectorEncoder.encodeDocument(text) : null;
+        if (sparse == null || sparse.isEmpty()) {
+            return point.setVectors(vectors(dense)).build();
+        }
+        return point.setVectors(namedVectors(Map.of(
+                DENSE_VECTOR_NAME, dense,
+                SparseVectorEncoder.VECTOR_NAME, vector(sparse.values(), sparse.indices())
+        ))).build();
+    }
+
+    private Map<String, JsonWithInt.Value> toPayload(ChunkedDocument.Chunk chunk) {
+        Map<String, JsonWithInt.Value> payload = new HashMap<>();
+        payload.put(QdrantPayloadKeys.MEMBER_ID, value(chunk.memberId()));
+        payload.put(QdrantPayloadKeys.DOCUMENT_ID, value(chunk.documentId()));
+        if (chunk.sourceChunkRef() != null) {
+            payload.put(QdrantPayloadKeys.SOURCE_CHUNK_REF, value(chunk.sourceChunkRef()));
+        }
+        // sourceChunkRef가 없으면 청크 저장소에서 본문을 찾을 수 없으므로 payload에 둔다.
+        if (payloadText || chunk.sourceChunkRef() == null) {
+            payload.put(QdrantPayloadKeys.TEXT, value(chunk.text()));
+            payload.put(QdrantPayloadKeys.SNIPPET, value(QdrantPayloadKeys.snippet(chunk.text())));
+            payload.put(QdrantPayloadKeys.FILE_NAME, value(chunk.fileName()));
+            payload.put(QdrantPayloadKeys.PAGE_NUMBER, value(chunk.pageNumber()));
+        }
+        return payload;
+    }
+}
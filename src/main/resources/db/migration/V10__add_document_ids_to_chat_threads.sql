@@ -0,0 +1,2 @@
+ALTER TABLE chat_threads
+ADD COLUMN document_ids VARCHAR(1024) NULL AFTER summarized_turn_id;
@@ -0,0 +1,19 @@
+-- 청크 본문 저장소. Qdrant payload에는 id와 필터 키만 두고 본문은 여기서 sourceChunkRef로 조회한다.
+-- text는 UTF-8 본문을 zlib(deflate)으로 압축한 값이다.
+CREATE TABLE document_chunks (
+    source_chunk_ref VARCHAR(64) NOT NULL,
+
+    document_id BIGINT NOT NULL,
+
+    member_id BIGINT NOT NULL,
+
+    page_number INT NOT NULL,
+
+    text BLOB NOT NULL,
+
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+
+    PRIMARY KEY (source_chunk_ref),
+    INDEX idx_document_chunks_document (document_id)
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
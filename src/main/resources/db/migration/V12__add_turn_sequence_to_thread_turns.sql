@@ -0,0 +1,34 @@
+-- 요약 반영 위치를 턴 id 대신 스레드별 턴 순번으로 관리한다.
+-- 턴 id는 인스턴스마다 따로 발급하므로 커밋 순서와 어긋날 수 있지만, 순번은 스레드 행 잠금 안에서 발급해 커밋 순서를 따른다.
+ALTER TABLE thread_turns
+ADD COLUMN turn_sequence INT NULL AFTER thread_id;
+
+UPDATE thread_turns tt
+JOIN (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY thread_id ORDER BY created_at, id) AS seq
+    FROM thread_turns
+) ordered ON ordered.id = tt.id
+SET tt.turn_sequence = ordered.seq;
+
+ALTER TABLE thread_turns
+MODIFY turn_sequence INT NOT NULL,
+ADD UNIQUE INDEX uk_thread_turns_thread_sequence (thread_id, turn_sequence);
+
+ALTER TABLE chat_threads
+ADD COLUMN last_turn_sequence INT NOT NULL DEFAULT 0 AFTER turn_count,
+ADD COLUMN summarized_turn_sequence INT NULL AFTER summary;
+
+UPDATE chat_threads ct
+JOIN (
+    SELECT thread_id, MAX(turn_sequence) AS last_sequence
+    FROM thread_turns
+    GROUP BY thread_id
+) turns ON turns.thread_id = ct.id
+SET ct.last_turn_sequence = turns.last_sequence;
+
+UPDATE chat_threads ct
+JOIN thread_turns tt ON tt.id = ct.summarized_turn_id
+SET ct.summarized_turn_sequence = tt.turn_sequence;
+
+ALTER TABLE chat_threads
+DROP COLUMN summarized_turn_id;
@@ -0,0 +1,2 @@
+ALTER TABLE documents
+ADD COLUMN revision BIGINT NOT NULL DEFAULT 0 AFTER updated_at;
@@ -0,0 +1,3 @@
+ALTER TABLE chat_threads
+ADD COLUMN summary TEXT NULL AFTER turn_count,
+ADD COLUMN summarized_turn_id BIGINT NULL AFTER summary;
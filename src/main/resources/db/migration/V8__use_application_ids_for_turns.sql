@@ -0,0 +1,7 @@
+-- 턴/출처 id는 애플리케이션에서 시간순으로 발급한다(TimeOrderedIdGenerator).
+-- 발급 값은 기존 AUTO_INCREMENT 값보다 항상 크므로 기존 id와 id 순서 조회는 그대로 유효하다.
+ALTER TABLE thread_turns
+MODIFY id BIGINT NOT NULL;
+
+ALTER TABLE turn_citations
+MODIFY id BIGINT NOT NULL;
@@ -0,0 +1,17 @@
+CREATE TABLE document_vectors (
+    document_id BIGINT NOT NULL,
+
+    member_id BIGINT NOT NULL,
+
+    dimension INT NOT NULL,
+
+    centroid VARBINARY(16384) NOT NULL,
+
+    summary VARBINARY(16384) NOT NULL,
+
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+
+    PRIMARY KEY (document_id),
+    INDEX idx_document_vectors_member (member_id)
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -1,12 +1,15 @@
 package com.pkv.auth.config;
 
+import com.pkv.auth.jwt.JwtTokenProvider;
 import com.pkv.support.IntegrationTestSupport;
+import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
@@ -15,9 +18,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 class SecurityConfigIntegrationTest extends IntegrationTestSupport {
 
+    private static final Long ADMIN_MEMBER_ID = 9999L;
+
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
     @Test
     @DisplayName("CORS preflight 요청이 정상적으로 처리된다")
     void corsPreflightRequest_isHandledCorrectly() throws Exception {
@@ -45,4 +53,31 @@ class SecurityConfigIntegrationTest extends IntegrationTestSupport {
         mockMvc.perform(get("/actuator/health"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    @DisplayName("actuator 쓰기 작업(HyDE 캐시 flush)은 인증이 필요하다")
+    void actuatorWriteOperations_requireAuth() throws Exception {
+        mockMvc.perform(delete("/actuator/hydecache"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("관리자가 아닌 회원의 actuator 쓰기 작업은 거부된다")
+    void actuatorWriteOperations_byMember_areForbidden() throws Exception {
+        String accessToken = jwtTokenProvider.createAccessToken(1L, "member@example.com");
+
+        mockMvc.perform(delete("/actuator/hydecache")
+                        .cookie(new Cookie("access_token", accessToken)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("관리자는 actuator 쓰기 작업을 할 수 있다")
+    void actuatorWriteOperations_byAdmin_areAllowed() throws Exception {
+        String accessToken = jwtTokenProvider.createAccessToken(ADMIN_MEMBER_ID, "admin@example.com");
+
+        mockMvc.perform(delete("/actuator/hydecache")
+                        .cookie(new Cookie("access_token", accessToken)))
+                .andExpect(status().isNoContent());
+    }
 }
@@ -5,7 +5,10 @@ import com.pkv.chat.dto.CitationResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class ThreadDomainTest {
 
@@ -23,6 +26,18 @@ class ThreadDomainTest {
         assertThat(thread.getTitle()).endsWith("...");
     }
 
+    @Test
+    @DisplayName("ChatThread는 질문 범위 문서 id를 중복 없이 정렬해 저장하고, 범위가 없으면 빈 목록을 반환한다")
+    void threadDocumentScope() {
+        ChatThread scoped = ChatThread.create(1L, "thread-1", "질문", ThreadPolicy.MAX_THREAD_TITLE_LENGTH,
+                List.of(30L, 10L, 30L));
+        ChatThread unscoped = ChatThread.create(1L, "thread-2", "질문", ThreadPolicy.MAX_THREAD_TITLE_LENGTH);
+
+        assertThat(scoped.getDocumentIds()).containsExactly(10L, 30L);
+        assertThat(unscoped.getDocumentIds()).isEmpty();
+        assertThat(ChatThread.joinDocumentIds(List.of())).isNull();
+    }
+
     @Test
     @DisplayName("ChatThread 턴 카운트 증감과 한도 검증")
     void threadTurnCountBehavior() {
@@ -50,7 +65,7 @@ class ThreadDomainTest {
                 .title("title")
                 .build();
 
-        ThreadTurn turn = ThreadTurn.create(1L, thread, " 질문 ", ChatResponseStatus.COMPLETED, "답변");
+        ThreadTurn turn = ThreadTurn.create(1L, thread, 1, " 질문 ", ChatResponseStatus.COMPLETED, "답변");
         String longSnippet = "a".repeat(TurnCitation.MAX_SNIPPET_LENGTH + 50);
         CitationResponse citation = new CitationResponse(10L, "doc.pdf", 3, longSnippet);
 
@@ -62,4 +77,24 @@ class ThreadDomainTest {
         assertThat(turnCitation.getSnippet()).hasSize(TurnCitation.MAX_SNIPPET_LENGTH);
         assertThat(turnCitation.getSourceChunkRef()).isEqualTo(sourceChunkRef);
     }
+
+    @Test
+    @DisplayName("PENDING 턴만 결과를 기록할 수 있다")
+    void pendingTurnCanBeCompletedOnce() {
+        ChatThread thread = ChatThread.builder()
+                .memberId(1L)
+                .threadKey("thread-1")
+                .title("title")
+                .build();
+
+        ThreadTurn turn = ThreadTurn.pending(1L, thread, 1, "질문");
+        assertThat(turn.isPending()).isTrue();
+
+        turn.complete(ChatResponseStatus.COMPLETED, "답변");
+
+        assertThat(turn.getStatus()).isEqualTo(ChatResponseStatus.COMPLETED);
+        assertThat(turn.getAnswer()).isEqualTo("답변");
+        assertThatThrownBy(() -> turn.complete(ChatResponseStatus.FAILED, "실패"))
+                .isInstanceOf(IllegalStateException.class);
+    }
 }
@@ -0,0 +1,36 @@
+package com.pkv.chat.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThreadTurnResponseJsonTest {
+
+    // 2^53보다 큰 값. JavaScript number로 받으면 반올림된다.
+    private static final long TURN_ID = 371_234_567_890_123_457L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    @DisplayName("turnId는 JavaScript에서 정밀도를 잃지 않도록 문자열로 직렬화한다")
+    void turnIdIsSerializedAsString() throws Exception {
+        JsonNode created = objectMapper.valueToTree(
+                new ThreadTurnCreateResponse("thread-key", TURN_ID, "답변", "COMPLETED", List.of()));
+        JsonNode accepted = objectMapper.valueToTree(
+                new ThreadTurnAcceptedResponse("thread-key", TURN_ID, "PENDING"));
+        JsonNode listed = objectMapper.valueToTree(new ThreadTurnListResponse(List.of(
+                new ThreadTurnListResponse.TurnSummary(TURN_ID, "질문", "COMPLETED", Instant.now()))));
+
+        assertThat(created.get("turnId").isTextual()).isTrue();
+        assertThat(created.get("turnId").asText()).isEqualTo(String.valueOf(TURN_ID));
+        assertThat(accepted.get("turnId").asText()).isEqualTo(String.valueOf(TURN_ID));
+        assertThat(listed.get("turns").get(0).get("turnId").asText()).isEqualTo(String.valueOf(TURN_ID));
+    }
+}
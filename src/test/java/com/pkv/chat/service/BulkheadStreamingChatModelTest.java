@@ -0,0 +1,77 @@
+package com.pkv.chat.service;
+
+import com.pkv.common.concurrent.Bulkhead;
+import com.pkv.common.exception.PkvException;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadStreamingChatModelTest {
+
+    private static final ChatRequest REQUEST = ChatRequest.builder()
+            .messages(UserMessage.from("질문"))
+            .build();
+
+    @Mock
+    private StreamingChatModel delegate;
+
+    @Mock
+    private StreamingChatResponseHandler handler;
+
+    private Bulkhead bulkhead;
+    private BulkheadStreamingChatModel model;
+
+    @BeforeEach
+    void setUp() {
+        bulkhead = new Bulkhead("chat-model", 1, Duration.ofMillis(10), new SimpleMeterRegistry());
+        model = new BulkheadStreamingChatModel(delegate, bulkhead);
+    }
+
+    @Test
+    @DisplayName("스트리밍이 끝날 때까지 permit을 유지하고 완료 콜백에서 반납한다")
+    void holdsPermitUntilStreamCompletes() {
+        model.chat(REQUEST, handler);
+        StreamingChatResponseHandler wrapped = capturedHandler();
+
+        assertThatThrownBy(() -> model.chat(REQUEST, handler)).isInstanceOf(PkvException.class);
+
+        ChatResponse response = ChatResponse.builder().aiMessage(AiMessage.from("답변")).build();
+        wrapped.onCompleteResponse(response);
+        wrapped.onError(new IllegalStateException("late error"));
+
+        then(handler).should().onCompleteResponse(response);
+        assertThatCode(() -> {
+            bulkhead.acquire();
+            bulkhead.release();
+        }).doesNotThrowAnyException();
+        assertThatThrownBy(() -> {
+            bulkhead.acquire();
+            bulkhead.acquire();
+        }).isInstanceOf(PkvException.class);
+    }
+
+    private StreamingChatResponseHandler capturedHandler() {
+        ArgumentCaptor<StreamingChatResponseHandler> captor = ArgumentCaptor.forClass(StreamingChatResponseHandler.class);
+        then(delegate).should().chat(any(ChatRequest.class), captor.capture());
+        return captor.getValue();
+    }
+}
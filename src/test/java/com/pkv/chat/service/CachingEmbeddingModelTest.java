@@ -0,0 +1,120 @@
+package com.pkv.chat.service;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class CachingEmbeddingModelTest {
+
+    private static final String MODEL_NAME = "text-embedding-3-small";
+
+    @Mock
+    private EmbeddingModel delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("공백만 다른 같은 텍스트는 캐시에서 반환하고 upstream을 다시 호출하지 않는다")
+    void embedAllReturnsCachedEmbeddingForNormalizedText() {
+        CachingEmbeddingModel model = new CachingEmbeddingModel(delegate, MODEL_NAME, 100, null, meterRegistry);
+        given(delegate.embedAll(anyList()))
+                .willReturn(Response.from(List.of(Embedding.from(new float[]{0.1f, 0.2f}))));
+
+        Embedding first = model.embed("팩토리 패턴이 뭐야?").content();
+        Embedding second = model.embed("  팩토리   패턴이\n뭐야? ").content();
+
+        assertThat(second).isEqualTo(first);
+        then(delegate).should(times(1)).embedAll(anyList());
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("한 요청의 miss는 한 번의 upstream 호출로 묶고 hit은 요청 순서대로 채운다")
+    void embedAllBatchesMissesIntoSingleUpstreamCall() {
+        CachingEmbeddingModel model = new CachingEmbeddingModel(delegate, MODEL_NAME, 100, null, meterRegistry);
+        given(delegate.embedAll(List.of(TextSegment.from("a"))))
+                .willReturn(Response.from(List.of(Embedding.from(new float[]{1f}))));
+        given(delegate.embedAll(List.of(TextSegment.from("b"), TextSegment.from("c"))))
+                .willReturn(Response.from(List.of(Embedding.from(new float[]{2f}), Embedding.from(new float[]{3f}))));
+        model.embed("a");
+
+        List<Embedding> embeddings = model.embedAll(List.of(
+                TextSegment.from("b"), TextSegment.from("a"), TextSegment.from("c"))).content();
+
+        assertThat(embeddings).extracting(embedding -> embedding.vector()[0]).containsExactly(2f, 1f, 3f);
+        then(delegate).should(times(2)).embedAll(anyList());
+    }
+
+    @Test
+    @DisplayName("같은 텍스트의 동시 miss는 upstream 호출 하나로 합쳐진다")
+    void concurrentMissesAreCoalesced() throws Exception {
+        CachingEmbeddingModel model = new CachingEmbeddingModel(delegate, MODEL_NAME, 100, null, meterRegistry);
+        CountDownLatch upstreamStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            upstreamStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Response.from(List.of(Embedding.from(new float[]{0.5f})));
+        }).given(delegate).embedAll(anyList());
+
+        CompletableFuture<Embedding> first = CompletableFuture.supplyAsync(() -> model.embed("질문").content());
+        assertThat(upstreamStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Embedding> second = CompletableFuture.supplyAsync(() -> model.embed("질문").content());
+        release.countDown();
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+        then(delegate).should(times(1)).embedAll(anyList());
+    }
+
+    @Test
+    @DisplayName("디스크 계층에 남은 임베딩은 재시작 후에도 upstream 호출 없이 반환한다")
+    void diskTierSurvivesRestart(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("query-embedding-cache.bin");
+        given(delegate.embedAll(anyList()))
+                .willReturn(Response.from(List.of(Embedding.from(new float[]{0.1f, 0.2f, 0.3f}))));
+
+        try (DiskEmbeddingCache disk = new DiskEmbeddingCache(file, 3, 16)) {
+            new CachingEmbeddingModel(delegate, MODEL_NAME, 100, disk, meterRegistry).embed("질문");
+        }
+
+        EmbeddingModel restartedDelegate = mock(EmbeddingModel.class);
+        try (DiskEmbeddingCache disk = new DiskEmbeddingCache(file, 3, 16)) {
+            CachingEmbeddingModel restarted = new CachingEmbeddingModel(
+                    restartedDelegate, MODEL_NAME, 100, disk, new SimpleMeterRegistry());
+
+            assertThat(restarted.embed("질문").content().vector()).containsExactly(0.1f, 0.2f, 0.3f);
+        }
+        then(restartedDelegate).should(never()).embedAll(anyList());
+    }
+}
@@ -0,0 +1,51 @@
+package com.pkv.chat.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiskEmbeddingCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("저장한 벡터를 키로 다시 조회한다")
+    void getReturnsStoredVector() throws Exception {
+        try (DiskEmbeddingCache cache = new DiskEmbeddingCache(tempDir.resolve("cache.bin"), 2, 8)) {
+            cache.put("a", new float[]{1f, 2f});
+
+            assertThat(cache.get("a")).containsExactly(1f, 2f);
+            assertThat(cache.get("b")).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("차원이나 슬롯 수가 바뀌면 기존 파일을 초기화한다")
+    void reopenWithDifferentLayoutResetsFile() throws Exception {
+        Path file = tempDir.resolve("cache.bin");
+        try (DiskEmbeddingCache cache = new DiskEmbeddingCache(file, 2, 8)) {
+            cache.put("a", new float[]{1f, 2f});
+        }
+
+        try (DiskEmbeddingCache cache = new DiskEmbeddingCache(file, 3, 8)) {
+            assertThat(cache.get("a")).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("탐색 범위가 모두 차면 기존 항목을 덮어쓰고 eviction으로 알린다")
+    void putEvictsWhenProbeRangeIsFull() throws Exception {
+        try (DiskEmbeddingCache cache = new DiskEmbeddingCache(tempDir.resolve("cache.bin"), 1, 1)) {
+            assertThat(cache.put("a", new float[]{1f})).isFalse();
+            assertThat(cache.put("b", new float[]{2f})).isTrue();
+
+            assertThat(cache.get("a")).isNull();
+            assertThat(cache.get("b")).containsExactly(2f);
+        }
+    }
+}
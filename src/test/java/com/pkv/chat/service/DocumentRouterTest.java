@@ -0,0 +1,101 @@
+package com.pkv.chat.service;
+
+import com.pkv.document.domain.DocumentStatus;
+import com.pkv.document.domain.DocumentVector;
+import com.pkv.document.dto.DocumentResponse;
+import com.pkv.document.repository.DocumentVectorRepository;
+import com.pkv.document.service.DocumentCatalog;
+import com.pkv.document.service.MemberDocumentCatalog;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentRouterTest {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final String PROMPT = "팩토리 패턴이 뭐야?";
+
+    @Mock
+    private EmbeddingModel embeddingModel;
+
+    @Mock
+    private DocumentVectorRepository documentVectorRepository;
+
+    @Mock
+    private MemberDocumentCatalog memberDocumentCatalog;
+
+    private DocumentRouter documentRouter;
+
+    @BeforeEach
+    void setUp() {
+        documentRouter = new DocumentRouter(embeddingModel, documentVectorRepository, memberDocumentCatalog,
+                new SimpleMeterRegistry(), true, 2, 100, Duration.ofMinutes(30));
+    }
+
+    @Test
+    @DisplayName("완료 문서가 top-documents 이하이면 범위를 정하지 않고 임베딩도 하지 않는다")
+    void routeSkipsWhenFewDocuments() {
+        givenCompleted(10L, 20L);
+
+        assertThat(documentRouter.route(MEMBER_ID, PROMPT, List.of())).isEmpty();
+        then(embeddingModel).should(never()).embed(anyString());
+        then(documentVectorRepository).should(never()).findByMemberId(anyLong());
+    }
+
+    @Test
+    @DisplayName("centroid/summary 중 더 가까운 점수로 상위 문서를 고르고, 문서 벡터가 없는 문서는 항상 포함한다")
+    void routePicksTopDocumentsAndKeepsDocumentsWithoutVectors() {
+        givenCompleted(10L, 20L, 30L, 40L);
+        given(documentVectorRepository.findByMemberId(MEMBER_ID)).willReturn(List.of(
+                new DocumentVector(10L, MEMBER_ID, new float[]{1f, 0f}, new float[]{0f, 1f}),
+                new DocumentVector(20L, MEMBER_ID, new float[]{-1f, 0f}, new float[]{-1f, 0f}),
+                new DocumentVector(30L, MEMBER_ID, new float[]{0f, -1f}, new float[]{0.6f, 0.8f})
+        ));
+        given(embeddingModel.embed(PROMPT)).willReturn(Response.from(Embedding.from(new float[]{0f, 1f})));
+
+        assertThat(documentRouter.route(MEMBER_ID, PROMPT, List.of())).hasValueSatisfying(routed ->
+                assertThat(routed).containsExactlyInAnyOrder(10L, 30L, 40L));
+    }
+
+    @Test
+    @DisplayName("질문 범위가 있으면 범위 안의 문서 중에서만 고른다")
+    void routePicksWithinScope() {
+        givenCompleted(10L, 20L, 30L, 40L);
+        given(documentVectorRepository.findByMemberId(MEMBER_ID)).willReturn(List.of(
+                new DocumentVector(10L, MEMBER_ID, new float[]{0f, 1f}, new float[]{0f, 1f}),
+                new DocumentVector(20L, MEMBER_ID, new float[]{1f, 0f}, new float[]{1f, 0f}),
+                new DocumentVector(30L, MEMBER_ID, new float[]{0.6f, 0.8f}, new float[]{0.6f, 0.8f})
+        ));
+        given(embeddingModel.embed(PROMPT)).willReturn(Response.from(Embedding.from(new float[]{0f, 1f})));
+
+        assertThat(documentRouter.route(MEMBER_ID, PROMPT, List.of(10L, 20L, 30L))).hasValueSatisfying(routed ->
+                assertThat(routed).containsExactlyInAnyOrder(10L, 30L));
+    }
+
+    private void givenCompleted(Long... documentIds) {
+        List<DocumentResponse> documents = Arrays.stream(documentIds)
+                .map(id -> new DocumentResponse(id, id + ".pdf", 100L, "pdf", DocumentStatus.COMPLETED, Instant.now()))
+                .toList();
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(new DocumentCatalog(documents));
+    }
+}
@@ -2,6 +2,7 @@ package com.pkv.chat.service;
 
 import com.pkv.chat.dto.HydeResult;
 import dev.langchain4j.model.chat.ChatModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,10 +13,13 @@ import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ResourceLoader;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
 
 @ExtendWith(MockitoExtension.class)
 class HydeQueryTransformerTest {
@@ -29,13 +33,15 @@ class HydeQueryTransformerTest {
     @Mock
     private ResourceLoader resourceLoader;
 
+    private HydeResultCache hydeResultCache;
     private HydeQueryTransformer hydeQueryTransformer;
 
     @BeforeEach
     void setUp() {
         ByteArrayResource resource = new ByteArrayResource(DUMMY_TEMPLATE.getBytes(StandardCharsets.UTF_8));
         given(resourceLoader.getResource(anyString())).willReturn(resource);
-        hydeQueryTransformer = new HydeQueryTransformer(chatModel, resourceLoader, "classpath:dummy");
+        hydeResultCache = new HydeResultCache(new SimpleMeterRegistry(), Duration.ofMinutes(10), 100);
+        hydeQueryTransformer = new HydeQueryTransformer(chatModel, hydeResultCache, resourceLoader, "classpath:dummy");
     }
 
     @Test
@@ -127,4 +133,45 @@ class HydeQueryTransformerTest {
         assertThat(result.ko()).isEqualTo(QUERY);
         assertThat(result.en()).isEqualTo(QUERY);
     }
+
+    @Test
+    @DisplayName("공백/대소문자만 다른 같은 질문은 캐시된 HyDE 결과를 사용해 LLM을 다시 호출하지 않는다")
+    void transformReusesCachedResultForNormalizedQuestion() {
+        given(chatModel.chat(anyString())).willReturn("""
+                ---KO---
+                팩토리 패턴 설명
+                ---EN---
+                Factory pattern explanation""");
+
+        HydeResult first = hydeQueryTransformer.transform("What is the Factory pattern?");
+        HydeResult second = hydeQueryTransformer.transform("  what is   the factory PATTERN? ");
+
+        assertThat(second).isEqualTo(first);
+        then(chatModel).should(times(1)).chat(anyString());
+        assertThat(hydeResultCache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("HyDE 생성 실패 결과는 캐시하지 않는다")
+    void transformDoesNotCacheFailure() {
+        given(chatModel.chat(anyString())).willThrow(new RuntimeException("LLM error"));
+
+        hydeQueryTransformer.transform(QUERY);
+        hydeQueryTransformer.transform(QUERY);
+
+        then(chatModel).should(times(2)).chat(anyString());
+        assertThat(hydeResultCache.stats().size()).isZero();
+    }
+
+    @Test
+    @DisplayName("캐시를 비우면 같은 질문도 LLM을 다시 호출한다")
+    void transformCallsLlmAgainAfterFlush() {
+        given(chatModel.chat(anyString())).willReturn("팩토리 패턴 설명");
+
+        hydeQueryTransformer.transform(QUERY);
+        hydeResultCache.flush();
+        hydeQueryTransformer.transform(QUERY);
+
+        then(chatModel).should(times(2)).chat(anyString());
+    }
 }
@@ -0,0 +1,56 @@
+package com.pkv.chat.service;
+
+import com.pkv.common.config.QdrantPayloadKeys;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MemberVectorsTest {
+
+    private final MemberVectors vectors = new MemberVectors(
+            2,
+            new float[]{1f, 0f, 0f, 1f, 0.8f, 0.6f, -1f, 0f},
+            new String[]{"x", "y", "xy", "-x"},
+            new TextSegment[]{
+                    segment("x", 1L), segment("y", 2L), segment("xy", 2L), segment("-x", 1L)
+            }
+    );
+
+    @Test
+    @DisplayName("모든 벡터와 비교해 점수 내림차순으로 limit개를 반환한다")
+    void searchReturnsTopMatchesInScoreOrder() {
+        List<EmbeddingMatch<TextSegment>> matches = vectors.search(new float[]{1f, 0f}, null, 2, 0.0);
+
+        assertThat(matches).extracting(EmbeddingMatch::embeddingId).containsExactly("x", "xy");
+        assertThat(matches.get(0).score()).isCloseTo(1.0, within(1e-6));
+        assertThat(matches.get(1).score()).isCloseTo(0.9, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("relevance score가 minScore보다 낮은 청크는 제외한다")
+    void searchDropsMatchesBelowMinScore() {
+        List<EmbeddingMatch<TextSegment>> matches = vectors.search(new float[]{1f, 0f}, null, 10, 0.5);
+
+        assertThat(matches).extracting(EmbeddingMatch::embeddingId).containsExactly("x", "xy", "y");
+    }
+
+    @Test
+    @DisplayName("documentIds가 주어지면 해당 문서의 청크만 비교한다")
+    void searchOnlyGivenDocuments() {
+        List<EmbeddingMatch<TextSegment>> matches = vectors.search(new float[]{1f, 0f}, Set.of(2L), 10, 0.0);
+
+        assertThat(matches).extracting(EmbeddingMatch::embeddingId).containsExactly("xy", "y");
+    }
+
+    private static TextSegment segment(String text, Long documentId) {
+        return TextSegment.from(text, new Metadata().put(QdrantPayloadKeys.DOCUMENT_ID, documentId));
+    }
+}
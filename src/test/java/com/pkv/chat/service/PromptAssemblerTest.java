@@ -0,0 +1,154 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.dto.CitationResponse;
+import dev.langchain4j.data.message.UserMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptAssemblerTest {
+
+    private static final String MODEL_NAME = "gpt-4o-mini";
+
+    @TempDir
+    Path tempDir;
+
+    private PromptTemplateService promptTemplateService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path systemTemplate = tempDir.resolve("system.prompt.md");
+        Path withContextTemplate = tempDir.resolve("user_with_context.prompt.md");
+        Path withoutContextTemplate = tempDir.resolve("user_without_context.prompt.md");
+
+        Files.writeString(systemTemplate, "SYSTEM");
+        Files.writeString(withContextTemplate, "대화:\n{{conversation_context}}\n질문: {{question}}\n출처:\n{{sources}}");
+        Files.writeString(withoutContextTemplate, "질문: {{question}}\n출처:\n{{sources}}");
+
+        promptTemplateService = new PromptTemplateService(
+                new DefaultResourceLoader(),
+                systemTemplate.toUri().toString(),
+                withContextTemplate.toUri().toString(),
+                withoutContextTemplate.toUri().toString()
+        );
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("내용이 거의 같은 청크는 관련도가 높은 하나만 남긴다")
+    void assembleDropsNearDuplicateCitations() {
+        PromptAssembler assembler = assembler(3000);
+        List<RetrievedCitation> citations = List.of(
+                citation("chunk-1", "팩토리 패턴은 객체 생성 로직을 별도 클래스로 캡슐화한다."),
+                citation("chunk-2", "팩토리 패턴은 객체 생성 로직을 별도 클래스로 캡슐화한다."),
+                citation("chunk-3", "싱글턴 패턴은 인스턴스를 하나만 만들도록 보장한다.")
+        );
+
+        PromptAssembler.AssembledPrompt assembled =
+                assembler.assemble("팩토리 패턴이 뭐야?", citations, ConversationHistory.EMPTY);
+
+        assertThat(assembled.citations())
+                .extracting(RetrievedCitation::sourceChunkRef)
+                .containsExactly("chunk-1", "chunk-3");
+        assertThat(meterRegistry.get("chat.prompt.citations.dropped").tag("reason", "duplicate").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("검색 후보 중 최대 MAX_RESULTS개를 MMR이 고른 순서대로 남긴다")
+    void assembleKeepsMmrOrderUpToMaxResults() {
+        PromptAssembler assembler = assembler(3000);
+        List<RetrievedCitation> citations = List.of(
+                citation("chunk-1", "factory method creates product objects"),
+                citation("chunk-2", "factory method creates product objects lazily everywhere"),
+                citation("chunk-3", "singleton guards global instance"),
+                citation("chunk-4", "observer notifies subscribers"),
+                citation("chunk-5", "adapter converts interfaces"),
+                citation("chunk-6", "decorator wraps components")
+        );
+
+        PromptAssembler.AssembledPrompt assembled =
+                assembler.assemble("factory method?", citations, ConversationHistory.EMPTY);
+
+        assertThat(assembled.citations())
+                .extracting(RetrievedCitation::sourceChunkRef)
+                .containsExactly("chunk-1", "chunk-3", "chunk-4", "chunk-2");
+        String userPrompt = ((UserMessage) assembled.messages().get(1)).singleText();
+        assertThat(userPrompt).contains("2. file=design-patterns.pdf, page=1, snippet=singleton guards global instance");
+    }
+
+    @Test
+    @DisplayName("예산을 넘으면 오래된 대화 턴부터 버리고 최신 턴과 출처는 남긴다")
+    void assembleDropsOldestContextsFirst() {
+        PromptAssembler assembler = assembler(250);
+        List<ConversationContext> contexts = List.of(
+                new ConversationContext("첫 번째 질문", "오래된 답변 ".repeat(40)),
+                new ConversationContext("두 번째 질문", "중간 답변 ".repeat(40)),
+                new ConversationContext("세 번째 질문", "최근 답변")
+        );
+
+        PromptAssembler.AssembledPrompt assembled = assembler.assemble(
+                "팩토리 패턴이 뭐야?",
+                List.of(citation("chunk-1", "팩토리 패턴 설명 텍스트")),
+                new ConversationHistory(null, contexts)
+        );
+
+        String userPrompt = ((UserMessage) assembled.messages().get(1)).singleText();
+        assertThat(userPrompt).contains("세 번째 질문", "팩토리 패턴 설명 텍스트").doesNotContain("첫 번째 질문");
+        assertThat(assembled.citations()).hasSize(1);
+        assertThat(meterRegistry.get("chat.prompt.contexts.dropped").counter().count()).isGreaterThanOrEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("예산보다 큰 청크만 있으면 잘라서라도 하나는 프롬프트에 넣는다")
+    void assembleTruncatesTopCitationWhenItExceedsBudget() {
+        PromptAssembler assembler = assembler(120);
+        String longSnippet = "팩토리 패턴은 객체 생성을 캡슐화한다. ".repeat(100);
+
+        PromptAssembler.AssembledPrompt assembled = assembler.assemble(
+                "팩토리 패턴이 뭐야?",
+                List.of(citation("chunk-1", longSnippet)),
+                ConversationHistory.EMPTY
+        );
+
+        assertThat(assembled.citations()).hasSize(1);
+        assertThat(assembled.citations().getFirst().response().snippet())
+                .endsWith("…")
+                .hasSizeLessThan(longSnippet.length());
+        assertThat(assembled.tokenCount()).isLessThanOrEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("조립한 프롬프트의 토큰 수를 chat.prompt.tokens 지표로 기록한다")
+    void assembleRecordsPromptTokens() {
+        PromptAssembler assembler = assembler(3000);
+
+        PromptAssembler.AssembledPrompt assembled = assembler.assemble(
+                "팩토리 패턴이 뭐야?",
+                List.of(citation("chunk-1", "팩토리 패턴 설명 텍스트")),
+                ConversationHistory.EMPTY
+        );
+
+        assertThat(assembled.tokenCount()).isPositive();
+        assertThat(meterRegistry.get("chat.prompt.tokens").summary().totalAmount())
+                .isEqualTo(assembled.tokenCount());
+    }
+
+    private PromptAssembler assembler(int tokenBudget) {
+        return new PromptAssembler(promptTemplateService, meterRegistry, MODEL_NAME, tokenBudget, 0.3, 0.7, 0.9);
+    }
+
+    private RetrievedCitation citation(String chunkRef, String snippet) {
+        return new RetrievedCitation(new CitationResponse(100L, "design-patterns.pdf", 1, snippet), chunkRef);
+    }
+}
@@ -0,0 +1,354 @@
+package com.pkv.chat.service;
+
+import com.google.common.util.concurrent.Futures;
+import com.pkv.common.concurrent.Bulkhead;
+import com.pkv.common.config.QdrantCollectionFeatures;
+import com.pkv.common.config.QdrantCollections;
+import com.pkv.common.config.QdrantPayloadKeys;
+import com.pkv.common.config.QdrantVectorDimension;
+import com.pkv.common.search.SparseVectorEncoder;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.grpc.Collections.CollectionConfig;
+import io.qdrant.client.grpc.Collections.CollectionInfo;
+import io.qdrant.client.grpc.Collections.CollectionParams;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Collections.VectorsConfig;
+import io.qdrant.client.grpc.Points.BatchResult;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import io.qdrant.client.grpc.Points.SearchPoints;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.ValueFactory.value;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class QdrantChunkRetrieverTest {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final String COLLECTION = "test_vectors";
+
+    @Mock
+    private EmbeddingModel embeddingModel;
+
+    @Mock
+    private QdrantClient qdrantClient;
+
+    @Mock
+    private QdrantCollections qdrantCollections;
+
+    @Mock
+    private MemberVectorCache memberVectorCache;
+
+    private QdrantChunkRetriever chunkRetriever;
+
+    @BeforeEach
+    void setUp() {
+        chunkRetriever = retriever(false, false, false);
+    }
+
+    @Test
+    @DisplayName("모든 쿼리를 한 번의 embedAll과 한 번의 batch search로 검색한다")
+    void searchEmbedsAndSearchesInSingleBatch() {
+        given(embeddingModel.embedAll(anyList())).willReturn(Response.from(List.of(
+                Embedding.from(new float[]{0.1f, 0.2f}),
+                Embedding.from(new float[]{0.3f, 0.4f})
+        )));
+        given(qdrantClient.searchBatchAsync(eq(COLLECTION), anyList(), isNull()))
+                .willReturn(Futures.immediateFuture(List.of(
+                        BatchResult.newBuilder().addResult(scoredPoint("100:0", 0.8f)).build(),
+                        BatchResult.newBuilder().addResult(scoredPoint("100:1", 0.6f)).build()
+                )));
+
+        List<QueryMatches> results = chunkRetriever.search(MEMBER_ID, List.of("한국어 문서", "english doc"));
+
+        then(embeddingModel).should(times(1)).embedAll(anyList());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SearchPoints>> searchesCaptor = ArgumentCaptor.forClass(List.class);
+        then(qdrantClient).should(times(1)).searchBatchAsync(eq(COLLECTION), searchesCaptor.capture(), isNull());
+        assertThat(searchesCaptor.getValue()).hasSize(2)
+                .allSatisfy(search -> assertThat(search.getFilter().getMustCount()).isEqualTo(1))
+                .allSatisfy(search -> assertThat(search.getWithVectors().getEnable()).isFalse())
+                .allSatisfy(search -> assertThat(search.getWithPayload().getInclude().getFieldsList())
+                        .contains(QdrantChunkRetriever.TEXT_PAYLOAD_KEY, "sourceChunkRef")
+                        .doesNotContain(QdrantChunkRetriever.MEMBER_ID_KEY));
+
+        assertThat(results).hasSize(2).allSatisfy(result -> assertThat(result.sparse()).isEmpty());
+        EmbeddingMatch<TextSegment> first = results.getFirst().dense().getFirst();
+        assertThat(first.score()).isCloseTo(0.9, within(1e-6));
+        TextSegment segment = first.embedded();
+        assertThat(segment.text()).isEqualTo("청크 본문");
+        assertThat(segment.metadata().getLong("documentId")).isEqualTo(100L);
+        assertThat(segment.metadata().getString("sourceChunkRef")).isEqualTo("100:0");
+    }
+
+    @Test
+    @DisplayName("documentIds가 주어지면 memberId와 함께 documentId 목록 조건으로 검색한다")
+    void searchFiltersByDocumentIds() {
+        given(embeddingModel.embedAll(anyList())).willReturn(Response.from(List.of(
+                Embedding.from(new float[]{0.1f, 0.2f})
+        )));
+        given(qdrantClient.searchBatchAsync(eq(COLLECTION), anyList(), isNull()))
+                .willReturn(Futures.immediateFuture(List.of(BatchResult.newBuilder().build())));
+
+        chunkRetriever.search(MEMBER_ID, List.of(100L, 200L), List.of("팩토리 패턴"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SearchPoints>> searchesCaptor = ArgumentCaptor.forClass(List.class);
+        then(qdrantClient).should().searchBatchAsync(eq(COLLECTION), searchesCaptor.capture(), isNull());
+        assertThat(searchesCaptor.getValue().getFirst().getFilter().getMustList())
+                .anySatisfy(condition -> {
+                    assertThat(condition.getField().getKey()).isEqualTo(QdrantChunkRetriever.DOCUMENT_ID_KEY);
+                    assertThat(condition.getField().getMatch().getIntegers().getIntegersList())
+                            .containsExactly(100L, 200L);
+                });
+    }
+
+    @Test
+    @DisplayName("쿼리가 없으면 외부 호출 없이 빈 결과를 반환한다")
+    void searchReturnsEmptyWithoutQueries() {
+        assertThat(chunkRetriever.search(MEMBER_ID, List.of())).isEmpty();
+
+        then(embeddingModel).shouldHaveNoInteractions();
+        then(qdrantClient).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("하이브리드 검색이면 쿼리마다 밀집/희소 검색을 같은 batch에 넣고 결과를 쿼리별로 나눈다")
+    void hybridSearchAddsSparseSearchPerQuery() {
+        chunkRetriever = retriever(true, false, false);
+        given(embeddingModel.embedAll(anyList())).willReturn(Response.from(List.of(
+                Embedding.from(new float[]{0.1f, 0.2f}),
+                Embedding.from(new float[]{0.3f, 0.4f})
+        )));
+        given(qdrantClient.searchBatchAsync(eq(COLLECTION), anyList(), isNull()))
+                .willReturn(Futures.immediateFuture(List.of(
+                        BatchResult.newBuilder().addResult(scoredPoint("100:0", 0.8f)).build(),
+                        BatchResult.newBuilder().addResult(scoredPoint("100:5", 7.5f)).build(),
+                        BatchResult.newBuilder().addResult(scoredPoint("100:1", 0.6f)).build(),
+                        BatchResult.newBuilder().build()
+                )));
+
+        List<QueryMatches> results = chunkRetriever.search(MEMBER_ID, List.of("Q004 에러 코드", "retry policy"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SearchPoints>> searchesCaptor = ArgumentCaptor.forClass(List.class);
+        then(qdrantClient).should(times(1)).searchBatchAsync(eq(COLLECTION), searchesCaptor.capture(), isNull());
+        List<SearchPoints> searches = searchesCaptor.getValue();
+        assertThat(searches).hasSize(4);
+        assertThat(searches.get(1).getVectorName()).isEqualTo(SparseVectorEncoder.VECTOR_NAME);
+        assertThat(searches.get(1).getSparseIndices().getDataCount()).isEqualTo(searches.get(1).getVectorCount());
+
+        assertThat(results.get(0).dense()).extracting(match -> match.embedded().metadata().getString("sourceChunkRef"))
+                .containsExactly("100:0");
+        assertThat(results.get(0).sparse().getFirst().score()).isCloseTo(7.5, within(1e-6));
+        assertThat(results.get(1).dense()).hasSize(1);
+        assertThat(results.get(1).sparse()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("snippet payload를 쓰면 본문 대신 snippet만 받고, snippet이 없는 이전 point만 본문을 따로 조회한다")
+    void snippetPayloadProjectsPreviewAndRetrievesLegacyText() {
+        chunkRetriever = retriever(false, true, false);
+        ScoredPoint legacy = scoredPoint("100:1", 0.7f);
+        given(embeddingModel.embedAll(anyList())).willReturn(Response.from(List.of(
+                Embedding.from(new float[]{0.1f, 0.2f})
+        )));
+        given(qdrantClient.searchBatchAsync(eq(COLLECTION), anyList(), isNull()))
+                .willReturn(Futures.immediateFuture(List.of(BatchResult.newBuilder()
+                        .addResult(snippetPoint("100:0", 0.8f))
+                        .addResult(legacy)
+                        .build())));
+        given(qdrantClient.retrieveAsync(eq(COLLECTION), eq(List.of(legacy.getId())), any(), any(), isNull()))
+                .willReturn(Futures.immediateFuture(List.of(RetrievedPoint.newBuilder()
+                        .setId(legacy.getId())
+                        .putPayload(QdrantChunkRetriever.TEXT_PAYLOAD_KEY, value("이전 청크 본문"))
+                        .build())));
+
+        List<QueryMatches> results = chunkRetriever.search(MEMBER_ID, List.of("팩토리 패턴"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SearchPoints>> searchesCaptor = ArgumentCaptor.forClass(List.class);
+        then(qdrantClient).should().searchBatchAsync(eq(COLLECTION), searchesCaptor.capture(), isNull());
+        assertThat(searchesCaptor.getValue().getFirst().getWithPayload().getInclude().getFieldsList())
+                .contains(QdrantPayloadKeys.SNIPPET)
+                .doesNotContain(QdrantChunkRetriever.TEXT_PAYLOAD_KEY);
+        assertThat(results.getFirst().dense())
+                .extracting(match -> match.embedded().text())
+                .containsExactly("청크 앞부분", "이전 청크 본문");
+    }
+
+    @Test
+    @DisplayName("양자화된 컬렉션이면 밀집 검색에 oversampling과 원본 벡터 재점수 계산을 요청한다")
+    void quantizedCollectionRequestsRescoring() {
+        chunkRetriever = retriever(false, false, true);
+        given(embeddingModel.embedAll(anyList())).willReturn(Response.from(List.of(
+                Embedding.from(new float[]{0.1f, 0.2f})
+        )));
+        given(qdrantClient.searchBatchAsync(eq(COLLECTION), anyList(), isNull()))
+                .willReturn(Futures.immediateFuture(List.of(BatchResult.newBuilder().build())));
+
+        chunkRetriever.search(MEMBER_ID, List.of("팩토리 패턴"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SearchPoints>> searchesCaptor = ArgumentCaptor.forClass(List.class);
+        then(qdrantClient).should().searchBatchAsync(eq(COLLECTION), searchesCaptor.capture(), isNull());
+        SearchPoints search = searchesCaptor.getValue().getFirst();
+        assertThat(search.getParams().getQuantization().getRescore()).isTrue();
+        assertThat(search.getParams().getQuantization().getOversampling()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("임베딩 차원이 컬렉션보다 크면 앞쪽 성분만 남겨 다시 정규화한 벡터로 검색한다")
+    void searchTruncatesVectorToCollectionDimension() {
+        chunkRetriever = retriever(false, false, false, 1);
+        given(embeddingModel.embedAll(anyList())).willReturn(Response.from(List.of(
+                Embedding.from(new float[]{0.6f, 0.8f})
+        )));
+        given(qdrantClient.searchBatchAsync(eq(COLLECTION), anyList(), isNull()))
+                .willReturn(Futures.immediateFuture(List.of(BatchResult.newBuilder().build())));
+
+        chunkRetriever.search(MEMBER_ID, List.of("팩토리 패턴"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SearchPoints>> searchesCaptor = ArgumentCaptor.forClass(List.class);
+        then(qdrantClient).should().searchBatchAsync(eq(COLLECTION), searchesCaptor.capture(), isNull());
+        assertThat(searchesCaptor.getValue().getFirst().getVectorList()).containsExactly(1.0f);
+    }
+
+    @Test
+    @DisplayName("alias가 다른 차원의 컬렉션으로 옮겨져 검색이 거절되면 차원을 다시 확인해 한 번 더 검색한다")
+    void searchRetriesWithRefreshedDimensionWhenRejected() throws Exception {
+        given(embeddingModel.embedAll(anyList())).willReturn(Response.from(List.of(
+                Embedding.from(new float[]{0.6f, 0.8f})
+        )));
+        given(qdrantClient.searchBatchAsync(eq(COLLECTION), anyList(), isNull()))
+                .willReturn(Futures.immediateFailedFuture(new StatusRuntimeException(Status.INVALID_ARGUMENT)))
+                .willReturn(Futures.immediateFuture(List.of(BatchResult.newBuilder().build())));
+        given(qdrantCollections.info(COLLECTION)).willReturn(collectionInfo(1));
+
+        List<QueryMatches> matches = chunkRetriever.search(MEMBER_ID, List.of("팩토리 패턴"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SearchPoints>> searchesCaptor = ArgumentCaptor.forClass(List.class);
+        then(qdrantClient).should(times(2)).searchBatchAsync(eq(COLLECTION), searchesCaptor.capture(), isNull());
+        assertThat(searchesCaptor.getAllValues().get(0).getFirst().getVectorCount()).isEqualTo(2);
+        assertThat(searchesCaptor.getAllValues().get(1).getFirst().getVectorList()).containsExactly(1.0f);
+        assertThat(matches).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("회원 벡터가 캐시에 있으면 밀집 검색을 메모리에서 계산하고 Qdrant를 호출하지 않는다")
+    void cachedMemberVectorsSkipQdrant() {
+        given(embeddingModel.embedAll(anyList())).willReturn(Response.from(List.of(
+                Embedding.from(new float[]{3f, 4f})
+        )));
+        given(memberVectorCache.get(MEMBER_ID, 2)).willReturn(new MemberVectors(
+                2,
+                new float[]{1f, 0f, 0.6f, 0.8f},
+                new String[]{"a", "b"},
+                new TextSegment[]{TextSegment.from("먼 청크"), TextSegment.from("가까운 청크")}
+        ));
+
+        List<QueryMatches> results = chunkRetriever.search(MEMBER_ID, List.of("질문"));
+
+        then(qdrantClient).shouldHaveNoInteractions();
+        assertThat(results.getFirst().dense()).extracting(match -> match.embedded().text())
+                .containsExactly("가까운 청크", "먼 청크");
+        assertThat(results.getFirst().dense().getFirst().score()).isCloseTo(1.0, within(1e-6));
+    }
+
+    private QdrantChunkRetriever retriever(boolean sparseVectors, boolean snippetPayload, boolean quantized) {
+        return retriever(sparseVectors, snippetPayload, quantized, 2);
+    }
+
+    private QdrantChunkRetriever retriever(
+            boolean sparseVectors,
+            boolean snippetPayload,
+            boolean quantized,
+            int collectionDimension
+    ) {
+        QdrantCollectionFeatures features = new QdrantCollectionFeatures(sparseVectors, quantized, collectionDimension);
+        return new QdrantChunkRetriever(
+                embeddingModel,
+                qdrantClient,
+                new Bulkhead("qdrant", 10, Duration.ofSeconds(1), new SimpleMeterRegistry()),
+                new SparseVectorEncoder(1.2, 0.75, 300),
+                features,
+                new QdrantVectorDimension(qdrantCollections, features, COLLECTION),
+                memberVectorCache,
+                COLLECTION,
+                true,
+                3.0,
+                snippetPayload,
+                2.0
+        );
+    }
+
+    private CollectionInfo collectionInfo(int dimension) {
+        return CollectionInfo.newBuilder()
+                .setConfig(CollectionConfig.newBuilder()
+                        .setParams(CollectionParams.newBuilder()
+                                .setVectorsConfig(VectorsConfig.newBuilder()
+                                        .setParams(VectorParams.newBuilder().setSize(dimension).build())
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+    }
+
+    private ScoredPoint snippetPoint(String sourceChunkRef, float score) {
+        return ScoredPoint.newBuilder()
+                .setId(id(UUID.randomUUID()))
+                .setScore(score)
+                .putAllPayload(Map.of(
+                        QdrantPayloadKeys.SNIPPET, value("청크 앞부분"),
+                        "documentId", value(100L),
+                        "sourceChunkRef", value(sourceChunkRef)
+                ))
+                .build();
+    }
+
+    private ScoredPoint scoredPoint(String sourceChunkRef, float score) {
+        return ScoredPoint.newBuilder()
+                .setId(id(UUID.randomUUID()))
+                .setScore(score)
+                .putAllPayload(Map.of(
+                        QdrantChunkRetriever.TEXT_PAYLOAD_KEY, value("청크 본문"),
+                        "memberId", value(MEMBER_ID),
+                        "documentId", value(100L),
+                        "sourceChunkRef", value(sourceChunkRef),
+                        "fileName", value("design-patterns.pdf"),
+                        "pageNumber", value(3L)
+                ))
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.domain.ChatResponseStatus;
+import com.pkv.document.domain.DocumentStatus;
+import com.pkv.document.dto.DocumentStatusChangedMessage;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class SemanticAnswerCacheTest {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final ChatResult ANSWER = new ChatResult(ChatResponseStatus.COMPLETED, "답변", ConversationHistory.EMPTY);
+
+    @Mock
+    private EmbeddingModel embeddingModel;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SemanticAnswerCache semanticAnswerCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        semanticAnswerCache = new SemanticAnswerCache(
+                embeddingModel, meterRegistry, true, 0.05, 100, 1000, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("cosine distance가 임계값 이내인 질문은 캐시된 답변을 반환한다")
+    void lookupReturnsAnswerForSimilarPrompt() {
+        givenEmbedding("팩토리 패턴이 뭐야?", 1f, 0f);
+        givenEmbedding("팩토리 패턴이 뭔가요?", 0.99f, 0.05f);
+        semanticAnswerCache.store(semanticAnswerCache.lookup(MEMBER_ID, "팩토리 패턴이 뭐야?", ConversationHistory.EMPTY), ANSWER);
+
+        SemanticAnswerCache.Lookup lookup = semanticAnswerCache.lookup(MEMBER_ID, "팩토리 패턴이 뭔가요?", ConversationHistory.EMPTY);
+
+        assertThat(lookup.hit()).isEqualTo(ANSWER);
+        assertThat(meterRegistry.get(SemanticAnswerCache.REQUEST_COUNTER)
+                .tag(SemanticAnswerCache.RESULT_TAG, SemanticAnswerCache.RESULT_HIT)
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("cosine distance가 임계값을 넘는 질문은 miss 처리한다")
+    void lookupMissesForDistantPrompt() {
+        givenEmbedding("팩토리 패턴이 뭐야?", 1f, 0f);
+        givenEmbedding("싱글톤 패턴이 뭐야?", 0.6f, 0.8f);
+        semanticAnswerCache.store(semanticAnswerCache.lookup(MEMBER_ID, "팩토리 패턴이 뭐야?", ConversationHistory.EMPTY), ANSWER);
+
+        assertThat(semanticAnswerCache.lookup(MEMBER_ID, "싱글톤 패턴이 뭐야?", ConversationHistory.EMPTY).isHit()).isFalse();
+    }
+
+    @Test
+    @DisplayName("회원의 Document 상태가 바뀌면 캐시를 비우고, 그 이전 조회로 생성된 답변도 저장되지 않는다")
+    void documentStatusChangeInvalidatesMemberCache() {
+        givenEmbedding("팩토리 패턴이 뭐야?", 1f, 0f);
+        semanticAnswerCache.store(semanticAnswerCache.lookup(MEMBER_ID, "팩토리 패턴이 뭐야?", ConversationHistory.EMPTY), ANSWER);
+        SemanticAnswerCache.Lookup inFlight = semanticAnswerCache.lookup(MEMBER_ID, "팩토리 패턴이 뭐야?", ConversationHistory.EMPTY);
+
+        semanticAnswerCache.onDocumentStatusChanged(
+                new DocumentStatusChangedMessage(10L, MEMBER_ID, "design-patterns.pdf", 1024L, "pdf",
+                        Instant.now(), DocumentStatus.COMPLETED, 3L, false));
+        semanticAnswerCache.store(inFlight, ANSWER);
+
+        assertThat(semanticAnswerCache.lookup(MEMBER_ID, "팩토리 패턴이 뭐야?", ConversationHistory.EMPTY).isHit()).isFalse();
+    }
+
+    @Test
+    @DisplayName("이전 대화 맥락이 있는 턴은 임베딩 없이 캐시를 건너뛴다")
+    void lookupBypassesTurnsWithContext() {
+        SemanticAnswerCache.Lookup lookup = semanticAnswerCache.lookup(
+                MEMBER_ID,
+                "그럼 두 번째는?",
+                new ConversationHistory(null, List.of(new ConversationContext("팩토리 패턴이 뭐야?", "답변"))));
+
+        assertThat(lookup.isHit()).isFalse();
+        then(embeddingModel).shouldHaveNoInteractions();
+    }
+
+    private void givenEmbedding(String prompt, float... vector) {
+        given(embeddingModel.embed(prompt)).willReturn(Response.from(Embedding.from(vector)));
+    }
+}
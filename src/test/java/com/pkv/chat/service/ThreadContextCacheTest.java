@@ -0,0 +1,142 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.domain.ChatResponseStatus;
+import com.pkv.chat.domain.ChatThread;
+import com.pkv.chat.domain.ThreadTurn;
+import com.pkv.chat.repository.ChatThreadRepository;
+import com.pkv.chat.repository.ThreadTurnRepository;
+import com.pkv.common.exception.PkvException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadContextCacheTest {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final Long THREAD_ID = 10L;
+    private static final String THREAD_KEY = "thread-1";
+
+    @Mock
+    private ChatThreadRepository chatThreadRepository;
+
+    @Mock
+    private ThreadTurnRepository threadTurnRepository;
+
+    @Mock
+    private ThreadEventPublisher threadEventPublisher;
+
+    private ThreadContextCache threadContextCache;
+    private ChatThread thread;
+
+    @BeforeEach
+    void setUp() {
+        threadContextCache = new ThreadContextCache(
+                chatThreadRepository, threadTurnRepository, threadEventPublisher, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(10));
+        thread = ChatThread.builder().memberId(MEMBER_ID).threadKey(THREAD_KEY).title("title").build();
+        ReflectionTestUtils.setField(thread, "id", THREAD_ID);
+    }
+
+    @Test
+    @DisplayName("처음 조회할 때만 DB에서 적재하고, 맥락은 요약과 마지막 턴 및 요약에 반영되지 않은 턴으로 구성한다")
+    void getLoadsOnceAndBuildsHistory() {
+        ReflectionTestUtils.setField(thread, "summary", "팩토리 패턴을 물었다");
+        ReflectionTestUtils.setField(thread, "summarizedTurnSequence", 2);
+        given(chatThreadRepository.findByMemberIdAndThreadKey(MEMBER_ID, THREAD_KEY)).willReturn(Optional.of(thread));
+        given(threadTurnRepository.findByThread_IdOrderBySequenceDesc(eq(THREAD_ID), any())).willReturn(List.of(
+                turn(4L, "네 번째"), turn(3L, "세 번째"), turn(2L, "두 번째"), turn(1L, "첫 번째")));
+
+        threadContextCache.get(MEMBER_ID, THREAD_KEY);
+        ConversationHistory history = threadContextCache.get(MEMBER_ID, THREAD_KEY).history();
+
+        assertThat(history.summary()).isEqualTo("팩토리 패턴을 물었다");
+        assertThat(history.recentTurns())
+                .extracting(ConversationContext::prompt)
+                .containsExactly("세 번째", "네 번째");
+        then(chatThreadRepository).should(times(1)).findByMemberIdAndThreadKey(MEMBER_ID, THREAD_KEY);
+        then(threadTurnRepository).should(times(1)).findByThread_IdOrderBySequenceDesc(eq(THREAD_ID), any());
+    }
+
+    @Test
+    @DisplayName("저장된 턴은 DB 재조회 없이 캐시에 바로 반영된다")
+    void onTurnSavedWritesThrough() {
+        given(chatThreadRepository.findByMemberIdAndThreadKey(MEMBER_ID, THREAD_KEY)).willReturn(Optional.of(thread));
+        given(threadTurnRepository.findByThread_IdOrderBySequenceDesc(eq(THREAD_ID), any()))
+                .willReturn(List.of(turn(1L, "첫 번째")));
+        threadContextCache.get(MEMBER_ID, THREAD_KEY);
+
+        threadContextCache.onTurnSaved(THREAD_ID, turn(2L, "두 번째"));
+        ThreadContext context = threadContextCache.get(MEMBER_ID, THREAD_KEY);
+
+        assertThat(context.turnCount()).isEqualTo(1);
+        assertThat(context.history().recentTurns())
+                .extracting(ConversationContext::prompt)
+                .containsExactly("첫 번째", "두 번째");
+        then(threadTurnRepository).should(times(1)).findByThread_IdOrderBySequenceDesc(eq(THREAD_ID), any());
+        then(threadEventPublisher).should().publishContextChanged(THREAD_ID);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스의 변경 알림으로 버린 스레드는 다음 조회 때 DB에서 다시 적재하고, 다시 알리지 않는다")
+    void evictReloadsWithoutPublishing() {
+        given(chatThreadRepository.findByMemberIdAndThreadKey(MEMBER_ID, THREAD_KEY)).willReturn(Optional.of(thread));
+        given(chatThreadRepository.findById(THREAD_ID)).willReturn(Optional.of(thread));
+        given(threadTurnRepository.findByThread_IdOrderBySequenceDesc(eq(THREAD_ID), any())).willReturn(List.of());
+        threadContextCache.get(MEMBER_ID, THREAD_KEY);
+
+        threadContextCache.evict(THREAD_ID);
+        threadContextCache.get(MEMBER_ID, THREAD_KEY);
+
+        then(threadTurnRepository).should(times(2)).findByThread_IdOrderBySequenceDesc(eq(THREAD_ID), any());
+        then(threadEventPublisher).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("다른 회원의 스레드 키로 조회하면 캐시에 있어도 THREAD_NOT_FOUND 예외가 발생한다")
+    void getRejectsOtherMembersThread() {
+        threadContextCache.onThreadCreated(thread);
+
+        assertThatThrownBy(() -> threadContextCache.get(2L, THREAD_KEY))
+                .isInstanceOf(PkvException.class)
+                .hasMessage("유효하지 않은 스레드입니다.");
+    }
+
+    @Test
+    @DisplayName("무효화한 스레드는 다음 조회 때 DB에서 다시 적재한다")
+    void invalidateReloadsFromDatabase() {
+        given(chatThreadRepository.findByMemberIdAndThreadKey(MEMBER_ID, THREAD_KEY)).willReturn(Optional.of(thread));
+        given(chatThreadRepository.findById(THREAD_ID)).willReturn(Optional.of(thread));
+        given(threadTurnRepository.findByThread_IdOrderBySequenceDesc(eq(THREAD_ID), any())).willReturn(List.of());
+        threadContextCache.get(MEMBER_ID, THREAD_KEY);
+
+        threadContextCache.invalidate(THREAD_ID);
+        threadContextCache.get(MEMBER_ID, THREAD_KEY);
+
+        then(threadTurnRepository).should(times(2)).findByThread_IdOrderBySequenceDesc(eq(THREAD_ID), any());
+    }
+
+    private ThreadTurn turn(Long id, String prompt) {
+        ThreadTurn turn = ThreadTurn.create(
+                MEMBER_ID, thread, id.intValue(), prompt, ChatResponseStatus.COMPLETED, prompt + " 답변");
+        ReflectionTestUtils.setField(turn, "id", id);
+        return turn;
+    }
+}
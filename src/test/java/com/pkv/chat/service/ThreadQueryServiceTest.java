@@ -0,0 +1,90 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.domain.ChatResponseStatus;
+import com.pkv.chat.domain.ChatThread;
+import com.pkv.chat.domain.ThreadTurn;
+import com.pkv.chat.repository.ChatThreadRepository;
+import com.pkv.chat.repository.ThreadTurnRepository;
+import com.pkv.chat.repository.TurnCitationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadQueryServiceTest {
+
+    private static final Long MEMBER_ID = 1L;
+
+    @Mock
+    private ChatThreadRepository chatThreadRepository;
+
+    @Mock
+    private ThreadTurnRepository threadTurnRepository;
+
+    @Mock
+    private TurnCitationRepository turnCitationRepository;
+
+    @Mock
+    private ThreadContextCache threadContextCache;
+
+    @InjectMocks
+    private ThreadQueryService threadQueryService;
+
+    @Test
+    @DisplayName("요약에 반영된 턴을 삭제하면 요약과 요약 기준 순번을 비운다")
+    void deleteTurnDiscardsSummaryIncludingDeletedTurn() {
+        ChatThread thread = summarizedThread(3);
+        ThreadTurn turn = turn(thread, 2);
+
+        threadQueryService.deleteTurn(MEMBER_ID, "thread-1", 2L);
+
+        assertThat(thread.getTurnCount()).isEqualTo(2);
+        assertThat(thread.getSummary()).isNull();
+        assertThat(thread.getSummarizedTurnSequence()).isNull();
+        then(threadTurnRepository).should().delete(turn);
+        then(threadContextCache).should().invalidate(10L);
+    }
+
+    @Test
+    @DisplayName("아직 요약에 반영되지 않은 턴을 삭제하면 요약은 그대로 둔다")
+    void deleteTurnKeepsSummaryWhenTurnIsNotSummarized() {
+        ChatThread thread = summarizedThread(3);
+        turn(thread, 4);
+
+        threadQueryService.deleteTurn(MEMBER_ID, "thread-1", 4L);
+
+        assertThat(thread.getSummary()).isEqualTo("이전 대화 요약");
+        assertThat(thread.getSummarizedTurnSequence()).isEqualTo(3);
+    }
+
+    private ChatThread summarizedThread(int summarizedTurnSequence) {
+        ChatThread thread = ChatThread.builder()
+                .memberId(MEMBER_ID)
+                .threadKey("thread-1")
+                .title("title")
+                .build();
+        ReflectionTestUtils.setField(thread, "id", 10L);
+        ReflectionTestUtils.setField(thread, "turnCount", 3);
+        ReflectionTestUtils.setField(thread, "summary", "이전 대화 요약");
+        ReflectionTestUtils.setField(thread, "summarizedTurnSequence", summarizedTurnSequence);
+        return thread;
+    }
+
+    private ThreadTurn turn(ChatThread thread, int sequence) {
+        ThreadTurn turn = ThreadTurn.create(MEMBER_ID, thread, sequence, "질문", ChatResponseStatus.COMPLETED, "답변");
+        ReflectionTestUtils.setField(turn, "id", (long) sequence);
+        given(threadTurnRepository.findByIdAndMemberIdAndThread_ThreadKey((long) sequence, MEMBER_ID, "thread-1"))
+                .willReturn(Optional.of(turn));
+        return turn;
+    }
+}
@@ -0,0 +1,114 @@
+package com.pkv.chat.service;
+
+import dev.langchain4j.model.chat.ChatModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadSummaryServiceTest {
+
+    private static final Long THREAD_ID = 10L;
+
+    @Mock
+    private ThreadTurnCommandService threadTurnCommandService;
+
+    @Mock
+    private ChatModel chatModel;
+
+    @Mock
+    private Executor threadSummaryExecutor;
+
+    private ThreadSummaryService threadSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        threadSummaryService = new ThreadSummaryService(
+                threadTurnCommandService,
+                chatModel,
+                threadSummaryExecutor,
+                new DefaultResourceLoader(),
+                "classpath:prompts/chat/summary.prompt.md",
+                1000
+        );
+    }
+
+    @Test
+    @DisplayName("기존 요약과 새 턴으로 요약을 다시 만들어 저장한다")
+    void updateFoldsNewTurnsIntoSummary() {
+        ThreadSummaryWork work = work(0, null,
+                List.of(new ConversationContext("팩토리 패턴이 뭐야?", "객체 생성을 캡슐화한다")));
+        given(threadTurnCommandService.loadSummaryWork(THREAD_ID)).willReturn(Optional.of(work));
+        given(chatModel.chat(anyString())).willReturn("사용자는 팩토리 패턴을 물었고, 객체 생성 캡슐화라고 답했다.");
+        given(threadTurnCommandService.saveSummary(any(), anyString())).willReturn(true);
+
+        threadSummaryService.update(THREAD_ID);
+
+        then(chatModel).should().chat(argThat((String prompt) -> prompt.contains("팩토리 패턴이 뭐야?")));
+        then(threadTurnCommandService).should()
+                .saveSummary(work, "사용자는 팩토리 패턴을 물었고, 객체 생성 캡슐화라고 답했다.");
+    }
+
+    @Test
+    @DisplayName("정상 답변 턴이 없으면 LLM 호출 없이 반영 위치만 넘긴다")
+    void updateSkipsModelWhenNoCompletedTurns() {
+        ThreadSummaryWork work = work(2, "기존 요약", List.of());
+        given(threadTurnCommandService.loadSummaryWork(THREAD_ID)).willReturn(Optional.of(work));
+        given(threadTurnCommandService.saveSummary(work, "기존 요약")).willReturn(true);
+
+        threadSummaryService.update(THREAD_ID);
+
+        then(chatModel).shouldHaveNoInteractions();
+        then(threadTurnCommandService).should().saveSummary(work, "기존 요약");
+    }
+
+    @Test
+    @DisplayName("다른 갱신이 먼저 저장되었으면 다시 읽어서 갱신한다")
+    void updateRetriesWhenSummaryChangedConcurrently() {
+        ThreadSummaryWork stale = work(2, "요약", List.of());
+        ThreadSummaryWork fresh = work(3, "새 요약", List.of());
+        given(threadTurnCommandService.loadSummaryWork(THREAD_ID))
+                .willReturn(Optional.of(stale))
+                .willReturn(Optional.of(fresh));
+        given(threadTurnCommandService.saveSummary(stale, "요약")).willReturn(false);
+        given(threadTurnCommandService.saveSummary(fresh, "새 요약")).willReturn(true);
+
+        threadSummaryService.update(THREAD_ID);
+
+        then(threadTurnCommandService).should(times(2)).loadSummaryWork(THREAD_ID);
+        then(threadTurnCommandService).should().saveSummary(fresh, "새 요약");
+    }
+
+    @Test
+    @DisplayName("같은 스레드의 갱신이 시작되기 전이면 요청을 한 번으로 합친다")
+    void requestUpdateCoalescesPendingRequests() {
+        willAnswer(invocation -> null).given(threadSummaryExecutor).execute(any(Runnable.class));
+
+        threadSummaryService.requestUpdate(THREAD_ID);
+        threadSummaryService.requestUpdate(THREAD_ID);
+
+        then(threadSummaryExecutor).should(times(1)).execute(any(Runnable.class));
+        then(threadTurnCommandService).should(never()).loadSummaryWork(any());
+    }
+
+    private ThreadSummaryWork work(int baseTurnSequence, String summary, List<ConversationContext> turns) {
+        return new ThreadSummaryWork(THREAD_ID, baseTurnSequence, summary, turns, baseTurnSequence + 1);
+    }
+}
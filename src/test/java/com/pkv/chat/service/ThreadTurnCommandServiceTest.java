@@ -0,0 +1,272 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.ThreadPolicy;
+import com.pkv.chat.domain.ChatResponseStatus;
+import com.pkv.chat.domain.ChatThread;
+import com.pkv.chat.domain.ThreadTurn;
+import com.pkv.chat.dto.CitationResponse;
+import com.pkv.chat.dto.ThreadTurnCreateRequest;
+import com.pkv.chat.repository.ChatThreadRepository;
+import com.pkv.chat.repository.ThreadTurnRepository;
+import com.pkv.chat.repository.TurnCitationRepository;
+import com.pkv.common.exception.ErrorCode;
+import com.pkv.common.exception.PkvException;
+import com.pkv.document.domain.DocumentStatus;
+import com.pkv.document.dto.DocumentResponse;
+import com.pkv.document.service.DocumentCatalog;
+import com.pkv.document.service.MemberDocumentCatalog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadTurnCommandServiceTest {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final String PROMPT = "팩토리 패턴이 뭐야?";
+
+    @Mock
+    private ChatThreadRepository chatThreadRepository;
+
+    @Mock
+    private ThreadTurnRepository threadTurnRepository;
+
+    @Mock
+    private TurnCitationRepository turnCitationRepository;
+
+    @Mock
+    private ThreadContextCache threadContextCache;
+
+    @Mock
+    private MemberDocumentCatalog memberDocumentCatalog;
+
+    @InjectMocks
+    private ThreadTurnCommandService threadTurnCommandService;
+
+    @Test
+    @DisplayName("존재하지 않는 threadId면 THREAD_NOT_FOUND 예외가 발생한다")
+    void prepareThrowsWhenThreadNotFound() {
+        ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("missing-thread", PROMPT);
+        given(threadContextCache.get(MEMBER_ID, "missing-thread"))
+                .willThrow(new PkvException(ErrorCode.THREAD_NOT_FOUND));
+
+        assertThatThrownBy(() -> threadTurnCommandService.prepare(MEMBER_ID, request))
+                .isInstanceOf(PkvException.class)
+                .hasMessage("유효하지 않은 스레드입니다.");
+    }
+
+    @Test
+    @DisplayName("스레드 턴 수가 한도면 THREAD_LIMIT_EXCEEDED 예외가 발생한다")
+    void prepareThrowsWhenThreadTurnLimitReached() {
+        ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("thread-1", PROMPT);
+        ChatThread thread = existingThread(10L, "thread-1");
+        ReflectionTestUtils.setField(thread, "turnCount", ThreadPolicy.MAX_THREAD_TURN_COUNT);
+
+        given(threadContextCache.get(MEMBER_ID, "thread-1")).willReturn(ThreadContext.of(thread, List.of()));
+
+        assertThatThrownBy(() -> threadTurnCommandService.prepare(MEMBER_ID, request))
+                .isInstanceOf(PkvException.class)
+                .hasMessage("현재 스레드 턴 한도(30회)에 도달했습니다. 새 대화를 시작해주세요");
+    }
+
+    @Test
+    @DisplayName("질문 범위에 완료되지 않았거나 회원의 것이 아닌 문서가 있으면 DOCUMENT_SCOPE_INVALID 예외가 발생한다")
+    void prepareThrowsWhenDocumentScopeInvalid() {
+        ThreadTurnCreateRequest request = new ThreadTurnCreateRequest(null, PROMPT, List.of(100L, 200L));
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(new DocumentCatalog(List.of(
+                document(100L, DocumentStatus.COMPLETED),
+                document(200L, DocumentStatus.PROCESSING)
+        )));
+
+        assertThatThrownBy(() -> threadTurnCommandService.prepare(MEMBER_ID, request))
+                .isInstanceOf(PkvException.class)
+                .hasMessage("질문 범위에 검색할 수 없는 문서가 포함되어 있습니다.");
+        then(chatThreadRepository).should(never()).save(any());
+    }
+
+    @Test
+    @DisplayName("기존 스레드에 다른 질문 범위를 보내면 스레드의 범위를 바꾼다")
+    void prepareUpdatesDocumentScopeOfExistingThread() {
+        ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("thread-1", PROMPT, List.of(200L, 100L, 200L));
+        ChatThread thread = existingThread(10L, "thread-1");
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(new DocumentCatalog(List.of(
+                document(100L, DocumentStatus.COMPLETED),
+                document(200L, DocumentStatus.COMPLETED)
+        )));
+        given(threadContextCache.get(MEMBER_ID, "thread-1")).willReturn(ThreadContext.of(thread, List.of()));
+        given(chatThreadRepository.updateDocumentIds(eq(10L), eq("100,200"), any(Instant.class))).willReturn(1);
+
+        PreparedTurn prepared = threadTurnCommandService.prepare(MEMBER_ID, request);
+
+        assertThat(prepared.documentIds()).containsExactly(100L, 200L);
+        then(threadContextCache).should().onDocumentIdsUpdated(10L, List.of(100L, 200L));
+    }
+
+    @Test
+    @DisplayName("턴 저장 시 스레드 턴 수를 증가시켜 발급한 순번으로 턴을 저장하고 citation을 순서대로 저장한다")
+    void completeSavesTurnWithCitations() {
+        ChatThread thread = existingThread(10L, "thread-1");
+        given(chatThreadRepository.getReferenceById(10L)).willReturn(thread);
+        given(chatThreadRepository.incrementTurnCount(
+                eq(10L), eq(ThreadPolicy.MAX_THREAD_TURN_COUNT), any(Instant.class))).willReturn(1);
+        given(chatThreadRepository.findLastTurnSequence(10L)).willReturn(3);
+        given(threadTurnRepository.save(any(ThreadTurn.class))).willAnswer(invocation -> {
+            ThreadTurn saved = invocation.getArgument(0);
+            ReflectionTestUtils.setField(saved, "id", 99L);
+            return saved;
+        });
+
+        ChatResult result = new ChatResult(ChatResponseStatus.COMPLETED, "답변", List.of(
+                new RetrievedCitation(new CitationResponse(100L, "a.pdf", 1, "snippet"), "100:0")
+        ));
+
+        Long turnId = threadTurnCommandService.complete(MEMBER_ID, 10L, PROMPT, result);
+
+        assertThat(turnId).isEqualTo(99L);
+        ArgumentCaptor<ThreadTurn> turnCaptor = ArgumentCaptor.forClass(ThreadTurn.class);
+        then(threadTurnRepository).should().save(turnCaptor.capture());
+        assertThat(turnCaptor.getValue().getSequence()).isEqualTo(3);
+        then(turnCitationRepository).should().saveAll(anyList());
+        then(chatThreadRepository).should()
+                .incrementTurnCount(eq(10L), eq(ThreadPolicy.MAX_THREAD_TURN_COUNT), any(Instant.class));
+        then(chatThreadRepository).should(never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("캐시된 턴 수가 한도 미만이어도 DB 턴 수가 한도면 THREAD_LIMIT_EXCEEDED 예외가 발생하고 캐시를 버린다")
+    void completeThrowsWhenTurnLimitReachedInDatabase() {
+        given(chatThreadRepository.incrementTurnCount(
+                eq(10L), eq(ThreadPolicy.MAX_THREAD_TURN_COUNT), any(Instant.class))).willReturn(0);
+        given(chatThreadRepository.existsById(10L)).willReturn(true);
+
+        ChatResult result = new ChatResult(ChatResponseStatus.COMPLETED, "답변", List.of());
+
+        assertThatThrownBy(() -> threadTurnCommandService.complete(MEMBER_ID, 10L, PROMPT, result))
+                .isInstanceOf(PkvException.class)
+                .hasMessage("현재 스레드 턴 한도(30회)에 도달했습니다. 새 대화를 시작해주세요");
+        then(threadTurnRepository).should(never()).save(any());
+        then(threadContextCache).should().evict(10L);
+    }
+
+    @Test
+    @DisplayName("비동기 턴 예약은 PENDING 턴을 저장하고 스레드 턴 수에 포함시킨다")
+    void reserveSavesPendingTurn() {
+        ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("thread-1", PROMPT);
+        ChatThread thread = existingThread(10L, "thread-1");
+        given(threadContextCache.get(MEMBER_ID, "thread-1")).willReturn(ThreadContext.of(thread, List.of()));
+        given(chatThreadRepository.getReferenceById(10L)).willReturn(thread);
+        given(chatThreadRepository.incrementTurnCount(
+                eq(10L), eq(ThreadPolicy.MAX_THREAD_TURN_COUNT), any(Instant.class))).willReturn(1);
+        given(chatThreadRepository.findLastTurnSequence(10L)).willReturn(3);
+        given(threadTurnRepository.save(any(ThreadTurn.class))).willAnswer(invocation -> {
+            ThreadTurn saved = invocation.getArgument(0);
+            ReflectionTestUtils.setField(saved, "id", 99L);
+            return saved;
+        });
+
+        ReservedTurn reserved = threadTurnCommandService.reserve(MEMBER_ID, request);
+
+        assertThat(reserved.turnId()).isEqualTo(99L);
+        then(chatThreadRepository).should()
+                .incrementTurnCount(eq(10L), eq(ThreadPolicy.MAX_THREAD_TURN_COUNT), any(Instant.class));
+        ArgumentCaptor<ThreadTurn> turnCaptor = ArgumentCaptor.forClass(ThreadTurn.class);
+        then(threadTurnRepository).should().save(turnCaptor.capture());
+        assertThat(turnCaptor.getValue().getStatus()).isEqualTo(ChatResponseStatus.PENDING);
+        then(threadContextCache).should().onTurnSaved(10L, turnCaptor.getValue());
+    }
+
+    @Test
+    @DisplayName("이미 완료된 예약 턴에는 결과를 다시 기록하지 않는다")
+    void completeReservedIgnoresCompletedTurn() {
+        ThreadTurn turn = ThreadTurn.create(MEMBER_ID, existingThread(10L, "thread-1"), 1, PROMPT,
+                ChatResponseStatus.FAILED, "답변 생성에 실패했습니다");
+        given(threadTurnRepository.findById(99L)).willReturn(Optional.of(turn));
+
+        boolean completed = threadTurnCommandService.completeReserved(
+                99L, new ChatResult(ChatResponseStatus.COMPLETED, "답변", List.of()));
+
+        assertThat(completed).isFalse();
+        assertThat(turn.getStatus()).isEqualTo(ChatResponseStatus.FAILED);
+        then(turnCitationRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("요약 갱신 대상은 PENDING 턴 앞까지이며, 정상 답변이 아닌 턴은 반영 위치만 넘긴다")
+    void loadSummaryWorkStopsAtPendingTurn() {
+        ChatThread thread = existingThread(10L, "thread-1");
+        ReflectionTestUtils.setField(thread, "summarizedTurnSequence", 2);
+        ThreadTurn failed = ThreadTurn.create(MEMBER_ID, thread, 4, "실패한 질문", ChatResponseStatus.FAILED, "실패");
+        ReflectionTestUtils.setField(failed, "id", 4L);
+        ThreadTurn pending = ThreadTurn.pending(MEMBER_ID, thread, 5, "진행 중 질문");
+        ReflectionTestUtils.setField(pending, "id", 5L);
+        given(chatThreadRepository.findById(10L)).willReturn(Optional.of(thread));
+        given(threadTurnRepository.findByThread_IdAndSequenceGreaterThanOrderBySequenceAsc(10L, 2)).willReturn(List.of(
+                turn(thread, 3L, 3, "세 번째"),
+                failed,
+                pending,
+                turn(thread, 6L, 6, "여섯 번째")
+        ));
+
+        ThreadSummaryWork work = threadTurnCommandService.loadSummaryWork(10L).orElseThrow();
+
+        assertThat(work.baseTurnSequence()).isEqualTo(2);
+        assertThat(work.lastTurnSequence()).isEqualTo(4);
+        assertThat(work.turns()).extracting(ConversationContext::prompt).containsExactly("세 번째");
+    }
+
+    @Test
+    @DisplayName("요약 반영 위치는 턴 id가 아니라 순번으로 정한다")
+    void loadSummaryWorkUsesTurnSequenceInsteadOfId() {
+        ChatThread thread = existingThread(10L, "thread-1");
+        ReflectionTestUtils.setField(thread, "summarizedTurnSequence", 1);
+        given(chatThreadRepository.findById(10L)).willReturn(Optional.of(thread));
+        given(threadTurnRepository.findByThread_IdAndSequenceGreaterThanOrderBySequenceAsc(10L, 1)).willReturn(List.of(
+                turn(thread, 900L, 2, "두 번째"),
+                turn(thread, 800L, 3, "세 번째")
+        ));
+
+        ThreadSummaryWork work = threadTurnCommandService.loadSummaryWork(10L).orElseThrow();
+
+        assertThat(work.lastTurnSequence()).isEqualTo(3);
+        assertThat(work.turns()).extracting(ConversationContext::prompt).containsExactly("두 번째", "세 번째");
+    }
+
+    private ChatThread existingThread(Long id, String threadKey) {
+        ChatThread thread = ChatThread.builder()
+                .memberId(MEMBER_ID)
+                .threadKey(threadKey)
+                .title("title")
+                .build();
+        ReflectionTestUtils.setField(thread, "id", id);
+        return thread;
+    }
+
+    private DocumentResponse document(Long id, DocumentStatus status) {
+        return new DocumentResponse(id, id + ".pdf", 100L, "pdf", status, Instant.now());
+    }
+
+    private ThreadTurn turn(ChatThread thread, Long id, int sequence, String prompt) {
+        ThreadTurn turn = ThreadTurn.create(
+                MEMBER_ID, thread, sequence, prompt, ChatResponseStatus.COMPLETED, prompt + " 답변");
+        ReflectionTestUtils.setField(turn, "id", id);
+        return turn;
+    }
+}
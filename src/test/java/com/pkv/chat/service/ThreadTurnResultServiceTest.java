@@ -0,0 +1,113 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.dto.ThreadTurnDetailResponse;
+import com.pkv.common.exception.ErrorCode;
+import com.pkv.common.exception.PkvException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadTurnResultServiceTest {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final String THREAD_ID = "thread-1";
+    private static final Long TURN_ID = 99L;
+
+    @Mock
+    private ThreadQueryService threadQueryService;
+
+    @Mock
+    private ThreadTurnCommandService threadTurnCommandService;
+
+    private TurnCompletionNotifier turnCompletionNotifier;
+    private ThreadTurnResultService threadTurnResultService;
+
+    @BeforeEach
+    void setUp() {
+        turnCompletionNotifier = new TurnCompletionNotifier();
+        threadTurnResultService = new ThreadTurnResultService(
+                threadQueryService, threadTurnCommandService, turnCompletionNotifier, Runnable::run, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("완료된 턴은 기다리지 않고 바로 반환한다")
+    void awaitReturnsCompletedTurnImmediately() {
+        given(threadQueryService.getTurnDetail(MEMBER_ID, THREAD_ID, TURN_ID))
+                .willReturn(detail("COMPLETED", Instant.now()));
+
+        CompletableFuture<ThreadTurnDetailResponse> result =
+                threadTurnResultService.awaitTurnDetail(MEMBER_ID, THREAD_ID, TURN_ID, 20);
+
+        assertThat(result).isCompleted();
+        assertThat(result.join().status()).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    @DisplayName("PENDING 턴은 완료 알림을 받으면 최신 상태를 반환한다")
+    void awaitCompletesWhenTurnIsNotified() throws Exception {
+        Instant createdAt = Instant.now();
+        given(threadQueryService.getTurnDetail(MEMBER_ID, THREAD_ID, TURN_ID))
+                .willReturn(detail("PENDING", createdAt), detail("PENDING", createdAt), detail("COMPLETED", createdAt));
+
+        CompletableFuture<ThreadTurnDetailResponse> result =
+                threadTurnResultService.awaitTurnDetail(MEMBER_ID, THREAD_ID, TURN_ID, 20);
+        assertThat(result).isNotDone();
+
+        turnCompletionNotifier.notifyCompleted(TURN_ID);
+
+        assertThat(result.get(1, TimeUnit.SECONDS).status()).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    @DisplayName("처리 제한 시간을 넘긴 PENDING 턴은 실패로 마감한다")
+    void awaitFailsStalePendingTurn() {
+        Instant createdAt = Instant.now().minus(Duration.ofMinutes(10));
+        given(threadQueryService.getTurnDetail(MEMBER_ID, THREAD_ID, TURN_ID))
+                .willReturn(detail("PENDING", createdAt), detail("FAILED", createdAt));
+
+        CompletableFuture<ThreadTurnDetailResponse> result =
+                threadTurnResultService.awaitTurnDetail(MEMBER_ID, THREAD_ID, TURN_ID, 20);
+
+        assertThat(result.join().status()).isEqualTo("FAILED");
+        then(threadTurnCommandService).should().completeReserved(eq(TURN_ID), any(ChatResult.class));
+    }
+
+    @Test
+    @DisplayName("혼잡으로 예약이 취소된 턴은 삭제된 턴 대신 거절 사유로 실패한다")
+    void awaitFailsWithRejectionWhenReservationWasCancelled() {
+        Instant createdAt = Instant.now();
+        given(threadQueryService.getTurnDetail(MEMBER_ID, THREAD_ID, TURN_ID))
+                .willReturn(detail("PENDING", createdAt));
+
+        CompletableFuture<ThreadTurnDetailResponse> result =
+                threadTurnResultService.awaitTurnDetail(MEMBER_ID, THREAD_ID, TURN_ID, 20);
+        turnCompletionNotifier.reject(TURN_ID, ErrorCode.SERVICE_BUSY);
+        turnCompletionNotifier.notifyCompleted(TURN_ID);
+
+        assertThat(result).isCompletedExceptionally();
+        assertThatThrownBy(result::join)
+                .hasCauseInstanceOf(PkvException.class)
+                .satisfies(e -> assertThat(((PkvException) e.getCause()).getErrorCode()).isEqualTo(ErrorCode.SERVICE_BUSY));
+    }
+
+    private ThreadTurnDetailResponse detail(String status, Instant createdAt) {
+        return new ThreadTurnDetailResponse("질문", "", List.of(), status, createdAt);
+    }
+}
@@ -1,46 +1,48 @@
 package com.pkv.chat.service;
 
-import com.pkv.chat.ThreadPolicy;
-import com.pkv.chat.domain.ChatThread;
-import com.pkv.chat.domain.ThreadTurn;
-import com.pkv.chat.dto.HydeResult;
+import com.pkv.chat.domain.ChatResponseStatus;
+import com.pkv.chat.dto.CitationResponse;
+import com.pkv.chat.dto.ThreadTurnAcceptedResponse;
 import com.pkv.chat.dto.ThreadTurnCreateRequest;
 import com.pkv.chat.dto.ThreadTurnCreateResponse;
-import com.pkv.chat.repository.ChatThreadRepository;
-import com.pkv.chat.repository.ThreadTurnRepository;
-import com.pkv.chat.repository.TurnCitationRepository;
+import com.pkv.common.exception.ErrorCode;
 import com.pkv.common.exception.PkvException;
 import com.pkv.document.domain.DocumentStatus;
-import com.pkv.document.repository.DocumentRepository;
-import dev.langchain4j.data.embedding.Embedding;
+import com.pkv.document.dto.DocumentResponse;
+import com.pkv.document.service.DocumentCatalog;
+import com.pkv.document.service.MemberDocumentCatalog;
 import dev.langchain4j.data.message.AiMessage;
-import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.chat.response.ChatResponse;
-import dev.langchain4j.model.embedding.EmbeddingModel;
-import dev.langchain4j.model.output.Response;
-import dev.langchain4j.store.embedding.EmbeddingMatch;
-import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
-import dev.langchain4j.store.embedding.EmbeddingSearchResult;
-import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Pageable;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.core.task.TaskRejectedException;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 
 @ExtendWith(MockitoExtension.class)
 class ThreadTurnServiceTest {
@@ -49,52 +51,67 @@ class ThreadTurnServiceTest {
     private static final String PROMPT = "팩토리 패턴이 뭐야?";
 
     @Mock
-    private DocumentRepository documentRepository;
+    private MemberDocumentCatalog memberDocumentCatalog;
 
     @Mock
-    private EmbeddingModel embeddingModel;
+    private TurnRetrievalService turnRetrievalService;
 
     @Mock
-    private EmbeddingStore<TextSegment> embeddingStore;
+    private SemanticAnswerCache semanticAnswerCache;
 
     @Mock
     private ChatModel chatModel;
 
     @Mock
-    private ChatThreadRepository chatThreadRepository;
+    private StreamingChatModel streamingChatModel;
 
     @Mock
-    private ThreadTurnRepository threadTurnRepository;
+    private ThreadTurnCommandService threadTurnCommandService;
 
     @Mock
-    private TurnCitationRepository turnCitationRepository;
+    private PromptAssembler promptAssembler;
 
     @Mock
-    private PromptTemplateService promptTemplateService;
+    private TurnCompletionNotifier turnCompletionNotifier;
 
     @Mock
-    private HydeQueryTransformer hydeQueryTransformer;
+    private ThreadSummaryService threadSummaryService;
+
+    @Mock
+    private Executor turnStreamExecutor;
+
+    @Mock
+    private Executor turnAsyncExecutor;
 
-    @InjectMocks
     private ThreadTurnService threadTurnService;
 
+    @BeforeEach
+    void setUp() {
+        threadTurnService = new ThreadTurnService(
+                memberDocumentCatalog,
+                turnRetrievalService,
+                semanticAnswerCache,
+                chatModel,
+                streamingChatModel,
+                threadTurnCommandService,
+                promptAssembler,
+                turnCompletionNotifier,
+                threadSummaryService,
+                turnStreamExecutor,
+                turnAsyncExecutor,
+                new SimpleMeterRegistry()
+        );
+    }
+
     @Test
     @DisplayName("검색 가능한 문서가 없으면 FAILED 상태/고정 메시지를 반환한다")
     void createTurnReturnsFailedWhenNoSearchableDocument() {
         ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("thread-1", PROMPT);
-        ChatThread thread = existingThread(10L, "thread-1");
-
-        given(chatThreadRepository.findByMemberIdAndThreadKey(MEMBER_ID, "thread-1"))
-                .willReturn(Optional.of(thread));
-        given(threadTurnRepository.findByThread_IdOrderByCreatedAtDesc(org.mockito.ArgumentMatchers.eq(10L), any(Pageable.class)))
-                .willReturn(List.of());
-        given(documentRepository.existsByMemberIdAndStatus(MEMBER_ID, DocumentStatus.COMPLETED))
-                .willReturn(false);
-        given(threadTurnRepository.save(any(ThreadTurn.class))).willAnswer(invocation -> {
-            ThreadTurn saved = invocation.getArgument(0);
-            ReflectionTestUtils.setField(saved, "id", 99L);
-            return saved;
-        });
+
+        given(threadTurnCommandService.prepare(MEMBER_ID, request)).willReturn(preparedTurn());
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(catalogWith(DocumentStatus.PROCESSING));
+        given(threadTurnCommandService.complete(eq(MEMBER_ID), eq(10L), eq(PROMPT), any(ChatResult.class)))
+                .willReturn(99L);
 
         ThreadTurnCreateResponse response = threadTurnService.createTurn(MEMBER_ID, request);
 
@@ -106,119 +123,254 @@ class ThreadTurnServiceTest {
     }
 
     @Test
-    @DisplayName("존재하지 않는 threadId면 THREAD_NOT_FOUND 예외가 발생한다")
-    void createTurnThrowsWhenThreadNotFound() {
-        ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("missing-thread", PROMPT);
-        given(chatThreadRepository.findByMemberIdAndThreadKey(MEMBER_ID, "missing-thread"))
-                .willReturn(Optional.empty());
+    @DisplayName("검색 결과가 없으면 LLM을 호출하지 않고 IRRELEVANT 상태를 반환한다")
+    void createTurnReturnsIrrelevantWhenNothingRetrieved() {
+        ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("thread-1", PROMPT);
 
-        assertThatThrownBy(() -> threadTurnService.createTurn(MEMBER_ID, request))
-                .isInstanceOf(PkvException.class)
-                .hasMessage("유효하지 않은 스레드입니다.");
+        given(threadTurnCommandService.prepare(MEMBER_ID, request)).willReturn(preparedTurn());
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(catalogWith(DocumentStatus.COMPLETED));
+        given(semanticAnswerCache.lookup(MEMBER_ID, PROMPT, ConversationHistory.EMPTY)).willReturn(SemanticAnswerCache.Lookup.BYPASS);
+        given(turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of())).willReturn(List.of());
+        given(threadTurnCommandService.complete(eq(MEMBER_ID), eq(10L), eq(PROMPT), any(ChatResult.class)))
+                .willReturn(99L);
+
+        ThreadTurnCreateResponse response = threadTurnService.createTurn(MEMBER_ID, request);
+
+        assertThat(response.status()).isEqualTo("IRRELEVANT");
+        assertThat(response.answer()).isEqualTo(ThreadTurnService.IRRELEVANT_MESSAGE);
+        then(chatModel).shouldHaveNoInteractions();
+        then(threadSummaryService).shouldHaveNoInteractions();
     }
 
     @Test
-    @DisplayName("스레드 턴 수가 한도면 THREAD_LIMIT_EXCEEDED 예외가 발생한다")
-    void createTurnThrowsWhenThreadTurnLimitReached() {
+    @DisplayName("검색된 citation으로 답변을 생성하고 COMPLETED 상태로 저장한다")
+    void createTurnCompletesWithRetrievedCitations() {
         ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("thread-1", PROMPT);
-        ChatThread thread = ChatThread.builder()
-                .memberId(MEMBER_ID)
-                .threadKey("thread-1")
-                .title("title")
-                .build();
-        ReflectionTestUtils.setField(thread, "turnCount", ThreadPolicy.MAX_THREAD_TURN_COUNT);
 
-        given(chatThreadRepository.findByMemberIdAndThreadKey(MEMBER_ID, "thread-1"))
-                .willReturn(Optional.of(thread));
+        given(threadTurnCommandService.prepare(MEMBER_ID, request)).willReturn(preparedTurn());
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(catalogWith(DocumentStatus.COMPLETED));
+        given(semanticAnswerCache.lookup(MEMBER_ID, PROMPT, ConversationHistory.EMPTY)).willReturn(SemanticAnswerCache.Lookup.BYPASS);
+        given(turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of())).willReturn(retrievedCitations());
+        given(promptAssembler.assemble(PROMPT, retrievedCitations(), ConversationHistory.EMPTY))
+                .willReturn(assembled(retrievedCitations()));
+        given(chatModel.chat(anyList()))
+                .willReturn(ChatResponse.builder()
+                        .aiMessage(AiMessage.from("팩토리 패턴은 객체 생성을 캡슐화합니다."))
+                        .build());
+        given(threadTurnCommandService.complete(eq(MEMBER_ID), eq(10L), eq(PROMPT), any(ChatResult.class)))
+                .willReturn(99L);
 
-        assertThatThrownBy(() -> threadTurnService.createTurn(MEMBER_ID, request))
-                .isInstanceOf(PkvException.class)
-                .hasMessage("현재 스레드 턴 한도(5회)에 도달했습니다. 새 대화를 시작해주세요");
+        ThreadTurnCreateResponse response = threadTurnService.createTurn(MEMBER_ID, request);
+
+        assertThat(response.status()).isEqualTo("COMPLETED");
+        assertThat(response.answer()).isEqualTo("팩토리 패턴은 객체 생성을 캡슐화합니다.");
+        assertThat(response.citations())
+                .extracting("snippet")
+                .containsExactly("팩토리 패턴 설명 텍스트", "다른 청크 텍스트");
+        then(threadSummaryService).should().requestUpdate(10L);
     }
 
     @Test
-    @DisplayName("HyDE 한/영 검색 결과에서 동일 sourceChunkRef를 가진 citation은 중복 제거된다")
-    void createTurnDeduplicatesCitationsBySourceChunkRef() {
+    @DisplayName("토큰 예산으로 프롬프트에서 제외된 citation은 응답 citation에도 포함하지 않는다")
+    void createTurnReturnsOnlyCitationsUsedInPrompt() {
         ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("thread-1", PROMPT);
-        ChatThread thread = existingThread(10L, "thread-1");
-
-        given(chatThreadRepository.findByMemberIdAndThreadKey(MEMBER_ID, "thread-1"))
-                .willReturn(Optional.of(thread));
-        given(threadTurnRepository.findByThread_IdOrderByCreatedAtDesc(
-                org.mockito.ArgumentMatchers.eq(10L), any(Pageable.class)))
-                .willReturn(List.of());
-        given(documentRepository.existsByMemberIdAndStatus(MEMBER_ID, DocumentStatus.COMPLETED))
-                .willReturn(true);
-
-        // HyDE가 한/영 두 개의 가상 문서를 반환
-        given(hydeQueryTransformer.transform(PROMPT))
-                .willReturn(new HydeResult("팩토리 패턴은 객체 생성을 위임하는 패턴", "Factory pattern delegates object creation"));
-
-        Embedding fakeEmbedding = Embedding.from(new float[]{0.1f, 0.2f});
-        given(embeddingModel.embed(any(String.class)))
-                .willReturn(new Response<>(fakeEmbedding));
-
-        // 두 검색 모두 같은 sourceChunkRef("chunk-1")를 가진 결과를 반환 → 중복
-        TextSegment duplicateSegment = TextSegment.from(
-                "팩토리 패턴 설명 텍스트",
-                dev.langchain4j.data.document.Metadata.from(Map.of(
-                        "fileName", "design-patterns.pdf",
-                        "pageNumber", 5,
-                        "memberId", MEMBER_ID,
-                        "documentId", 100L,
-                        "sourceChunkRef", "chunk-1"
-                ))
-        );
-        TextSegment uniqueSegment = TextSegment.from(
-                "다른 청크 텍스트",
-                dev.langchain4j.data.document.Metadata.from(Map.of(
-                        "fileName", "design-patterns.pdf",
-                        "pageNumber", 8,
-                        "memberId", MEMBER_ID,
-                        "documentId", 100L,
-                        "sourceChunkRef", "chunk-2"
-                ))
-        );
 
-        EmbeddingSearchResult<TextSegment> searchResult = new EmbeddingSearchResult<>(List.of(
-                new EmbeddingMatch<>(0.95, "id-1", fakeEmbedding, duplicateSegment),
-                new EmbeddingMatch<>(0.90, "id-2", fakeEmbedding, uniqueSegment)
-        ));
-        given(embeddingStore.search(any(EmbeddingSearchRequest.class)))
-                .willReturn(searchResult);
-
-        // LLM 응답
-        given(promptTemplateService.systemPrompt()).willReturn("system prompt");
-        given(promptTemplateService.renderUserPrompt(any(), any(), any())).willReturn("rendered prompt");
+        given(threadTurnCommandService.prepare(MEMBER_ID, request)).willReturn(preparedTurn());
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(catalogWith(DocumentStatus.COMPLETED));
+        given(semanticAnswerCache.lookup(MEMBER_ID, PROMPT, ConversationHistory.EMPTY)).willReturn(SemanticAnswerCache.Lookup.BYPASS);
+        given(turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of())).willReturn(retrievedCitations());
+        given(promptAssembler.assemble(PROMPT, retrievedCitations(), ConversationHistory.EMPTY))
+                .willReturn(assembled(retrievedCitations().subList(0, 1)));
         given(chatModel.chat(anyList()))
                 .willReturn(ChatResponse.builder()
                         .aiMessage(AiMessage.from("팩토리 패턴은 객체 생성을 캡슐화합니다."))
                         .build());
-
-        given(threadTurnRepository.save(any(ThreadTurn.class))).willAnswer(invocation -> {
-            ThreadTurn saved = invocation.getArgument(0);
-            ReflectionTestUtils.setField(saved, "id", 99L);
-            return saved;
-        });
+        given(threadTurnCommandService.complete(eq(MEMBER_ID), eq(10L), eq(PROMPT), any(ChatResult.class)))
+                .willReturn(99L);
 
         ThreadTurnCreateResponse response = threadTurnService.createTurn(MEMBER_ID, request);
 
-        assertThat(response.status()).isEqualTo("COMPLETED");
-        // 한/영 검색 각각 2개(chunk-1, chunk-2) → 총 4개 중 chunk-1 중복 제거 → 3개
-        // 하지만 chunk-2도 중복이므로 → 최종 2개
-        assertThat(response.citations()).hasSize(2);
         assertThat(response.citations())
                 .extracting("snippet")
-                .containsExactly("팩토리 패턴 설명 텍스트", "다른 청크 텍스트");
+                .containsExactly("팩토리 패턴 설명 텍스트");
+    }
+
+    @Test
+    @DisplayName("스트리밍 턴은 LLM 스트림이 끝나면 누적된 답변과 citation으로 턴을 저장한다")
+    void streamTurnPersistsAnswerWhenStreamCompletes() {
+        ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("thread-1", PROMPT);
+
+        given(threadTurnCommandService.prepare(MEMBER_ID, request)).willReturn(preparedTurn());
+        willAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).given(turnStreamExecutor).execute(any(Runnable.class));
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(catalogWith(DocumentStatus.COMPLETED));
+        given(semanticAnswerCache.lookup(MEMBER_ID, PROMPT, ConversationHistory.EMPTY)).willReturn(SemanticAnswerCache.Lookup.BYPASS);
+        given(turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of())).willReturn(retrievedCitations());
+        given(promptAssembler.assemble(PROMPT, retrievedCitations(), ConversationHistory.EMPTY))
+                .willReturn(assembled(retrievedCitations()));
+
+        willAnswer(invocation -> {
+            StreamingChatResponseHandler handler = invocation.getArgument(1);
+            handler.onPartialResponse("팩토리 패턴은 ");
+            handler.onPartialResponse("객체 생성을 캡슐화합니다.");
+            handler.onCompleteResponse(ChatResponse.builder()
+                    .aiMessage(AiMessage.from("팩토리 패턴은 객체 생성을 캡슐화합니다."))
+                    .build());
+            return null;
+        }).given(streamingChatModel).chat(anyList(), any(StreamingChatResponseHandler.class));
+
+        threadTurnService.streamTurn(MEMBER_ID, request);
+
+        ArgumentCaptor<ChatResult> resultCaptor = ArgumentCaptor.forClass(ChatResult.class);
+        then(threadTurnCommandService).should()
+                .complete(eq(MEMBER_ID), eq(10L), eq(PROMPT), resultCaptor.capture());
+        assertThat(resultCaptor.getValue().status()).isEqualTo(ChatResponseStatus.COMPLETED);
+        assertThat(resultCaptor.getValue().answer()).isEqualTo("팩토리 패턴은 객체 생성을 캡슐화합니다.");
+        assertThat(resultCaptor.getValue().citations()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("시맨틱 캐시에 비슷한 질문의 답변이 있으면 검색/LLM 없이 재사용하고 턴은 그대로 저장한다")
+    void createTurnReusesCachedAnswer() {
+        ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("thread-1", PROMPT);
+        ChatResult cached = new ChatResult(ChatResponseStatus.COMPLETED, "캐시된 답변", retrievedCitations());
+
+        given(threadTurnCommandService.prepare(MEMBER_ID, request)).willReturn(preparedTurn());
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(catalogWith(DocumentStatus.COMPLETED));
+        given(semanticAnswerCache.lookup(MEMBER_ID, PROMPT, ConversationHistory.EMPTY))
+                .willReturn(new SemanticAnswerCache.Lookup(null, null, cached));
+        given(threadTurnCommandService.complete(MEMBER_ID, 10L, PROMPT, cached)).willReturn(99L);
+
+        ThreadTurnCreateResponse response = threadTurnService.createTurn(MEMBER_ID, request);
+
+        assertThat(response.answer()).isEqualTo("캐시된 답변");
+        assertThat(response.turnId()).isEqualTo(99L);
+        then(turnRetrievalService).shouldHaveNoInteractions();
+        then(chatModel).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("비동기 턴 생성은 PENDING 턴을 예약해 반환하고, executor에서 답변을 생성해 예약된 턴에 기록한다")
+    void createTurnAsyncCompletesReservedTurnInBackground() {
+        ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("thread-1", PROMPT);
+
+        given(threadTurnCommandService.reserve(MEMBER_ID, request))
+                .willReturn(new ReservedTurn(10L, "thread-1", 99L, ConversationHistory.EMPTY, List.of()));
+        willAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).given(turnAsyncExecutor).execute(any(Runnable.class));
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(catalogWith(DocumentStatus.PROCESSING));
+
+        ThreadTurnAcceptedResponse response = threadTurnService.createTurnAsync(MEMBER_ID, request);
+
+        assertThat(response.turnId()).isEqualTo(99L);
+        assertThat(response.status()).isEqualTo("PENDING");
+        ArgumentCaptor<ChatResult> resultCaptor = ArgumentCaptor.forClass(ChatResult.class);
+        then(threadTurnCommandService).should().completeReserved(eq(99L), resultCaptor.capture());
+        assertThat(resultCaptor.getValue().answer()).isEqualTo(ThreadTurnService.NO_SEARCHABLE_DOCUMENT_MESSAGE);
+        then(turnCompletionNotifier).should().notifyCompleted(99L);
+    }
+
+    @Test
+    @DisplayName("비동기 작업 큐가 가득 차면 예약을 취소하고 TURN_CAPACITY_EXCEEDED 예외가 발생한다")
+    void createTurnAsyncCancelsReservationWhenRejected() {
+        ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("thread-1", PROMPT);
+
+        given(threadTurnCommandService.reserve(MEMBER_ID, request))
+                .willReturn(new ReservedTurn(10L, "thread-1", 99L, ConversationHistory.EMPTY, List.of()));
+        willThrow(new TaskRejectedException("full")).given(turnAsyncExecutor).execute(any(Runnable.class));
+
+        assertThatThrownBy(() -> threadTurnService.createTurnAsync(MEMBER_ID, request))
+                .isInstanceOf(PkvException.class)
+                .satisfies(e -> assertThat(((PkvException) e).getErrorCode()).isEqualTo(ErrorCode.TURN_CAPACITY_EXCEEDED));
+        then(threadTurnCommandService).should().cancelReserved(99L);
+    }
+
+    @Test
+    @DisplayName("chat model이 SERVICE_BUSY로 거절하면 실패 턴을 저장하지 않고 예외를 그대로 던진다")
+    void createTurnPropagatesServiceBusyWithoutSavingTurn() {
+        ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("thread-1", PROMPT);
+
+        given(threadTurnCommandService.prepare(MEMBER_ID, request)).willReturn(preparedTurn());
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(catalogWith(DocumentStatus.COMPLETED));
+        given(semanticAnswerCache.lookup(MEMBER_ID, PROMPT, ConversationHistory.EMPTY)).willReturn(SemanticAnswerCache.Lookup.BYPASS);
+        given(turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of())).willReturn(retrievedCitations());
+        given(promptAssembler.assemble(PROMPT, retrievedCitations(), ConversationHistory.EMPTY))
+                .willReturn(assembled(retrievedCitations()));
+        given(chatModel.chat(anyList())).willThrow(new PkvException(ErrorCode.SERVICE_BUSY));
+
+        assertThatThrownBy(() -> threadTurnService.createTurn(MEMBER_ID, request))
+                .isInstanceOf(PkvException.class)
+                .satisfies(e -> assertThat(((PkvException) e).getErrorCode()).isEqualTo(ErrorCode.SERVICE_BUSY));
+        then(threadTurnCommandService).should(never()).complete(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("스트리밍 중 UPSTREAM_TIMEOUT이 발생하면 턴을 저장하지 않고 error 이벤트로 알린다")
+    void streamTurnSendsErrorWithoutSavingTurnOnUpstreamTimeout() {
+        ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("thread-1", PROMPT);
+
+        given(threadTurnCommandService.prepare(MEMBER_ID, request)).willReturn(preparedTurn());
+        willAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).given(turnStreamExecutor).execute(any(Runnable.class));
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(catalogWith(DocumentStatus.COMPLETED));
+        given(semanticAnswerCache.lookup(MEMBER_ID, PROMPT, ConversationHistory.EMPTY)).willReturn(SemanticAnswerCache.Lookup.BYPASS);
+        given(turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of()))
+                .willThrow(new PkvException(ErrorCode.UPSTREAM_TIMEOUT));
+
+        threadTurnService.streamTurn(MEMBER_ID, request);
+
+        then(threadTurnCommandService).should(never()).complete(any(), any(), any(), any());
+        then(promptAssembler).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("비동기 턴 처리 중 SERVICE_BUSY가 발생하면 예약을 취소하고 거절 사유를 남긴 뒤 완료를 알린다")
+    void createTurnAsyncCancelsReservationOnServiceBusy() {
+        ThreadTurnCreateRequest request = new ThreadTurnCreateRequest("thread-1", PROMPT);
+
+        given(threadTurnCommandService.reserve(MEMBER_ID, request))
+                .willReturn(new ReservedTurn(10L, "thread-1", 99L, ConversationHistory.EMPTY, List.of()));
+        willAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).given(turnAsyncExecutor).execute(any(Runnable.class));
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(catalogWith(DocumentStatus.COMPLETED));
+        given(semanticAnswerCache.lookup(MEMBER_ID, PROMPT, ConversationHistory.EMPTY)).willReturn(SemanticAnswerCache.Lookup.BYPASS);
+        given(turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of()))
+                .willThrow(new PkvException(ErrorCode.SERVICE_BUSY));
+
+        threadTurnService.createTurnAsync(MEMBER_ID, request);
+
+        InOrder inOrder = inOrder(turnCompletionNotifier, threadTurnCommandService);
+        inOrder.verify(turnCompletionNotifier).reject(99L, ErrorCode.SERVICE_BUSY);
+        inOrder.verify(threadTurnCommandService).cancelReserved(99L);
+        inOrder.verify(turnCompletionNotifier).notifyCompleted(99L);
+        then(threadTurnCommandService).should(never()).completeReserved(any(), any());
+    }
+
+    private DocumentCatalog catalogWith(DocumentStatus status) {
+        return new DocumentCatalog(List.of(
+                new DocumentResponse(100L, "design-patterns.pdf", 1024L, "pdf", status, Instant.now())));
     }
 
-    private ChatThread existingThread(Long id, String threadKey) {
-        ChatThread thread = ChatThread.builder()
-                .memberId(MEMBER_ID)
-                .threadKey(threadKey)
-                .title("title")
-                .build();
-        ReflectionTestUtils.setField(thread, "id", id);
-        return thread;
+    private PreparedTurn preparedTurn() {
+        return new PreparedTurn(10L, "thread-1", ConversationHistory.EMPTY, List.of());
+    }
+
+    private PromptAssembler.AssembledPrompt assembled(List<RetrievedCitation> citations) {
+        return new PromptAssembler.AssembledPrompt(List.of(UserMessage.from("rendered prompt")), citations, 100);
+    }
+
+    private List<RetrievedCitation> retrievedCitations() {
+        return List.of(
+                new RetrievedCitation(new CitationResponse(100L, "design-patterns.pdf", 5, "팩토리 패턴 설명 텍스트"), "chunk-1"),
+                new RetrievedCitation(new CitationResponse(100L, "design-patterns.pdf", 8, "다른 청크 텍스트"), "chunk-2")
+        );
     }
 }
@@ -0,0 +1,277 @@
+package com.pkv.chat.service;
+
+import com.pkv.chat.dto.CitationResponse;
+import com.pkv.chat.dto.HydeResult;
+import com.pkv.common.service.ChunkTextStore;
+import com.pkv.document.domain.DocumentChunk;
+import com.pkv.document.domain.DocumentStatus;
+import com.pkv.document.dto.DocumentResponse;
+import com.pkv.document.service.DocumentCatalog;
+import com.pkv.document.service.MemberDocumentCatalog;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class TurnRetrievalServiceTest {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final String PROMPT = "팩토리 패턴이 뭐야?";
+    private static final HydeResult HYDE_RESULT =
+            new HydeResult("팩토리 패턴은 객체 생성을 위임하는 패턴", "Factory pattern delegates object creation");
+    private static final double SPECULATIVE_MIN_SCORE = 0.85;
+    private static final int RRF_K = 60;
+    private static final DataSize HYDE_SKIP_MAX_SIZE = DataSize.ofMegabytes(1);
+
+    @Mock
+    private ChunkRetriever chunkRetriever;
+
+    @Mock
+    private HydeQueryTransformer hydeQueryTransformer;
+
+    @Mock
+    private DocumentRouter documentRouter;
+
+    @Mock
+    private MemberDocumentCatalog memberDocumentCatalog;
+
+    @Mock
+    private ChunkTextStore chunkTextStore;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TurnRetrievalService turnRetrievalService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        turnRetrievalService = service(new TaskExecutorAdapter(Runnable::run));
+        lenient().when(hydeQueryTransformer.transform(anyString())).thenReturn(HYDE_RESULT);
+        lenient().when(documentRouter.route(MEMBER_ID, PROMPT, List.of())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("원본 질문 검색 점수가 임계값 이상이면 HyDE 검색 없이 반환한다")
+    void retrieveSkipsHydeWhenRawMatchesAreConfident() {
+        given(chunkRetriever.search(MEMBER_ID, null, List.of(PROMPT)))
+                .willReturn(List.of(dense(match(0.9, "팩토리 패턴 설명 텍스트", "chunk-1"))));
+
+        List<RetrievedCitation> citations = turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of());
+
+        assertThat(citations).extracting(RetrievedCitation::sourceChunkRef).containsExactly("chunk-1");
+        then(chunkRetriever).should(never()).search(MEMBER_ID, null, HYDE_RESULT.documents());
+        assertThat(meterRegistry.get(TurnRetrievalService.RETRIEVAL_TIMER)
+                .tag(TurnRetrievalService.PATH_TAG, TurnRetrievalService.PATH_SPECULATIVE)
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("HyDE 생성 중에 원본 질문 검색 결과로 충분하면 HyDE 작업을 인터럽트하고 생략한 대기 시간을 기록한다")
+    void retrieveInterruptsRunningHydeOnSpeculativePath() throws InterruptedException {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            TurnRetrievalService service = service(new TaskExecutorAdapter(executor));
+            CountDownLatch hydeStarted = new CountDownLatch(1);
+            CountDownLatch hydeInterrupted = new CountDownLatch(1);
+            given(hydeQueryTransformer.transform(PROMPT)).willAnswer(invocation -> {
+                hydeStarted.countDown();
+                try {
+                    new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    hydeInterrupted.countDown();
+                    Thread.currentThread().interrupt();
+                }
+                return HYDE_RESULT;
+            });
+            given(chunkRetriever.search(MEMBER_ID, null, List.of(PROMPT))).willAnswer(invocation -> {
+                hydeStarted.await(5, TimeUnit.SECONDS);
+                return List.of(dense(match(0.9, "팩토리 패턴 설명 텍스트", "chunk-1")));
+            });
+
+            service.retrieve(MEMBER_ID, PROMPT, List.of());
+
+            assertThat(hydeInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(meterRegistry.get(TurnRetrievalService.HYDE_SAVED_TIMER).timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get(TurnRetrievalService.HYDE_TIMER).timer().count()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("원본 질문과 HyDE 한/영 검색 결과를 합치고 동일 sourceChunkRef는 중복 제거한다")
+    void retrieveMergesRawAndHydeMatchesAndDeduplicates() {
+        EmbeddingMatch<TextSegment> duplicate = match(0.80, "팩토리 패턴 설명 텍스트", "chunk-1");
+        EmbeddingMatch<TextSegment> unique = match(0.78, "다른 청크 텍스트", "chunk-2");
+
+        given(chunkRetriever.search(MEMBER_ID, null, List.of(PROMPT))).willReturn(List.of(dense(duplicate)));
+        given(chunkRetriever.search(MEMBER_ID, null, HYDE_RESULT.documents()))
+                .willReturn(List.of(dense(duplicate, unique), dense(unique, duplicate)));
+
+        List<RetrievedCitation> citations = turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of());
+
+        assertThat(citations)
+                .extracting(citation -> citation.response().snippet())
+                .containsExactly("팩토리 패턴 설명 텍스트", "다른 청크 텍스트");
+        assertThat(meterRegistry.get(TurnRetrievalService.RETRIEVAL_TIMER)
+                .tag(TurnRetrievalService.PATH_TAG, TurnRetrievalService.PATH_HYDE)
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("HyDE 생성이 실패하면 턴을 실패시키지 않고 원본 질문 검색 결과만 반환한다")
+    void retrieveFallsBackToRawMatchesWhenHydeFails() {
+        given(hydeQueryTransformer.transform(PROMPT)).willThrow(new IllegalStateException("cache failure"));
+        given(chunkRetriever.search(MEMBER_ID, null, List.of(PROMPT)))
+                .willReturn(List.of(dense(match(0.5, "팩토리 패턴 설명 텍스트", "chunk-1"))));
+
+        List<RetrievedCitation> citations = turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of());
+
+        assertThat(citations).extracting(RetrievedCitation::sourceChunkRef).containsExactly("chunk-1");
+        then(chunkRetriever).should().search(MEMBER_ID, null, List.of(PROMPT));
+        then(chunkRetriever).shouldHaveNoMoreInteractions();
+        assertThat(meterRegistry.get(TurnRetrievalService.RETRIEVAL_TIMER)
+                .tag(TurnRetrievalService.PATH_TAG, TurnRetrievalService.PATH_HYDE_FAILED)
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("밀집/희소 검색 순위를 RRF로 합쳐 여러 목록에서 상위인 청크를 먼저, 최대 SEARCH_CANDIDATES개 반환한다")
+    void retrieveFusesDenseAndSparseRankings() {
+        EmbeddingMatch<TextSegment> denseOnly = match(0.80, "밀집 검색 전용 청크", "chunk-1");
+        EmbeddingMatch<TextSegment> both = match(0.75, "에러 코드 Q004 설명", "chunk-2");
+        EmbeddingMatch<TextSegment> sparseOnly = match(12.0, "Q004 재시도 가이드", "chunk-3");
+
+        given(chunkRetriever.search(MEMBER_ID, null, List.of(PROMPT))).willReturn(List.of(
+                new QueryMatches(List.of(denseOnly, both), List.of(sparseOnly, both))));
+        given(chunkRetriever.search(MEMBER_ID, null, HYDE_RESULT.documents())).willReturn(List.of());
+
+        List<RetrievedCitation> citations = turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of());
+
+        assertThat(citations)
+                .extracting(RetrievedCitation::sourceChunkRef)
+                .containsExactly("chunk-2", "chunk-1", "chunk-3");
+    }
+
+    @Test
+    @DisplayName("희소 검색 점수는 HyDE 생략 판단에 사용하지 않는다")
+    void sparseScoreDoesNotSkipHyde() {
+        given(chunkRetriever.search(MEMBER_ID, null, List.of(PROMPT))).willReturn(List.of(
+                new QueryMatches(List.of(), List.of(match(12.0, "Q004 재시도 가이드", "chunk-3")))));
+        given(chunkRetriever.search(MEMBER_ID, null, HYDE_RESULT.documents())).willReturn(List.of());
+
+        turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of());
+
+        then(chunkRetriever).should().search(MEMBER_ID, null, HYDE_RESULT.documents());
+    }
+
+    @Test
+    @DisplayName("DocumentRouter가 고른 문서 안에서만 원본 질문과 HyDE 검색을 한다")
+    void retrieveSearchesWithinRoutedDocuments() {
+        Set<Long> routed = Set.of(100L, 200L);
+        given(documentRouter.route(MEMBER_ID, PROMPT, List.of())).willReturn(Optional.of(routed));
+        given(chunkRetriever.search(MEMBER_ID, routed, List.of(PROMPT)))
+                .willReturn(List.of(dense(match(0.75, "팩토리 패턴 설명 텍스트", "chunk-1"))));
+        given(chunkRetriever.search(MEMBER_ID, routed, HYDE_RESULT.documents())).willReturn(List.of());
+
+        List<RetrievedCitation> citations = turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of());
+
+        assertThat(citations).extracting(RetrievedCitation::sourceChunkRef).containsExactly("chunk-1");
+        then(chunkRetriever).should().search(MEMBER_ID, routed, HYDE_RESULT.documents());
+    }
+
+    @Test
+    @DisplayName("질문 범위가 작은 문서 하나이면 HyDE 없이 범위 안에서 원본 질문만 검색한다")
+    void retrieveSkipsHydeForSmallSingleDocumentScope() {
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(new DocumentCatalog(List.of(
+                new DocumentResponse(100L, "design-patterns.pdf", 200_000L, "pdf", DocumentStatus.COMPLETED, Instant.now())
+        )));
+        given(chunkRetriever.search(MEMBER_ID, List.of(100L), List.of(PROMPT)))
+                .willReturn(List.of(dense(match(0.72, "팩토리 패턴 설명 텍스트", "chunk-1"))));
+
+        List<RetrievedCitation> citations = turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of(100L));
+
+        assertThat(citations).extracting(RetrievedCitation::sourceChunkRef).containsExactly("chunk-1");
+        then(hydeQueryTransformer).should(never()).transform(any());
+        then(documentRouter).should(never()).route(any(), any(), any());
+        assertThat(meterRegistry.get(TurnRetrievalService.RETRIEVAL_TIMER)
+                .tag(TurnRetrievalService.PATH_TAG, TurnRetrievalService.PATH_SCOPED)
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("본문 없이 검색된 청크는 최종 출처로 고른 것만 청크 저장소에서 한 번에 읽어 채운다")
+    void retrieveHydratesTextsFromChunkStore() {
+        EmbeddingMatch<TextSegment> withoutText = new EmbeddingMatch<>(0.9, "point-1", null,
+                TextSegment.from("", Metadata.from(Map.of(
+                        "memberId", MEMBER_ID,
+                        "documentId", 100L,
+                        "sourceChunkRef", "100:0"
+                ))));
+        EmbeddingMatch<TextSegment> withText = match(0.88, "팩토리 패턴 설명 텍스트", "chunk-1");
+        given(chunkRetriever.search(MEMBER_ID, null, List.of(PROMPT)))
+                .willReturn(List.of(dense(withoutText, withText)));
+        given(chunkTextStore.findAll(List.of("100:0"))).willReturn(Map.of(
+                "100:0", new DocumentChunk("100:0", 100L, MEMBER_ID, 3, "청크 저장소의 본문")));
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(new DocumentCatalog(List.of(
+                new DocumentResponse(100L, "design-patterns.pdf", 200_000L, "pdf", DocumentStatus.COMPLETED, Instant.now())
+        )));
+
+        List<RetrievedCitation> citations = turnRetrievalService.retrieve(MEMBER_ID, PROMPT, List.of());
+
+        assertThat(citations).extracting(RetrievedCitation::response).containsExactly(
+                new CitationResponse(100L, "design-patterns.pdf", 3, "청크 저장소의 본문"),
+                new CitationResponse(100L, "design-patterns.pdf", 5, "팩토리 패턴 설명 텍스트"));
+        then(chunkTextStore).should().findAll(List.of("100:0"));
+    }
+
+    private TurnRetrievalService service(AsyncTaskExecutor retrievalExecutor) {
+        return new TurnRetrievalService(
+                chunkRetriever, hydeQueryTransformer, documentRouter, memberDocumentCatalog, chunkTextStore,
+                retrievalExecutor, meterRegistry, SPECULATIVE_MIN_SCORE, RRF_K, HYDE_SKIP_MAX_SIZE);
+    }
+
+    @SafeVarargs
+    private QueryMatches dense(EmbeddingMatch<TextSegment>... matches) {
+        return new QueryMatches(List.of(matches), List.of());
+    }
+
+    private EmbeddingMatch<TextSegment> match(double score, String text, String sourceChunkRef) {
+        TextSegment segment = TextSegment.from(text, Metadata.from(Map.of(
+                "fileName", "design-patterns.pdf",
+                "pageNumber", 5,
+                "memberId", MEMBER_ID,
+                "documentId", 100L,
+                "sourceChunkRef", sourceChunkRef
+        )));
+        return new EmbeddingMatch<>(score, sourceChunkRef, Embedding.from(new float[]{0.1f, 0.2f}), segment);
+    }
+}
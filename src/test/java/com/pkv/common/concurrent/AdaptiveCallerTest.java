@@ -0,0 +1,160 @@
+package com.pkv.common.concurrent;
+
+import com.pkv.common.exception.ErrorCode;
+import com.pkv.common.exception.PkvException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveCallerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("표본이 쌓이기 전에는 최대 타임아웃을 쓰고, 이후에는 p99 배수로 줄인다")
+    void timeoutAdaptsToObservedLatency() {
+        AdaptiveCaller caller = new AdaptiveCaller("embedding-model",
+                policy(Duration.ofMillis(50), Duration.ofSeconds(5), false, 5), meterRegistry);
+
+        assertThat(caller.timeout()).isEqualTo(Duration.ofSeconds(5));
+
+        for (int i = 0; i < 5; i++) {
+            caller.call(() -> "ok");
+        }
+
+        assertThat(caller.timeout()).isEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("p95를 넘긴 호출은 중복 요청을 보내고 먼저 끝난 결과를 사용한다")
+    void hedgedRequestWinsWhenPrimaryIsSlow() {
+        AdaptiveCaller caller = new AdaptiveCaller("embedding-model",
+                policy(Duration.ofSeconds(1), Duration.ofSeconds(5), true, 5), meterRegistry);
+        for (int i = 0; i < 5; i++) {
+            caller.call(() -> "warm-up");
+        }
+
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch primaryBlocked = new CountDownLatch(1);
+        String result = caller.call(() -> {
+            if (attempts.getAndIncrement() == 0) {
+                try {
+                    primaryBlocked.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("model.call.hedges").tag("result", "won").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("타임아웃을 넘기면 UPSTREAM_TIMEOUT 예외가 발생한다")
+    void throwsWhenTimeoutExceeded() {
+        AdaptiveCaller caller = new AdaptiveCaller("chat-model",
+                policy(Duration.ofMillis(10), Duration.ofMillis(50), false, 20), meterRegistry);
+
+        assertThatThrownBy(() -> caller.call(() -> {
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "late";
+        }))
+                .isInstanceOf(PkvException.class)
+                .satisfies(e -> assertThat(((PkvException) e).getErrorCode()).isEqualTo(ErrorCode.UPSTREAM_TIMEOUT));
+        assertThat(meterRegistry.get("model.call.latency").tag("outcome", "timeout").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("지연이 한꺼번에 늘면 시간 초과된 호출을 마감 시간으로 기록해 타임아웃을 넓히고 다시 성공한다")
+    void timeoutWidensAfterLatencyRegimeShift() {
+        AdaptiveCaller caller = new AdaptiveCaller("embedding-model",
+                policy(Duration.ofMillis(20), Duration.ofSeconds(2), false, 5), meterRegistry);
+        for (int i = 0; i < 5; i++) {
+            caller.call(() -> "fast");
+        }
+        assertThat(caller.timeout()).isEqualTo(Duration.ofMillis(20));
+
+        int timeouts = 0;
+        String result = null;
+        while (result == null && timeouts < 5) {
+            try {
+                result = caller.call(() -> {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "slow";
+                });
+            } catch (PkvException e) {
+                timeouts++;
+            }
+        }
+
+        assertThat(result).isEqualTo("slow");
+        assertThat(timeouts).isBetween(1, 3);
+        assertThat(caller.timeout()).isGreaterThan(Duration.ofMillis(100));
+    }
+
+    @Test
+    @DisplayName("호출 실패는 원래 예외로 전달한다")
+    void propagatesFailure() {
+        AdaptiveCaller caller = new AdaptiveCaller("chat-model",
+                policy(Duration.ofMillis(10), Duration.ofSeconds(1), false, 20), meterRegistry);
+
+        assertThatThrownBy(() -> caller.call(() -> {
+            throw new IllegalArgumentException("bad request");
+        })).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("close하면 진행 중인 시도를 인터럽트하고 이후 호출은 받지 않는다")
+    void closeInterruptsRunningAttempts() throws Exception {
+        AdaptiveCaller caller = new AdaptiveCaller("chat-model",
+                policy(Duration.ofSeconds(5), Duration.ofSeconds(5), false, 20), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Thread.ofVirtual().start(() -> {
+            try {
+                caller.call(() -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(5_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return "late";
+                });
+            } catch (RuntimeException ignored) {
+                // 종료 중 실패는 이 테스트의 관심사가 아니다.
+            }
+        });
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        caller.close();
+
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> caller.call(() -> "ok")).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    private AdaptiveCallPolicy policy(Duration minTimeout, Duration maxTimeout, boolean hedgeEnabled, int minSamples) {
+        return new AdaptiveCallPolicy(minTimeout, maxTimeout, 3.0, hedgeEnabled, Duration.ofMillis(20), 64, minSamples);
+    }
+}
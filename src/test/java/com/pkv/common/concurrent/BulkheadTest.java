@@ -0,0 +1,49 @@
+package com.pkv.common.concurrent;
+
+import com.pkv.common.exception.ErrorCode;
+import com.pkv.common.exception.PkvException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("permit을 모두 사용 중이면 대기 시간 후 SERVICE_BUSY로 거절한다")
+    void rejectsWhenPermitsExhausted() {
+        Bulkhead bulkhead = new Bulkhead("qdrant", 1, Duration.ofMillis(10), meterRegistry);
+        bulkhead.acquire();
+
+        assertThatThrownBy(() -> bulkhead.call(() -> "result"))
+                .isInstanceOf(PkvException.class)
+                .satisfies(e -> assertThat(((PkvException) e).getErrorCode()).isEqualTo(ErrorCode.SERVICE_BUSY));
+
+        assertThat(meterRegistry.get("bulkhead.rejected").tag("dependency", "qdrant").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("bulkhead.wait").tag("dependency", "qdrant").timer().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("bulkhead.active").tag("dependency", "qdrant").gauge().value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("호출이 예외로 끝나도 permit을 반납한다")
+    void releasesPermitWhenActionFails() {
+        Bulkhead bulkhead = new Bulkhead("chat-model", 1, Duration.ofMillis(10), meterRegistry);
+
+        assertThatThrownBy(() -> bulkhead.call(() -> {
+            throw new IllegalStateException("upstream failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(bulkhead.call(() -> "result")).isEqualTo("result");
+        assertThat(meterRegistry.get("bulkhead.active").tag("dependency", "chat-model").gauge().value())
+                .isZero();
+    }
+}
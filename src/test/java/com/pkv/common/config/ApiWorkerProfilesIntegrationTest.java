@@ -0,0 +1,72 @@
+package com.pkv.common.config;
+
+import com.pkv.auth.jwt.JwtTokenProvider;
+import com.pkv.support.IntegrationTestSupport;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 임베디드 벡터 저장소처럼 api와 worker를 한 프로세스로 실행하는 구성.
+ */
+@AutoConfigureMockMvc
+@ActiveProfiles("worker")
+class ApiWorkerProfilesIntegrationTest extends IntegrationTestSupport {
+
+    @MockitoBean
+    private ConsumerFactory<Object, Object> consumerFactory;
+
+    @MockitoBean
+    private ConcurrentKafkaListenerContainerFactoryConfigurer containerFactoryConfigurer;
+
+    @Autowired
+    private List<SecurityFilterChain> securityFilterChains;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    @DisplayName("api와 worker를 함께 실행하면 api 보안 체인 하나만 등록된다")
+    void registersOnlyApiSecurityFilterChain() {
+        assertThat(securityFilterChains).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("api와 worker를 함께 실행해도 회원은 API를 호출할 수 있다")
+    void memberCanCallApi() throws Exception {
+        String accessToken = jwtTokenProvider.createAccessToken(1L, "member@example.com");
+
+        mockMvc.perform(get("/api/threads")
+                        .cookie(new Cookie("access_token", accessToken)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("api와 worker를 함께 실행하면 worker actuator 쓰기 작업도 인증이 필요하다")
+    void workerActuatorWriteRequiresAuth() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/actuator/embeddingmigration")
+                        .contentType("application/json")
+                        .content("{\"dimension\": 512}"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,55 @@
+package com.pkv.common.persistence;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeOrderedIdGeneratorTest {
+
+    @BeforeAll
+    static void assignNodeId() {
+        TimeOrderedIdGenerator.assignNodeId(1);
+    }
+
+    @Test
+    @DisplayName("같은 ms에 여러 번 발급해도 id는 중복 없이 단조 증가한다")
+    void nextIdIsStrictlyIncreasing() {
+        long[] ids = LongStream.generate(TimeOrderedIdGenerator::nextId).limit(20_000).toArray();
+
+        for (int i = 1; i < ids.length; i++) {
+            assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+        }
+    }
+
+    @Test
+    @DisplayName("발급 시각이 id 상위 비트에 들어가 기존 AUTO_INCREMENT id보다 항상 크다")
+    void nextIdEncodesCurrentTime() {
+        long before = System.currentTimeMillis();
+        long id = TimeOrderedIdGenerator.nextId();
+
+        long millis = (id >>> (TimeOrderedIdGenerator.NODE_BITS + TimeOrderedIdGenerator.SEQUENCE_BITS))
+                + TimeOrderedIdGenerator.EPOCH_MILLIS;
+        assertThat(millis).isGreaterThanOrEqualTo(before);
+        assertThat(id).isGreaterThan(1L << 40);
+    }
+
+    @Test
+    @DisplayName("PKV_NODE_ID가 없으면 local/test 프로필이 아닌 한 기동하지 않는다")
+    void nodeIdIsRequiredOutsideSingleInstanceProfiles() {
+        MockEnvironment production = new MockEnvironment();
+        production.setActiveProfiles("api");
+        MockEnvironment local = new MockEnvironment();
+        local.setActiveProfiles("local", "api");
+
+        assertThatThrownBy(() -> TimeOrderedIdNode.resolve(production, ""))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(TimeOrderedIdNode.resolve(production, "7")).isEqualTo(7L);
+        assertThat(TimeOrderedIdNode.resolve(local, "")).isBetween(0L, TimeOrderedIdGenerator.MAX_NODE_ID);
+    }
+}
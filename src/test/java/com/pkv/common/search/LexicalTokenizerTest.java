@@ -0,0 +1,38 @@
+package com.pkv.common.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LexicalTokenizerTest {
+
+    @Test
+    @DisplayName("한글 어절은 조사를 떼고 어절 전체와 음절 bigram을 토큰으로 만든다")
+    void tokenizeKoreanWithParticleStripping() {
+        List<String> tokens = LexicalTokenizer.tokenize("트랜잭션은 스프링에서");
+
+        assertThat(tokens).contains("트랜잭션", "트랜", "랜잭", "잭션", "스프링", "스프", "프링");
+        assertThat(tokens).doesNotContain("트랜잭션은", "스프링에서");
+    }
+
+    @Test
+    @DisplayName("영문 식별자는 소문자 전체 토큰과 구성 단어를 함께 만들고 불용어는 제외한다")
+    void tokenizeIdentifiers() {
+        List<String> tokens = LexicalTokenizer.tokenize("What is the TURN_CAPACITY_EXCEEDED error in @PostConstruct?");
+
+        assertThat(tokens).contains("turn_capacity_exceeded", "turn", "capacity", "exceeded",
+                "error", "postconstruct", "post", "construct");
+        assertThat(tokens).doesNotContain("what", "is", "the", "in");
+    }
+
+    @Test
+    @DisplayName("한글과 영문/숫자가 붙어 있어도 각각 토큰으로 나눈다")
+    void tokenizeMixedScript() {
+        List<String> tokens = LexicalTokenizer.tokenize("Q004에러가 Java21에서");
+
+        assertThat(tokens).contains("q004", "에러", "java21");
+    }
+}
@@ -0,0 +1,162 @@
+package com.pkv.common.vector;
+
+import com.pkv.common.config.QdrantPayloadKeys;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.filter.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+class EmbeddedEmbeddingStoreTest {
+
+    private static final int DIMENSION = 8;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("가장 가까운 벡터의 본문과 metadata를 점수 순으로 반환한다")
+    void searchReturnsNearestSegments() throws Exception {
+        try (EmbeddedEmbeddingStore store = store(2, 0)) {
+            store.addAll(
+                    List.of(vector(0), vector(1), vector(2)),
+                    List.of(segment("zero", 1L, 10L), segment("one", 1L, 10L), segment("two", 1L, 11L))
+            );
+
+            List<EmbeddingMatch<TextSegment>> matches = store.search(request(vector(1), null, 2)).matches();
+
+            assertThat(matches).hasSize(2);
+            assertThat(matches.get(0).embedded().text()).isEqualTo("one");
+            assertThat(matches.get(0).score()).isCloseTo(1.0, offset(1e-6));
+            assertThat(matches.get(0).embedded().metadata().getLong(QdrantPayloadKeys.DOCUMENT_ID)).isEqualTo(10L);
+            assertThat(matches.get(0).score()).isGreaterThan(matches.get(1).score());
+        }
+    }
+
+    @Test
+    @DisplayName("memberId 필터는 그래프 검색과 전수 비교 모두에서 다른 회원의 청크를 제외한다")
+    void searchFiltersByMemberId() throws Exception {
+        for (int fullScanThreshold : new int[]{0, 1_000}) {
+            Path directory = tempDir.resolve("threshold-" + fullScanThreshold);
+            try (EmbeddedEmbeddingStore store = new EmbeddedEmbeddingStore(directory, DIMENSION, 4, 32, 32, 16,
+                    fullScanThreshold)) {
+                addRandom(store, 200, 4);
+
+                List<EmbeddingMatch<TextSegment>> matches = store.search(request(vector(3), 2L, 10)).matches();
+
+                assertThat(matches).hasSize(10);
+                assertThat(matches).allSatisfy(match -> assertThat(
+                        match.embedded().metadata().getLong(QdrantPayloadKeys.MEMBER_ID)).isEqualTo(2L));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("documentId 필터로 삭제한 청크는 검색되지 않고 다시 열어도 삭제 상태가 유지된다")
+    void removeAllByDocumentIdPersists() throws Exception {
+        try (EmbeddedEmbeddingStore store = store(4, 1_000)) {
+            store.addAll(
+                    List.of(vector(0), vector(1)),
+                    List.of(segment("keep", 1L, 10L), segment("remove", 1L, 11L))
+            );
+
+            store.removeAll(metadataKey(QdrantPayloadKeys.DOCUMENT_ID).isEqualTo(11L));
+
+            assertThat(texts(store.search(request(vector(1), 1L, 10)).matches())).containsExactly("keep");
+        }
+
+        try (EmbeddedEmbeddingStore store = store(4, 1_000)) {
+            assertThat(texts(store.search(request(vector(1), 1L, 10)).matches())).containsExactly("keep");
+        }
+    }
+
+    @Test
+    @DisplayName("다시 열면 기존 세그먼트를 매핑해 같은 결과를 반환하고 이어서 추가할 수 있다")
+    void reopenMapsExistingSegments() throws Exception {
+        List<String> before;
+        try (EmbeddedEmbeddingStore store = store(16, 0)) {
+            addRandom(store, 100, 1);
+            before = texts(store.search(request(vector(5), 0L, 5)).matches());
+        }
+
+        try (EmbeddedEmbeddingStore store = store(16, 0)) {
+            assertThat(texts(store.search(request(vector(5), 0L, 5)).matches())).isEqualTo(before);
+
+            store.add(vector(5), segment("added", 0L, 99L));
+            assertThat(texts(store.search(request(vector(5), 0L, 1)).matches())).containsExactly("added");
+        }
+    }
+
+    @Test
+    @DisplayName("다른 차원으로 기존 저장소를 열면 실패한다")
+    void reopenWithDifferentDimensionFails() throws Exception {
+        try (EmbeddedEmbeddingStore store = store(4, 0)) {
+            store.add(vector(0), segment("zero", 1L, 10L));
+        }
+
+        assertThatThrownBy(() -> new EmbeddedEmbeddingStore(tempDir, DIMENSION * 2, 4, 32, 32, 4, 0))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private EmbeddedEmbeddingStore store(int segmentSlots, int fullScanThreshold) {
+        return new EmbeddedEmbeddingStore(tempDir, DIMENSION, 4, 32, 32, segmentSlots, fullScanThreshold);
+    }
+
+    private static void addRandom(EmbeddedEmbeddingStore store, int count, int members) {
+        Random random = new Random(7);
+        List<Embedding> embeddings = new ArrayList<>(count);
+        List<TextSegment> segments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float[] vector = new float[DIMENSION];
+            for (int d = 0; d < DIMENSION; d++) {
+                vector[d] = (float) random.nextGaussian();
+            }
+            embeddings.add(Embedding.from(vector));
+            segments.add(segment("chunk-" + i, (long) (i % members), (long) i));
+        }
+        store.addAll(embeddings, segments);
+    }
+
+    /**
+     * axis 방향 성분이 가장 큰 벡터. 서로 다른 axis끼리는 유사도가 낮다.
+     */
+    private static Embedding vector(int axis) {
+        float[] vector = new float[DIMENSION];
+        vector[axis % DIMENSION] = 1f;
+        vector[(axis + 1) % DIMENSION] = 0.1f;
+        return Embedding.from(vector);
+    }
+
+    private static TextSegment segment(String text, Long memberId, Long documentId) {
+        return TextSegment.from(text, new Metadata()
+                .put(QdrantPayloadKeys.MEMBER_ID, memberId)
+                .put(QdrantPayloadKeys.DOCUMENT_ID, documentId));
+    }
+
+    private static EmbeddingSearchRequest request(Embedding query, Long memberId, int maxResults) {
+        Filter filter = memberId == null ? null : metadataKey(QdrantPayloadKeys.MEMBER_ID).isEqualTo(memberId);
+        return EmbeddingSearchRequest.builder()
+                .queryEmbedding(query)
+                .filter(filter)
+                .maxResults(maxResults)
+                .build();
+    }
+
+    private static List<String> texts(List<EmbeddingMatch<TextSegment>> matches) {
+        return matches.stream().map(match -> match.embedded().text()).toList();
+    }
+}
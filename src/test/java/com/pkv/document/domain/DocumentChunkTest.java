@@ -0,0 +1,35 @@
+package com.pkv.document.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentChunkTest {
+
+    @Test
+    @DisplayName("본문을 압축해 저장하고 그대로 복원한다")
+    void textRoundTripsThroughCompression() {
+        String text = "팩토리 패턴은 객체 생성을 서브클래스에 위임한다. Factory Method ".repeat(40);
+
+        DocumentChunk chunk = new DocumentChunk("100:0", 100L, 1L, 3, text);
+
+        assertThat(chunk.text()).isEqualTo(text);
+        assertThat(DocumentChunk.compress(text).length).isLessThan(text.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    @DisplayName("새로 만든 청크는 저장 전 조회 없이 INSERT되도록 새 엔티티로 취급한다")
+    void newChunkIsNew() {
+        DocumentChunk chunk = new DocumentChunk("100:0", 100L, 1L, 3, "");
+
+        assertThat(chunk.isNew()).isTrue();
+        assertThat(chunk.text()).isEmpty();
+
+        chunk.markPersisted();
+
+        assertThat(chunk.isNew()).isFalse();
+    }
+}
@@ -7,6 +7,7 @@ import com.pkv.common.service.EmbeddingRepository;
 import com.pkv.document.domain.Document;
 import com.pkv.document.domain.DocumentStatus;
 import com.pkv.document.dto.DocumentResponse;
+import com.pkv.document.dto.DocumentStatusChangedMessage;
 import com.pkv.document.dto.PresignRequest;
 import com.pkv.document.dto.PresignResponse;
 import com.pkv.document.repository.DocumentRepository;
@@ -60,6 +61,12 @@ class DocumentServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private DocumentEventPublisher documentEventPublisher;
+
+    @Mock
+    private MemberDocumentCatalog memberDocumentCatalog;
+
     @InjectMocks
     private DocumentService documentService;
 
@@ -73,9 +80,7 @@ class DocumentServiceTest {
     void requestPresignedUrlSuccess() {
         PresignRequest request = new PresignRequest("설계서.pdf", 1024L);
 
-        given(documentRepository.countByMemberIdAndStatusNot(anyLong(), any())).willReturn(0L);
-        given(documentRepository.sumFileSizeByMemberIdAndStatusNot(anyLong(), any())).willReturn(0L);
-        given(documentRepository.existsByMemberIdAndOriginalFileNameAndStatusNot(anyLong(), anyString(), any())).willReturn(false);
+        given(memberDocumentCatalog.get(MEMBER_ID)).willReturn(new DocumentCatalog(List.of()));
         given(documentRepository.save(any(Document.class))).willAnswer(invocation -> {
             Document saved = invocation.getArgument(0);
             ReflectionTestUtils.setField(saved, "id", 10L);
@@ -116,6 +121,8 @@ class DocumentServiceTest {
         then(embeddingRepository).should().deleteByDocumentId(1L);
         then(s3FileStorage).should().deleteObject(document.getStoragePath());
         then(documentRepository).should().delete(document);
+        then(documentEventPublisher).should()
+                .publishStatusChanged(DocumentStatusChangedMessage.deleted(document));
     }
 
     @Test
@@ -144,8 +151,8 @@ class DocumentServiceTest {
     @DisplayName("문서 목록 조회")
     void getDocumentsSuccess() {
         Document document = createDocument(1L, DocumentStatus.COMPLETED);
-        given(documentRepository.findByMemberIdAndStatusNotOrderByCreatedAtDesc(MEMBER_ID, DocumentStatus.INITIATED))
-                .willReturn(List.of(document));
+        given(memberDocumentCatalog.get(MEMBER_ID))
+                .willReturn(new DocumentCatalog(List.of(DocumentResponse.from(document))));
 
         List<DocumentResponse> response = documentService.getDocuments(MEMBER_ID);
 
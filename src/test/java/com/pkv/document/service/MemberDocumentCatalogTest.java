@@ -0,0 +1,133 @@
+package com.pkv.document.service;
+
+import com.pkv.document.domain.Document;
+import com.pkv.document.domain.DocumentStatus;
+import com.pkv.document.dto.DocumentResponse;
+import com.pkv.document.dto.DocumentStatusChangedMessage;
+import com.pkv.document.repository.DocumentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class MemberDocumentCatalogTest {
+
+    private static final Long MEMBER_ID = 1L;
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    private MemberDocumentCatalog memberDocumentCatalog;
+
+    @BeforeEach
+    void setUp() {
+        memberDocumentCatalog = new MemberDocumentCatalog(
+                documentRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("최초 조회만 DB에서 적재하고 이후 조회는 캐시에서 반환한다")
+    void getLoadsOnce() {
+        Document document = createDocument(1L, "a.pdf", 100L, DocumentStatus.COMPLETED, Instant.now());
+        given(documentRepository.findByMemberIdAndStatusNotOrderByCreatedAtDesc(MEMBER_ID, DocumentStatus.INITIATED))
+                .willReturn(List.of(document));
+
+        memberDocumentCatalog.get(MEMBER_ID);
+        DocumentCatalog catalog = memberDocumentCatalog.get(MEMBER_ID);
+
+        assertThat(catalog.count()).isEqualTo(1);
+        assertThat(catalog.totalSize()).isEqualTo(100L);
+        assertThat(catalog.containsFileName("a.pdf")).isTrue();
+        assertThat(catalog.hasCompleted()).isTrue();
+        then(documentRepository).should(times(1))
+                .findByMemberIdAndStatusNotOrderByCreatedAtDesc(MEMBER_ID, DocumentStatus.INITIATED);
+    }
+
+    @Test
+    @DisplayName("상태 변경 메시지로 문서를 추가/갱신/삭제한다")
+    void statusChangesUpdateCatalog() {
+        Instant now = Instant.now();
+        Document existing = createDocument(1L, "a.pdf", 100L, DocumentStatus.PROCESSING, now.minusSeconds(60));
+        Document uploaded = createDocument(2L, "b.pdf", 200L, DocumentStatus.UPLOADED, now);
+        given(documentRepository.findByMemberIdAndStatusNotOrderByCreatedAtDesc(MEMBER_ID, DocumentStatus.INITIATED))
+                .willReturn(List.of(existing));
+        memberDocumentCatalog.get(MEMBER_ID);
+
+        memberDocumentCatalog.onDocumentStatusChanged(DocumentStatusChangedMessage.changed(uploaded));
+        existing.complete();
+        memberDocumentCatalog.onDocumentStatusChanged(DocumentStatusChangedMessage.changed(existing));
+
+        DocumentCatalog catalog = memberDocumentCatalog.get(MEMBER_ID);
+        assertThat(catalog.documents()).extracting(DocumentResponse::id).containsExactly(2L, 1L);
+        assertThat(catalog.documents()).extracting(DocumentResponse::status)
+                .containsExactly(DocumentStatus.UPLOADED, DocumentStatus.COMPLETED);
+        assertThat(catalog.totalSize()).isEqualTo(300L);
+
+        memberDocumentCatalog.onDocumentStatusChanged(DocumentStatusChangedMessage.deleted(existing));
+
+        assertThat(memberDocumentCatalog.get(MEMBER_ID).documents()).extracting(DocumentResponse::id).containsExactly(2L);
+        assertThat(memberDocumentCatalog.get(MEMBER_ID).hasCompleted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("이미 반영한 revision 이하의 메시지는 무시하고 삭제한 문서는 되살리지 않는다")
+    void staleStatusChangesAreIgnored() {
+        Document document = createDocument(1L, "a.pdf", 100L, DocumentStatus.PROCESSING, Instant.now());
+        given(documentRepository.findByMemberIdAndStatusNotOrderByCreatedAtDesc(MEMBER_ID, DocumentStatus.INITIATED))
+                .willReturn(List.of(document));
+        memberDocumentCatalog.get(MEMBER_ID);
+        DocumentStatusChangedMessage processing = DocumentStatusChangedMessage.changed(document);
+
+        document.complete();
+        memberDocumentCatalog.onDocumentStatusChanged(DocumentStatusChangedMessage.changed(document));
+        memberDocumentCatalog.onDocumentStatusChanged(processing);
+
+        assertThat(memberDocumentCatalog.get(MEMBER_ID).documents()).extracting(DocumentResponse::status)
+                .containsExactly(DocumentStatus.COMPLETED);
+
+        memberDocumentCatalog.onDocumentStatusChanged(DocumentStatusChangedMessage.deleted(document));
+        memberDocumentCatalog.onDocumentStatusChanged(DocumentStatusChangedMessage.changed(document));
+
+        assertThat(memberDocumentCatalog.get(MEMBER_ID).documents()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("적재되지 않은 회원의 메시지는 무시한다")
+    void statusChangeForUnloadedMemberIsIgnored() {
+        Document document = createDocument(1L, "a.pdf", 100L, DocumentStatus.UPLOADED, Instant.now());
+
+        memberDocumentCatalog.onDocumentStatusChanged(DocumentStatusChangedMessage.changed(document));
+
+        then(documentRepository).should(never()).findByMemberIdAndStatusNotOrderByCreatedAtDesc(anyLong(), any());
+    }
+
+    private Document createDocument(Long id, String fileName, long fileSize, DocumentStatus status, Instant createdAt) {
+        Document document = Document.builder()
+                .memberId(MEMBER_ID)
+                .originalFileName(fileName)
+                .fileSize(fileSize)
+                .fileExtension("pdf")
+                .status(status)
+                .build();
+        ReflectionTestUtils.setField(document, "id", id);
+        ReflectionTestUtils.setField(document, "createdAt", createdAt);
+        return document;
+    }
+}
@@ -1,10 +1,14 @@
 package com.pkv.support;
 
+import com.pkv.chat.service.ThreadEventPublisher;
+import com.pkv.document.service.DocumentEventPublisher;
 import com.pkv.document.service.EmbeddingJobProducer;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.store.embedding.EmbeddingStore;
+import io.qdrant.client.QdrantClient;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -16,12 +20,24 @@ public abstract class IntegrationTestSupport {
     @MockitoBean
     protected EmbeddingJobProducer embeddingJobProducer;
 
+    @MockitoBean
+    protected DocumentEventPublisher documentEventPublisher;
+
+    @MockitoBean
+    protected ThreadEventPublisher threadEventPublisher;
+
     @MockitoBean
     protected EmbeddingStore<TextSegment> embeddingStore;
 
     @MockitoBean
+    protected QdrantClient qdrantClient;
+
+    @MockitoBean(name = "embeddingModel")
     protected EmbeddingModel embeddingModel;
 
     @MockitoBean
     protected ChatModel chatModel;
+
+    @MockitoBean
+    protected StreamingChatModel streamingChatModel;
 }
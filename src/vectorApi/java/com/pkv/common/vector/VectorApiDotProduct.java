@@ -0,0 +1,34 @@
+package com.pkv.common.vector;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link DotProduct}의 SIMD 구현. jdk.incubator.vector 모듈이 있을 때만 로드된다.
+ * <p>
+ * 이 모듈이 필요한 유일한 클래스라 {@code vectorApi} 소스셋에서 따로 컴파일한다.
+ */
+final class VectorApiDotProduct {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private VectorApiDotProduct() {
+    }
+
+    static float dot(float[] matrix, int offset, float[] query) {
+        int length = query.length;
+        int bound = SPECIES.loopBound(length);
+        FloatVector sum = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector row = FloatVector.fromArray(SPECIES, matrix, offset + i);
+            sum = row.fma(FloatVector.fromArray(SPECIES, query, i), sum);
+        }
+        float result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            result += matrix[offset + i] * query[i];
+        }
+        return result;
+    }
+}